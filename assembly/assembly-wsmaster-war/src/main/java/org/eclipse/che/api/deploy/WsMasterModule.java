@@ -79,6 +79,7 @@ public class WsMasterModule extends AbstractModule {
 
         bind(org.eclipse.che.api.machine.server.wsagent.WsAgentLauncher.class)
                 .to(org.eclipse.che.api.machine.server.wsagent.WsAgentLauncherImpl.class);
+        bind(org.eclipse.che.api.machine.server.wsagent.WsAgentService.class);
 
         bind(org.eclipse.che.api.machine.server.terminal.MachineTerminalLauncher.class);
 
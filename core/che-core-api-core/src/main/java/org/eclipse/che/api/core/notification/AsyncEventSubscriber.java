@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to the wrapped subscriber on threads of shared pool of {@link EventService}.
+ *
+ * <p>Events are put to the bounded queue of this subscriber and delivered in the same order they were published.
+ * At most one thread delivers events to the same subscriber at a time, so the wrapped subscriber doesn't need
+ * to be thread-safe. When the queue is full the {@link OverflowPolicy} decides what to do with the new event.
+ *
+ * @see EventService#subscribeAsync(EventSubscriber, Class, int, OverflowPolicy)
+ */
+public class AsyncEventSubscriber implements EventSubscriber<Object>, Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    /** Max number of events delivered in one run, lets other subscribers use the pool thread. */
+    private static final int  MAX_BATCH_SIZE   = 64;
+    private static final long BLOCK_TIMEOUT_MS = 30_000;
+
+    /** Defines what to do with published event when queue of subscriber is full. */
+    public enum OverflowPolicy {
+        /**
+         * Publisher waits until there is free space in the queue. If the queue is still full
+         * after 30 seconds the event is dropped, so dispatcher threads that publish events can't deadlock.
+         */
+        BLOCK,
+        /** New event is dropped. */
+        DROP_NEWEST,
+        /** The oldest event in the queue is dropped to free space for the new one. */
+        DROP_OLDEST
+    }
+
+    private final EventSubscriber<Object> delegate;
+    private final Class<?>                eventType;
+    private final BlockingQueue<Envelope> queue;
+    private final OverflowPolicy          overflowPolicy;
+    private final Executor                executor;
+    private final AtomicBoolean           scheduled;
+
+    private final AtomicLong dispatched        = new AtomicLong();
+    private final AtomicLong dropped           = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos   = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    AsyncEventSubscriber(EventSubscriber<?> delegate,
+                         Class<?> eventType,
+                         int queueCapacity,
+                         OverflowPolicy overflowPolicy,
+                         Executor executor) {
+        this.delegate = (EventSubscriber<Object>)delegate;
+        this.eventType = eventType;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+        this.scheduled = new AtomicBoolean();
+    }
+
+    /** Puts event to the queue, it will be delivered to the wrapped subscriber asynchronously. */
+    @Override
+    public void onEvent(Object event) {
+        final Envelope envelope = new Envelope(event, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    if (!queue.offer(envelope, BLOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                        LOG.error("Queue of subscriber {} is full, event {} dropped", delegate, event);
+                        dropped.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(envelope)) {
+                    LOG.debug("Queue of subscriber {} is full, event {} dropped", delegate, event);
+                    dropped.incrementAndGet();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(envelope)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+        }
+        schedule();
+    }
+
+    @Override
+    public void run() {
+        try {
+            Envelope envelope;
+            for (int i = 0; i < MAX_BATCH_SIZE && (envelope = queue.poll()) != null; i++) {
+                try {
+                    delegate.onEvent(envelope.event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+                updateLatency(System.nanoTime() - envelope.publishedAt);
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /** Returns the subscriber events are delivered to. */
+    public EventSubscriber<?> getDelegate() {
+        return delegate;
+    }
+
+    /** Returns type of events this subscriber is subscribed to. */
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    /** Returns number of events which wait for delivery. */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /** Returns number of events delivered to the wrapped subscriber. */
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /** Returns number of events dropped because of queue overflow. */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /** Returns average time in milliseconds between publishing of event and the end of its processing by subscriber. */
+    public double getAverageLatencyMs() {
+        final long count = dispatched.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.get() / count) / 1000D;
+    }
+
+    /** Returns max time in milliseconds between publishing of event and the end of its processing by subscriber. */
+    public long getMaxLatencyMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventSubscriber{" +
+               "delegate=" + delegate +
+               ", eventType=" + eventType.getName() +
+               ", queueSize=" + getQueueSize() +
+               ", dispatched=" + getDispatchedCount() +
+               ", dropped=" + getDroppedCount() +
+               ", averageLatencyMs=" + getAverageLatencyMs() +
+               ", maxLatencyMs=" + getMaxLatencyMs() +
+               '}';
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.warn("Unable to deliver events to {}, event service is stopped", delegate);
+            }
+        }
+    }
+
+    private void updateLatency(long latencyNanos) {
+        dispatched.incrementAndGet();
+        totalLatencyNanos.addAndGet(latencyNanos);
+        long max;
+        while (latencyNanos > (max = maxLatencyNanos.get())) {
+            if (maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+                break;
+            }
+        }
+    }
+
+    private static class Envelope {
+        final Object event;
+        final long   publishedAt;
+
+        Envelope(Object event, long publishedAt) {
+            this.event = event;
+            this.publishedAt = publishedAt;
+        }
+    }
+}
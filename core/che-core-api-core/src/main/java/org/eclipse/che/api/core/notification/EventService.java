@@ -13,20 +13,28 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -41,6 +49,10 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers registered with {@link #subscribe(EventSubscriber)} are called on the thread that publishes event.
+ * Slow subscribers may be registered with {@link #subscribeAsync(EventSubscriber, Class, int, OverflowPolicy)},
+ * events are delivered to them in publishing order on the threads of the shared dispatcher pool.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -51,12 +63,32 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    /** Default capacity of the queue of asynchronous subscriber. */
+    public static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1000;
+
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>          subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncEventSubscriber> asyncSubscribers;
+    private final int                                                    asyncDispatchThreads;
+
+    private volatile ExecutorService asyncDispatcher;
 
-    @SuppressWarnings("unchecked")
     public EventService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param asyncDispatchThreads
+     *         number of threads that deliver events to asynchronous subscribers
+     */
+    @SuppressWarnings("unchecked")
+    public EventService(int asyncDispatchThreads) {
+        if (asyncDispatchThreads < 1) {
+            throw new IllegalArgumentException("Number of dispatcher threads must be greater than 0");
+        }
+        this.asyncDispatchThreads = asyncDispatchThreads;
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncSubscribers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -134,6 +166,87 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener which receives events asynchronously. The event to subscribe to is inferred by checking
+     * the generic type arguments of the given subscriber. Queue of the subscriber has {@link #DEFAULT_ASYNC_QUEUE_CAPACITY}
+     * capacity, publisher waits when the queue is full.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @see #subscribeAsync(EventSubscriber, Class, int, OverflowPolicy)
+     */
+    public void subscribeAsync(EventSubscriber<?> subscriber) {
+        doSubscribeAsync(subscriber, getEventType(subscriber), DEFAULT_ASYNC_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Subscribe to an event. Published events are put to the bounded queue of the subscriber and delivered to it
+     * in the same order on the threads of the shared dispatcher pool, so slow subscriber doesn't block publisher.
+     *
+     * @param subscriber
+     *         the subscriber to call when an event is published
+     * @param eventType
+     *         the event to subscribe to
+     * @param queueCapacity
+     *         max number of events which wait for delivery to this subscriber
+     * @param overflowPolicy
+     *         defines what to do with event when the queue is full
+     */
+    public <T> void subscribeAsync(EventSubscriber<? extends T> subscriber,
+                                   Class<T> eventType,
+                                   int queueCapacity,
+                                   OverflowPolicy overflowPolicy) {
+        doSubscribeAsync(subscriber, eventType, queueCapacity, overflowPolicy);
+    }
+
+    private void doSubscribeAsync(EventSubscriber<?> subscriber, Class<?> eventType, int queueCapacity, OverflowPolicy overflowPolicy) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+        final AsyncEventSubscriber asyncSubscriber = new AsyncEventSubscriber(subscriber,
+                                                                              eventType,
+                                                                              queueCapacity,
+                                                                              overflowPolicy,
+                                                                              getAsyncDispatcher());
+        if (asyncSubscribers.putIfAbsent(subscriber, asyncSubscriber) == null) {
+            doSubscribe(asyncSubscriber, eventType);
+        }
+    }
+
+    /**
+     * Returns asynchronous subscribers, may be used to find out which subscriber is slow
+     * through the size of its queue and delivery latency.
+     */
+    public List<AsyncEventSubscriber> getAsyncSubscribers() {
+        return new ArrayList<>(asyncSubscribers.values());
+    }
+
+    /** Stops the dispatcher pool, events which weren't delivered to asynchronous subscribers yet are lost. */
+    @PreDestroy
+    public void stop() {
+        final ExecutorService dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+    }
+
+    private ExecutorService getAsyncDispatcher() {
+        ExecutorService dispatcher = asyncDispatcher;
+        if (dispatcher == null) {
+            synchronized (this) {
+                dispatcher = asyncDispatcher;
+                if (dispatcher == null) {
+                    asyncDispatcher = dispatcher = Executors.newFixedThreadPool(asyncDispatchThreads,
+                                                                                new ThreadFactoryBuilder()
+                                                                                        .setNameFormat("EventServiceDispatcher-%d")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+                }
+            }
+        }
+        return dispatcher;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -153,10 +266,11 @@ public class EventService {
      *         event subscriber
      */
     public void unsubscribe(EventSubscriber<?> subscriber) {
-        final Class<?> eventType = getEventType(subscriber);
+        final AsyncEventSubscriber asyncSubscriber = asyncSubscribers.remove(subscriber);
+        final Class<?> eventType = asyncSubscriber != null ? asyncSubscriber.getEventType() : getEventType(subscriber);
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            boolean changed = entries.remove(asyncSubscriber != null ? asyncSubscriber : subscriber);
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
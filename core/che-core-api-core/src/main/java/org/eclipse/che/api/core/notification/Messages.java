@@ -10,7 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.api.core.rest.CheBinaryDtoProvider;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.dto.server.BinarySerializable;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.shared.DTO;
 import org.everrest.core.impl.provider.json.JsonGenerator;
 import org.everrest.core.impl.provider.json.JsonParser;
 import org.everrest.core.impl.provider.json.JsonValue;
@@ -22,9 +26,14 @@ import org.everrest.websockets.message.InputMessage;
 import org.everrest.websockets.message.RestInputMessage;
 import org.everrest.websockets.message.RestOutputMessage;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Base64;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
@@ -34,11 +43,30 @@ import javax.ws.rs.core.MediaType;
  */
 class Messages {
     static RestInputMessage clientMessage(Object event) throws Exception {
+        return clientMessage(toJson(event), MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Creates message with event in binary format, see {@link CheBinaryDtoProvider#MEDIA_TYPE}.
+     * Websocket messages are text, so binary data is encoded with base64.
+     *
+     * @see #isBinarySerializable(Object)
+     */
+    static RestInputMessage binaryClientMessage(Object event) throws Exception {
+        return clientMessage(toBinary(event), CheBinaryDtoProvider.MEDIA_TYPE);
+    }
+
+    /** Checks whether event is a generated DTO which may be sent in binary format. */
+    static boolean isBinarySerializable(Object event) {
+        return event instanceof BinarySerializable && getDtoInterface(event) != null;
+    }
+
+    private static RestInputMessage clientMessage(String body, String contentType) {
         RestInputMessage message = new RestInputMessage();
-        message.setBody(toJson(event));
+        message.setBody(body);
         message.setMethod(HttpMethod.POST);
         message.setHeaders(new org.everrest.websockets.message.Pair[]{
-                new org.everrest.websockets.message.Pair("Content-type", MediaType.APPLICATION_JSON)});
+                new org.everrest.websockets.message.Pair("Content-type", contentType)});
         message.setUuid(NameGenerator.generate(null, 8));
         message.setPath("/event-bus");
         return message;
@@ -66,6 +94,33 @@ class Messages {
         return null;
     }
 
+    static Object restoreEventFromBinaryClientMessage(String message) throws Exception {
+        if (message == null || message.isEmpty()) {
+            return null;
+        }
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(message)));
+        final Class<?> dtoInterface = Class.forName(in.readUTF());
+        return DtoFactory.getInstance().createDtoFromBinary(in, in.available(), dtoInterface);
+    }
+
+    private static String toBinary(Object event) throws Exception {
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(binary);
+        out.writeUTF(getDtoInterface(event).getName());
+        out.flush();
+        DtoFactory.getInstance().toBinary(event, binary);
+        return Base64.getEncoder().encodeToString(binary.toByteArray());
+    }
+
+    private static Class<?> getDtoInterface(Object event) {
+        for (Class<?> type : event.getClass().getInterfaces()) {
+            if (type.isAnnotationPresent(DTO.class)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
     private static String toJson(Object event) throws Exception {
         final String type = event.getClass().getName();
         final JsonValue json = JsonGenerator.createJsonObject(event);
@@ -65,6 +65,7 @@ public final class WSocketEventBusClient {
     private final AtomicBoolean                        start;
 
     private ExecutorService executor;
+    private boolean         binaryEvents;
 
     @Inject
     public WSocketEventBusClient(EventService eventService,
@@ -79,6 +80,15 @@ public final class WSocketEventBusClient {
         start = new AtomicBoolean(false);
     }
 
+    /**
+     * Sets whether events which are generated DTOs are sent in binary format rather than in JSON.
+     * Binary format is smaller and cheaper to produce and parse, but server must support it, so JSON is used by default.
+     */
+    @com.google.inject.Inject(optional = true)
+    void setBinaryEvents(@Named("notification.client.binary_events") boolean binaryEvents) {
+        this.binaryEvents = binaryEvents;
+    }
+
     @PostConstruct
     void start() {
         if (start.compareAndSet(false, true)) {
@@ -122,7 +132,11 @@ public final class WSocketEventBusClient {
             try {
                 final WSClient client = future.get();
                 if (policy != null && policy.shouldPropagated(client.getServerUri(), event)) {
-                    client.send(messageConverter.toString(Messages.clientMessage(event)));
+                    if (binaryEvents && Messages.isBinarySerializable(event)) {
+                        client.send(messageConverter.toString(Messages.binaryClientMessage(event)));
+                    } else {
+                        client.send(messageConverter.toString(Messages.clientMessage(event)));
+                    }
                 }
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
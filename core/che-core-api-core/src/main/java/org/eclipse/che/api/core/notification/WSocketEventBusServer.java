@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.api.core.rest.CheBinaryDtoProvider;
 import org.everrest.websockets.WSConnectionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,11 +58,26 @@ public final class WSocketEventBusServer {
         }
     }
 
+    /** Receives events in binary format, see {@link Messages#binaryClientMessage(Object)}. */
+    @POST
+    @Consumes(CheBinaryDtoProvider.MEDIA_TYPE)
+    public void binaryEvent(String message) {
+        try {
+            final Object event = Messages.restoreEventFromBinaryClientMessage(message);
+            if (event != null) {
+                eventService.publish(event);
+            }
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
     @PostConstruct
     void start() {
         if (start.compareAndSet(false, true)) {
             if (policy != null) {
-                eventService.subscribe(new EventSubscriber<Object>() {
+                // broadcasting through websocket may be slow, it must not block threads that publish events
+                eventService.subscribeAsync(new EventSubscriber<Object>() {
                     @Override
                     public void onEvent(Object event) {
                         propagate(event);
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.dto.server.BinarySerializable;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.shared.DTO;
+
+import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} which binds DTOs and lists of DTOs
+ * to and from the binary format, see {@link org.eclipse.che.dto.server.BinaryDtoWriter}.
+ *
+ * <p>The format is used when client sends or accepts {@link #MEDIA_TYPE} and the service method
+ * lists this media type in its {@code @Consumes} or {@code @Produces} annotations, JSON stays the default.
+ *
+ * @see CheJsonProvider
+ */
+@Singleton
+@Provider
+@Produces({CheBinaryDtoProvider.MEDIA_TYPE})
+@Consumes({CheBinaryDtoProvider.MEDIA_TYPE})
+public class CheBinaryDtoProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    /** Media type of DTOs in binary format. */
+    public static final String MEDIA_TYPE = "application/x-che-dto";
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return BinarySerializable.class.isAssignableFrom(type)
+               || type.isAnnotationPresent(DTO.class)
+               || (Iterable.class.isAssignableFrom(type) && isParameterizedWithDto(genericType));
+    }
+
+    @Override
+    public long getSize(T t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(T t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+        httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
+        if (t instanceof Iterable) {
+            DtoFactory.getInstance().toBinary((Iterable<?>)t, entityStream);
+        } else {
+            DtoFactory.getInstance().toBinary(t, entityStream);
+        }
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type.isAnnotationPresent(DTO.class) || (type.isAssignableFrom(List.class) && isParameterizedWithDto(genericType));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T readFrom(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                      MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+        final long length = getContentLength(httpHeaders);
+        if (type.isAnnotationPresent(DTO.class)) {
+            return DtoFactory.getInstance().createDtoFromBinary(entityStream, length, type);
+        }
+        final Class<?> elementClass = (Class<?>)((ParameterizedType)genericType).getActualTypeArguments()[0];
+        return (T)DtoFactory.getInstance().createListDtoFromBinary(entityStream, length, elementClass);
+    }
+
+    /** Returns length of the request body or {@code -1} if it is unknown, e.g. when body is compressed. */
+    private static long getContentLength(MultivaluedMap<String, String> httpHeaders) {
+        final String contentLength = httpHeaders.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null || httpHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Checks whether the type is parameterized with DTO interface, e.g. {@code List<ProjectConfigDto>}. */
+    private static boolean isParameterizedWithDto(Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return false;
+        }
+        final Type[] typeArguments = ((ParameterizedType)genericType).getActualTypeArguments();
+        return typeArguments.length == 1
+               && typeArguments[0] instanceof Class
+               && ((Class<?>)typeArguments[0]).isAnnotationPresent(DTO.class);
+    }
+}
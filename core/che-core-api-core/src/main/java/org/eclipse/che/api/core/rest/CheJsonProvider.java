@@ -28,6 +28,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -80,8 +81,13 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         // Add Cache-Control before start write body.
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
         if (t instanceof JsonSerializable) {
-            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+            // DTO is written straight to the stream without building JSON string or tree in memory
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, Charset.forName("UTF-8")))) {
+                DtoFactory.getInstance().toJson(t, w);
+            }
+        } else if (isDtoCollection(t, genericType)) {
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, Charset.forName("UTF-8")))) {
+                DtoFactory.getInstance().toJson((Iterable<?>)t, w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -114,6 +120,28 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         return (T)delegate.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
+    /**
+     * Checks whether the entity is a collection of generated DTO implementations
+     * and its type is parameterized with DTO interface, e.g. {@code List<ProjectConfigDto>}.
+     */
+    private static boolean isDtoCollection(Object entity, Type genericType) {
+        if (!(entity instanceof Iterable) || !(genericType instanceof ParameterizedType)) {
+            return false;
+        }
+        final Type[] typeArguments = ((ParameterizedType)genericType).getActualTypeArguments();
+        if (typeArguments.length != 1
+            || !(typeArguments[0] instanceof Class)
+            || !((Class<?>)typeArguments[0]).isAnnotationPresent(DTO.class)) {
+            return false;
+        }
+        for (Object element : (Iterable<?>)entity) {
+            if (element != null && !(element instanceof JsonSerializable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Get Set of classes that we never try to serialize or deserialize. Returned Set is mutable and new classes may be added in ignored
      * Set.
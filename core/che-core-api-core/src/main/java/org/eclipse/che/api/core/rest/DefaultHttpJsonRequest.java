@@ -219,10 +219,12 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
         conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
         conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        boolean responseRead = false;
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
             conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            prepareConnection(conn);
             if (!isNullOrEmpty(authorizationHeaderValue)) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
             } else if (authToken != null) {
@@ -249,9 +251,10 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                     in = conn.getInputStream();
                 }
                 final String str;
-                try (Reader reader = new InputStreamReader(in)) {
+                try (Reader reader = new InputStreamReader(openResponseStream(conn, in))) {
                     str = CharStreams.toString(reader);
                 }
+                responseRead = true;
                 final String contentType = conn.getContentType();
                 if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
                     final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
@@ -281,14 +284,52 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 throw new IOException(conn.getResponseMessage());
             }
 
-            try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+            final String str;
+            try (Reader reader = new InputStreamReader(openResponseStream(conn, conn.getInputStream()))) {
+                str = CharStreams.toString(reader);
             }
+            responseRead = true;
+            return new DefaultHttpJsonResponse(str, responseCode);
         } finally {
-            conn.disconnect();
+            releaseConnection(conn, responseRead);
         }
     }
 
+    /**
+     * Configures the connection before the request is sent, e.g. adds request headers.
+     * Does nothing by default.
+     */
+    protected void prepareConnection(HttpURLConnection conn) throws IOException {
+    }
+
+    /**
+     * Returns the stream to read response body from, e.g. decompresses response body.
+     * Returns the given stream by default.
+     *
+     * @param conn
+     *         connection which returned the response
+     * @param in
+     *         either input or error stream of the connection
+     */
+    protected InputStream openResponseStream(HttpURLConnection conn, InputStream in) throws IOException {
+        return in;
+    }
+
+    /**
+     * Releases the connection after the response is read or the request failed.
+     * Closes the underlying socket by default.
+     *
+     * @param conn
+     *         connection which sent the request
+     * @param responseRead
+     *         {@code true} if the response body was read to the end and its stream was closed,
+     *         {@code false} if the request failed before, e.g. while connecting, writing the request body
+     *         or because of the unexpected response content type
+     */
+    protected void releaseConnection(HttpURLConnection conn, boolean responseRead) {
+        conn.disconnect();
+    }
+
     private String getAuthenticationToken() {
         final Subject subject = EnvironmentContext.getCurrent().getSubject();
         if (subject != null) {
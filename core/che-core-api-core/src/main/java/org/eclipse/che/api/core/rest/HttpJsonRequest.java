@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines simple set of methods for requesting json objects.
@@ -177,6 +178,26 @@ public interface HttpJsonRequest {
                                       ConflictException,
                                       BadRequestException;
 
+    /**
+     * Makes the same request as {@link #request()} does, but doesn't wait for the response.
+     * The returned future is completed with the response or exceptionally with any of
+     * the exceptions thrown by {@link #request()}.
+     *
+     * <p>The default implementation makes the request in the calling thread and
+     * returns already completed future, implementations are free to make it asynchronously.
+     *
+     * @return future response of this request
+     */
+    default CompletableFuture<HttpJsonResponse> requestAsync() {
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        try {
+            future.complete(request());
+        } catch (Exception ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
     /**
      * Uses {@link HttpMethod#GET} as a request method.
      *
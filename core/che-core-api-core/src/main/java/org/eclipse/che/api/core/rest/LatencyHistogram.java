@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in milliseconds with exponential buckets, i.e. the bucket with index {@code i > 0}
+ * counts latencies from {@code 2^(i-1)} inclusive to {@code 2^i} exclusive, the first bucket counts latencies
+ * less than 1 millisecond and the last bucket counts all the latencies greater than its lower bound.
+ * Percentiles are approximated with upper bounds of the buckets.
+ *
+ * <p>The histogram is thread-safe and recording of latency doesn't block.
+ */
+public class LatencyHistogram {
+
+    /** The last bucket counts latencies which are greater than 2^30 milliseconds. */
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder       count;
+    private final LongAdder       total;
+    private final AtomicLong      max;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.total = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records the latency.
+     *
+     * @param millis
+     *         latency in milliseconds, negative values are recorded as zero
+     */
+    public void record(long millis) {
+        if (millis < 0) {
+            millis = 0;
+        }
+        buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(millis), BUCKETS - 1));
+        count.increment();
+        total.add(millis);
+        max.accumulateAndGet(millis, Math::max);
+    }
+
+    /** Returns the number of recorded latencies. */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** Returns the greatest recorded latency in milliseconds. */
+    public long getMax() {
+        return max.get();
+    }
+
+    /** Returns the mean of recorded latencies in milliseconds or {@code 0} if nothing is recorded. */
+    public double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double)total.sum() / count;
+    }
+
+    /**
+     * Returns approximate percentile of recorded latencies, the value is never less than
+     * the exact percentile and never greater than twice the exact percentile or {@link #getMax()}.
+     *
+     * @param percentile
+     *         percentile from 0 to 100, e.g. 99 for 99th percentile
+     * @return latency in milliseconds or {@code 0} if nothing is recorded
+     * @throws IllegalArgumentException
+     *         when percentile is out of range
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in range from 0 to 100, but it is " + percentile);
+        }
+        final long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long)Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                // upper bound of the bucket is exclusive
+                return Math.min((1L << i) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+               "count=" + getCount() +
+               ", mean=" + getMean() +
+               ", p50=" + getPercentile(50) +
+               ", p99=" + getPercentile(99) +
+               ", max=" + getMax() +
+               '}';
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.base.Splitter;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+import javax.ws.rs.core.HttpHeaders;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Request created by {@link PooledHttpJsonRequestFactory}, keeps connections alive,
+ * accepts gzip compressed responses and records latencies of requests.
+ */
+class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+
+    /** Replaces path segments which contain identifiers in endpoints of recorded latencies. */
+    static final String ID_SEGMENT = "{id}";
+
+    /** Segments with digits, e.g. generated ids, or with encoded or special characters, e.g. names and keys. */
+    private static final Pattern ID_PATTERN = Pattern.compile("[0-9%:@=]");
+
+    private final PooledHttpJsonRequestFactory factory;
+
+    PooledHttpJsonRequest(String url, PooledHttpJsonRequestFactory factory) {
+        super(url);
+        this.factory = factory;
+    }
+
+    PooledHttpJsonRequest(Link link, PooledHttpJsonRequestFactory factory) {
+        super(link);
+        this.factory = factory;
+    }
+
+    @Override
+    public CompletableFuture<HttpJsonResponse> requestAsync() {
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        try {
+            factory.getExecutor().execute(ThreadLocalPropagateContext.wrap(() -> {
+                try {
+                    future.complete(request());
+                } catch (IOException | ApiException | RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                }
+            }));
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    @Override
+    DefaultHttpJsonResponse doRequest(int timeout,
+                                      String url,
+                                      String method,
+                                      Object body,
+                                      List<Pair<String, ?>> parameters,
+                                      String authorizationHeaderValue) throws IOException,
+                                                                              ServerException,
+                                                                              ForbiddenException,
+                                                                              NotFoundException,
+                                                                              UnauthorizedException,
+                                                                              ConflictException,
+                                                                              BadRequestException {
+        final long start = System.nanoTime();
+        try {
+            return super.doRequest(timeout, url, method, body, parameters, authorizationHeaderValue);
+        } finally {
+            factory.recordLatency(getEndpoint(method, url), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection conn) throws IOException {
+        conn.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    }
+
+    @Override
+    protected InputStream openResponseStream(HttpURLConnection conn, InputStream in) throws IOException {
+        if ("gzip".equalsIgnoreCase(conn.getContentEncoding())) {
+            return new GZIPInputStream(in);
+        }
+        return in;
+    }
+
+    /**
+     * Keeps the connection open when the response is read to the end and its stream is closed,
+     * such connection is already returned to the keep-alive cache. Otherwise the connection
+     * is in unknown state, e.g. unread response body is left in it, so it is closed.
+     */
+    @Override
+    protected void releaseConnection(HttpURLConnection conn, boolean responseRead) {
+        if (!responseRead) {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Returns endpoint of the request without query parameters and user info,
+     * path segments which contain identifiers are replaced with {@link #ID_SEGMENT},
+     * so requests to different entities of the same API share the endpoint.
+     */
+    static String getEndpoint(String method, String url) {
+        try {
+            final URI uri = URI.create(url);
+            final String rawPath = uri.getRawPath();
+            final StringBuilder endpoint = new StringBuilder(method).append(' ')
+                                                                    .append(uri.getScheme())
+                                                                    .append("://")
+                                                                    .append(uri.getHost())
+                                                                    .append(':')
+                                                                    .append(uri.getPort());
+            if (rawPath != null) {
+                for (String segment : Splitter.on('/').omitEmptyStrings().split(rawPath)) {
+                    endpoint.append('/').append(ID_PATTERN.matcher(segment).find() ? ID_SEGMENT : segment);
+                }
+            }
+            return endpoint.toString();
+        } catch (IllegalArgumentException ex) {
+            return method + ' ' + PooledHttpJsonRequestFactory.OTHER_ENDPOINTS;
+        }
+    }
+}
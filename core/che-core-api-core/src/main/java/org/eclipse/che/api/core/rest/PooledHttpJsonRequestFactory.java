@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link HttpJsonRequestFactory} for intensive inter-service communication,
+ * may be selected with binding:
+ * <pre>{@code
+ *     bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
+ * }</pre>
+ *
+ * <p>Requests created by this factory differ from {@link DefaultHttpJsonRequest} in the following:
+ * <ul>
+ * <li>Connections aren't closed after the response is read, so they are reused by the keep-alive cache
+ * of {@link java.net.HttpURLConnection}, the number of idle connections kept per host may be configured
+ * with 'http.maxConnections' system property</li>
+ * <li>{@link HttpJsonRequest#requestAsync()} makes request in the pool of {@code http.client.pool_size} threads,
+ * so callers don't need a thread per request</li>
+ * <li>Gzip compressed responses are accepted</li>
+ * <li>Latencies of requests are recorded per endpoint, see {@link #getLatencies()}</li>
+ * </ul>
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+    /** Histograms of endpoints which exceed this limit are merged into {@link #OTHER_ENDPOINTS} histogram. */
+    static final int    MAX_ENDPOINTS   = 1024;
+    static final String OTHER_ENDPOINTS = "*";
+
+    private final ExecutorService                             executor;
+    private final ConcurrentHashMap<String, LatencyHistogram> latencies;
+
+    @Inject
+    public PooledHttpJsonRequestFactory(@Named("http.client.pool_size") int poolSize) {
+        this.executor = Executors.newFixedThreadPool(poolSize, new ThreadFactoryBuilder().setNameFormat("HttpJsonRequest-%d")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+        this.latencies = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public HttpJsonRequest fromUrl(@NotNull String url) {
+        return new PooledHttpJsonRequest(url, this);
+    }
+
+    @Override
+    public HttpJsonRequest fromLink(@NotNull Link link) {
+        return new PooledHttpJsonRequest(link, this);
+    }
+
+    /**
+     * Returns latency histograms of the requests made by this factory, keys are endpoints
+     * in form of {@code "METHOD scheme://host:port/path"}.
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    /** Returns executor of asynchronous requests. */
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /** Records latency of the request to the given endpoint. */
+    void recordLatency(String endpoint, long millis) {
+        LatencyHistogram histogram = latencies.get(endpoint);
+        if (histogram == null) {
+            if (latencies.size() >= MAX_ENDPOINTS) {
+                endpoint = OTHER_ENDPOINTS;
+            }
+            histogram = latencies.computeIfAbsent(endpoint, key -> new LatencyHistogram());
+        }
+        histogram.record(millis);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -13,8 +13,10 @@ package org.eclipse.che.everrest;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
+import com.google.common.hash.Funnels;
 import com.google.common.hash.Hashing;
 
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
@@ -23,11 +25,16 @@ import org.everrest.core.ResponseFilter;
 import org.everrest.core.impl.ApplicationContextImpl;
 
 import javax.ws.rs.HttpMethod;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.List;
 
@@ -40,17 +47,53 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * requests.
  * It is applying on GET method and JSON content type only.
  *
+ * <p>Services which are able to compute version of the response cheaply, e.g. from modification counters,
+ * should call {@link #evaluateVersion(String)} before building the entity, in this case the version
+ * is used as ETag and entity isn't hashed. Otherwise ETag is MD5 hash of JSON representation of the entity.
+ *
  * @author Florent Benoit
  */
 @Filter
 public class ETagResponseFilter implements ResponseFilter {
 
+    private static final String VERSION_ATTRIBUTE = ETagResponseFilter.class.getName() + ".version";
+
     public enum EntityType {
         JSON_SERIALIZABLE,
         STRING,
         UNKNOWN
     }
 
+    /**
+     * Uses the given version of the response as its ETag. If the client already has the response
+     * of this version, i.e. sent the same tag in {@code If-None-Match} header, the request is completed
+     * with '304 Not Modified' status, so the service doesn't need to build the entity.
+     * Must be called from the GET method of the service before the entity is built.
+     *
+     * <p>Version must change whenever the entity changes and must be different for different
+     * representations of the entity, e.g. for different users or query parameters.
+     *
+     * @param version
+     *         version of the response
+     * @throws WebApplicationException
+     *         with '304 Not Modified' response when client has the response of the given version
+     */
+    public static void evaluateVersion(String version) throws WebApplicationException {
+        final ApplicationContext applicationContext = ApplicationContextImpl.getCurrent();
+        if (applicationContext == null) {
+            return;
+        }
+        final EntityTag entityTag = new EntityTag(version);
+        applicationContext.getAttributes().put(VERSION_ATTRIBUTE, entityTag);
+        final Request request = applicationContext.getRequest();
+        if (HttpMethod.GET.equals(request.getMethod())) {
+            final Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+            if (builder != null) {
+                throw new WebApplicationException(builder.tag(entityTag).build());
+            }
+        }
+    }
+
     /**
      * Filter the given container response
      *
@@ -81,6 +124,18 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
+        // version of the response is provided by the service
+        Object version = applicationContext.getAttributes().get(VERSION_ATTRIBUTE);
+        if (version instanceof EntityTag) {
+            containerResponse.setResponse(Response.fromResponse(containerResponse.getResponse()).tag((EntityTag)version).build());
+            return;
+        }
+
+        // ETag is set by the service
+        if (containerResponse.getHttpHeaders().containsKey(HttpHeaders.ETAG)) {
+            return;
+        }
+
         // calculate hash with MD5
         HashFunction hashFunction = Hashing.md5();
         Hasher hasher = hashFunction.newHasher();
@@ -142,8 +197,15 @@ public class ETagResponseFilter implements ResponseFilter {
         }
         // add hash if all is OK
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
-        } catch (RuntimeException e) {
+            if (entityType == JSON_SERIALIZABLE) {
+                // stream JSON to the hasher without building the string
+                Writer writer = new OutputStreamWriter(Funnels.asOutputStream(hasher), Charset.defaultCharset());
+                DtoFactory.getInstance().toJson(entity, writer);
+                writer.flush();
+            } else {
+                hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
+            }
+        } catch (IOException | RuntimeException e) {
             return false;
         }
         return true;
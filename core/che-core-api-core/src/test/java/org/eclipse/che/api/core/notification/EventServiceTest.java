@@ -10,13 +10,18 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -29,6 +34,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -157,4 +167,81 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testAsyncSubscriberReceivesEventsInPublishingOrder() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(100);
+        bus.subscribeAsync(new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+                latch.countDown();
+            }
+        });
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(String.valueOf(i));
+            bus.publish(new Event(String.valueOf(i)));
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(events, expected);
+        // dispatched count is updated after subscriber returns, so it may be behind the latch for a while
+        assertDispatchedCount(bus.getAsyncSubscribers().get(0), 100);
+    }
+
+    @Test
+    public void testSlowAsyncSubscriberDoesNotBlockPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribeAsync(new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, Event.class, 2, OverflowPolicy.DROP_NEWEST);
+        bus.subscribe(new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            bus.publish(new Event(String.valueOf(i)));
+        }
+
+        Assert.assertEquals(events.size(), 10);
+        final AsyncEventSubscriber asyncSubscriber = bus.getAsyncSubscribers().get(0);
+        // first event is being processed, two wait in the queue, the rest is dropped
+        Assert.assertTrue(asyncSubscriber.getDroppedCount() >= 7);
+        release.countDown();
+    }
+
+    @Test
+    public void testUnsubscribeAsyncSubscriber() {
+        EventSubscriber<Event> l = new EventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+            }
+        };
+        bus.subscribeAsync(l);
+        Assert.assertEquals(bus.getAsyncSubscribers().size(), 1);
+
+        bus.unsubscribe(l);
+
+        Assert.assertTrue(bus.getAsyncSubscribers().isEmpty());
+    }
+
+    private void assertDispatchedCount(AsyncEventSubscriber subscriber, long count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (subscriber.getDispatchedCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(subscriber.getDispatchedCount(), count);
+    }
 }
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldReturnZerosWhenNothingIsRecorded() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getMax(), 0);
+        assertEquals(histogram.getMean(), 0D);
+        assertEquals(histogram.getPercentile(99), 0);
+    }
+
+    @Test
+    public void shouldApproximatePercentilesWithUpperBoundsOfBuckets() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getMax(), 100);
+        assertEquals(histogram.getMean(), 50.5D);
+        assertEquals(histogram.getPercentile(0), 1);
+        assertEquals(histogram.getPercentile(50), 63);
+        assertEquals(histogram.getPercentile(99), 100);
+    }
+
+    @Test
+    public void shouldRecordNegativeLatencyAsZero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+
+        assertEquals(histogram.getMax(), 0);
+        assertEquals(histogram.getPercentile(100), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenPercentileIsOutOfRange() {
+        new LatencyHistogram().getPercentile(101);
+    }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.everrest.assured.EverrestJetty;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link PooledHttpJsonRequestFactory}.
+ */
+@Listeners(EverrestJetty.class)
+public class PooledHttpJsonRequestFactoryTest {
+
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final TestService        TEST_SERVICE     = new TestService();
+
+    private PooledHttpJsonRequestFactory factory;
+
+    @BeforeMethod
+    public void setUp() {
+        factory = new PooledHttpJsonRequestFactory(2);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        factory.shutdown();
+    }
+
+    @Test
+    public void shouldMakeRequestAsynchronously(ITestContext ctx) throws Exception {
+        final HttpJsonResponse response = factory.fromUrl(getUrl(ctx) + "/application-json")
+                                                 .useGetMethod()
+                                                 .requestAsync()
+                                                 .get();
+
+        assertEquals(response.asString(), TestService.JSON_OBJECT);
+    }
+
+    @Test
+    public void shouldCompleteFutureExceptionallyWhenRequestFails(ITestContext ctx) throws Exception {
+        try {
+            factory.fromUrl(getUrl(ctx) + "/404/response-code-test")
+                   .useGetMethod()
+                   .requestAsync()
+                   .get();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof NotFoundException);
+            return;
+        }
+        throw new AssertionError("Request is expected to fail");
+    }
+
+    @Test
+    public void shouldMakeSequentialRequestsOverKeptAliveConnections(ITestContext ctx) throws Exception {
+        final Set<String> clientPorts = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            clientPorts.add(factory.fromUrl(getUrl(ctx) + "/remote-port").useGetMethod().request().asString());
+        }
+
+        assertEquals(clientPorts.size(), 1, "Requests are expected to reuse the same connection");
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenResponseIsNotRead(ITestContext ctx) throws Exception {
+        final String firstPort = factory.fromUrl(getUrl(ctx) + "/remote-port").useGetMethod().request().asString();
+        try {
+            factory.fromUrl(getUrl(ctx) + "/text-plain").useGetMethod().request();
+            throw new AssertionError("Request is expected to fail because of the response content type");
+        } catch (IOException ignored) {
+        }
+        final String lastPort = factory.fromUrl(getUrl(ctx) + "/remote-port").useGetMethod().request().asString();
+
+        assertNotEquals(lastPort, firstPort);
+    }
+
+    @Test
+    public void shouldRecordLatencyOfEndpointWithoutQueryParameters(ITestContext ctx) throws Exception {
+        factory.fromUrl(getUrl(ctx) + "/application-json")
+               .useGetMethod()
+               .addQueryParam("param", "value")
+               .request();
+
+        final LatencyHistogram histogram = factory.getLatencies().get("GET " + getUrl(ctx) + "/application-json");
+        assertNotNull(histogram);
+        assertEquals(histogram.getCount(), 1);
+    }
+
+    @Test
+    public void shouldReplaceIdentifiersInPathOfEndpoint() throws Exception {
+        assertEquals(PooledHttpJsonRequest.getEndpoint("GET", "http://localhost:8080/api/workspace/workspacew7x2kd9zw5/runtime"),
+                     "GET http://localhost:8080/api/workspace/{id}/runtime");
+        assertEquals(PooledHttpJsonRequest.getEndpoint("GET", "http://localhost:8080/api/workspace/user:ws?token=123"),
+                     "GET http://localhost:8080/api/workspace/{id}");
+        assertEquals(PooledHttpJsonRequest.getEndpoint("DELETE", "http://localhost:8080/api/machine/machine123/process/42"),
+                     "DELETE http://localhost:8080/api/machine/{id}/process/{id}");
+    }
+
+    @Test
+    public void shouldMergeLatenciesWhenNumberOfEndpointsExceedsLimit() throws Exception {
+        for (int i = 0; i < PooledHttpJsonRequestFactory.MAX_ENDPOINTS + 10; i++) {
+            factory.recordLatency("GET http://localhost:8080/endpoint" + i, 1);
+        }
+
+        assertEquals(factory.getLatencies().size(), PooledHttpJsonRequestFactory.MAX_ENDPOINTS + 1);
+        assertEquals(factory.getLatencies().get(PooledHttpJsonRequestFactory.OTHER_ENDPOINTS).getCount(), 10);
+    }
+
+    private String getUrl(ITestContext ctx) {
+        return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+    }
+}
@@ -18,6 +18,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
@@ -59,6 +60,13 @@ public class TestService extends Service {
                        .build();
     }
 
+    @GET
+    @Path("/remote-port")
+    @Produces(APPLICATION_JSON)
+    public String getRemotePort(@Context HttpServletRequest request) {
+        return Integer.toString(request.getRemotePort());
+    }
+
     @GET
     @Path("/text-plain")
     @Produces(TEXT_PLAIN)
@@ -91,9 +91,23 @@ public class ETagResponseFilterTest {
                            .build();
         }
 
+        @GET
+        @Path("/versioned")
+        @Produces(APPLICATION_JSON)
+        public List<String> getVersionedMembers() {
+            ETagResponseFilter.evaluateVersion("v1");
+            builtEntities++;
+            return Arrays.asList("a", "b", "c");
+        }
+
 
     }
 
+    /**
+     * Number of entities built by versioned method of the service
+     */
+    private static int builtEntities;
+
     /**
      * Resource Launcher
      */
@@ -105,6 +119,7 @@ public class ETagResponseFilterTest {
      */
     @BeforeMethod
     public void before() throws Exception {
+        builtEntities = 0;
         //set up launcher
         final ResourceBinderImpl resources = new ResourceBinderImpl();
         resources.addResource(MyJaxRSService.class, null);
@@ -221,4 +236,38 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if version provided by the service is used as ETag instead of hash
+     */
+    @Test
+    public void filterVersionedEntityTest() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        // check entity
+        Assert.assertEquals(response.getEntity(), Arrays.asList("a", "b", "c"));
+        // Check etag
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("v1"));
+    }
+
+    /**
+     * Check if request with the same version is redirecting to NOT_MODIFIED without building entity
+     */
+    @Test
+    public void filterVersionedEntityTestWithEtag() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("v1").toString()));
+
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        // check null body
+        Assert.assertNull(response.getEntity());
+        assertEquals(builtEntities, 0);
+    }
+
 }
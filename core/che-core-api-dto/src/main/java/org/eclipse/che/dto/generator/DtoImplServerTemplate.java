@@ -21,18 +21,22 @@ import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 import org.eclipse.che.dto.shared.SerializationIndex;
 import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
 import com.google.common.primitives.Primitives;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 
 /** Generates the source code for a generated Server DTO impl. */
@@ -41,6 +45,9 @@ public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
+    /** Max index of the field in binary format, varint tag of the field with this index takes 4 bytes. */
+    static final int MAX_HASHED_FIELD_INDEX = (1 << 24) - 1;
+
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
         super(template, superInterface);
     }
@@ -70,7 +77,11 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamDeserializer(methods, builder);
+        emitBinarySerializer(methods, builder);
+        emitBinaryDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +312,18 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // Writes the same JSON as gson.toJson(toJsonElementInt(false)) without building intermediate JSON tree
+        builder.append("      java.io.StringWriter result = new java.io.StringWriter();\n");
+        builder.append("      JsonWriter out = new JsonWriter(result);\n");
+        builder.append("      out.setLenient(true);\n");
+        builder.append("      out.setSerializeNulls(false);\n");
+        builder.append("      try {\n");
+        builder.append("        writeTo(out);\n");
+        builder.append("        out.flush();\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new RuntimeException(e.getLocalizedMessage(), e);\n");
+        builder.append("      }\n");
+        builder.append("      return result.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -311,6 +332,130 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates a method that writes DTO directly to the {@code JsonWriter}.
+     * Produces the same JSON as serialization of the {@code JsonElement} returned by {@code toJsonElement()},
+     * null values of object fields are omitted or written depending on {@code JsonWriter#getSerializeNulls()}.
+     */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter out) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            // compact DTOs are rare and small, they are written through the JSON tree
+            builder.append("      gson.getAdapter(JsonElement.class).write(out, toJsonElementInt(false));\n");
+        } else {
+            builder.append("      out.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("      out.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitStreamSerializerImpl(expandType(getter.getGenericReturnType()),
+                                         0,
+                                         builder,
+                                         getJavaFieldName(getter.getName()),
+                                         "      ");
+            }
+            builder.append("      out.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the given variable to the {@code JsonWriter} named 'out'.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable which value should be written
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String value = depth == 0 ? "this." + inVar : inVar;
+        final String childInVar = inVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            if (depth == 0) {
+                // the same as toJsonElement(), which writes empty collection instead of null
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(i).append("  out.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                i += "  ";
+            }
+            if (isList(rawClass)) {
+                builder.append(i).append("out.beginArray();\n");
+                builder.append(i).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ")
+                       .append(value).append(") {\n");
+            } else {
+                final String entryVar = "entry" + depth;
+                builder.append(i).append("out.beginObject();\n");
+                builder.append(i).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(i).append("  out.name(").append(entryVar).append(".getKey());\n");
+                builder.append(i).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+            }
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "  ");
+            builder.append(i).append("}\n");
+            builder.append(i).append(isList(rawClass) ? "out.endArray();\n" : "out.endObject();\n");
+            if (depth != 0) {
+                builder.append(i.substring(2)).append("}\n");
+            }
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("out.value(").append(value).append(" == null ? null : ").append(value).append(".name());\n");
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("out.value(").append(value).append(");\n");
+        } else if (rawClass == boolean.class || rawClass == int.class || rawClass == long.class || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("out.value(").append(value).append(");\n");
+        } else if (rawClass == double.class || rawClass == float.class) {
+            // written as Number, the same as JsonPrimitive does, e.g. float 0.1 is written as 0.1 rather than its double value
+            builder.append(i).append("out.value(").append(Primitives.wrap(rawClass).getName()).append(".valueOf(").append(value)
+                   .append("));\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.value(").append(value).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("out.value((Number)").append(value).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.getAdapter(JsonElement.class).write(out, (JsonElement)").append(value).append(");\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final String implName;
+            if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+                implName = getImplNameForDto(rawClass);
+            } else {
+                final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+                if (dtoImplementation == null) {
+                    throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                       getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                       " is not allowed to use in DTO interface.");
+                }
+                implName = dtoImplementation.getCanonicalName();
+            }
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ((").append(implName).append(")").append(value).append(").writeTo(out);\n");
+            builder.append(i).append("}\n");
+        }
+    }
+
     private void emitSerializeFieldForMethod(Method getter, final StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(getter.getName());
         final String jsonFieldName = getJsonFieldName(getter);
@@ -477,6 +622,405 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates a static factory method that reads a new instance directly from the {@code JsonReader}.
+     * Accepts the same JSON as {@code fromJsonElement(JsonElement)}, unknown fields are skipped.
+     */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(JsonReader in) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(in), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (in.peek() == JsonToken.NULL) {\n");
+        builder.append("        in.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      in.beginObject();\n");
+        builder.append("      while (in.hasNext()) {\n");
+        builder.append("        switch (in.nextName()) {\n");
+        final Set<String> jsonFieldNames = new HashSet<>();
+        for (Method getter : getters) {
+            final String jsonFieldName = getJsonFieldName(getter);
+            if (!jsonFieldNames.add(jsonFieldName)) {
+                continue;
+            }
+            final String fieldNameOut = getFieldNameFromGetterName(getter.getName()) + "Out";
+            builder.append("          case ").append(quoteStringLiteral(jsonFieldName)).append(": {\n");
+            emitStreamDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(getJavaFieldName(getter.getName()))).append("(").append(fieldNameOut)
+                   .append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            in.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      in.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read the value from the {@code JsonReader} named 'in' into the new variable.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the name of the java variable to declare and assign read value to
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String childOutVar = outVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (in.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  in.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  in.beginArray();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endArray();\n");
+            } else {
+                final String keyVar = "key" + depth;
+                builder.append(i).append("  in.beginObject();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = in.nextName();\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".readFrom(in);\n");
+        } else if (rawClass == boolean.class) {
+            // JsonPrimitive#getAsBoolean() accepts strings as well
+            builder.append(i).append("boolean ").append(outVar)
+                   .append(" = in.peek() == JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();\n");
+        } else if (rawClass == int.class || rawClass == long.class || rawClass == double.class) {
+            final String primitiveName = rawClass.getSimpleName();
+            final String primitiveNameCap = Character.toUpperCase(primitiveName.charAt(0)) + primitiveName.substring(1);
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = in.next").append(primitiveNameCap)
+                   .append("();\n");
+        } else if (rawClass == short.class || rawClass == byte.class) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = (")
+                   .append(rawClass.getSimpleName()).append(")in.nextInt();\n");
+        } else if (rawClass == float.class) {
+            builder.append(i).append("float ").append(outVar).append(" = (float)in.nextDouble();\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(in);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".readFrom(in);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.getAdapter(")
+                       .append(rawClassName).append(".class).read(in);\n");
+            }
+        }
+    }
+
+    /**
+     * Returns getters of the fields written in binary format together with indices of the fields.
+     * Index is taken from {@link SerializationIndex} if getter is annotated with it, index of other fields
+     * is computed from their JSON names, see {@link #getHashedFieldIndex(String)}, so adding, removing or renaming
+     * of a field doesn't change indices of other fields and data written by other versions of DTO stays readable.
+     * Getters of the same JSON field are written once.
+     *
+     * @throws IllegalStateException
+     *         if indices of fields are invalid or collide, colliding field should be annotated with {@link SerializationIndex}
+     */
+    private Map<Method, Integer> getBinaryFieldIndices(List<Method> getters) {
+        final Map<String, Method> fields = new TreeMap<>();
+        for (Method getter : getters) {
+            fields.putIfAbsent(getJsonFieldName(getter), getter);
+        }
+        final Map<Method, Integer> indices = new LinkedHashMap<>();
+        final Map<Integer, String> usedIndices = new HashMap<>();
+        for (Map.Entry<String, Method> field : fields.entrySet()) {
+            final Method getter = field.getValue();
+            final SerializationIndex serializationIndex = getter.getAnnotation(SerializationIndex.class);
+            final int index = serializationIndex != null ? serializationIndex.value() : getHashedFieldIndex(field.getKey());
+            Preconditions.checkState(index > 0 && index <= MAX_HASHED_FIELD_INDEX, "Invalid serialization index of %s in %s",
+                                     getter.getName(), getDtoInterface().getSimpleName());
+            final String previous = usedIndices.putIfAbsent(index, field.getKey());
+            Preconditions.checkState(previous == null,
+                                     "Serialization index of %s in %s is the same as index of field '%s', specify index of one of them "
+                                     + "with @SerializationIndex",
+                                     getter.getName(), getDtoInterface().getSimpleName(), previous);
+            indices.put(getter, index);
+        }
+        return indices;
+    }
+
+    /**
+     * Returns index of the field computed from murmur3 hash of its JSON name, index is in range
+     * {@code [1, MAX_HASHED_FIELD_INDEX]}, so its tag takes at most 4 bytes.
+     */
+    static int getHashedFieldIndex(String jsonName) {
+        final int hash = Hashing.murmur3_32().hashString(jsonName, StandardCharsets.UTF_8).asInt();
+        return 1 + (hash & Integer.MAX_VALUE) % MAX_HASHED_FIELD_INDEX;
+    }
+
+    /** Returns the {@code BinaryDtoWriter} constant of the wire type which is used for values of the given type. */
+    private String getBinaryWireType(Class<?> rawClass) {
+        final Class<?> wrapped = Primitives.wrap(rawClass);
+        if (isList(rawClass)) {
+            return "BinaryDtoWriter.LIST";
+        } else if (isMap(rawClass)) {
+            return "BinaryDtoWriter.MAP";
+        } else if (wrapped == Boolean.class
+                   || wrapped == Integer.class
+                   || wrapped == Long.class
+                   || wrapped == Short.class
+                   || wrapped == Byte.class) {
+            return "BinaryDtoWriter.VARINT";
+        } else if (wrapped == Double.class) {
+            return "BinaryDtoWriter.FIXED64";
+        } else if (wrapped == Float.class) {
+            return "BinaryDtoWriter.FIXED32";
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass) || getEnclosingTemplate().getDtoImplementation(rawClass) != null) {
+            return "BinaryDtoWriter.OBJECT";
+        }
+        // strings, enums, 'any' properties and all other types which are serialized with gson
+        return "BinaryDtoWriter.BYTES";
+    }
+
+    /**
+     * Returns condition which is true if the value should be written or {@code null} if the value is always written.
+     * Primitive fields that have default values aren't written since the reader gets the same values in the new instance.
+     */
+    private String getBinaryWriteCondition(Class<?> rawClass, String value) {
+        if (rawClass == boolean.class) {
+            return value;
+        } else if (rawClass == int.class || rawClass == long.class || rawClass == short.class || rawClass == byte.class) {
+            return value + " != 0";
+        } else if (rawClass == double.class || rawClass == float.class) {
+            return null;
+        } else if (isAny(rawClass)) {
+            return value + " instanceof JsonElement";
+        }
+        return value + " != null";
+    }
+
+    /** Generates a method that writes DTO in binary format, see {@link org.eclipse.che.dto.server.BinaryDtoWriter}. */
+    private void emitBinarySerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(BinaryDtoWriter out) throws java.io.IOException {\n");
+        for (Map.Entry<Method, Integer> entry : getBinaryFieldIndices(getters).entrySet()) {
+            final Method getter = entry.getKey();
+            final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+            final Class<?> rawClass = getRawClass(expandedTypes.get(0));
+            final String value = "this." + getJavaFieldName(getter.getName());
+            final String condition = getBinaryWriteCondition(rawClass, value);
+            String i = "      ";
+            if (condition != null) {
+                builder.append(i).append("if (").append(condition).append(") {\n");
+                i += "  ";
+            }
+            builder.append(i).append("out.writeTag(").append(entry.getValue()).append(", ").append(getBinaryWireType(rawClass))
+                   .append(");\n");
+            emitBinarySerializerImpl(expandedTypes, 0, builder, value, i);
+            if (condition != null) {
+                builder.append("      }\n");
+            }
+        }
+        builder.append("      out.writeEnd();\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the given variable to the {@code BinaryDtoWriter} named 'out'.
+     * Value must not be {@code null}, its wire type must be already written.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param value
+     *         the java expression which value should be written
+     * @param i
+     *         indentation string
+     */
+    private void emitBinarySerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String value, String i) {
+        final Class<?> rawClass = getRawClass(expandedTypes.get(depth));
+        final Class<?> wrapped = Primitives.wrap(rawClass);
+        if (isList(rawClass) || isMap(rawClass)) {
+            final Class<?> childRawClass = getRawClass(expandedTypes.get(depth + 1));
+            final String childTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            final String childVar = "value" + depth;
+            builder.append(i).append("out.writeSize(").append(value).append(".size());\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("for (").append(childTypeName).append(" ").append(childVar).append(" : ").append(value)
+                       .append(") {\n");
+            } else {
+                final String entryVar = "entry" + depth;
+                builder.append(i).append("for (java.util.Map.Entry<String, ").append(childTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(i).append("  out.writeString(").append(entryVar).append(".getKey());\n");
+                builder.append(i).append("  ").append(childTypeName).append(" ").append(childVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+            }
+            builder.append(i).append("  if (").append(getBinaryWriteCondition(childRawClass, childVar)).append(") {\n");
+            builder.append(i).append("    out.writeWireType(").append(getBinaryWireType(childRawClass)).append(");\n");
+            emitBinarySerializerImpl(expandedTypes, depth + 1, builder, childVar, i + "    ");
+            builder.append(i).append("  } else {\n");
+            builder.append(i).append("    out.writeWireType(BinaryDtoWriter.NULL);\n");
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+        } else if (wrapped == Boolean.class) {
+            builder.append(i).append("out.writeBoolean(").append(value).append(");\n");
+        } else if (wrapped == Integer.class || wrapped == Short.class || wrapped == Byte.class) {
+            builder.append(i).append("out.writeInt(").append(value).append(");\n");
+        } else if (wrapped == Long.class) {
+            builder.append(i).append("out.writeLong(").append(value).append(");\n");
+        } else if (wrapped == Double.class) {
+            builder.append(i).append("out.writeDouble(").append(value).append(");\n");
+        } else if (wrapped == Float.class) {
+            builder.append(i).append("out.writeFloat(").append(value).append(");\n");
+        } else if (rawClass == String.class) {
+            builder.append(i).append("out.writeString(").append(value).append(");\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("out.writeString(").append(value).append(".name());\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("out.writeString(gson.toJson((JsonElement)").append(value).append("));\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append("((").append(getImplNameForDto(rawClass)).append(")").append(value).append(").writeTo(out);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append("((").append(dtoImplementation.getCanonicalName()).append(")").append(value)
+                       .append(").writeTo(out);\n");
+            } else {
+                // Use gson to handle all other types.
+                builder.append(i).append("out.writeString(gson.toJson(").append(value).append("));\n");
+            }
+        }
+    }
+
+    /**
+     * Generates a static factory method that reads a new instance from the {@code BinaryDtoReader}.
+     * Fields with unknown indices or unexpected wire types are skipped.
+     */
+    private void emitBinaryDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(BinaryDtoReader in) throws java.io.IOException {\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {\n");
+        builder.append("        switch (BinaryDtoReader.getFieldIndex(tag)) {\n");
+        for (Map.Entry<Method, Integer> entry : getBinaryFieldIndices(getters).entrySet()) {
+            final Method getter = entry.getKey();
+            final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+            final String fieldNameOut = getFieldNameFromGetterName(getter.getName()) + "Out";
+            builder.append("          case ").append(entry.getValue()).append(":\n");
+            builder.append("            if (in.accept(tag, ").append(getBinaryWireType(getRawClass(expandedTypes.get(0)))).append(")) {\n");
+            emitBinaryDeserializerImpl(expandedTypes, 0, builder, fieldNameOut, "              ");
+            builder.append("              dto.").append(getSetterName(getJavaFieldName(getter.getName()))).append("(").append(fieldNameOut)
+                   .append(");\n");
+            builder.append("            }\n");
+            builder.append("            break;\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            in.skipValue(tag);\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read the value from the {@code BinaryDtoReader} named 'in' into the new variable.
+     * Wire type of the value must be already read and checked.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the name of the java variable to declare and assign read value to
+     * @param i
+     *         indentation string
+     */
+    private void emitBinaryDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final Class<?> wrapped = Primitives.wrap(rawClass);
+        final String typeName = getImplName(type, false);
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String childOutVar = outVar + "_";
+            final String counterVar = "size" + depth;
+            final String wireTypeVar = "wireType" + depth;
+            builder.append(i).append(typeName).append(" ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append("for (int ").append(counterVar).append(" = in.readSize(); ").append(counterVar).append(" > 0; ")
+                   .append(counterVar).append("--) {\n");
+            final String add;
+            if (isList(rawClass)) {
+                add = outVar + ".add(";
+            } else {
+                final String keyVar = "key" + depth;
+                builder.append(i).append("  String ").append(keyVar).append(" = in.readString();\n");
+                add = outVar + ".put(" + keyVar + ", ";
+            }
+            builder.append(i).append("  int ").append(wireTypeVar).append(" = in.readWireType();\n");
+            builder.append(i).append("  if (in.accept(").append(wireTypeVar).append(", ")
+                   .append(getBinaryWireType(getRawClass(expandedTypes.get(depth + 1)))).append(")) {\n");
+            emitBinaryDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+            builder.append(i).append("    ").append(add).append(childOutVar).append(");\n");
+            builder.append(i).append("  } else {\n");
+            builder.append(i).append("    ").append(add).append("null);\n");
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+            return;
+        }
+        builder.append(i).append(typeName).append(" ").append(outVar).append(" = ");
+        if (wrapped == Boolean.class) {
+            builder.append("in.readBoolean();\n");
+        } else if (wrapped == Integer.class) {
+            builder.append("in.readInt();\n");
+        } else if (wrapped == Short.class || wrapped == Byte.class) {
+            builder.append("(").append(Primitives.unwrap(rawClass).getName()).append(")in.readInt();\n");
+        } else if (wrapped == Long.class) {
+            builder.append("in.readLong();\n");
+        } else if (wrapped == Double.class) {
+            builder.append("in.readDouble();\n");
+        } else if (wrapped == Float.class) {
+            builder.append("in.readFloat();\n");
+        } else if (rawClass == String.class) {
+            builder.append("in.readString();\n");
+        } else if (rawClass.isEnum()) {
+            builder.append("in.readEnum(").append(typeName).append(".class);\n");
+        } else if (isAny(rawClass)) {
+            builder.append("new JsonParser().parse(in.readString());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(getImplNameForDto(rawClass)).append(".readFrom(in);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(dtoImplementation.getCanonicalName()).append(".readFrom(in);\n");
+            } else {
+                // Use gson to handle all other types.
+                builder.append("gson.fromJson(in.readString(), ").append(rawClass.getName().replace('$', '.')).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializerShortcut(StringBuilder builder) {
         builder.append("    public static ");
         builder.append(getImplClassName());
@@ -643,7 +1187,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
         builder.append(" implements ");
         builder.append(dtoInterface.getCanonicalName());
-        builder.append(", JsonSerializable ");
+        builder.append(", JsonSerializable, BinarySerializable ");
         builder.append(" {\n\n");
         emitFactoryMethod(builder);
         emitDefaultConstructor(builder);
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.eclipse.che.dto.server.BinaryDtoWriter.BYTES;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.FIXED32;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.FIXED64;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.LIST;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.MAP;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.NULL;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.OBJECT;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.VARINT;
+import static org.eclipse.che.dto.server.BinaryDtoWriter.WIRE_TYPE_BITS;
+
+/**
+ * Reads DTOs written by {@link BinaryDtoWriter}, used by generated implementations of {@link BinarySerializable}.
+ * Reader buffers data, so it may read more bytes from the underlying stream than the DTO takes.
+ *
+ * <p>Data may come from untrusted sources, so sizes and lengths which exceed the length of data,
+ * if it is known, are rejected and memory for long strings is allocated while they are read.
+ *
+ * <p>Instance of this class isn't thread-safe.
+ *
+ * @see BinaryDtoWriter
+ */
+public class BinaryDtoReader {
+    private static final int WIRE_TYPE_MASK = (1 << WIRE_TYPE_BITS) - 1;
+
+    private final InputStream in;
+    private final byte[]      buffer;
+
+    private int  position;
+    private int  limit;
+    /** Number of bytes of data which aren't read from the stream yet, {@code -1} if unknown. */
+    private long unread;
+
+    public BinaryDtoReader(InputStream in) {
+        this(in, -1);
+    }
+
+    /**
+     * @param in
+     *         stream to read data from
+     * @param length
+     *         length of data in the stream, e.g. size of the message, {@code -1} if unknown
+     */
+    public BinaryDtoReader(InputStream in, long length) {
+        this.in = in;
+        this.buffer = new byte[8192];
+        this.unread = length;
+    }
+
+    /** Returns index of DTO field from the tag returned by {@link #readTag()}. */
+    public static int getFieldIndex(int tag) {
+        return tag >>> WIRE_TYPE_BITS;
+    }
+
+    /** Returns wire type from the tag returned by {@link #readTag()}. */
+    public static int getWireType(int tag) {
+        return tag & WIRE_TYPE_MASK;
+    }
+
+    /** Reads header of DTO field, returns {@code 0} at the end of DTO. */
+    public int readTag() throws IOException {
+        return (int)readVarint();
+    }
+
+    /** Reads wire type of the element of list or map or of the top level value. */
+    public int readWireType() throws IOException {
+        return (int)readVarint();
+    }
+
+    /** Reads wire type of the top level value, returns {@code -1} if there is no more data in the stream. */
+    public int readWireTypeOrEnd() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return readWireType();
+    }
+
+    /**
+     * Checks whether the value is written with the given wire type.
+     * If it isn't the value is skipped, e.g. when type of DTO field is changed.
+     *
+     * @param tag
+     *         tag of DTO field or wire type of element
+     * @param wireType
+     *         expected wire type
+     * @return {@code true} if the value may be read with the expected wire type
+     */
+    public boolean accept(int tag, int wireType) throws IOException {
+        if (getWireType(tag) == wireType) {
+            return true;
+        }
+        skipValue(tag);
+        return false;
+    }
+
+    /**
+     * Reads number of elements of list or map or length of string.
+     *
+     * @throws IOException
+     *         if the size is negative or exceeds the remaining data, e.g. when data is malformed
+     */
+    public int readSize() throws IOException {
+        final long size = readVarint();
+        // each element, entry or byte takes at least one byte of data
+        if (size < 0 || size > Integer.MAX_VALUE || (unread >= 0 && size > limit - position + unread)) {
+            throw new IOException(String.format("Malformed binary data, invalid size %d", size));
+        }
+        return (int)size;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readVarint() != 0;
+    }
+
+    public int readInt() throws IOException {
+        final int value = (int)readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readLong() throws IOException {
+        final long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readFixed(8));
+    }
+
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat((int)readFixed(4));
+    }
+
+    public String readString() throws IOException {
+        final int length = readSize();
+        if (length <= limit - position) {
+            final String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+        // length is checked against the length of data if it is known,
+        // otherwise memory is allocated as data is read, so bogus length doesn't allocate it at once
+        byte[] bytes = new byte[unread >= 0 ? length : Math.min(length, buffer.length * 8)];
+        int read = limit - position;
+        System.arraycopy(buffer, position, bytes, 0, read);
+        position = limit;
+        while (read < length) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int)Math.min(length, bytes.length * 2L));
+            }
+            final int r = in.read(bytes, read, bytes.length - read);
+            if (r == -1) {
+                throw new EOFException();
+            }
+            read += r;
+            if (unread >= 0) {
+                unread -= r;
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Reads enum constant by its name, returns {@code null} if enum doesn't have constant with such name. */
+    public <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+        final String name = readString();
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Skips value.
+     *
+     * @param tag
+     *         tag of DTO field or wire type of element
+     */
+    public void skipValue(int tag) throws IOException {
+        switch (getWireType(tag)) {
+            case VARINT:
+                readVarint();
+                break;
+            case FIXED64:
+                readFixed(8);
+                break;
+            case FIXED32:
+                readFixed(4);
+                break;
+            case BYTES:
+                skip(readSize());
+                break;
+            case OBJECT:
+                for (int fieldTag = readTag(); fieldTag != 0; fieldTag = readTag()) {
+                    skipValue(fieldTag);
+                }
+                break;
+            case LIST:
+                for (int i = readSize(); i > 0; i--) {
+                    skipValue(readWireType());
+                }
+                break;
+            case MAP:
+                for (int i = readSize(); i > 0; i--) {
+                    skip(readSize());
+                    skipValue(readWireType());
+                }
+                break;
+            case NULL:
+                break;
+        }
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private long readFixed(int bytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value |= (long)(readByte() & 0xFF) << (i * 8);
+        }
+        return value;
+    }
+
+    private byte readByte() throws IOException {
+        if (position == limit && !fill()) {
+            throw new EOFException();
+        }
+        return buffer[position++];
+    }
+
+    private void skip(int length) throws IOException {
+        while (length > 0) {
+            if (position == limit && !fill()) {
+                throw new EOFException();
+            }
+            final int n = Math.min(length, limit - position);
+            position += n;
+            length -= n;
+        }
+    }
+
+    /** Reads more data to the buffer if it is empty, returns {@code false} at the end of stream. */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        position = 0;
+        limit = 0;
+        if (unread == 0) {
+            return false;
+        }
+        final int r = in.read(buffer, 0, unread > 0 ? (int)Math.min(buffer.length, unread) : buffer.length);
+        if (r == -1) {
+            return false;
+        }
+        limit = r;
+        if (unread > 0) {
+            unread -= r;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes DTOs in compact binary format, used by generated implementations of {@link BinarySerializable}.
+ *
+ * <p>Every value is preceded by its wire type, so reader may skip values it doesn't know:
+ * <ul>
+ * <li>{@link #VARINT} - zig-zag encoded variable length integer, used for integral numbers and booleans</li>
+ * <li>{@link #FIXED64} - 8 bytes of double in little-endian order</li>
+ * <li>{@link #BYTES} - length of UTF-8 bytes as varint followed by the bytes, used for strings, enums and JSON values</li>
+ * <li>{@link #OBJECT} - fields of DTO followed by {@code 0}</li>
+ * <li>{@link #LIST} - number of elements as varint followed by the elements</li>
+ * <li>{@link #FIXED32} - 4 bytes of float in little-endian order</li>
+ * <li>{@link #MAP} - number of entries as varint followed by pairs of key, written as string, and value</li>
+ * <li>{@link #NULL} - no data, used for {@code null} elements of lists and maps</li>
+ * </ul>
+ * Field of DTO starts with varint {@code (index << 3) | wireType}, where index is specified with
+ * {@link org.eclipse.che.dto.shared.SerializationIndex} or computed by generator from JSON name of the field.
+ * Elements of lists and maps start with varint wire type. Fields with {@code null} values aren't written.
+ *
+ * <p>Instance of this class isn't thread-safe, data is buffered until {@link #flush()} is called.
+ *
+ * @see BinaryDtoReader
+ */
+public class BinaryDtoWriter {
+    public static final int VARINT  = 0;
+    public static final int FIXED64 = 1;
+    public static final int BYTES   = 2;
+    public static final int OBJECT  = 3;
+    public static final int LIST    = 4;
+    public static final int FIXED32 = 5;
+    public static final int MAP     = 6;
+    public static final int NULL    = 7;
+
+    static final int WIRE_TYPE_BITS = 3;
+
+    private final OutputStream out;
+    private final byte[]       buffer;
+
+    private int position;
+
+    public BinaryDtoWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = new byte[8192];
+    }
+
+    /** Writes header of DTO field. */
+    public void writeTag(int fieldIndex, int wireType) throws IOException {
+        writeVarint((fieldIndex << WIRE_TYPE_BITS) | wireType);
+    }
+
+    /** Writes wire type of the element of list or map or of the top level value. */
+    public void writeWireType(int wireType) throws IOException {
+        writeVarint(wireType);
+    }
+
+    /** Writes the end of DTO. */
+    public void writeEnd() throws IOException {
+        writeVarint(0);
+    }
+
+    /** Writes number of elements of list or map. */
+    public void writeSize(int size) throws IOException {
+        writeVarint(size);
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        writeVarint(value ? 1 : 0);
+    }
+
+    public void writeInt(int value) throws IOException {
+        writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    public void writeLong(long value) throws IOException {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    public void writeDouble(double value) throws IOException {
+        writeFixed(Double.doubleToLongBits(value), 8);
+    }
+
+    public void writeFloat(float value) throws IOException {
+        writeFixed(Float.floatToIntBits(value), 4);
+    }
+
+    public void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /** Writes buffered data to the underlying stream and flushes it. */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeVarint(long value) throws IOException {
+        if (buffer.length - position < 10) {
+            flushBuffer();
+        }
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte)value;
+    }
+
+    private void writeFixed(long value, int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            flushBuffer();
+        }
+        for (int i = 0; i < bytes; i++) {
+            buffer[position++] = (byte)(value >>> (i * 8));
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import java.io.IOException;
+
+/**
+ * An entity that may serialize itself to the binary format, implemented by generated server DTOs.
+ *
+ * @see BinaryDtoWriter
+ * @see DtoFactory#toBinary(Object, java.io.OutputStream)
+ */
+public interface BinarySerializable {
+
+    /** Writes fields of DTO followed by the end marker, the {@link BinaryDtoWriter#OBJECT} wire type isn't written. */
+    void writeTo(BinaryDtoWriter writer) throws IOException;
+}
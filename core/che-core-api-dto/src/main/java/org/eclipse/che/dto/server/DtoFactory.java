@@ -17,20 +17,27 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -143,6 +150,57 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Serializes DTO to JSON and writes it to the given writer. Generated DTO implementations
+     * are written field by field without building intermediate JSON tree. Writer isn't closed.
+     *
+     * @param dto
+     *         DTO object
+     * @param json
+     *         writer to write JSON to
+     * @throws IllegalArgumentException
+     *         if specified object is not instance of generated DTO implementation
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer json) throws IOException {
+        if (!(dto instanceof JsonSerializable)) {
+            throw new IllegalArgumentException("JsonSerializable instance required. ");
+        }
+        final JsonWriter writer = createJsonWriter(json);
+        ((JsonSerializable)dto).writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Serializes list of DTOs to JSON array and writes it to the given writer. Writer isn't closed.
+     *
+     * @param dtos
+     *         DTO objects
+     * @param json
+     *         writer to write JSON to
+     * @throws IllegalArgumentException
+     *         if any of specified objects is not instance of generated DTO implementation
+     * @throws IOException
+     *         if an i/o error occurs
+     * @see #toJson(Object, Writer)
+     */
+    public <T> void toJson(Iterable<T> dtos, Writer json) throws IOException {
+        final JsonWriter writer = createJsonWriter(json);
+        writer.beginArray();
+        for (T dto : dtos) {
+            if (dto == null) {
+                writer.nullValue();
+            } else if (dto instanceof JsonSerializable) {
+                ((JsonSerializable)dto).writeTo(writer);
+            } else {
+                throw new IllegalArgumentException("JsonSerializable instance required. ");
+            }
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -193,14 +251,16 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final JsonReader reader = createJsonReader(json);
+        try {
+            if (isEmptyDocument(reader)) {
+                return null;
+            }
+            return dtoProvider.fromJson(reader);
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
-        return dtoProvider.fromJson(sb.toString());
     }
 
     /**
@@ -257,19 +317,19 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
+        final JsonReader reader = createJsonReader(json);
+        final List<T> result = new ArrayList<>();
         try {
-            list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            if (isEmptyDocument(reader)) {
+                return new JsonArrayImpl<>(result);
             }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(dtoProvider.fromJson(reader));
+            }
+            reader.endArray();
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonArrayImpl<>(result);
     }
@@ -331,19 +391,20 @@ public final class DtoFactory {
     @SuppressWarnings("unchecked")
     public <T> JsonStringMap<T> createMapDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map;
+        final JsonReader reader = createJsonReader(json);
+        final Map<String, T> result = new LinkedHashMap<>();
         try {
-            map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            if (isEmptyDocument(reader)) {
+                return new JsonStringMapImpl<>(result);
             }
-            throw e;
-        }
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String key = reader.nextName();
+                result.put(key, dtoProvider.fromJson(reader));
+            }
+            reader.endObject();
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonStringMapImpl<>(result);
     }
@@ -367,6 +428,195 @@ public final class DtoFactory {
 
     //
 
+    /**
+     * Serializes DTO to the binary format and writes it to the given stream. Stream isn't closed.
+     *
+     * @param dto
+     *         DTO object, may be {@code null}
+     * @param binary
+     *         stream to write DTO to
+     * @throws IllegalArgumentException
+     *         if specified object is not instance of generated DTO implementation
+     * @throws IOException
+     *         if an i/o error occurs
+     * @see BinaryDtoWriter
+     */
+    public <T> void toBinary(T dto, OutputStream binary) throws IOException {
+        final BinaryDtoWriter writer = new BinaryDtoWriter(binary);
+        writeBinaryValue(dto, writer);
+        writer.flush();
+    }
+
+    /**
+     * Serializes list of DTOs to the binary format and writes it to the given stream. Stream isn't closed.
+     *
+     * @param dtos
+     *         DTO objects
+     * @param binary
+     *         stream to write DTOs to
+     * @throws IllegalArgumentException
+     *         if any of specified objects is not instance of generated DTO implementation
+     * @throws IOException
+     *         if an i/o error occurs
+     * @see #toBinary(Object, OutputStream)
+     */
+    public <T> void toBinary(Iterable<T> dtos, OutputStream binary) throws IOException {
+        final Collection<T> collection;
+        if (dtos instanceof Collection) {
+            collection = (Collection<T>)dtos;
+        } else {
+            collection = new ArrayList<>();
+            dtos.forEach(collection::add);
+        }
+        final BinaryDtoWriter writer = new BinaryDtoWriter(binary);
+        writer.writeWireType(BinaryDtoWriter.LIST);
+        writer.writeSize(collection.size());
+        for (T dto : collection) {
+            writeBinaryValue(dto, writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Creates new instance of class which implements specified DTO interface and reads its fields from the binary data.
+     * Returns {@code null} if stream is empty or contains {@code null}.
+     *
+     * @param binary
+     *         binary data written by {@link #toBinary(Object, OutputStream)}
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs or data is malformed
+     */
+    public <T> T createDtoFromBinary(InputStream binary, Class<T> dtoInterface) throws IOException {
+        return createDtoFromBinary(binary, -1, dtoInterface);
+    }
+
+    /**
+     * Creates new instance of class which implements specified DTO interface and reads its fields from the binary data
+     * of the given length, e.g. from the message. Returns {@code null} if data is empty or contains {@code null}.
+     *
+     * @param binary
+     *         binary data written by {@link #toBinary(Object, OutputStream)}
+     * @param length
+     *         length of the data, {@code -1} if unknown
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs or data is malformed
+     */
+    public <T> T createDtoFromBinary(InputStream binary, long length, Class<T> dtoInterface) throws IOException {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final BinaryDtoReader reader = new BinaryDtoReader(binary, length);
+        final int wireType = reader.readWireTypeOrEnd();
+        return wireType == -1 ? null : readBinaryValue(wireType, reader, dtoProvider);
+    }
+
+    /**
+     * Reads list of DTOs from the binary data. Returns empty list if stream is empty or contains {@code null}.
+     *
+     * @param binary
+     *         binary data written by {@link #toBinary(Iterable, OutputStream)}
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs or data is malformed
+     */
+    public <T> JsonArray<T> createListDtoFromBinary(InputStream binary, Class<T> dtoInterface) throws IOException {
+        return createListDtoFromBinary(binary, -1, dtoInterface);
+    }
+
+    /**
+     * Reads list of DTOs from the binary data of the given length.
+     * Returns empty list if data is empty or contains {@code null}.
+     *
+     * @param binary
+     *         binary data written by {@link #toBinary(Iterable, OutputStream)}
+     * @param length
+     *         length of the data, {@code -1} if unknown
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs or data is malformed
+     */
+    public <T> JsonArray<T> createListDtoFromBinary(InputStream binary, long length, Class<T> dtoInterface) throws IOException {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final BinaryDtoReader reader = new BinaryDtoReader(binary, length);
+        final List<T> result = new ArrayList<>();
+        final int wireType = reader.readWireTypeOrEnd();
+        if (wireType == BinaryDtoWriter.LIST) {
+            for (int i = reader.readSize(); i > 0; i--) {
+                result.add(readBinaryValue(reader.readWireType(), reader, dtoProvider));
+            }
+        } else if (wireType != -1 && wireType != BinaryDtoWriter.NULL) {
+            throw new IOException("Malformed binary data, list of DTOs expected");
+        }
+        return new JsonArrayImpl<>(result);
+    }
+
+    private static void writeBinaryValue(Object dto, BinaryDtoWriter writer) throws IOException {
+        if (dto == null) {
+            writer.writeWireType(BinaryDtoWriter.NULL);
+        } else if (dto instanceof BinarySerializable) {
+            writer.writeWireType(BinaryDtoWriter.OBJECT);
+            ((BinarySerializable)dto).writeTo(writer);
+        } else {
+            throw new IllegalArgumentException("BinarySerializable instance required. ");
+        }
+    }
+
+    private static <T> T readBinaryValue(int wireType, BinaryDtoReader reader, DtoProvider<T> dtoProvider) throws IOException {
+        if (wireType == BinaryDtoWriter.NULL) {
+            return null;
+        }
+        if (wireType != BinaryDtoWriter.OBJECT) {
+            throw new IOException("Malformed binary data, DTO expected");
+        }
+        return dtoProvider.fromBinary(reader);
+    }
+
+    //
+
+    /** Creates writer which produces the same JSON as {@link JsonSerializable#toJson()}. */
+    private static JsonWriter createJsonWriter(Writer json) {
+        final JsonWriter writer = new JsonWriter(json);
+        writer.setLenient(true);
+        writer.setSerializeNulls(false);
+        return writer;
+    }
+
+    /** Creates reader which accepts the same JSON as {@link com.google.gson.JsonParser}. */
+    private static JsonReader createJsonReader(Reader json) {
+        final JsonReader reader = new JsonReader(json);
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /** Returns true if there is nothing but whitespaces or JSON null in the reader. */
+    private static boolean isEmptyDocument(JsonReader reader) throws IOException {
+        final JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (EOFException e) {
+            return true;
+        }
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
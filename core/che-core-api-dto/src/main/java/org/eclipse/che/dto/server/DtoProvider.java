@@ -11,6 +11,10 @@
 package org.eclipse.che.dto.server;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 
 /**
  * Provides implementation of DTO interface.
@@ -24,6 +28,22 @@ public interface DtoProvider<DTO> {
 
     DTO fromJson(JsonElement json);
 
+    /**
+     * Reads DTO from the JSON stream, the reader is positioned right after the end of the DTO when method returns.
+     * Generated implementations read fields directly from the stream without building intermediate JSON tree.
+     */
+    default DTO fromJson(JsonReader json) throws IOException {
+        return fromJson(new JsonParser().parse(json));
+    }
+
+    /**
+     * Reads fields of DTO written by {@link BinarySerializable#writeTo(BinaryDtoWriter)}.
+     * Providers of DTO implementations generated without support of binary format throw {@code UnsupportedOperationException}.
+     */
+    default DTO fromBinary(BinaryDtoReader reader) throws IOException {
+        throw new UnsupportedOperationException("Binary format isn't supported by " + getImplClass().getName());
+    }
+
     DTO newInstance();
 
     DTO clone(DTO origin);
@@ -13,9 +13,12 @@
 // limitations under the License.
 package org.eclipse.che.dto.server;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 import com.google.gson.JsonElement;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonWriter;
 
 /** An entity that may serialize itself to JSON. */
 public interface JsonSerializable extends Serializable {
@@ -25,4 +28,12 @@ public interface JsonSerializable extends Serializable {
 
     /** Serializes DTO to JSON object. */
     JsonElement toJsonElement();
+
+    /**
+     * Serializes DTO to JSON format and writes it to the given writer.
+     * Generated implementations write fields directly without building intermediate JSON object.
+     */
+    default void writeTo(JsonWriter writer) throws IOException {
+        Streams.write(toJsonElement(), writer);
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -25,10 +26,18 @@ import org.eclipse.che.dto.definitions.SimpleDto;
 import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
+import org.eclipse.che.dto.server.BinaryDtoWriter;
+import org.eclipse.che.dto.server.BinarySerializable;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -331,6 +340,142 @@ public class ServerDtoTest {
         assertEquals(dto.getDefault(), expectedDefault);
     }
 
+    @Test
+    public void streamingSerializerShouldProduceTheSameJsonAsJsonTree() throws Exception {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name \"quoted\" <b>").withId(1);
+        final Map<String, SimpleDto> mapDtos = new HashMap<>();
+        mapDtos.put("key", simpleDto);
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("Something 1", null))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                             .withMap(mapDtos)
+                                             .withSimpleDtos(asList(simpleDto, null))
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE)));
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class)
+                                                .withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+
+        for (Object origin : asList(simpleDto, dto, dtoWithAny, dtoFactory.createDto(ComplicatedDto.class))) {
+            final String expected = new GsonBuilder().disableHtmlEscaping()
+                                                     .create()
+                                                     .toJson(((JsonSerializable)origin).toJsonElement());
+            final StringWriter writer = new StringWriter();
+            dtoFactory.toJson(origin, writer);
+
+            assertEquals(writer.toString(), expected);
+            assertEquals(dtoFactory.toJson(origin), expected);
+        }
+    }
+
+    @Test
+    public void testComplicatedDtoStreamingDeserializer() throws Exception {
+        final String json = "{\"unknown\":{\"nested\":[1,2,{}]}," +
+                            "\"strings\":[\"Something\",null]," +
+                            "\"simpleEnum\":\"THREE\"," +
+                            "\"map\":{\"key\":{\"name\":\"Something\",\"id\":\"1\",\"default\":null}}," +
+                            "\"simpleDtos\":[{\"name\":\"Something\",\"id\":1,\"default\":\"default\"},null]," +
+                            "\"arrayOfArrayOfEnum\":[[\"ONE\",\"TWO\"]]}";
+
+        final ComplicatedDto dto = dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+
+        assertEquals(dto, dtoFactory.createDtoFromJson(json, ComplicatedDto.class));
+        assertEquals(dto.getStrings(), asList("Something", null));
+        assertEquals(dto.getSimpleEnum(), ComplicatedDto.SimpleEnum.THREE);
+        checkSimpleDto(dto.getMap().get("key"), "Something", 1, null);
+        checkSimpleDto(dto.getSimpleDtos().get(0), "Something", 1, "default");
+        assertEquals(dto.getSimpleDtos().get(1), null);
+        assertEquals(dto.getArrayOfArrayOfEnum(), asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.TWO)));
+    }
+
+    @Test
+    public void testListAndMapOfDtosStreaming() throws Exception {
+        final List<SimpleDto> dtos = asList(dtoFactory.createDto(SimpleDto.class).withName("first").withId(1),
+                                            dtoFactory.createDto(SimpleDto.class).withName("second").withId(2));
+        final StringWriter writer = new StringWriter();
+        dtoFactory.toJson(dtos, writer);
+
+        assertEquals(writer.toString(), "[{\"name\":\"first\",\"id\":1},{\"name\":\"second\",\"id\":2}]");
+        assertEquals(dtoFactory.createListDtoFromJson(new StringReader(writer.toString()), SimpleDto.class), dtos);
+        final Map<String, SimpleDto> map = dtoFactory.createMapDtoFromJson(new StringReader("{\"a\":{\"name\":\"first\",\"id\":1}}"),
+                                                                             SimpleDto.class);
+        assertEquals(map.get("a"), dtos.get(0));
+        assertEquals(dtoFactory.createDtoFromJson(new StringReader(" "), SimpleDto.class), null);
+    }
+
+    @Test
+    public void binarySerializerShouldRestoreTheSameDtos() throws Exception {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(-1).withDefault("\u0436");
+        final Map<String, SimpleDto> mapDtos = new HashMap<>();
+        mapDtos.put("key", simpleDto);
+        mapDtos.put("null", null);
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("Something 1", null))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                             .withMap(mapDtos)
+                                             .withSimpleDtos(asList(simpleDto, null))
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE), null));
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class)
+                                                .withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+
+        assertEquals(binaryCopy(simpleDto, SimpleDto.class), simpleDto);
+        assertEquals(binaryCopy(dto, ComplicatedDto.class), dto);
+        assertEquals(binaryCopy(dtoFactory.createDto(ComplicatedDto.class), ComplicatedDto.class),
+                     dtoFactory.createDto(ComplicatedDto.class));
+        assertEquals(dtoFactory.toJson(binaryCopy(dtoWithAny, DtoWithAny.class)), dtoFactory.toJson(dtoWithAny));
+        assertEquals(binaryCopy(null, SimpleDto.class), null);
+    }
+
+    @Test
+    public void binaryDeserializerShouldSkipUnknownFields() throws Exception {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1);
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final BinaryDtoWriter writer = new BinaryDtoWriter(binary);
+        writer.writeWireType(BinaryDtoWriter.OBJECT);
+        writer.writeTag(100, BinaryDtoWriter.OBJECT);
+        writer.writeTag(1, BinaryDtoWriter.LIST);
+        writer.writeSize(2);
+        writer.writeWireType(BinaryDtoWriter.BYTES);
+        writer.writeString("unknown");
+        writer.writeWireType(BinaryDtoWriter.NULL);
+        writer.writeEnd();
+        writer.writeTag(101, BinaryDtoWriter.FIXED64);
+        writer.writeDouble(1.5);
+        ((BinarySerializable)simpleDto).writeTo(writer);
+        writer.flush();
+
+        assertEquals(dtoFactory.createDtoFromBinary(new ByteArrayInputStream(binary.toByteArray()), SimpleDto.class), simpleDto);
+    }
+
+    @Test
+    public void testListOfDtosBinary() throws Exception {
+        final List<SimpleDto> dtos = asList(dtoFactory.createDto(SimpleDto.class).withName("first").withId(1),
+                                            null,
+                                            dtoFactory.createDto(SimpleDto.class).withName("second").withId(Integer.MIN_VALUE));
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        dtoFactory.toBinary(dtos, binary);
+
+        assertEquals(dtoFactory.createListDtoFromBinary(new ByteArrayInputStream(binary.toByteArray()), SimpleDto.class), dtos);
+        assertTrue(dtoFactory.createListDtoFromBinary(new ByteArrayInputStream(new byte[0]), SimpleDto.class).isEmpty());
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Malformed binary data, invalid size .*")
+    public void binaryDeserializerShouldRejectSizeWhichExceedsData() throws Exception {
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final BinaryDtoWriter writer = new BinaryDtoWriter(binary);
+        writer.writeWireType(BinaryDtoWriter.LIST);
+        writer.writeSize(Integer.MAX_VALUE);
+        writer.flush();
+
+        dtoFactory.createListDtoFromBinary(new ByteArrayInputStream(binary.toByteArray()), binary.size(), SimpleDto.class);
+    }
+
+    private <T> T binaryCopy(T dto, Class<T> dtoInterface) throws Exception {
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        dtoFactory.toBinary(dto, binary);
+        return dtoFactory.createDtoFromBinary(new ByteArrayInputStream(binary.toByteArray()), dtoInterface);
+    }
+
     @Test
     public void testDelegate() {
         assertEquals(DtoFactory.getInstance().createDto(DtoWithDelegate.class).withFirstName("TEST").nameWithPrefix("### "), "### TEST");
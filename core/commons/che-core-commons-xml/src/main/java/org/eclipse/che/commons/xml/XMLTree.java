@@ -22,6 +22,7 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -34,6 +35,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -174,6 +176,20 @@ public final class XMLTree {
     private static final XPathFactory           XPATH_FACTORY            = XPathFactory.newInstance();
     private static final String                 ROOT_TEMPLATE            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
     private static final int                    EXPECTED_NAMESPACES_SIZE = 2;
+    private static final int                    XPATH_CACHE_SIZE         = 256;
+
+    /**
+     * Compiled xpath expressions, the same expressions are evaluated many times
+     * e.g. while maven model is read or updated. Expressions are cached per thread
+     * as neither {@link XPath} nor {@link XPathExpression} is thread safe.
+     */
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_CACHE =
+            ThreadLocal.withInitial(() -> new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > XPATH_CACHE_SIZE;
+                }
+            });
 
     /** Factories configuration. */
     static {
@@ -414,14 +430,31 @@ public final class XMLTree {
      */
     @SuppressWarnings("unchecked")
     private Object evaluateXPath(String expression, QName returnType) {
-        final XPath xpath = XPATH_FACTORY.newXPath();
         try {
-            return xpath.evaluate(expression, document, returnType);
+            return compileXPath(expression).evaluate(document, returnType);
         } catch (XPathExpressionException xpathEx) {
             throw XMLTreeException.wrap(xpathEx);
         }
     }
 
+    /**
+     * Returns compiled expression from the cache of the current thread,
+     * compiles and caches expression if it is not cached yet.
+     */
+    private static XPathExpression compileXPath(String expression) throws XPathExpressionException {
+        final Map<String, XPathExpression> cache = XPATH_CACHE.get();
+        XPathExpression compiled = cache.get(expression);
+        if (compiled == null) {
+            final XPath xpath;
+            synchronized (XPATH_FACTORY) {
+                xpath = XPATH_FACTORY.newXPath();
+            }
+            compiled = xpath.compile(expression);
+            cache.put(expression, compiled);
+        }
+        return compiled;
+    }
+
     /**
      * Parses document using {@link DocumentBuilder}
      * Rethrows all exceptions as {@link XMLTreeException}
@@ -851,6 +884,9 @@ public final class XMLTree {
      * Iterates all existed elements and shifts their segments if needed
      */
     private void shiftSegments(int fromIdx, int offset) {
+        if (offset == 0) {
+            return;
+        }
         for (Element element : elements) {
             if (element.end.left > fromIdx) {
                 shiftSegment(element.start, fromIdx, offset);
@@ -880,9 +916,16 @@ public final class XMLTree {
      * source bytes length
      */
     private void updateSegmentContent(Segment segment, String content) {
-        final int lengthBefore = xml.length;
-        xml = insertBetween(xml, segment.left, segment.right, content);
-        shiftSegments(segment.left, xml.length - lengthBefore);
+        final byte[] contentBytes = content.getBytes(UTF_8);
+        if (contentBytes.length == segment.right - segment.left + 1) {
+            //content of the same length e.g. new version is written in place,
+            //so neither source bytes are copied nor segments are shifted
+            System.arraycopy(contentBytes, 0, xml, segment.left, contentBytes.length);
+        } else {
+            final int lengthBefore = xml.length;
+            xml = insertBetween(xml, segment.left, segment.right, content);
+            shiftSegments(segment.left, xml.length - lengthBefore);
+        }
         segment.right = segment.left + content.length() - 1;
     }
 
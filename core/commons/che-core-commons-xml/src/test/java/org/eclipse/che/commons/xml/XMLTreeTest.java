@@ -1218,6 +1218,38 @@ public class XMLTreeTest {
                                       "</project>");
     }
 
+    @Test
+    public void elementsShouldNotBeShiftedAfterElementTextUpdateWithTextOfSameLength() {
+        final XMLTree tree = XMLTree.from("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                          "<project>\n" +
+                                          "    <artifactId>test-artifact</artifactId>\n" +
+                                          "    <version>1.0.0</version>\n" +
+                                          "    <name>Test</name>\n" +
+                                          "</project>");
+
+        tree.updateText("//version", "1.0.1");
+        tree.updateText("//name", "new name");
+        tree.updateText("//version", "1.0.2");
+
+        assertEquals(tree.getSingleText("//version"), "1.0.2");
+        assertEquals(tree.toString(), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                      "<project>\n" +
+                                      "    <artifactId>test-artifact</artifactId>\n" +
+                                      "    <version>1.0.2</version>\n" +
+                                      "    <name>new name</name>\n" +
+                                      "</project>");
+    }
+
+    @Test
+    public void shouldBeAbleToEvaluateSameExpressionOnDifferentTrees() {
+        final XMLTree tree1 = XMLTree.from("<project><name>first</name></project>");
+        final XMLTree tree2 = XMLTree.from("<project><name>second</name></project>");
+
+        assertEquals(tree1.getSingleText("/project/name"), "first");
+        assertEquals(tree2.getSingleText("/project/name"), "second");
+        assertEquals(tree1.getSingleText("/project/name"), "first");
+    }
+
     @Test
     public void shouldBeAbleToChangeElementEmptyText() {
         final XMLTree tree = XMLTree.from("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
@@ -16,19 +16,27 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * Connections to unix socket are taken from {@link UnixSocketConnectionPool}, so keep-alive connections
+ * are reused between requests to docker API.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String TCP_KEEP_ALIVE_PROPERTY             = "docker.connection.tcp.keep_alive";
+    public static final String POOL_MAX_IDLE_PROPERTY              = "docker.connection.unix_socket.pool.max_idle";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "docker.connection.unix_socket.pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,8 +46,22 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
+    @Inject(optional = true)
+    @Named(TCP_KEEP_ALIVE_PROPERTY)
+    private boolean tcpKeepAlive = false;
+
+    @Inject(optional = true)
+    @Named(POOL_MAX_IDLE_PROPERTY)
+    private int poolMaxIdle = 8;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long poolIdleTimeoutMs = 30000;
+
     private final DockerCertificates dockerCertificates;
 
+    private volatile UnixSocketConnectionPool unixSocketConnectionPool;
+
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
@@ -47,9 +69,31 @@ public class DockerConnectionFactory {
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(dockerDaemonUri.getPath(), getUnixSocketConnectionPool());
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs, tcpKeepAlive);
+        }
+    }
+
+    /** Returns pool of connections to docker unix sockets, it may be used to get statistic of connections usage. */
+    public UnixSocketConnectionPool getUnixSocketConnectionPool() {
+        UnixSocketConnectionPool pool = unixSocketConnectionPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = unixSocketConnectionPool;
+                if (pool == null) {
+                    unixSocketConnectionPool = pool = new UnixSocketConnectionPool(poolMaxIdle, poolIdleTimeoutMs);
+                }
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        final UnixSocketConnectionPool pool = unixSocketConnectionPool;
+        if (pool != null) {
+            pool.shutdown();
         }
     }
 }
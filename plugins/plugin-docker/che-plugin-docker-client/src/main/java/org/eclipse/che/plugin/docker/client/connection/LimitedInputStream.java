@@ -59,11 +59,19 @@ public class LimitedInputStream extends InputStream {
         return doRead(b, 0, len);
     }
 
+    /** Returns {@code true} if all bytes of the entity were read. */
+    synchronized boolean isEof() {
+        return pos >= limit;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
         int n = input.read(b, 0, Math.min(len - off, limit - pos));
+        if (n == -1) {
+            return -1;
+        }
         pos += n;
         return n;
     }
@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 import javax.net.ssl.HttpsURLConnection;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -24,6 +25,12 @@ import java.net.URL;
 import java.util.List;
 
 /**
+ * Connection to docker API over http(s).
+ *
+ * <p>When keep-alive is enabled the connection doesn't ask docker to close the socket and on {@link #close()}
+ * only the response stream is closed, so the socket goes back to the JDK keep-alive cache and may be reused by
+ * the next request to the same daemon. Size of that cache is controlled by the {@code http.maxConnections} system property.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
@@ -32,10 +39,19 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +63,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +79,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!keepAlive) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -79,7 +98,20 @@ public class TcpConnection extends DockerConnection {
     @Override
     public void close() {
         if (connection != null) {
-            connection.disconnect();
+            if (keepAlive) {
+                // closing of the response stream releases the socket to the keep-alive cache if the entity was consumed
+                try {
+                    InputStream entityStream = connection.getErrorStream();
+                    if (entityStream == null) {
+                        entityStream = connection.getInputStream();
+                    }
+                    entityStream.close();
+                } catch (IOException e) {
+                    connection.disconnect();
+                }
+            } else {
+                connection.disconnect();
+            }
         }
     }
 }
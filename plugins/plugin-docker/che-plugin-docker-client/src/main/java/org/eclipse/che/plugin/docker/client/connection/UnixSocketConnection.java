@@ -13,7 +13,6 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -22,59 +21,60 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
+ * Connection to docker API over unix socket.
+ *
+ * <p>If connection pool is provided the socket is taken from the pool and given back to it on {@link #close()}
+ * when the response was read till the end, so the next request may reuse the same keep-alive connection.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool connectionPool;
 
-    private int fd = -1;
+    private int                      fd = -1;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    public UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool connectionPool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.connectionPool = connectionPool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
             throws IOException {
-        fd = connect();
+        fd = connectionPool != null ? connectionPool.acquire(dockerSocketPath) : UnixSocketConnectionPool.connect(dockerSocketPath);
         final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
         writeHttpHeaders(output, method, path, query, headers);
         if (entity != null) {
             entity.writeTo(output);
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        return response = new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
     }
 
 
     @Override
     public void close() {
         if (fd != -1) {
-            getCLibrary().close(fd);
-        }
-    }
-
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+            if (connectionPool == null) {
+                getCLibrary().close(fd);
+            } else if (response != null && response.isReusable()) {
+                connectionPool.release(dockerSocketPath, fd);
+            } else {
+                connectionPool.discard(fd);
+            }
+            fd = -1;
         }
-        return fd;
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
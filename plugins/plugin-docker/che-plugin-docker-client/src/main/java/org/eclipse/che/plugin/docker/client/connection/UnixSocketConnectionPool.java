@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.eclipse.che.plugin.docker.client.CLibraryFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps idle HTTP/1.1 keep-alive connections to docker unix sockets so they may be reused by subsequent requests.
+ *
+ * <p>Connections are pooled per socket path. At most {@code maxIdlePerDaemon} idle connections are kept for each path,
+ * connections which stay idle longer than {@code idleTimeoutMs} are closed the next time pool of the same path is accessed.
+ * Idle connection is checked before it is reused, connection closed by docker daemon meanwhile is replaced with new one.
+ * Setting {@code maxIdlePerDaemon} to {@code 0} disables pooling, every request then opens new connection.
+ */
+public class UnixSocketConnectionPool {
+    private static final Logger LOG = LoggerFactory.getLogger(UnixSocketConnectionPool.class);
+
+    private final int                             maxIdlePerDaemon;
+    private final long                            idleTimeoutMs;
+    private final Map<String, Deque<IdleSocket>> idleSockets;
+    private final Supplier<CLibrary>              cLibrary;
+
+    private final AtomicLong opened    = new AtomicLong();
+    private final AtomicLong reused    = new AtomicLong();
+    private final AtomicLong released  = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong evicted   = new AtomicLong();
+    private final AtomicLong stale     = new AtomicLong();
+
+    private boolean closed;
+
+    public UnixSocketConnectionPool(int maxIdlePerDaemon, long idleTimeoutMs) {
+        this(maxIdlePerDaemon, idleTimeoutMs, CLibraryFactory::getCLibrary);
+    }
+
+    @VisibleForTesting
+    UnixSocketConnectionPool(int maxIdlePerDaemon, long idleTimeoutMs, Supplier<CLibrary> cLibrary) {
+        this.maxIdlePerDaemon = maxIdlePerDaemon;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idleSockets = new HashMap<>();
+        this.cLibrary = cLibrary;
+    }
+
+    /**
+     * Gets idle connection to the given unix socket or opens new one if there is no idle connection
+     * which is still open on the daemon side.
+     *
+     * @param socketPath
+     *         path to docker unix socket
+     * @return file descriptor of connected socket
+     * @throws IOException
+     *         if new connection can't be opened
+     */
+    public int acquire(String socketPath) throws IOException {
+        synchronized (this) {
+            final Deque<IdleSocket> sockets = idleSockets.get(socketPath);
+            if (sockets != null) {
+                evictExpired(sockets, System.currentTimeMillis());
+                IdleSocket idle;
+                while ((idle = sockets.pollFirst()) != null) {
+                    if (isAlive(idle.fd)) {
+                        reused.incrementAndGet();
+                        return idle.fd;
+                    }
+                    stale.incrementAndGet();
+                    close(idle.fd);
+                }
+            }
+        }
+        final int fd = connect(cLibrary.get(), socketPath);
+        opened.incrementAndGet();
+        return fd;
+    }
+
+    /**
+     * Returns connection that is ready for the next request to the pool.
+     * Connection is closed if pool is full or already closed.
+     */
+    public void release(String socketPath, int fd) {
+        boolean pooled = false;
+        synchronized (this) {
+            if (!closed && maxIdlePerDaemon > 0) {
+                Deque<IdleSocket> sockets = idleSockets.get(socketPath);
+                if (sockets == null) {
+                    idleSockets.put(socketPath, sockets = new ArrayDeque<>());
+                }
+                final long now = System.currentTimeMillis();
+                evictExpired(sockets, now);
+                if (sockets.size() < maxIdlePerDaemon) {
+                    // most recently used connection goes first, so the oldest ones expire at the tail
+                    sockets.addFirst(new IdleSocket(fd, now));
+                    released.incrementAndGet();
+                    pooled = true;
+                }
+            }
+        }
+        if (!pooled) {
+            discard(fd);
+        }
+    }
+
+    /** Closes connection that can't be reused, e.g. response wasn't read till the end or server asked to close it. */
+    public void discard(int fd) {
+        discarded.incrementAndGet();
+        close(fd);
+    }
+
+    /** Closes all idle connections, connections released after this call are closed immediately. */
+    public void shutdown() {
+        synchronized (this) {
+            closed = true;
+            for (Deque<IdleSocket> sockets : idleSockets.values()) {
+                for (IdleSocket idle : sockets) {
+                    close(idle.fd);
+                }
+            }
+            idleSockets.clear();
+        }
+    }
+
+    /** Returns number of idle connections to the given unix socket. */
+    public synchronized int getIdleCount(String socketPath) {
+        final Deque<IdleSocket> sockets = idleSockets.get(socketPath);
+        return sockets == null ? 0 : sockets.size();
+    }
+
+    /** Returns number of connections opened by this pool. */
+    public long getOpenedCount() {
+        return opened.get();
+    }
+
+    /** Returns number of requests which were served by reused connections. */
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    /** Returns number of connections returned to the pool after request. */
+    public long getReleasedCount() {
+        return released.get();
+    }
+
+    /** Returns number of connections closed because they couldn't be reused. */
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    /** Returns number of idle connections closed because of idle timeout. */
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    /** Returns number of idle connections which were closed by docker daemon or had unexpected data to read. */
+    public long getStaleCount() {
+        return stale.get();
+    }
+
+    @Override
+    public String toString() {
+        return "UnixSocketConnectionPool{" +
+               "opened=" + opened +
+               ", reused=" + reused +
+               ", released=" + released +
+               ", discarded=" + discarded +
+               ", evicted=" + evicted +
+               ", stale=" + stale +
+               '}';
+    }
+
+    private void evictExpired(Deque<IdleSocket> sockets, long now) {
+        for (Iterator<IdleSocket> iterator = sockets.descendingIterator(); iterator.hasNext(); ) {
+            final IdleSocket idle = iterator.next();
+            if (now - idle.idleSince < idleTimeoutMs) {
+                break;
+            }
+            iterator.remove();
+            evicted.incrementAndGet();
+            close(idle.fd);
+        }
+    }
+
+    /**
+     * Checks whether idle connection may be reused. Docker doesn't send anything on idle connection,
+     * so non-blocking peek has nothing to read from alive connection, while it reads end of stream
+     * from connection closed by docker, e.g. because of its own idle timeout.
+     */
+    private boolean isAlive(int fd) {
+        final int read = cLibrary.get().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+        return read == -1 && lastError() == EAGAIN;
+    }
+
+    @VisibleForTesting
+    int lastError() {
+        return Native.getLastError();
+    }
+
+    static int connect(String socketPath) throws IOException {
+        return connect(getCLibrary(), socketPath);
+    }
+
+    private static int connect(CLibrary cLib, String socketPath) throws IOException {
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return fd;
+    }
+
+    private void close(int fd) {
+        try {
+            cLibrary.get().close(fd);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to close connection to docker unix socket. " + e.getLocalizedMessage());
+        }
+    }
+
+    private static class IdleSocket {
+        final int  fd;
+        final long idleSince;
+
+        IdleSocket(int fd, long idleSince) {
+            this.fd = fd;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -143,6 +143,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        if (status == 204 || status == 304) {
+            // responses without entity, see RFC 7230 section 3.3.3
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +157,32 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether connection this response was read from may be used for the next request.
+     * It's possible only when docker didn't ask to close connection and the entity is read till the end.
+     * Entity without length or chunked encoding (e.g. attached container output) is read until connection is closed,
+     * so connection which served it is never reused.
+     */
+    synchronized boolean isReusable() {
+        if (headersFields == null) {
+            return false;
+        }
+        for (String field : headersFields) {
+            final String lowerCaseField = field.toLowerCase();
+            if (lowerCaseField.startsWith("connection:") && lowerCaseField.contains("close")) {
+                return false;
+            }
+        }
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            return ((LimitedInputStream)data).isEof();
+        }
+        if (data instanceof ChunkedInputStream) {
+            return ((ChunkedInputStream)data).isEof();
+        }
+        return false;
+    }
 }
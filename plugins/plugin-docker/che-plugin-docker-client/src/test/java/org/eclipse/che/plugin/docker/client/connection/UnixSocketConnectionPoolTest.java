@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+@Listeners(MockitoTestNGListener.class)
+public class UnixSocketConnectionPoolTest {
+    private static final String SOCKET = "/var/run/docker.sock";
+
+    @Mock
+    private CLibrary cLibrary;
+
+    private UnixSocketConnectionPool pool;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(cLibrary.socket(anyInt(), anyInt(), anyInt())).thenReturn(5, 6, 7);
+        when(cLibrary.connect(anyInt(), any(CLibrary.SockAddrUn.class), anyInt())).thenReturn(0);
+        // idle connection has nothing to read
+        when(cLibrary.recv(anyInt(), any(byte[].class), eq(1), anyInt())).thenReturn(-1);
+        pool = createPool(2, 60_000);
+    }
+
+    @Test
+    public void shouldReuseReleasedConnection() throws Exception {
+        final int fd = pool.acquire(SOCKET);
+        pool.release(SOCKET, fd);
+
+        assertEquals(pool.acquire(SOCKET), fd);
+        assertEquals(pool.getOpenedCount(), 1);
+        assertEquals(pool.getReusedCount(), 1);
+        verify(cLibrary, never()).close(fd);
+    }
+
+    @Test
+    public void shouldOpenNewConnectionWhenIdleConnectionIsClosedByDaemon() throws Exception {
+        final int fd = pool.acquire(SOCKET);
+        pool.release(SOCKET, fd);
+        // end of stream
+        when(cLibrary.recv(eq(fd), any(byte[].class), eq(1), anyInt())).thenReturn(0);
+
+        final int newFd = pool.acquire(SOCKET);
+
+        assertEquals(newFd, 6);
+        assertEquals(pool.getStaleCount(), 1);
+        assertEquals(pool.getOpenedCount(), 2);
+        verify(cLibrary).close(fd);
+    }
+
+    @Test
+    public void shouldNotReuseIdleConnectionWhichHasDataToRead() throws Exception {
+        final int fd = pool.acquire(SOCKET);
+        pool.release(SOCKET, fd);
+        when(cLibrary.recv(eq(fd), any(byte[].class), eq(1), anyInt())).thenReturn(1);
+
+        assertEquals(pool.acquire(SOCKET), 6);
+        verify(cLibrary).close(fd);
+    }
+
+    @Test
+    public void shouldNotReuseIdleConnectionWhenPeekFails() throws Exception {
+        final int fd = pool.acquire(SOCKET);
+        pool.release(SOCKET, fd);
+        // e.g. connection reset
+        doReturn(104).when(pool).lastError();
+
+        assertEquals(pool.acquire(SOCKET), 6);
+        verify(cLibrary).close(fd);
+    }
+
+    @Test
+    public void shouldCheckNextIdleConnectionWhenFirstOneIsClosedByDaemon() throws Exception {
+        final int first = pool.acquire(SOCKET);
+        final int second = pool.acquire(SOCKET);
+        pool.release(SOCKET, first);
+        pool.release(SOCKET, second);
+        when(cLibrary.recv(eq(second), any(byte[].class), eq(1), anyInt())).thenReturn(0);
+
+        assertEquals(pool.acquire(SOCKET), first);
+        assertEquals(pool.getIdleCount(SOCKET), 0);
+        verify(cLibrary).close(second);
+    }
+
+    @Test
+    public void shouldCloseExpiredIdleConnection() throws Exception {
+        pool = createPool(2, 0);
+        final int fd = pool.acquire(SOCKET);
+        pool.release(SOCKET, fd);
+
+        assertEquals(pool.acquire(SOCKET), 6);
+        assertEquals(pool.getEvictedCount(), 1);
+        verify(cLibrary).close(fd);
+    }
+
+    @Test
+    public void shouldCloseReleasedConnectionWhenPoolIsFull() throws Exception {
+        pool = createPool(1, 60_000);
+        final int first = pool.acquire(SOCKET);
+        final int second = pool.acquire(SOCKET);
+
+        pool.release(SOCKET, first);
+        pool.release(SOCKET, second);
+
+        assertEquals(pool.getIdleCount(SOCKET), 1);
+        verify(cLibrary, never()).close(first);
+        verify(cLibrary).close(second);
+    }
+
+    @Test
+    public void shouldCloseConnectionsOnShutdown() throws Exception {
+        final int first = pool.acquire(SOCKET);
+        final int second = pool.acquire(SOCKET);
+        pool.release(SOCKET, first);
+
+        pool.shutdown();
+        pool.release(SOCKET, second);
+
+        assertEquals(pool.getIdleCount(SOCKET), 0);
+        verify(cLibrary).close(first);
+        verify(cLibrary).close(second);
+    }
+
+    private UnixSocketConnectionPool createPool(int maxIdlePerDaemon, long idleTimeoutMs) {
+        final UnixSocketConnectionPool pool = spy(new UnixSocketConnectionPool(maxIdlePerDaemon, idleTimeoutMs, () -> cLibrary));
+        doReturn(EAGAIN).when(pool).lastError();
+        return pool;
+    }
+}
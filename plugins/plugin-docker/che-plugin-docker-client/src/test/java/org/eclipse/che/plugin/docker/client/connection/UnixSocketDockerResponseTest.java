@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class UnixSocketDockerResponseTest {
+
+    @Test
+    public void shouldBeReusableWhenEntityWithContentLengthIsRead() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                           "Content-Length: 4\r\n" +
+                                                           "\r\n" +
+                                                           "body");
+
+        assertEquals(response.getStatus(), 200);
+        assertFalse(response.isReusable());
+        assertEquals(new String(ByteStreams.toByteArray(response.getInputStream())), "body");
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void shouldBeReusableWhenLastChunkIsRead() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                           "Transfer-Encoding: chunked\r\n" +
+                                                           "\r\n" +
+                                                           "4\r\nbody\r\n" +
+                                                           "0\r\n\r\n");
+
+        assertEquals(new String(ByteStreams.toByteArray(response.getInputStream())), "body");
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void shouldBeReusableWhenResponseHasNoEntity() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 204 No Content\r\n" +
+                                                           "Server: Docker\r\n" +
+                                                           "\r\n");
+
+        assertEquals(response.getStatus(), 204);
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void shouldNotBeReusableWhenDockerAsksToCloseConnection() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                           "Connection: close\r\n" +
+                                                           "Content-Length: 0\r\n" +
+                                                           "\r\n");
+
+        assertEquals(response.getStatus(), 200);
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void shouldNotBeReusableWhenEntityHasNoLength() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                           "Content-Type: application/vnd.docker.raw-stream\r\n" +
+                                                           "\r\n" +
+                                                           "output");
+
+        ByteStreams.exhaust(response.getInputStream());
+
+        assertFalse(response.isReusable());
+    }
+
+    private UnixSocketDockerResponse response(String raw) {
+        final InputStream input = new ByteArrayInputStream(raw.getBytes());
+        return new UnixSocketDockerResponse(input);
+    }
+}
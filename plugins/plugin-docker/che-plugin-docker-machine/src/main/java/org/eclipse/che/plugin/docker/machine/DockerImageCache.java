@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
+import org.eclipse.che.plugin.docker.client.params.TagParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of images built from Dockerfile recipes.
+ *
+ * <p>Built images are tagged in the {@link #CACHE_REPOSITORY} repository with the hash of the normalized recipe
+ * and the build memory limits, so machines with the same recipe reuse the image instead of building it again.
+ * The least recently used images are removed from the cache when the number of cached images
+ * or their total size exceeds the limits, or when they are older than the max age. Removal of the cached tag
+ * doesn't affect machines which use the image, as they use own tags of the image.
+ */
+@Singleton
+public class DockerImageCache {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerImageCache.class);
+
+    public static final String CACHE_REPOSITORY = "eclipse-che/image-cache";
+
+    /** Max number of cached images, cache is disabled if it is 0. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.docker.image_cache.max_images")
+    int maxImages = 20;
+
+    /** Max total size of cached images, size isn't limited if it is 0. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.docker.image_cache.max_size_mb")
+    long maxSizeMb = 10240;
+
+    /** Cached image isn't used after this time since it was built, so updates of base images are eventually applied. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.docker.image_cache.max_age_min")
+    long maxAgeMinutes = 24 * 60;
+
+    private final DockerConnector                                   docker;
+    /** Builds which are in progress by the keys of the recipes, completed when the build ends. */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> builds;
+    private final LinkedHashMap<String, CachedImage>                entries;
+    private final AtomicLong                                        hits;
+    private final AtomicLong                                        misses;
+    private       long                                              size;
+
+    @Inject
+    public DockerImageCache(DockerConnector docker) {
+        this.docker = docker;
+        this.builds = new ConcurrentHashMap<>();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Builds new image from the recipe with the given builder or reuses cached image with the same recipe and limits.
+     * Either way the image is tagged with the given name.
+     *
+     * @param recipe
+     *         Dockerfile content
+     * @param memoryLimit
+     *         memory limit of the build
+     * @param memorySwapLimit
+     *         memory swap limit of the build
+     * @param imageName
+     *         name of the image which is used by the machine
+     * @param builder
+     *         builds new image with the given name
+     * @throws MachineException
+     *         if builder fails to build image
+     */
+    public void prepareImage(String recipe, long memoryLimit, long memorySwapLimit, String imageName, ImageBuilder builder)
+            throws MachineException {
+        if (maxImages <= 0) {
+            builder.build(imageName);
+            return;
+        }
+        final String key = getKey(recipe, memoryLimit, memorySwapLimit);
+        final CompletableFuture<Void> build = new CompletableFuture<>();
+        CompletableFuture<Void> inProgress;
+        // machines with the same recipe wait for the single build, builds of different recipes run concurrently
+        while ((inProgress = builds.putIfAbsent(key, build)) != null) {
+            try {
+                inProgress.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MachineException(String.format("Interrupted while waiting for build of image '%s'", imageName));
+            } catch (ExecutionException ignored) {
+                // never happens, build is always completed normally
+            }
+        }
+        try {
+            if (tagCachedImage(key, imageName)) {
+                final long hitCount = hits.incrementAndGet();
+                LOG.info("Image '{}' is created from cached image with the same recipe, image cache hit rate is {}%",
+                         imageName, hitRate(hitCount, misses.get()));
+                return;
+            }
+            final long missCount = misses.incrementAndGet();
+            LOG.debug("Image with the recipe of '{}' isn't cached, image cache hit rate is {}%",
+                      imageName, hitRate(hits.get(), missCount));
+            builder.build(imageName);
+            cacheImage(key, imageName);
+        } finally {
+            builds.remove(key, build);
+            build.complete(null);
+        }
+    }
+
+    /** Returns the number of machine images which were taken from the cache. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Returns the number of machine images which were built because they weren't cached. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Returns percentage of machine images which were taken from the cache. */
+    public long getHitRate() {
+        return hitRate(hits.get(), misses.get());
+    }
+
+    /** Returns the number of cached images. */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Returns hash of the recipe and the limits. Lines of the recipe are trimmed,
+     * empty lines and comments are skipped, so formatting of the recipe doesn't affect the hash.
+     */
+    static String getKey(String recipe, long memoryLimit, long memorySwapLimit) {
+        final StringBuilder normalized = new StringBuilder();
+        for (String line : recipe.split("\\r?\\n")) {
+            final String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                normalized.append(trimmed).append('\n');
+            }
+        }
+        normalized.append(memoryLimit).append('\n').append(memorySwapLimit);
+        return Hashing.sha256().hashString(normalized, StandardCharsets.UTF_8).toString();
+    }
+
+    /** Tags the cached image with the machine image name, returns {@code false} if image isn't cached. */
+    private boolean tagCachedImage(String key, String imageName) {
+        final String cachedImage = CACHE_REPOSITORY + ':' + key;
+        final boolean expired;
+        synchronized (this) {
+            final CachedImage cached = entries.get(key);
+            expired = cached != null && isExpired(cached);
+        }
+        if (expired) {
+            removeImages(Collections.singletonList(key));
+            return false;
+        }
+        try {
+            // image may be cached before restart of the server or removed from the docker
+            final ImageInfo info = docker.inspectImage(cachedImage);
+            if (info == null) {
+                forget(key);
+                return false;
+            }
+            final boolean known;
+            synchronized (this) {
+                known = entries.containsKey(key);
+            }
+            // entry of the image cached before restart of the server expires when the image gets old
+            final long created = getCreationTime(info);
+            if (!known && isExpired(created)) {
+                removeImages(Collections.singletonList(key));
+                return false;
+            }
+            docker.tag(TagParams.create(cachedImage, imageName));
+            final List<String> evicted;
+            synchronized (this) {
+                evicted = entries.containsKey(key) ? Collections.emptyList() : addEntry(key, info.getSize(), created);
+            }
+            removeImages(evicted);
+            return true;
+        } catch (IOException e) {
+            LOG.debug(e.getLocalizedMessage(), e);
+            forget(key);
+            return false;
+        }
+    }
+
+    /** Tags the built image with the cache tag. */
+    private void cacheImage(String key, String imageName) {
+        try {
+            docker.tag(TagParams.create(imageName, CACHE_REPOSITORY).withTag(key));
+            final ImageInfo info = docker.inspectImage(imageName);
+            final List<String> evicted;
+            synchronized (this) {
+                evicted = addEntry(key, info == null ? 0 : info.getSize(), System.currentTimeMillis());
+            }
+            removeImages(evicted);
+        } catch (IOException e) {
+            LOG.warn("Unable to cache image '{}'. {}", imageName, e.getLocalizedMessage());
+        }
+    }
+
+    private synchronized void forget(String key) {
+        final CachedImage cached = entries.remove(key);
+        if (cached != null) {
+            size -= cached.size;
+        }
+    }
+
+    /**
+     * Adds cache entry and removes entries of the least recently used images if the limits are exceeded,
+     * must be called with the lock held.
+     *
+     * @param created
+     *         time when the image was built
+     * @return keys of the removed entries which images should be removed
+     */
+    private List<String> addEntry(String key, long imageSize, long created) {
+        forget(key);
+        entries.put(key, new CachedImage(imageSize, created));
+        size += imageSize;
+        final long maxSize = maxSizeMb * 1024 * 1024;
+        final List<String> evicted = new ArrayList<>();
+        final Iterator<Map.Entry<String, CachedImage>> iterator = entries.entrySet().iterator();
+        // the added entry is the last one and it is never removed
+        while (entries.size() > 1 && (entries.size() > maxImages || (maxSizeMb > 0 && size > maxSize))) {
+            final Map.Entry<String, CachedImage> eldest = iterator.next();
+            size -= eldest.getValue().size;
+            evicted.add(eldest.getKey());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    /** Removes cache tags of the images, the images are kept if they are used by machines. */
+    private void removeImages(List<String> keys) {
+        for (String key : keys) {
+            forget(key);
+            try {
+                docker.removeImage(RemoveImageParams.create(CACHE_REPOSITORY + ':' + key).withForce(false));
+            } catch (IOException e) {
+                LOG.warn("Unable to remove cached image '{}:{}'. {}", CACHE_REPOSITORY, key, e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private boolean isExpired(CachedImage cached) {
+        return isExpired(cached.created);
+    }
+
+    private boolean isExpired(long created) {
+        return maxAgeMinutes > 0 && System.currentTimeMillis() - created > TimeUnit.MINUTES.toMillis(maxAgeMinutes);
+    }
+
+    /** Returns time when the image was built, current time is returned if docker doesn't provide it. */
+    private static long getCreationTime(ImageInfo info) {
+        if (info.getCreated() != null) {
+            try {
+                return OffsetDateTime.parse(info.getCreated()).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                LOG.debug("Unable to parse creation time '{}' of image", info.getCreated());
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    private static long hitRate(long hits, long misses) {
+        return hits + misses == 0 ? 0 : hits * 100 / (hits + misses);
+    }
+
+    /** Builds the machine image. */
+    public interface ImageBuilder {
+        void build(String imageName) throws MachineException;
+    }
+
+    private static class CachedImage {
+        final long size;
+        final long created;
+
+        CachedImage(long size, long created) {
+            this.size = size;
+            this.created = created;
+        }
+    }
+}
@@ -113,6 +113,7 @@ public class DockerInstanceProvider implements InstanceProvider {
     private final boolean                          snapshotUseRegistry;
     private final RecipeRetriever                  recipeRetriever;
     private final double                           memorySwapMultiplier;
+    private final DockerImageCache                 imageCache;
 
     @Inject
     public DockerInstanceProvider(DockerConnector docker,
@@ -133,8 +134,10 @@ public class DockerInstanceProvider implements InstanceProvider {
                                   @Named("machine.docker.dev_machine.machine_env") Set<String> devMachineEnvVariables,
                                   @Named("machine.docker.machine_env") Set<String> allMachinesEnvVariables,
                                   @Named("machine.docker.snapshot_use_registry") boolean snapshotUseRegistry,
-                                  @Named("machine.docker.memory_swap_multiplier") double memorySwapMultiplier) throws IOException {
+                                  @Named("machine.docker.memory_swap_multiplier") double memorySwapMultiplier,
+                                  DockerImageCache imageCache) throws IOException {
         this.docker = docker;
+        this.imageCache = imageCache;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
         this.containerNameGenerator = containerNameGenerator;
@@ -302,7 +305,12 @@ public class DockerInstanceProvider implements InstanceProvider {
         final String machineImageName = "eclipse-che/" + machineContainerName;
         final long memoryLimit = (long)machine.getConfig().getLimits().getRam() * 1024 * 1024;
 
-        buildImage(dockerfile, creationLogsOutput, machineImageName, doForcePullOnBuild, memoryLimit, -1);
+        // machines with the same recipe share the built image
+        imageCache.prepareImage(recipe.getScript(),
+                                memoryLimit,
+                                -1,
+                                machineImageName,
+                                imageName -> buildImage(dockerfile, creationLogsOutput, imageName, doForcePullOnBuild, memoryLimit, -1));
 
         return createInstance(machineContainerName,
                               machine,
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
+import org.eclipse.che.plugin.docker.client.params.TagParams;
+import org.eclipse.che.plugin.docker.machine.DockerImageCache.ImageBuilder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.plugin.docker.machine.DockerImageCache.CACHE_REPOSITORY;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link DockerImageCache}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerImageCacheTest {
+    private static final String RECIPE      = "FROM codenvy/ubuntu_jdk8\nRUN echo hello";
+    private static final long   MEMORY      = 1024 * 1024 * 1024;
+    private static final String IMAGE       = "eclipse-che/machine1";
+    private static final String CACHE_KEY   = DockerImageCache.getKey(RECIPE, MEMORY, -1);
+    private static final String CACHE_IMAGE = CACHE_REPOSITORY + ':' + CACHE_KEY;
+
+    @Mock
+    private DockerConnector docker;
+    @Mock
+    private ImageBuilder    builder;
+
+    private DockerImageCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(docker.inspectImage(anyString())).thenThrow(new IOException("No such image"));
+        cache = new DockerImageCache(docker);
+    }
+
+    @Test
+    public void shouldBuildImageAndCacheItIfImageWithSameRecipeIsNotCached() throws Exception {
+        cache.prepareImage(RECIPE, MEMORY, -1, IMAGE, builder);
+
+        verify(builder).build(IMAGE);
+        verify(docker).tag(TagParams.create(IMAGE, CACHE_REPOSITORY).withTag(CACHE_KEY));
+        assertEquals(cache.getMisses(), 1);
+        assertEquals(cache.getSize(), 1);
+    }
+
+    @Test
+    public void shouldTagCachedImageInsteadOfBuildingIfImageWithSameRecipeIsCached() throws Exception {
+        doReturn(new ImageInfo()).when(docker).inspectImage(CACHE_IMAGE);
+
+        cache.prepareImage("  FROM codenvy/ubuntu_jdk8\n\n# comment\nRUN echo hello  ", MEMORY, -1, IMAGE, builder);
+
+        verify(builder, never()).build(anyString());
+        verify(docker).tag(TagParams.create(CACHE_IMAGE, IMAGE));
+        assertEquals(cache.getHits(), 1);
+        assertEquals(cache.getHitRate(), 100);
+    }
+
+    @Test
+    public void shouldUseMemoryLimitInCacheKey() throws Exception {
+        assertNotEquals(DockerImageCache.getKey(RECIPE, MEMORY, -1), DockerImageCache.getKey(RECIPE, MEMORY * 2, -1));
+        assertNotEquals(DockerImageCache.getKey(RECIPE, MEMORY, -1), DockerImageCache.getKey(RECIPE, MEMORY, 0));
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedImageIfCacheIsFull() throws Exception {
+        cache.maxImages = 2;
+
+        cache.prepareImage("FROM image1", MEMORY, -1, "eclipse-che/machine1", builder);
+        cache.prepareImage("FROM image2", MEMORY, -1, "eclipse-che/machine2", builder);
+        cache.prepareImage("FROM image3", MEMORY, -1, "eclipse-che/machine3", builder);
+
+        verify(docker).removeImage(RemoveImageParams.create(CACHE_REPOSITORY + ':' + DockerImageCache.getKey("FROM image1", MEMORY, -1))
+                                                    .withForce(false));
+        assertEquals(cache.getSize(), 2);
+    }
+
+    @Test
+    public void shouldRemoveImagesIfTheirSizeExceedsLimit() throws Exception {
+        cache.maxSizeMb = 1;
+        final ImageInfo image = new ImageInfo();
+        image.setSize(1024 * 1024);
+        doReturn(image).when(docker).inspectImage("eclipse-che/machine1");
+        doReturn(image).when(docker).inspectImage("eclipse-che/machine2");
+
+        cache.prepareImage("FROM image1", MEMORY, -1, "eclipse-che/machine1", builder);
+        cache.prepareImage("FROM image2", MEMORY, -1, "eclipse-che/machine2", builder);
+
+        verify(docker).removeImage(RemoveImageParams.create(CACHE_REPOSITORY + ':' + DockerImageCache.getKey("FROM image1", MEMORY, -1))
+                                                    .withForce(false));
+        assertEquals(cache.getSize(), 1);
+    }
+
+    @Test
+    public void shouldNotUseImageCachedBeforeRestartIfItIsExpired() throws Exception {
+        final ImageInfo image = new ImageInfo();
+        image.setCreated("2016-01-01T10:00:00.123456789Z");
+        doReturn(image).when(docker).inspectImage(CACHE_IMAGE);
+
+        cache.prepareImage(RECIPE, MEMORY, -1, IMAGE, builder);
+
+        verify(docker, never()).tag(TagParams.create(CACHE_IMAGE, IMAGE));
+        verify(docker).removeImage(RemoveImageParams.create(CACHE_IMAGE).withForce(false));
+        verify(builder).build(IMAGE);
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldBuildImagesOfDifferentRecipesConcurrently() throws Exception {
+        final CountDownLatch secondBuildStarted = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> firstBuild = executor.submit(() -> {
+                cache.prepareImage("FROM image1", MEMORY, -1, "eclipse-che/machine1", imageName -> {
+                    try {
+                        assertTrue(secondBuildStarted.await(5, TimeUnit.SECONDS), "builds of different recipes are serialized");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return null;
+            });
+
+            cache.prepareImage("FROM image2", MEMORY, -1, "eclipse-che/machine2", imageName -> secondBuildStarted.countDown());
+
+            firstBuild.get();
+            assertEquals(cache.getSize(), 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldBuildImageWithoutCachingIfCacheIsDisabled() throws Exception {
+        cache.maxImages = 0;
+
+        cache.prepareImage(RECIPE, MEMORY, -1, IMAGE, builder);
+
+        verify(builder).build(IMAGE);
+        verify(docker, never()).tag(any(TagParams.class));
+        assertEquals(cache.getMisses(), 0);
+    }
+}
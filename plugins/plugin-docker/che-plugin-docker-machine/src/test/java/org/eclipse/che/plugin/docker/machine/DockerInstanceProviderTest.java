@@ -119,11 +119,14 @@ public class DockerInstanceProviderTest {
     @Mock
     private RecipeRetriever recipeRetriever;
 
+    private DockerImageCache imageCache;
+
     private DockerInstanceProvider dockerInstanceProvider;
 
     @BeforeMethod
     public void setUp() throws Exception {
         when(dockerConnectorConfiguration.getDockerHostIp()).thenReturn("123.123.123.123");
+        imageCache = new DockerImageCache(dockerConnector);
 
         dockerInstanceProvider = spy(new DockerInstanceProvider(dockerConnector,
                                                                 dockerConnectorConfiguration,
@@ -143,7 +146,8 @@ public class DockerInstanceProviderTest {
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
                                                                 SNAPSHOT_USE_REGISTRY,
-                                                                MEMORY_SWAP_MULTIPLIER));
+                                                                MEMORY_SWAP_MULTIPLIER,
+                                                                imageCache));
 
         EnvironmentContext envCont = new EnvironmentContext();
         envCont.setSubject(new SubjectImpl(USER_NAME, "userId", USER_TOKEN, null, false));
@@ -318,7 +322,8 @@ public class DockerInstanceProviderTest {
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
                                                                 SNAPSHOT_USE_REGISTRY,
-                                                                MEMORY_SWAP_MULTIPLIER));
+                                                                MEMORY_SWAP_MULTIPLIER,
+                                                                imageCache));
 
         createInstanceFromRecipe();
 
@@ -503,7 +508,8 @@ public class DockerInstanceProviderTest {
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
                                                                 SNAPSHOT_USE_REGISTRY,
-                                                                swapMultiplier));
+                                                                swapMultiplier,
+                                                                imageCache));
 
         // when
         createInstanceFromRecipe(memoryMB);
@@ -567,7 +573,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -608,7 +615,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -655,7 +663,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -696,7 +705,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -738,7 +748,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -783,7 +794,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -828,7 +840,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -873,7 +886,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -913,7 +927,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
 
@@ -953,7 +968,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
 
@@ -992,7 +1008,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn("/tmp/projects");
 
@@ -1031,7 +1048,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn("/tmp/projects");
 
@@ -1077,7 +1095,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
         final boolean isDev = true;
@@ -1124,7 +1143,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
 
@@ -1170,7 +1190,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1214,7 +1235,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1258,7 +1280,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
         final boolean isDev = true;
@@ -1302,7 +1325,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1346,7 +1370,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
         final boolean isDev = false;
@@ -1392,7 +1417,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1507,7 +1533,8 @@ public class DockerInstanceProviderTest {
                                                             devEnv,
                                                             commonEnv,
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -1543,7 +1570,8 @@ public class DockerInstanceProviderTest {
                                                             devEnv,
                                                             commonEnv,
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -1584,7 +1612,8 @@ public class DockerInstanceProviderTest {
                                                             devEnv,
                                                             commonEnv,
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -1620,7 +1649,8 @@ public class DockerInstanceProviderTest {
                                                             devEnv,
                                                             commonEnv,
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -1658,7 +1688,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -1704,7 +1735,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -1750,7 +1782,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = false;
 
@@ -1796,7 +1829,8 @@ public class DockerInstanceProviderTest {
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             SNAPSHOT_USE_REGISTRY,
-                                                            MEMORY_SWAP_MULTIPLIER);
+                                                            MEMORY_SWAP_MULTIPLIER,
+                                                            imageCache);
 
         final boolean isDev = true;
 
@@ -1916,7 +1950,8 @@ public class DockerInstanceProviderTest {
                                               Collections.emptySet(),
                                               Collections.emptySet(),
                                               snapshotUseRegistry,
-                                              MEMORY_SWAP_MULTIPLIER));
+                                              MEMORY_SWAP_MULTIPLIER,
+                                              imageCache));
     }
 
     private MachineConfigImpl.MachineConfigImplBuilder getMachineConfigBuilder() {
@@ -14,11 +14,14 @@ package org.eclipse.che.jdt.javaeditor;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -28,83 +31,120 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.internal.core.ClassFileWorkingCopy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * Reconciles java files: reports problems and computes semantic highlighting.
+ *
+ * <p>Working copy, AST and highlighted positions of each reconciled file are kept between calls,
+ * so the working copy isn't recreated on every reconcile. When the changes made since the previous reconcile are known
+ * and they are inside one method body, only highlighting of this body is recomputed,
+ * highlighted positions of the rest of the file are reused.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
+    /** Max number of files which working copies are kept between reconciles. */
+    private static final int MAX_CACHED_FILES = 100;
 
-    private SemanticHighlightingReconciler semanticHighlighting;
+    private final SemanticHighlightingReconciler semanticHighlighting;
+    private final Map<String, ReconcileState>    states;
 
     @Inject
     public JavaReconciler(SemanticHighlightingReconciler semanticHighlighting) {
         this.semanticHighlighting = semanticHighlighting;
+        this.states = new LinkedHashMap<String, ReconcileState>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ReconcileState> eldest) {
+                if (size() > MAX_CACHED_FILES) {
+                    eldest.getValue().discard();
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
+    /**
+     * Reconciles the whole file of the type with content of the file.
+     *
+     * @return reconcile result or {@code null} if type isn't found
+     */
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
-        final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
+        return reconcile(javaProject, fqn, null);
+    }
 
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
-        List<HighlightedPosition> positions = null;
-        ICompilationUnit compilationUnit = null;
+    /**
+     * Reconciles the file of the type after the given changes. The changes are applied to the working copy
+     * of the previous reconcile, if the changed working copy differs from the file content or the changes are unknown,
+     * the working copy is reloaded from the file and the whole file is reconciled.
+     *
+     * @param changes
+     *         changes of the file since the previous reconcile in order they were made,
+     *         offset of each change is relative to the content after the previous change,
+     *         {@code null} or empty list if the changes are unknown
+     * @return reconcile result or {@code null} if type isn't found
+     */
+    public ReconcileResult reconcile(IJavaProject javaProject, String fqn, List<Change> changes) throws JavaModelException {
+        final String key = javaProject.getPath().toString() + ':' + fqn;
         try {
             IType type = javaProject.findType(fqn);
             if (type == null) {
+                discard(key);
                 return null;
             }
             if (type.isBinary()) {
                 throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
             }
-            requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
-            positions = semanticHighlighting.reconcileSemanticHighlight(unit);
-            if (compilationUnit instanceof ClassFileWorkingCopy) {
-                //we don't wont to show any errors from ".class" files
-                requestor.reset();
-            }
-
+            return getState(key, type.getCompilationUnit()).reconcile(changes);
         } catch (JavaModelException e) {
+            discard(key);
             LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
             throw e;
-        } finally {
-            if(compilationUnit!= null && compilationUnit.isWorkingCopy()){
-                try {
-                    //todo close buffer
-                    compilationUnit.getBuffer().close();
-                    compilationUnit.discardWorkingCopy();
-                } catch (JavaModelException e) {
-                    //ignore
+        }
+    }
+
+    private ReconcileState getState(String key, ICompilationUnit unit) {
+        synchronized (states) {
+            ReconcileState state = states.get(key);
+            if (state == null || !state.unit.equals(unit)) {
+                if (state != null) {
+                    state.discard();
                 }
+                state = new ReconcileState(unit);
+                states.put(key, state);
             }
+            return state;
         }
+    }
 
-        ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
-        result.setHighlightedPositions(positions);
-        return result;
+    private void discard(String key) {
+        final ReconcileState state;
+        synchronized (states) {
+            state = states.remove(key);
+        }
+        if (state != null) {
+            state.discard();
+        }
     }
 
     private List<Problem> convertProblems(List<IProblem> problems) {
@@ -131,6 +171,228 @@ public class JavaReconciler {
         return result;
     }
 
+    /** Working copy of the file with AST and highlighted positions of the previous reconcile. */
+    private class ReconcileState {
+        private final ICompilationUnit unit;
+        private final ProblemRequestor requestor;
+        private final WorkingCopyOwner owner;
+
+        private ICompilationUnit          workingCopy;
+        private CompilationUnit           ast;
+        private List<HighlightedPosition> positions;
+        private boolean                   discarded;
+
+        ReconcileState(ICompilationUnit unit) {
+            this.unit = unit;
+            this.requestor = new ProblemRequestor();
+            this.owner = new WorkingCopyOwner() {
+                public IProblemRequestor getProblemRequestor(ICompilationUnit compilationUnit) {
+                    return requestor;
+                }
+
+                @Override
+                public IBuffer createBuffer(ICompilationUnit workingCopy) {
+                    return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+                }
+            };
+        }
+
+        synchronized ReconcileResult reconcile(List<Change> changes) throws JavaModelException {
+            try {
+                if (workingCopy == null) {
+                    // content of the new working copy is read from the file
+                    workingCopy = unit.getWorkingCopy(owner, null);
+                    changes = null;
+                }
+                final IBuffer buffer = workingCopy.getBuffer();
+                DirtyRegion dirtyRegion = changes == null || changes.isEmpty() ? null : applyChanges(buffer, changes);
+                final String content = readContent();
+                if (content != null && !content.equals(buffer.getContents())) {
+                    buffer.setContents(content);
+                    dirtyRegion = null;
+                }
+
+                requestor.reset();
+                CompilationUnit newAst = workingCopy.reconcile(AST.JLS8, true, owner, null);
+                if (newAst != null) {
+                    positions = computePositions(newAst, dirtyRegion);
+                    ast = newAst;
+                } else {
+                    // there is no AST to compare with the next changes
+                    ast = null;
+                    if (positions == null) {
+                        positions = new ArrayList<>();
+                    }
+                }
+                if (workingCopy instanceof ClassFileWorkingCopy) {
+                    //we don't wont to show any errors from ".class" files
+                    requestor.reset();
+                }
+
+                ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
+                result.setProblems(convertProblems(requestor.problems));
+                result.setHighlightedPositions(positions);
+                return result;
+            } catch (JavaModelException e) {
+                closeWorkingCopy();
+                throw e;
+            } finally {
+                if (discarded) {
+                    closeWorkingCopy();
+                }
+            }
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            closeWorkingCopy();
+        }
+
+        /**
+         * Applies changes to the buffer.
+         *
+         * @return region of the buffer which contains all the changes or {@code null} if some change is out of the buffer
+         */
+        private DirtyRegion applyChanges(IBuffer buffer, List<Change> changes) {
+            final DirtyRegion dirtyRegion = new DirtyRegion();
+            for (Change change : changes) {
+                final String text = change.getText() == null ? "" : change.getText();
+                if (change.getOffset() < 0 || change.getLength() < 0 || change.getOffset() + change.getLength() > buffer.getLength()) {
+                    return null;
+                }
+                buffer.replace(change.getOffset(), change.getLength(), text);
+                dirtyRegion.add(change.getOffset(), change.getLength(), text.length());
+            }
+            return dirtyRegion;
+        }
+
+        /**
+         * Reuses highlighted positions of the previous AST when all the changes are inside one method body
+         * and recomputes positions only for this body, otherwise computes positions for the whole AST.
+         */
+        private List<HighlightedPosition> computePositions(CompilationUnit newAst, DirtyRegion dirtyRegion) {
+            if (dirtyRegion != null && ast != null && positions != null) {
+                final Block oldBody = findEnclosingBody(ast, dirtyRegion.start, dirtyRegion.end - dirtyRegion.delta);
+                if (oldBody != null) {
+                    final int start = oldBody.getStartPosition();
+                    final int end = start + oldBody.getLength();
+                    final Block newBody = findBody(newAst, start, end + dirtyRegion.delta);
+                    if (newBody != null) {
+                        final List<HighlightedPosition> result = new ArrayList<>(positions.size());
+                        for (HighlightedPosition position : positions) {
+                            if (position.getOffset() + position.getLength() <= start) {
+                                result.add(position);
+                            }
+                        }
+                        result.addAll(semanticHighlighting.reconcileSemanticHighlight(newBody));
+                        for (HighlightedPosition position : positions) {
+                            if (position.getOffset() >= end) {
+                                result.add(shift(position, dirtyRegion.delta));
+                            }
+                        }
+                        return result;
+                    }
+                }
+            }
+            return semanticHighlighting.reconcileSemanticHighlight(newAst);
+        }
+
+        private String readContent() {
+            try (InputStream content = ((IFile)unit.getResource()).getContents()) {
+                return IoUtil.readStream(content);
+            } catch (CoreException | IOException e) {
+                LOG.warn("Can't read content of {}. {}", unit.getPath(), e.getMessage());
+                return null;
+            }
+        }
+
+        private void closeWorkingCopy() {
+            if (workingCopy != null && workingCopy.isWorkingCopy()) {
+                try {
+                    //todo close buffer
+                    workingCopy.getBuffer().close();
+                    workingCopy.discardWorkingCopy();
+                } catch (JavaModelException e) {
+                    //ignore
+                }
+            }
+            workingCopy = null;
+            ast = null;
+            positions = null;
+        }
+    }
+
+    /** Finds body of the method or initializer which strictly contains the given range. */
+    private static Block findEnclosingBody(CompilationUnit ast, int start, int end) {
+        ASTNode node = NodeFinder.perform(ast, start, end - start);
+        while (node != null) {
+            if (isBody(node) && node.getStartPosition() < start && end < node.getStartPosition() + node.getLength()) {
+                return (Block)node;
+            }
+            node = node.getParent();
+        }
+        return null;
+    }
+
+    /** Finds body of the method or initializer which has exactly the given range. */
+    private static Block findBody(CompilationUnit ast, int start, int end) {
+        final ASTNode node = NodeFinder.perform(ast, start, end - start);
+        if (node != null && isBody(node) && node.getStartPosition() == start && node.getLength() == end - start) {
+            return (Block)node;
+        }
+        return null;
+    }
+
+    private static boolean isBody(ASTNode node) {
+        if (!(node instanceof Block)) {
+            return false;
+        }
+        final ASTNode parent = node.getParent();
+        return (parent instanceof MethodDeclaration || parent instanceof Initializer)
+               && (node.getFlags() & (ASTNode.MALFORMED | ASTNode.RECOVERED)) == 0
+               && (parent.getFlags() & (ASTNode.MALFORMED | ASTNode.RECOVERED)) == 0;
+    }
+
+    private static HighlightedPosition shift(HighlightedPosition position, int delta) {
+        if (delta == 0) {
+            return position;
+        }
+        HighlightedPosition result = DtoFactory.getInstance().createDto(HighlightedPosition.class);
+        result.setOffset(position.getOffset() + delta);
+        result.setLength(position.getLength());
+        result.setType(position.getType());
+        return result;
+    }
+
+    /** Range of the changed text after all the changes and the difference of the text length. */
+    private static class DirtyRegion {
+        int start = Integer.MAX_VALUE;
+        int end   = Integer.MIN_VALUE;
+        int delta;
+
+        /** Adds change which replaces {@code removed} characters at the offset with {@code inserted} characters. */
+        void add(int offset, int removed, int inserted) {
+            final int shift = inserted - removed;
+            if (start != Integer.MAX_VALUE) {
+                start = map(start, offset, removed, shift, offset);
+                end = map(end, offset, removed, shift, offset + inserted);
+            }
+            start = Math.min(start, offset);
+            end = Math.max(end, offset + inserted);
+            delta += shift;
+        }
+
+        private static int map(int position, int offset, int removed, int shift, int replaced) {
+            if (position <= offset) {
+                return position;
+            }
+            if (position >= offset + removed) {
+                return position + shift;
+            }
+            return replaced;
+        }
+    }
+
     private static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
@@ -19,7 +19,6 @@ import org.eclipse.jdt.internal.corext.dom.GenericVisitor;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.BooleanLiteral;
 import org.eclipse.jdt.core.dom.CharacterLiteral;
-import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.IMethodBinding;
@@ -58,10 +57,16 @@ public class SemanticHighlightingReconciler {
         }
     }
 
-    public List<HighlightedPosition> reconcileSemanticHighlight(CompilationUnit ast) {
+    /**
+     * Computes highlighted positions of the AST node and its children.
+     *
+     * @param node
+     *         compilation unit or a part of it, e.g. method body
+     */
+    public List<HighlightedPosition> reconcileSemanticHighlight(ASTNode node) {
         fAddedPositions.set(new ArrayList<HighlightedPosition>());
         PositionCollector collector = new PositionCollector();
-        ast.accept(collector);
+        node.accept(collector);
         return fAddedPositions.get();
     }
 
@@ -14,12 +14,15 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.util.loging.Log;
 
+import java.util.List;
+
 /**
  * @author Evgen Vidolob
  */
@@ -42,17 +45,33 @@ public class JavaReconcileClient {
     public void reconcile(String projectPath, String fqn, final ReconcileCallback callback) {
         String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/?projectpath=" + projectPath + "&fqn=" + fqn;
         asyncRequestFactory.createGetRequest(url)
-                           .send(new AsyncRequestCallback<ReconcileResult>(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class)) {
-                               @Override
-                               protected void onSuccess(ReconcileResult result) {
-                                   callback.onReconcile(result);
-                               }
-
-                               @Override
-                               protected void onFailure(Throwable exception) {
-                                   Log.error(JavaReconcileClient.class, exception);
-                               }
-                           });
+                           .send(newCallback(callback));
+    }
+
+    /**
+     * Reconciles the file after the given changes, so server reconciles only the changed part of the file if it's possible.
+     *
+     * @param changes
+     *         changes of the file since the previous reconcile in order they were made
+     */
+    public void reconcile(String projectPath, String fqn, List<Change> changes, final ReconcileCallback callback) {
+        String url = appContext.getDevMachine().getWsAgentBaseUrl() + "/java/reconcile/?projectpath=" + projectPath + "&fqn=" + fqn;
+        asyncRequestFactory.createPostRequest(url, changes)
+                           .send(newCallback(callback));
+    }
+
+    private AsyncRequestCallback<ReconcileResult> newCallback(final ReconcileCallback callback) {
+        return new AsyncRequestCallback<ReconcileResult>(dtoUnmarshallerFactory.newUnmarshaller(ReconcileResult.class)) {
+            @Override
+            protected void onSuccess(ReconcileResult result) {
+                callback.onReconcile(result);
+            }
+
+            @Override
+            protected void onFailure(Throwable exception) {
+                Log.error(JavaReconcileClient.class, exception);
+            }
+        };
     }
 
     public interface ReconcileCallback {
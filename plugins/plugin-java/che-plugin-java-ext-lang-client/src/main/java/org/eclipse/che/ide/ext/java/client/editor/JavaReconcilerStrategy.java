@@ -16,11 +16,15 @@ import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeHandler;
 import org.eclipse.che.ide.api.resources.VirtualFile;
 import org.eclipse.che.ide.api.editor.text.Region;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEvent;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEventHandler;
 import org.eclipse.che.ide.ext.java.client.projecttree.JavaSourceFolderUtil;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
@@ -31,6 +35,7 @@ import org.eclipse.che.ide.api.editor.texteditor.TextEditorPresenter;
 import org.eclipse.che.ide.util.loging.Log;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
 
 public class JavaReconcilerStrategy implements ReconcilingStrategy {
@@ -40,6 +45,9 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
     private final JavaCodeAssistProcessor   codeAssistProcessor;
     private final AnnotationModel           annotationModel;
     private final HandlerRegistration       handlerRegistration;
+    private final DtoFactory                dtoFactory;
+    private       HandlerRegistration       documentChangeRegistration;
+    private       List<Change>              changes;
     private       SemanticHighlightRenderer highlighter;
     private       JavaReconcileClient       client;
     private       VirtualFile               file;
@@ -51,8 +59,11 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
                                   @Assisted final AnnotationModel annotationModel,
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
+                                  final DtoFactory dtoFactory,
                                   EventBus eventBus) {
         this.editor = editor;
+        this.dtoFactory = dtoFactory;
+        this.changes = new ArrayList<>();
         this.client = client;
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
@@ -70,6 +81,21 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
     public void setDocument(final Document document) {
         file = editor.getEditorInput().getFile();
         highlighter.init(editor.getHasTextMarkers(), document);
+
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+        }
+        changes = new ArrayList<>();
+        documentChangeRegistration = document.getDocumentHandle().getDocEventBus().addHandler(DocumentChangeEvent.TYPE,
+                                                                                              new DocumentChangeHandler() {
+            @Override
+            public void onDocumentChange(DocumentChangeEvent event) {
+                changes.add(dtoFactory.createDto(Change.class)
+                                      .withOffset(event.getOffset())
+                                      .withLength(event.getRemoveCharCount())
+                                      .withText(event.getText()));
+            }
+        });
     }
 
     @Override
@@ -85,7 +111,8 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
 
         String fqn = JavaSourceFolderUtil.getFQNForFile(file);
-        client.reconcile(file.getProject().getProjectConfig().getPath(), fqn, new JavaReconcileClient.ReconcileCallback() {
+        String projectPath = file.getProject().getProjectConfig().getPath();
+        JavaReconcileClient.ReconcileCallback callback = new JavaReconcileClient.ReconcileCallback() {
             @Override
             public void onReconcile(ReconcileResult result) {
                 if (result == null) {
@@ -94,7 +121,15 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
                 doReconcile(result.getProblems());
                 highlighter.reconcile(result.getHighlightedPositions());
             }
-        });
+        };
+        if (changes.isEmpty()) {
+            // nothing is changed in the editor, e.g. dependencies are updated, so the whole file is reconciled
+            client.reconcile(projectPath, fqn, callback);
+        } else {
+            final List<Change> reconciledChanges = changes;
+            changes = new ArrayList<>();
+            client.reconcile(projectPath, fqn, reconciledChanges, callback);
+        }
     }
 
 
@@ -155,5 +190,8 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
         if (handlerRegistration != null) {
             handlerRegistration.removeHandler();
         }
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+        }
     }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.java.server.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
 import org.eclipse.jdt.core.IJavaProject;
@@ -20,10 +21,13 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import java.util.List;
 
 /**
  * @author Evgen Vidolob
@@ -43,4 +47,24 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    /**
+     * Reconciles the file after the changes which were made since the previous reconcile of the file.
+     *
+     * @param projectPath
+     *         path to the project
+     * @param fqn
+     *         fully qualified name of the type
+     * @param changes
+     *         changes of the file in order they were made
+     */
+    @POST
+    @Consumes("application/json")
+    @Produces("application/json")
+    public ReconcileResult reconcile(@QueryParam("projectpath") String projectPath,
+                                     @QueryParam("fqn") String fqn,
+                                     List<Change> changes) throws JavaModelException {
+        IJavaProject javaProject = model.getJavaProject(projectPath);
+        return reconciler.reconcile(javaProject, fqn, changes);
+    }
 }
@@ -11,6 +11,8 @@
 package org.eclipse.che.plugin.java.server.che;
 
 
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
@@ -31,7 +33,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.fest.assertions.Assertions.assertThat;
 
@@ -99,6 +103,37 @@ public class ReconcileTest extends BaseTest {
     }
 
 
+    @Test
+    public void testReconcileChangesInMethodBody() throws Exception {
+        String contents = "package p1;\n" +
+                          "public class X {\n" +
+                          "  private int field;\n" +
+                          "  public void foo() {\n" +
+                          "     int i = field;\n" +
+                          "  }\n" +
+                          "  public void bar() {\n" +
+                          "     field = 1;\n" +
+                          "  }\n" +
+                          "}";
+        setWorkingCopyContents(contents);
+        reconciler.reconcile(project, "p1.X");
+
+        int offset = contents.indexOf("int i");
+        String changed = contents.substring(0, offset) + "int j = field + field;" + contents.substring(offset + "int i = field;".length());
+        setWorkingCopyContents(changed);
+        Change change = DtoFactory.getInstance().createDto(Change.class)
+                                  .withOffset(offset)
+                                  .withLength("int i = field;".length())
+                                  .withText("int j = field + field;");
+        ReconcileResult incremental = reconciler.reconcile(project, "p1.X", Collections.singletonList(change));
+        ReconcileResult full = reconciler.reconcile(project, "p1.X");
+
+        assertThat(incremental.getHighlightedPositions()).onProperty("offset")
+                                                         .isEqualTo(full.getHighlightedPositions().stream()
+                                                                        .map(HighlightedPosition::getOffset)
+                                                                        .collect(Collectors.toList()));
+    }
+
     @Test
     public void testSemanticHighlight() throws Exception {
         IType type = project.findType("java.lang.Object");
@@ -10,13 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.api.git;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+
 import org.eclipse.che.api.git.shared.GitUser;
 import org.eclipse.che.api.git.shared.Log;
 import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -25,9 +34,12 @@ import java.util.Locale;
 import java.util.TimeZone;
 
 /**
+ * Page of commit logs. JSON representation of the page is written revision by revision,
+ * see {@link #writeTo(JsonWriter)}, so JSON of the whole page isn't built in memory.
+ *
  * @author andrew00x
  */
-public class LogPage implements Log, InfoPage {
+public class LogPage implements Log, InfoPage, JsonSerializable {
     // The same as C git does.
     private static final String     DATE_FORMAT = "EEE MMM dd HH:mm:ss yyyy ZZZZZ";
 
@@ -81,4 +93,38 @@ public class LogPage implements Log, InfoPage {
     public List<Revision> getCommits() {
         return commits;
     }
+
+    @Override
+    public String toJson() {
+        final StringWriter json = new StringWriter();
+        try {
+            DtoFactory.getInstance().toJson(this, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    @Override
+    public JsonElement toJsonElement() {
+        final JsonArray array = new JsonArray();
+        for (Revision commit : commits) {
+            array.add(DtoFactory.getInstance().toJsonElement(commit));
+        }
+        final JsonObject json = new JsonObject();
+        json.add("commits", array);
+        return json;
+    }
+
+    @Override
+    public void writeTo(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("commits");
+        writer.beginArray();
+        for (Revision commit : commits) {
+            ((JsonSerializable)commit).writeTo(writer);
+        }
+        writer.endArray();
+        writer.endObject();
+    }
 }
@@ -114,4 +114,36 @@ public class LogTest {
         assertEquals(1, newFileCommitCount);
         assertEquals(4, allFilesCommitCount);
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogWithSkipAndMaxCount(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 5; i++) {
+            addFile(connection, "README.txt", "changes" + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+        addFile(connection, "newFile.txt", "someChanges");
+        connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("newFile.txt")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Add newFile.txt"));
+
+        //when
+        List<Revision> page = connection.log(newDto(LogRequest.class).withSkip(1).withMaxCount(2)).getCommits();
+        List<Revision> lastPage = connection.log(newDto(LogRequest.class).withSkip(5).withMaxCount(2)).getCommits();
+        List<Revision> filteredPage =
+                connection.log(newDto(LogRequest.class).withFileFilter(Collections.singletonList("README.txt"))
+                                                       .withSkip(3)
+                                                       .withMaxCount(10)).getCommits();
+
+        //then
+        assertEquals(page.size(), 2);
+        assertEquals(page.get(0).getMessage(), "Commit 5");
+        assertEquals(page.get(1).getMessage(), "Commit 4");
+        assertEquals(lastPage.size(), 1);
+        assertEquals(lastPage.get(0).getMessage(), "Commit 1");
+        assertEquals(filteredPage.size(), 2);
+        assertEquals(filteredPage.get(0).getMessage(), "Commit 2");
+        assertEquals(filteredPage.get(1).getMessage(), "Commit 1");
+    }
 }
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Result of searching files by pattern.
+ */
+@DTO
+public interface SearchResultDto {
+    /** Get files which contain the pattern. */
+    List<SearchResultEntryDto> getEntries();
+
+    void setEntries(List<SearchResultEntryDto> entries);
+
+    SearchResultDto withEntries(List<SearchResultEntryDto> entries);
+
+    /** Get total number of files which contain the pattern. */
+    int getTotalHits();
+
+    void setTotalHits(int totalHits);
+
+    SearchResultDto withTotalHits(int totalHits);
+
+    /**
+     * Returns {@code true} if not all files were checked because there are too many candidates,
+     * so more files than {@link #getTotalHits()} may contain the pattern.
+     */
+    boolean isTruncated();
+
+    void setTruncated(boolean truncated);
+
+    SearchResultDto withTruncated(boolean truncated);
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * File which contains the searched pattern.
+ */
+@DTO
+public interface SearchResultEntryDto {
+    /** Get path of file. */
+    String getPath();
+
+    void setPath(String path);
+
+    SearchResultEntryDto withPath(String path);
+
+    /** Get occurrences of the pattern in the file. */
+    List<SearchOccurrenceDto> getOccurrences();
+
+    void setOccurrences(List<SearchOccurrenceDto> occurrences);
+
+    SearchResultEntryDto withOccurrences(List<SearchOccurrenceDto> occurrences);
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Progress of initial indexing of files for search.
+ * Published periodically while indexing is running and once more when it is done.
+ */
+@EventOrigin("vfs")
+@DTO
+public interface IndexingProgressEvent {
+
+    /** Path of the indexed tree. */
+    String getPath();
+
+    IndexingProgressEvent withPath(String path);
+
+
+    /** Number of files that are already indexed. */
+    int getIndexedFiles();
+
+    IndexingProgressEvent withIndexedFiles(int indexedFiles);
+
+
+    /** Number of files found so far, grows while the tree is walked. */
+    int getDiscoveredFiles();
+
+    IndexingProgressEvent withDiscoveredFiles(int discoveredFiles);
+
+
+    long getElapsedTimeMillis();
+
+    IndexingProgressEvent withElapsedTimeMillis(long elapsedTimeMillis);
+
+
+    /** Estimated time till the end of indexing, {@code -1} if it can't be estimated yet. */
+    long getEstimatedTimeMillis();
+
+    IndexingProgressEvent withEstimatedTimeMillis(long estimatedTimeMillis);
+
+
+    boolean isDone();
+
+    IndexingProgressEvent withDone(boolean done);
+
+}
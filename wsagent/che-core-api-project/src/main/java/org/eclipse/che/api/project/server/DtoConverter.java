@@ -20,9 +20,15 @@ import org.eclipse.che.api.project.shared.dto.AttributeDto;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectImporterDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultEntryDto;
 import org.eclipse.che.api.project.shared.dto.ValueDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectProblemDto;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 
 import java.util.ArrayList;
@@ -146,4 +152,29 @@ public class DtoConverter {
     public static ProjectProblemDto asDto(RegisteredProject.Problem problem) {
         return newDto(ProjectProblemDto.class).withCode(problem.code).withMessage(problem.message);
     }
+
+    /** Converts {@link SearchResult} of searching by pattern to {@link SearchResultDto}. */
+    public static SearchResultDto asDto(SearchResult result) {
+        return newDto(SearchResultDto.class).withEntries(result.getResults()
+                                                               .stream()
+                                                               .map(DtoConverter::asDto)
+                                                               .collect(Collectors.toList()))
+                                            .withTotalHits(result.getTotalHits())
+                                            .withTruncated(result.isTruncated());
+    }
+
+    public static SearchResultEntryDto asDto(SearchResultEntry entry) {
+        return newDto(SearchResultEntryDto.class).withPath(entry.getFilePath())
+                                                 .withOccurrences(entry.getOccurrences()
+                                                                       .stream()
+                                                                       .map(DtoConverter::asDto)
+                                                                       .collect(Collectors.toList()));
+    }
+
+    public static SearchOccurrenceDto asDto(SearchOccurrence occurrence) {
+        return newDto(SearchOccurrenceDto.class).withLineNumber(occurrence.getLineNumber())
+                                                .withLineContent(occurrence.getLineContent())
+                                                .withStartOffset(occurrence.getStartOffset())
+                                                .withEndOffset(occurrence.getEndOffset());
+    }
 }
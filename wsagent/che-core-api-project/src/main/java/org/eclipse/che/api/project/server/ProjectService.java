@@ -36,6 +36,7 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
@@ -67,6 +68,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.io.InputStream;
@@ -80,6 +82,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.PUT;
@@ -690,8 +693,8 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportZip(@ApiParam(value = "Path to resource to be exported")
+                              @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -699,7 +702,45 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        // archive is written directly to the response while the folder is traversed
+        final StreamingOutput zip = output -> {
+            try {
+                virtualFile.zip(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return Response.ok(zip, ExtMediaType.APPLICATION_ZIP).build();
+    }
+
+    @GET
+    @Path("/export/tar/{path:.*}")
+    @Produces(ExtMediaType.APPLICATION_X_TAR)
+    @ApiOperation(value = "Download TAR",
+                  notes = "Export resource as tar archive. It can be an entire project or folder")
+    @ApiResponses({@ApiResponse(code = 200, message = ""),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public Response exportTar(@ApiParam(value = "Path to resource to be exported")
+                              @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+
+        final FolderEntry folder = projectManager.asFolder(path);
+
+        if (folder == null) {
+            throw new NotFoundException("Folder not found " + path);
+        }
+
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        final StreamingOutput tar = output -> {
+            try {
+                virtualFile.tar(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return Response.ok(tar, ExtMediaType.APPLICATION_X_TAR).build();
     }
 
     @GET
@@ -868,6 +909,53 @@ public class ProjectService extends Service {
         return items;
     }
 
+    @GET
+    @Path("/pattern-search/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for occurrences of pattern in content of files",
+                  notes = "Pattern is searched as substring or as regular expression if 'regex' is true. Result is truncated if there" +
+                          " are too many files to check",
+                  response = SearchResultDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 400, message = "Pattern is not set"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public SearchResultDto searchByPattern(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                                           @PathParam("path") String path,
+                                           @ApiParam(value = "Resource name")
+                                           @QueryParam("name") String name,
+                                           @ApiParam(value = "Pattern to search in content of files", required = true)
+                                           @QueryParam("pattern") String pattern,
+                                           @ApiParam(value = "Whether pattern is regular expression")
+                                           @QueryParam("regex") boolean regex,
+                                           @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                                           @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                                           @ApiParam(value = "Skip count")
+                                           @QueryParam("skipCount") int skipCount) throws NotFoundException,
+                                                                                          ForbiddenException,
+                                                                                          ConflictException,
+                                                                                          BadRequestException,
+                                                                                          ServerException {
+        if (isNullOrEmpty(pattern)) {
+            throw new BadRequestException("Parameter 'pattern' is required.");
+        }
+        if (skipCount < 0) {
+            throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setPattern(pattern)
+                .setRegex(regex)
+                .setMaxItems(maxItems)
+                .setSkipCount(skipCount);
+
+        return asDto(projectManager.getSearcher().search(expr));
+    }
+
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
         LOG.info("EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
                  projectName,
@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,4 +58,16 @@ public abstract class Archiver {
      */
     public abstract void extract(InputStream compressedInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException;
+
+    /**
+     * Opens content of the file which is added to the archive. Files backed by {@link File} are read directly, so large files
+     * aren't copied to spool files as {@link VirtualFile#getContent()} does.
+     */
+    protected InputStream openContent(VirtualFile file) throws IOException, ForbiddenException, ServerException {
+        final File ioFile = file.toIoFile();
+        if (ioFile != null) {
+            return new FileInputStream(ioFile);
+        }
+        return file.getContent();
+    }
 }
@@ -10,13 +10,29 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.zip.Deflater;
+
 public class ArchiverFactory {
+    private final int zipCompressionLevel;
+
+    public ArchiverFactory() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param zipCompressionLevel
+     *         compression level of zip archives from 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public ArchiverFactory(int zipCompressionLevel) {
+        this.zipCompressionLevel = zipCompressionLevel;
+    }
+
     public Archiver createArchiver(VirtualFile folder, String archiveType) {
         if (archiveType == null) {
             throw new IllegalArgumentException("Archive type might not be null");
         }
         if ("zip".equals(archiveType.toLowerCase())) {
-            return new ZipArchiver(folder);
+            return new ZipArchiver(folder, zipCompressionLevel);
         } else if ("tar".equals(archiveType.toLowerCase())) {
             return new TarArchiver(folder);
         }
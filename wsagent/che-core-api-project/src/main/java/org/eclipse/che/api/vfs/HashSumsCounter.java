@@ -21,6 +21,7 @@ import org.eclipse.che.commons.lang.Pair;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.hash.Funnels.asOutputStream;
@@ -28,17 +29,31 @@ import static com.google.common.hash.Funnels.asOutputStream;
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * <p/>
+ * If {@link HashSumsIndex} is given hash sums of files that weren't modified since the previous counting are taken
+ * from the index. Hash sums of the rest of files are counted in parallel.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
-    private final VirtualFile                folder;
-    private final HashFunction               hashFunction;
-    private final List<Pair<String, String>> hashSums;
+    private final VirtualFile       folder;
+    private final HashFunction      hashFunction;
+    private final HashSumsIndex     hashSumsIndex;
+    private final List<VirtualFile> files;
 
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null);
+    }
+
+    /**
+     * @param hashSumsIndex
+     *         index of already counted hash sums, may be {@code null}. Index must contain hash sums
+     *         counted with the same {@code hashFunction}
+     */
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, HashSumsIndex hashSumsIndex) {
         this.folder = folder;
         this.hashFunction = hashFunction;
-        hashSums = newArrayList();
+        this.hashSumsIndex = hashSumsIndex;
+        files = newArrayList();
     }
 
     /**
@@ -50,27 +65,82 @@ public class HashSumsCounter implements VirtualFileVisitor {
      * </pre>
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
+        files.clear();
         folder.accept(this);
-        return hashSums;
+
+        final String[] hashSums = new String[files.size()];
+        final List<Integer> notIndexed = newArrayList();
+        for (int i = 0; i < files.size(); i++) {
+            final VirtualFile file = files.get(i);
+            if (hashSumsIndex != null) {
+                hashSums[i] = hashSumsIndex.get(file.getPath(), file.getLastModificationDate(), file.getLength());
+            }
+            if (hashSums[i] == null) {
+                notIndexed.add(i);
+            }
+        }
+
+        try {
+            IntStream indexes = notIndexed.stream().mapToInt(Integer::intValue);
+            if (notIndexed.size() > 1) {
+                indexes = indexes.parallel();
+            }
+            indexes.forEach(i -> hashSums[i] = countHashSum(files.get(i)));
+        } catch (HashSumException e) {
+            throw e.getCause();
+        }
+
+        final List<Pair<String, String>> result = newArrayList();
+        for (int i = 0; i < files.size(); i++) {
+            result.add(Pair.of(hashSums[i], files.get(i).getPath().subPath(folder.getPath()).toString()));
+        }
+        return result;
     }
 
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
-            }
+            files.add(virtualFile);
         } else {
             for (VirtualFile child : virtualFile.getChildren()) {
                 child.accept(this);
             }
         }
     }
+
+    private String countHashSum(VirtualFile file) {
+        try {
+            final long countedAt = System.currentTimeMillis();
+            final long lastModificationDate = file.getLastModificationDate();
+            final long length = file.getLength();
+            final String hexHash;
+            try (InputStream in = file.getContent()) {
+                final Hasher hasher = hashFunction.newHasher();
+                ByteStreams.copy(in, asOutputStream(hasher));
+                hexHash = hasher.hash().toString();
+            }
+            if (hashSumsIndex != null) {
+                hashSumsIndex.put(file.getPath(), lastModificationDate, length, hexHash, countedAt);
+            }
+            return hexHash;
+        } catch (IOException e) {
+            throw new HashSumException(new ServerException(e));
+        } catch (ForbiddenException e) {
+            throw new HashSumException(new ServerException(e.getServiceError()));
+        } catch (ServerException e) {
+            throw new HashSumException(e);
+        }
+    }
+
+    /** Carries checked exception out of the parallel stream. */
+    private static class HashSumException extends RuntimeException {
+        HashSumException(ServerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServerException getCause() {
+            return (ServerException)super.getCause();
+        }
+    }
 }
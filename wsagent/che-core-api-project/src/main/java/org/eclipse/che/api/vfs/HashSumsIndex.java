@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps hash sums of files together with modification date and length of files at the moment when hash sum was counted.
+ * Hash sum is reused by {@link HashSumsCounter} while modification date and length of file stay the same.
+ *
+ * <p>Index may be stored to and loaded from the file, so hash sums survive restart of the file system.
+ * Entries of modified or deleted files should be removed with {@link #invalidate(Path)}, e.g. when file watcher
+ * reports about changes, though modification date and length are always checked before hash sum is reused.
+ */
+public class HashSumsIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(HashSumsIndex.class);
+
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Files modified so close to the moment of counting of hash sum may be modified again without
+     * change of modification date (the resolution of which is one second on some file systems), such hash sums aren't kept.
+     */
+    private static final long RACY_MODIFICATION_INTERVAL_MS = 2000;
+
+    private final File                    storage;
+    private final Map<Path, HashSumEntry> entries;
+
+    private volatile boolean loaded;
+
+    /**
+     * @param storage
+     *         file to store index in, may be {@code null} then index is kept in memory only
+     */
+    public HashSumsIndex(File storage) {
+        this.storage = storage;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /** Returns hash sum of file if it was counted for the same modification date and length of file. */
+    public String get(Path path, long lastModificationDate, long length) {
+        ensureLoaded();
+        final HashSumEntry entry = entries.get(path);
+        if (entry != null && entry.lastModificationDate == lastModificationDate && entry.length == length) {
+            return entry.hashSum;
+        }
+        return null;
+    }
+
+    /**
+     * Saves hash sum of file.
+     *
+     * @param countedAt
+     *         time when counting of hash sum started
+     */
+    public void put(Path path, long lastModificationDate, long length, String hashSum, long countedAt) {
+        ensureLoaded();
+        if (countedAt - lastModificationDate < RACY_MODIFICATION_INTERVAL_MS) {
+            entries.remove(path);
+        } else {
+            entries.put(path, new HashSumEntry(lastModificationDate, length, hashSum));
+        }
+    }
+
+    /** Removes hash sums of the item with specified path and of all its descendants. */
+    public void invalidate(Path path) {
+        ensureLoaded();
+        if (entries.remove(path) == null) {
+            entries.keySet().removeIf(indexedPath -> indexedPath.isChild(path));
+        }
+    }
+
+    /** Returns number of files in this index. */
+    public int size() {
+        ensureLoaded();
+        return entries.size();
+    }
+
+    /** Writes index to the storage file. Does nothing if index has no storage. */
+    public synchronized void store() {
+        if (storage == null || !loaded) {
+            return;
+        }
+        final File parent = storage.getParentFile();
+        if (parent != null && !(parent.exists() || parent.mkdirs())) {
+            LOG.warn("Unable create directory {} for hash sums index", parent);
+            return;
+        }
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(storage)))) {
+            dos.writeInt(FORMAT_VERSION);
+            for (Map.Entry<Path, HashSumEntry> e : entries.entrySet()) {
+                dos.writeUTF(e.getKey().toString());
+                dos.writeLong(e.getValue().lastModificationDate);
+                dos.writeLong(e.getValue().length);
+                dos.writeUTF(e.getValue().hashSum);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable store hash sums index to {}: {}", storage, e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        if (storage != null && storage.exists()) {
+            try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(storage)))) {
+                if (dis.readInt() == FORMAT_VERSION) {
+                    for (; ; ) {
+                        final String path;
+                        try {
+                            path = dis.readUTF();
+                        } catch (EOFException end) {
+                            break;
+                        }
+                        final long lastModificationDate = dis.readLong();
+                        final long length = dis.readLong();
+                        final String hashSum = dis.readUTF();
+                        entries.putIfAbsent(Path.of(path), new HashSumEntry(lastModificationDate, length, hashSum));
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable load hash sums index from {}: {}", storage, e.getMessage());
+                entries.clear();
+            }
+        }
+        loaded = true;
+    }
+
+    private static class HashSumEntry {
+        final long   lastModificationDate;
+        final long   length;
+        final String hashSum;
+
+        HashSumEntry(long lastModificationDate, long length, String hashSum) {
+            this.lastModificationDate = lastModificationDate;
+            this.length = length;
+            this.hashSum = hashSum;
+        }
+    }
+}
@@ -71,11 +71,13 @@ public class TarArchiver extends Archiver {
                 tarEntry.setModTime(0);
                 tarOutputStream.putArchiveEntry(tarEntry);
             } else {
-                tarEntry.setSize(virtualFile.getLength());
+                final long length = virtualFile.getLength();
+                tarEntry.setSize(length);
                 tarEntry.setModTime(virtualFile.getLastModificationDate());
                 tarOutputStream.putArchiveEntry(tarEntry);
-                try (InputStream content = virtualFile.getContent()) {
-                    ByteStreams.copy(content, tarOutputStream);
+                try (InputStream content = openContent(virtualFile)) {
+                    // file may grow while it is read, the entry can't exceed its declared size
+                    ByteStreams.copy(ByteStreams.limit(content, length), tarOutputStream);
                 }
             }
             tarOutputStream.closeArchiveEntry();
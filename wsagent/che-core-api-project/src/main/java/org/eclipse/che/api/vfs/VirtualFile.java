@@ -17,7 +17,9 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -504,6 +506,21 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream zip() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as zip archive to the specified output. Archive is written
+     * while the folder is traversed, it isn't buffered in memory or in temporary file.
+     *
+     * @param output
+     *         output for zip archive, it is closed when the archive is written
+     * @throws IOException
+     *         if an error occurs while the archive is written to the output
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void zip(OutputStream output) throws IOException, ForbiddenException, ServerException;
+
     /**
      * Extracts zip archive to the folder denoted by this VirtualFile.
      *
@@ -537,6 +554,21 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream tar() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as TAR archive to the specified output. Archive is written
+     * while the folder is traversed, it isn't buffered in memory or in temporary file.
+     *
+     * @param output
+     *         output for TAR archive, it is closed when the archive is written
+     * @throws IOException
+     *         if an error occurs while the archive is written to the output
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void tar(OutputStream output) throws IOException, ForbiddenException, ServerException;
+
     /**
      * Extracts tar archive to the folder denoted by this VirtualFile.
      *
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
-import com.google.common.io.ByteStreams;
-
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -21,13 +19,24 @@ import org.eclipse.che.api.vfs.util.ZipContent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 public class ZipArchiver extends Archiver {
+    private final int compressionLevel;
+
     public ZipArchiver(VirtualFile folder) {
+        this(folder, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compressionLevel
+     *         compression level from 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public ZipArchiver(VirtualFile folder, int compressionLevel) {
         super(folder);
+        this.compressionLevel = compressionLevel;
     }
 
     @Override
@@ -37,13 +46,13 @@ public class ZipArchiver extends Archiver {
 
     @Override
     public void compress(OutputStream zipOutput, VirtualFileFilter filter) throws IOException, ServerException {
-        try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
+        try (ZipWriter zipWriter = new ZipWriter(zipOutput, compressionLevel)) {
             folder.accept(new VirtualFileVisitor() {
                 @Override
                 public void visit(VirtualFile visitedVirtualFile) throws ServerException {
                     if (filter.accept(visitedVirtualFile)) {
                         if (!visitedVirtualFile.equals(folder)) {
-                            addZipEntry(visitedVirtualFile, zipOutputStream);
+                            addZipEntry(visitedVirtualFile, zipWriter);
                         }
                         if (visitedVirtualFile.isFolder()) {
                             for (VirtualFile child : visitedVirtualFile.getChildren()) {
@@ -64,19 +73,18 @@ public class ZipArchiver extends Archiver {
         return zipPath.toString();
     }
 
-    private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream) throws ServerException {
+    private void addZipEntry(VirtualFile virtualFile, ZipWriter zipWriter) throws ServerException {
         try {
-            ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
-            zipOutputStream.putNextEntry(zipEntry);
             if (virtualFile.isFolder()) {
-                zipEntry.setTime(0);
+                zipWriter.addDirectory(getZipEntryName(virtualFile), 0);
             } else {
-                try (InputStream content = virtualFile.getContent()) {
-                    ByteStreams.copy(content, zipOutputStream);
+                try (InputStream content = openContent(virtualFile)) {
+                    zipWriter.addFile(getZipEntryName(virtualFile),
+                                      virtualFile.getLastModificationDate(),
+                                      virtualFile.getLength(),
+                                      content);
                 }
-                zipEntry.setTime(virtualFile.getLastModificationDate());
             }
-            zipOutputStream.closeEntry();
         } catch (ForbiddenException e) {
             throw new ServerException(e.getServiceError());
         } catch (IOException e) {
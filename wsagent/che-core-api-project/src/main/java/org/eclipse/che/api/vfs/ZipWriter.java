@@ -0,0 +1,438 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes zip archive to the output stream entry by entry, nothing is buffered except of the entry which is being written,
+ * so the archive may be sent to the client while it is created.
+ *
+ * <p>Content of large files is deflated by several threads: content is split into chunks, each chunk is deflated
+ * separately with the last 32K of the previous chunk as dictionary and is terminated by sync flush, so compressed chunks
+ * concatenated in order make single deflate stream, the same as pigz does. Compression ratio is almost the same as
+ * when content is deflated by single {@link Deflater}.
+ *
+ * <p>Archive has the same format as archive written by {@link java.util.zip.ZipOutputStream}: sizes and CRC of files are
+ * written in data descriptors after the content, names are encoded in UTF-8 and Zip64 extensions are used only when
+ * sizes or offsets exceed limits of the zip format. {@code ZipOutputStream} itself can't be used since it deflates
+ * content of entry by its own deflater.
+ */
+class ZipWriter implements Closeable {
+
+    /** Size of chunk of content which is deflated by single task. */
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    /** Content of files which are smaller than this threshold is deflated in the current thread. */
+    static final long PARALLEL_THRESHOLD = 4L * CHUNK_SIZE;
+
+    private static final int  DICTIONARY_SIZE = 32 * 1024;
+    private static final long ZIP64_MAGIC     = 0xFFFFFFFFL;
+    private static final int  ZIP64_COUNT     = 0xFFFF;
+    private static final int  LOCSIG          = 0x04034b50;
+    private static final int  EXTSIG          = 0x08074b50;
+    private static final int  CENSIG          = 0x02014b50;
+    private static final int  ENDSIG          = 0x06054b50;
+    private static final int  ZIP64_ENDSIG    = 0x06064b50;
+    private static final int  ZIP64_LOCSIG    = 0x07064b50;
+    private static final int  ZIP64_EXTID     = 0x0001;
+    private static final int  STORED          = 0;
+    private static final int  DEFLATED        = 8;
+    /** General purpose flags: sizes are written in data descriptor, name is encoded in UTF-8. */
+    private static final int  FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int  FLAG_UTF8            = 0x0800;
+
+    private static final int             PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService EXECUTOR    = PARALLELISM > 1
+                                                       ? Executors.newFixedThreadPool(PARALLELISM, new ThreadFactoryBuilder()
+                                                               .setNameFormat("ZipWriter-%d")
+                                                               .setDaemon(true)
+                                                               .build())
+                                                       : null;
+
+    private final CountingOutputStream output;
+    private final int                  level;
+    private final Deflater             deflater;
+    private final CRC32                crc;
+    private final byte[]               buffer;
+    private final List<Entry>          entries;
+    private       boolean              finished;
+    /** Set when entry isn't written completely, central directory isn't written then so archive can't be read as valid. */
+    private       boolean              broken;
+
+    /**
+     * @param output
+     *         output for the archive, it is closed when the writer is closed
+     * @param level
+     *         compression level from 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    ZipWriter(OutputStream output, int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException(String.format("Invalid compression level %d", level));
+        }
+        this.output = new CountingOutputStream(output);
+        this.level = level;
+        this.deflater = new Deflater(level, true);
+        this.crc = new CRC32();
+        this.buffer = new byte[64 * 1024];
+        this.entries = new ArrayList<>();
+    }
+
+    /** Adds directory entry, name of the directory must end with '/'. */
+    void addDirectory(String name, long time) throws IOException {
+        final Entry entry = new Entry(name, STORED, FLAG_UTF8, time, output.getCount());
+        writeLocalHeader(entry);
+        entries.add(entry);
+    }
+
+    /**
+     * Adds file entry and deflates its content.
+     *
+     * @param name
+     *         name of the entry
+     * @param time
+     *         modification time of the file in milliseconds
+     * @param length
+     *         expected length of the content, it decides whether content is deflated in parallel
+     * @param content
+     *         content of the file, it isn't closed by this method
+     */
+    void addFile(String name, long time, long length, InputStream content) throws IOException {
+        final Entry entry = new Entry(name, DEFLATED, FLAG_UTF8 | FLAG_DATA_DESCRIPTOR, time, output.getCount());
+        broken = true;
+        writeLocalHeader(entry);
+        crc.reset();
+        if (EXECUTOR != null && length >= PARALLEL_THRESHOLD) {
+            deflateParallel(content, entry);
+        } else {
+            deflate(content, entry);
+        }
+        entry.crc = crc.getValue();
+        writeDataDescriptor(entry);
+        entries.add(entry);
+        broken = false;
+    }
+
+    /** Writes central directory, the output stays open. */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        final long centralDirectoryOffset = output.getCount();
+        for (Entry entry : entries) {
+            writeCentralHeader(entry);
+        }
+        final long centralDirectorySize = output.getCount() - centralDirectoryOffset;
+        writeEnd(centralDirectoryOffset, centralDirectorySize);
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!broken) {
+                finish();
+            }
+        } finally {
+            deflater.end();
+            output.close();
+        }
+    }
+
+    private void deflate(InputStream content, Entry entry) throws IOException {
+        deflater.reset();
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            crc.update(buffer, 0, read);
+            deflater.setInput(buffer, 0, read);
+            while (!deflater.needsInput()) {
+                writeDeflated();
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            writeDeflated();
+        }
+        entry.size = deflater.getBytesRead();
+        entry.compressedSize = deflater.getBytesWritten();
+    }
+
+    private void writeDeflated() throws IOException {
+        final int length = deflater.deflate(buffer);
+        if (length > 0) {
+            output.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Reads content chunk by chunk and deflates chunks by the shared executor, compressed chunks are written in order.
+     * Number of chunks in memory is bounded, so reading doesn't run ahead of writing.
+     */
+    private void deflateParallel(InputStream content, Entry entry) throws IOException {
+        final int maxPending = PARALLELISM * 2;
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>(maxPending);
+        try {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int length = ByteStreams.read(content, chunk, 0, CHUNK_SIZE);
+            byte[] dictionary = null;
+            while (true) {
+                byte[] next = null;
+                int nextLength = 0;
+                if (length == CHUNK_SIZE) {
+                    next = new byte[CHUNK_SIZE];
+                    nextLength = ByteStreams.read(content, next, 0, CHUNK_SIZE);
+                }
+                final boolean last = nextLength == 0;
+                crc.update(chunk, 0, length);
+                entry.size += length;
+                final byte[] data = chunk;
+                final byte[] chunkDictionary = dictionary;
+                final int dataLength = length;
+                pending.add(EXECUTOR.submit(() -> deflateChunk(level, chunkDictionary, data, dataLength, last)));
+                if (last) {
+                    break;
+                }
+                dictionary = Arrays.copyOfRange(chunk, length - DICTIONARY_SIZE, length);
+                chunk = next;
+                length = nextLength;
+                while (pending.size() >= maxPending) {
+                    entry.compressedSize += writeChunk(pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                entry.compressedSize += writeChunk(pending.poll());
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private int writeChunk(Future<byte[]> future) throws IOException {
+        final byte[] compressed;
+        try {
+            compressed = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while content is deflated");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+        output.write(compressed);
+        return compressed.length;
+    }
+
+    /** Deflates chunk of content, all but the last chunk are terminated by sync flush, the last one finishes the stream. */
+    private static byte[] deflateChunk(int level, byte[] dictionary, byte[] data, int length, boolean last) {
+        final Deflater chunkDeflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                chunkDeflater.setDictionary(dictionary);
+            }
+            chunkDeflater.setInput(data, 0, length);
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+            final byte[] chunkBuffer = new byte[64 * 1024];
+            if (last) {
+                chunkDeflater.finish();
+                while (!chunkDeflater.finished()) {
+                    compressed.write(chunkBuffer, 0, chunkDeflater.deflate(chunkBuffer));
+                }
+            } else {
+                int written;
+                do {
+                    written = chunkDeflater.deflate(chunkBuffer, 0, chunkBuffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(chunkBuffer, 0, written);
+                } while (written == chunkBuffer.length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            chunkDeflater.end();
+        }
+    }
+
+    private void writeLocalHeader(Entry entry) throws IOException {
+        writeInt(LOCSIG);
+        writeShort(entry.versionNeeded());
+        writeShort(entry.flags);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        // CRC and sizes of files are written in data descriptor, directories are empty
+        writeInt(0);
+        writeInt(0);
+        writeInt(0);
+        writeShort(entry.name.length);
+        writeShort(0);
+        output.write(entry.name);
+    }
+
+    private void writeDataDescriptor(Entry entry) throws IOException {
+        writeInt(EXTSIG);
+        writeInt(entry.crc);
+        if (entry.compressedSize >= ZIP64_MAGIC || entry.size >= ZIP64_MAGIC) {
+            writeLong(entry.compressedSize);
+            writeLong(entry.size);
+        } else {
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+        }
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        final boolean zip64Size = entry.size >= ZIP64_MAGIC;
+        final boolean zip64CompressedSize = entry.compressedSize >= ZIP64_MAGIC;
+        final boolean zip64Offset = entry.offset >= ZIP64_MAGIC;
+        final int extraLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+        final int version = extraLength > 0 ? 45 : entry.versionNeeded();
+        writeInt(CENSIG);
+        writeShort(version);
+        writeShort(version);
+        writeShort(entry.flags);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        writeInt(entry.crc);
+        writeInt(zip64CompressedSize ? ZIP64_MAGIC : entry.compressedSize);
+        writeInt(zip64Size ? ZIP64_MAGIC : entry.size);
+        writeShort(entry.name.length);
+        writeShort(extraLength > 0 ? extraLength + 4 : 0);
+        // comment length, disk number, internal and external attributes
+        writeShort(0);
+        writeShort(0);
+        writeShort(0);
+        writeInt(0);
+        writeInt(zip64Offset ? ZIP64_MAGIC : entry.offset);
+        output.write(entry.name);
+        if (extraLength > 0) {
+            writeShort(ZIP64_EXTID);
+            writeShort(extraLength);
+            if (zip64Size) {
+                writeLong(entry.size);
+            }
+            if (zip64CompressedSize) {
+                writeLong(entry.compressedSize);
+            }
+            if (zip64Offset) {
+                writeLong(entry.offset);
+            }
+        }
+    }
+
+    private void writeEnd(long centralDirectoryOffset, long centralDirectorySize) throws IOException {
+        final int count = entries.size();
+        if (count >= ZIP64_COUNT || centralDirectoryOffset >= ZIP64_MAGIC || centralDirectorySize >= ZIP64_MAGIC) {
+            final long zip64EndOffset = output.getCount();
+            writeInt(ZIP64_ENDSIG);
+            // size of the remaining record
+            writeLong(44);
+            writeShort(45);
+            writeShort(45);
+            writeInt(0);
+            writeInt(0);
+            writeLong(count);
+            writeLong(count);
+            writeLong(centralDirectorySize);
+            writeLong(centralDirectoryOffset);
+
+            writeInt(ZIP64_LOCSIG);
+            writeInt(0);
+            writeLong(zip64EndOffset);
+            writeInt(1);
+        }
+        writeInt(ENDSIG);
+        writeShort(0);
+        writeShort(0);
+        writeShort(Math.min(count, ZIP64_COUNT));
+        writeShort(Math.min(count, ZIP64_COUNT));
+        writeInt(Math.min(centralDirectorySize, ZIP64_MAGIC));
+        writeInt(Math.min(centralDirectoryOffset, ZIP64_MAGIC));
+        // comment length
+        writeShort(0);
+    }
+
+    private void writeShort(int value) throws IOException {
+        output.write(value & 0xff);
+        output.write((value >>> 8) & 0xff);
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int)(value & 0xffff));
+        writeShort((int)((value >>> 16) & 0xffff));
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt(value & ZIP64_MAGIC);
+        writeInt(value >>> 32);
+    }
+
+    /** Converts time to MS-DOS format, times before 1980 are written as 1980-01-01 the same as ZipOutputStream does. */
+    private static long toDosTime(long time) {
+        final LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        final int year = dateTime.getYear();
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 25
+               | dateTime.getMonthValue() << 21
+               | dateTime.getDayOfMonth() << 16
+               | dateTime.getHour() << 11
+               | dateTime.getMinute() << 5
+               | dateTime.getSecond() >> 1;
+    }
+
+    private static class Entry {
+        final byte[] name;
+        final int    method;
+        final int    flags;
+        final long   dosTime;
+        final long   offset;
+        long crc;
+        long size;
+        long compressedSize;
+
+        Entry(String name, int method, int flags, long time, long offset) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            if (this.name.length > 0xFFFF) {
+                throw new IllegalArgumentException(String.format("Entry name is too long: %s", name));
+            }
+            this.method = method;
+            this.flags = flags;
+            this.dosTime = toDosTime(time);
+            this.offset = offset;
+        }
+
+        int versionNeeded() {
+            return method == DEFLATED ? 20 : 10;
+        }
+    }
+}
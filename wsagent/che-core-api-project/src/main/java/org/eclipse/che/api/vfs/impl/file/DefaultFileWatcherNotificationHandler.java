@@ -30,6 +30,7 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     private final VirtualFileSystemProvider             virtualFileSystemProvider;
     private final List<FileWatcherNotificationListener> fileWatcherNotificationListeners;
+    private volatile File                                watchRoot;
 
     @Inject
     public DefaultFileWatcherNotificationHandler(VirtualFileSystemProvider virtualFileSystemProvider) {
@@ -39,10 +40,34 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     @Override
     public void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir) {
-        VirtualFile virtualFile = convertToVirtualFile(watchRoot, subPath, isDir);
+        final LocalVirtualFileSystem virtualFileSystem = getVirtualFileSystem();
+        if (virtualFileSystem != null) {
+            notifyListeners(virtualFileSystem, eventType, watchRoot, subPath, isDir);
+        }
+    }
+
+    @Override
+    public void handleFileWatcherEvents(File watchRoot, List<FileWatcherEvent> events) {
+        final LocalVirtualFileSystem virtualFileSystem = getVirtualFileSystem();
+        if (virtualFileSystem != null) {
+            for (FileWatcherEvent event : events) {
+                notifyListeners(virtualFileSystem, event.getType(), watchRoot, event.getSubPath(), event.isDir());
+            }
+        }
+    }
+
+    private void notifyListeners(LocalVirtualFileSystem virtualFileSystem,
+                                 FileWatcherEventType eventType,
+                                 File watchRoot,
+                                 String subPath,
+                                 boolean isDir) {
+        VirtualFile virtualFile = convertToVirtualFile(virtualFileSystem, watchRoot, subPath, isDir);
         if (virtualFile == null) {
             return;
         }
+        if (eventType != FileWatcherEventType.CREATED) {
+            virtualFileSystem.getMd5SumsIndex().invalidate(virtualFile.getPath());
+        }
         for (FileWatcherNotificationListener virtualFileListener : fileWatcherNotificationListeners) {
             if (virtualFileListener.shouldBeNotifiedFor(virtualFile)) {
                 virtualFileListener.onFileWatcherEvent(virtualFile, eventType);
@@ -52,15 +77,36 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     public void started(File watchRoot) {
         LOG.debug("Start watching file events on {}", watchRoot);
+        this.watchRoot = watchRoot;
+        for (FileWatcherNotificationListener fileWatcherNotificationListener : fileWatcherNotificationListeners) {
+            fileWatcherNotificationListener.onWatcherStarted(watchRoot);
+        }
     }
 
     public void errorOccurred(File watchRoot, Throwable cause) {
         LOG.warn("Error occurs while watching file events on {}: {}", watchRoot, cause.getMessage());
+        this.watchRoot = null;
+        for (FileWatcherNotificationListener fileWatcherNotificationListener : fileWatcherNotificationListeners) {
+            fileWatcherNotificationListener.onWatcherError(watchRoot, cause);
+        }
+    }
+
+    @Override
+    public void eventsLost(File watchRoot) {
+        LOG.debug("Events of {} are lost", watchRoot);
+        for (FileWatcherNotificationListener fileWatcherNotificationListener : fileWatcherNotificationListeners) {
+            fileWatcherNotificationListener.onWatcherEventsLost(watchRoot);
+        }
     }
 
     @Override
     public boolean addNotificationListener(FileWatcherNotificationListener fileWatcherNotificationListener) {
-        return fileWatcherNotificationListeners.add(fileWatcherNotificationListener);
+        final boolean added = fileWatcherNotificationListeners.add(fileWatcherNotificationListener);
+        final File startedWatchRoot = watchRoot;
+        if (added && startedWatchRoot != null) {
+            fileWatcherNotificationListener.onWatcherStarted(startedWatchRoot);
+        }
+        return added;
     }
 
     @Override
@@ -68,9 +114,17 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
     }
 
-    private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
+    private LocalVirtualFileSystem getVirtualFileSystem() {
+        try {
+            return (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
+        } catch (ServerException e) {
+            LOG.warn(e.getMessage());
+        }
+        return null;
+    }
+
+    private VirtualFile convertToVirtualFile(LocalVirtualFileSystem virtualFileSystem, File root, String subPath, boolean isDir) {
         try {
-            LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
             Path vfsPath = Path.of(subPath);
             VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
             if (virtualFile == null) {
@@ -35,6 +35,7 @@ import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +44,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
@@ -54,17 +56,28 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches changes in the tree of directories and passes them to {@link FileWatcherNotificationHandler}.
+ *
+ * <p>Events are debounced: directory which got event is rescanned when there were no new events during
+ * {@code vfs.watcher.debounce_ms} but not later than {@code vfs.watcher.max_delay_ms} after the first event,
+ * so bursts of changes, e.g. build of project, are processed with few rescans. Changes found during one round
+ * of processing are coalesced per path and passed to the handler as one batch.
+ *
+ * <p>Number of directories registered in {@link WatchService} is limited with {@code vfs.watcher.max_watched_directories},
+ * system limits (e.g. inotify watches) are respected too. Directories which can't be registered and sub-trees of directories
+ * which lost events ({@link java.nio.file.StandardWatchEventKinds#OVERFLOW}) are rescanned periodically.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
-
     private final File                           watchRoot;
     private final Path                           watchRootPath;
     private final Map<Path, WatchedDirectory>    watchedDirectories;
@@ -72,9 +85,27 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
+    /** Number of directories registered in watch service. */
+    private final AtomicInteger                  registeredDirectories;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
 
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.watcher.debounce_ms")
+    long debounceMillis = 500;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.watcher.max_delay_ms")
+    long maxDelayMillis = 5000;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.watcher.max_watched_directories")
+    volatile int maxWatchedDirectories = Integer.MAX_VALUE;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.watcher.rescan_interval_ms")
+    long rescanIntervalMillis = 10000;
+
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
@@ -88,6 +119,7 @@ public class FileTreeWatcher {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcher-%d").build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
+        registeredDirectories = new AtomicInteger();
         watchedDirectories = newHashMap();
     }
 
@@ -197,19 +229,19 @@ public class FileTreeWatcher {
         });
     }
 
-    private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
+    private void walkTreeAndFireCreatedEvents(Path root, EventBatch batch) throws IOException {
         Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
                 if (!dir.equals(root)) {
-                    fireWatchEvent(CREATED, dir, true);
+                    fireWatchEvent(batch, CREATED, dir, true);
                 }
                 return CONTINUE;
             }
 
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                fireWatchEvent(CREATED, file, false);
+                fireWatchEvent(batch, CREATED, file, false);
                 return CONTINUE;
             }
         });
@@ -217,9 +249,19 @@ public class FileTreeWatcher {
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
         if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
+            WatchKey watchKey = null;
+            if (registeredDirectories.get() < maxWatchedDirectories) {
+                try {
+                    watchKey = directory.register(watchService,
+                                                  new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
+                                                  watchEventModifiers);
+                    registeredDirectories.incrementAndGet();
+                } catch (IOException e) {
+                    // e.g. limit of inotify watches is reached, directory is rescanned periodically instead
+                    LOG.warn("Unable watch directory {}, it will be rescanned periodically. {}", directory, e.getMessage());
+                    maxWatchedDirectories = registeredDirectories.get();
+                }
+            }
             WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
             try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
                 for (Path entry : entries) {
@@ -233,31 +275,67 @@ public class FileTreeWatcher {
 
     private void cancelDirectoryWatcher(Path path) {
         WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
+        if (watchedDirectory != null && watchedDirectory.getWatchKey() != null) {
             watchedDirectory.getWatchKey().cancel();
+            registeredDirectories.decrementAndGet();
         }
     }
 
+    /** Returns number of directories registered in watch service. */
+    int getRegisteredDirectoriesCount() {
+        return registeredDirectories.get();
+    }
+
     private class WatchEventTask implements Runnable {
         final Set<PendingEvent> pendingEvents = newLinkedHashSet();
 
+        long firstEventTime;
+        long lastEventTime;
+        long lastRescanTime = System.currentTimeMillis();
+
         @Override
         public void run() {
             while (running.get()) {
                 try {
-                    WatchKey watchKey;
+                    final long now = System.currentTimeMillis();
+                    final WatchKey watchKey;
                     if (pendingEvents.isEmpty()) {
-                        watchKey = watchService.take();
+                        if (hasUnwatchedDirectories()) {
+                            final long nextRescanTime = lastRescanTime + rescanIntervalMillis;
+                            watchKey = watchService.poll(Math.max(0, nextRescanTime - now), MILLISECONDS);
+                            if (watchKey == null) {
+                                addUnwatchedDirectories(pendingEvents);
+                                lastRescanTime = System.currentTimeMillis();
+                                processPendingEvents(pendingEvents);
+                                pendingEvents.clear();
+                            }
+                        } else {
+                            watchKey = watchService.take();
+                        }
                     } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
+                        final long processTime = Math.min(lastEventTime + debounceMillis, firstEventTime + maxDelayMillis);
+                        watchKey = processTime > now ? watchService.poll(processTime - now, MILLISECONDS) : null;
                         if (watchKey == null) {
                             processPendingEvents(pendingEvents);
                             pendingEvents.clear();
                         }
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
+                        final long eventTime = System.currentTimeMillis();
+                        if (pendingEvents.isEmpty()) {
+                            firstEventTime = eventTime;
+                        }
+                        lastEventTime = eventTime;
+                        final Path directory = (Path)watchKey.watchable();
+                        pendingEvents.add(new PendingEvent(directory));
+                        for (WatchEvent<?> event : watchKey.pollEvents()) {
+                            if (event.kind() == OVERFLOW) {
+                                // some events are lost, rescan whole sub-tree
+                                addSubTree(directory, pendingEvents);
+                                fileWatcherNotificationHandler.eventsLost(watchRoot);
+                                break;
+                            }
+                        }
                         watchKey.reset();
                     }
                 } catch (InterruptedException | ClosedWatchServiceException e) {
@@ -270,10 +348,35 @@ public class FileTreeWatcher {
         }
     }
 
+    private boolean hasUnwatchedDirectories() {
+        return watchedDirectories.size() > registeredDirectories.get();
+    }
+
+    private void addUnwatchedDirectories(Set<PendingEvent> pendingEvents) {
+        for (WatchedDirectory watchedDirectory : watchedDirectories.values()) {
+            if (watchedDirectory.getWatchKey() == null) {
+                pendingEvents.add(new PendingEvent(watchedDirectory.getPath()));
+            }
+        }
+    }
+
+    private void addSubTree(Path root, Set<PendingEvent> pendingEvents) {
+        for (Path directory : watchedDirectories.keySet()) {
+            if (directory.startsWith(root)) {
+                pendingEvents.add(new PendingEvent(directory));
+            }
+        }
+    }
+
     private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
+        final EventBatch batch = new EventBatch();
         for (PendingEvent pendingEvent : pendingEvents) {
             Path eventDirectoryPath = pendingEvent.getPath();
             WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
+            if (watchedDirectory == null) {
+                // already removed while processing of deleted parent
+                continue;
+            }
             if (Files.exists(eventDirectoryPath)) {
                 final int hitCounter = watchedDirectory.incrementHitCounter();
                 try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
@@ -284,10 +387,10 @@ public class FileTreeWatcher {
                                 boolean directory = Files.isDirectory(fsItem);
                                 directoryItem = new DirectoryItem(fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
                                 watchedDirectory.addItem(directoryItem);
-                                fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
+                                fireWatchEvent(batch, CREATED, fsItem, directoryItem.isDirectory());
                                 if (directory) {
-                                    walkTreeAndFireCreatedEvents(fsItem);
-                                    setupDirectoryWatcher(fsItem);
+                                    walkTreeAndFireCreatedEvents(fsItem, batch);
+                                    walkTreeAndSetupWatches(fsItem);
                                 }
                             } catch (IOException ignored) {
                             }
@@ -299,7 +402,7 @@ public class FileTreeWatcher {
                                 continue;
                             }
                             if (lastModified != directoryItem.getLastModified() && Files.isRegularFile(fsItem)) {
-                                fireWatchEvent(MODIFIED, fsItem, false);
+                                fireWatchEvent(batch, MODIFIED, fsItem, false);
                             }
                             directoryItem.touch(lastModified);
                             directoryItem.updateHitCounter(hitCounter);
@@ -311,22 +414,26 @@ public class FileTreeWatcher {
                     DirectoryItem directoryItem = iterator.next();
                     if (hitCounter != directoryItem.getHitCount()) {
                         iterator.remove();
-                        fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
+                        fireWatchEvent(batch, DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                     }
                 }
             } else {
                 for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
-                    fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
+                    fireWatchEvent(batch, DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+                cancelDirectoryWatcher(eventDirectoryPath);
             }
         }
+        if (!batch.isEmpty()) {
+            LOG.debug("Rescanned {} directories, found {} changes", pendingEvents.size(), batch.size());
+            fileWatcherNotificationHandler.handleFileWatcherEvents(watchRoot, batch.getEvents());
+        }
     }
 
-    private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
+    private void fireWatchEvent(EventBatch batch, FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
         Path relativePath = watchRootPath.relativize(eventPath);
         if (shouldNotify(relativePath)) {
-            fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
+            batch.add(new FileWatcherEvent(eventType, relativePath.toString(), isDirectory));
         }
     }
 
@@ -334,6 +441,46 @@ public class FileTreeWatcher {
         return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
     }
 
+    /** Events found in one round of processing, at most one event is kept for each path. */
+    static class EventBatch {
+        final Map<String, FileWatcherEvent> events = new LinkedHashMap<>();
+
+        void add(FileWatcherEvent event) {
+            final FileWatcherEvent previous = events.remove(event.getSubPath());
+            final FileWatcherEvent merged = previous == null ? event : merge(previous, event);
+            if (merged != null) {
+                events.put(event.getSubPath(), merged);
+            }
+        }
+
+        private FileWatcherEvent merge(FileWatcherEvent previous, FileWatcherEvent next) {
+            if (previous.getType() == CREATED) {
+                if (next.getType() == DELETED) {
+                    // item appeared and disappeared in the same round, nobody has seen it
+                    return null;
+                }
+                return previous;
+            }
+            if (previous.getType() == DELETED && next.getType() == CREATED && previous.isDir() == next.isDir() && !next.isDir()) {
+                // file is replaced
+                return new FileWatcherEvent(MODIFIED, next.getSubPath(), false);
+            }
+            return next;
+        }
+
+        boolean isEmpty() {
+            return events.isEmpty();
+        }
+
+        int size() {
+            return events.size();
+        }
+
+        List<FileWatcherEvent> getEvents() {
+            return newArrayList(events.values());
+        }
+    }
+
     static class PendingEvent {
         final Path path;
 
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+
+import java.util.Objects;
+
+/** Change of file or directory detected by {@link FileTreeWatcher}. */
+public class FileWatcherEvent {
+    private final FileWatcherEventType type;
+    private final String               subPath;
+    private final boolean              dir;
+
+    public FileWatcherEvent(FileWatcherEventType type, String subPath, boolean dir) {
+        this.type = type;
+        this.subPath = subPath;
+        this.dir = dir;
+    }
+
+    public FileWatcherEventType getType() {
+        return type;
+    }
+
+    /** Path of changed item relative to the root of watched tree. */
+    public String getSubPath() {
+        return subPath;
+    }
+
+    public boolean isDir() {
+        return dir;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FileWatcherEvent)) {
+            return false;
+        }
+        FileWatcherEvent other = (FileWatcherEvent)o;
+        return dir == other.dir
+               && type == other.type
+               && Objects.equals(subPath, other.subPath);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, subPath, dir);
+    }
+
+    @Override
+    public String toString() {
+        return "FileWatcherEvent{" +
+               "type=" + type +
+               ", subPath='" + subPath + '\'' +
+               ", dir=" + dir +
+               '}';
+    }
+}
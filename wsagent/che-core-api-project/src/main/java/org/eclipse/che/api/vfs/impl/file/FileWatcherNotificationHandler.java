@@ -13,14 +13,34 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 
 import java.io.File;
+import java.util.List;
 
 public interface FileWatcherNotificationHandler {
     void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir);
 
+    /**
+     * Handles batch of events detected by {@link FileTreeWatcher} in one round of processing of changes.
+     * Events in batch are already coalesced, i.e. there is at most one event for each path.
+     * By default each event is passed to {@link #handleFileWatcherEvent(FileWatcherEventType, File, String, boolean)}.
+     */
+    default void handleFileWatcherEvents(File watchRoot, List<FileWatcherEvent> events) {
+        for (FileWatcherEvent event : events) {
+            handleFileWatcherEvent(event.getType(), watchRoot, event.getSubPath(), event.isDir());
+        }
+    }
+
     void started(File watchRoot);
 
     void errorOccurred(File watchRoot, Throwable cause);
 
+    /**
+     * Called when {@link FileTreeWatcher} lost events of the tree, e.g. because of overflow of the event queue.
+     * Changes are found by rescanning of the tree and reported later, so state which depends
+     * on the events should be re-read.
+     */
+    default void eventsLost(File watchRoot) {
+    }
+
     boolean addNotificationListener(FileWatcherNotificationListener fileWatcherNotificationListener);
 
     boolean removeNotificationListener(FileWatcherNotificationListener fileWatcherNotificationListener);
@@ -14,6 +14,7 @@ import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
@@ -45,4 +46,34 @@ public abstract class FileWatcherNotificationListener {
     }
 
     public abstract void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType);
+
+    /**
+     * Called when watching of the tree is started or when listener is added to already started watcher,
+     * changes made before aren't reported.
+     *
+     * @param watchRoot
+     *         root of the watched tree
+     */
+    public void onWatcherStarted(File watchRoot) {
+    }
+
+    /**
+     * Called when watching of the tree is stopped because of error, the following changes aren't reported.
+     *
+     * @param watchRoot
+     *         root of the watched tree
+     * @param cause
+     *         error which stopped the watcher
+     */
+    public void onWatcherError(File watchRoot, Throwable cause) {
+    }
+
+    /**
+     * Called when watcher lost events of the tree, changes are reported later, after the tree is rescanned.
+     *
+     * @param watchRoot
+     *         root of the watched tree
+     */
+    public void onWatcherEventsLost(File watchRoot) {
+    }
 }
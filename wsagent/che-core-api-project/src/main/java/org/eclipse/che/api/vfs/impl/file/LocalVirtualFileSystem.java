@@ -26,6 +26,7 @@ import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.HashSumsCounter;
+import org.eclipse.che.api.vfs.HashSumsIndex;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.PathLockFactory;
@@ -52,6 +53,7 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +90,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final FileLock NO_LOCK                = new FileLock("no_lock", 0);
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
+    private static final String   HASH_SUMS_INDEX_FILE   = VFS_SERVICE_DIR + File.separatorChar + "md5_sums";
 
     private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
 
@@ -136,6 +139,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final HashSumsIndex md5SumsIndex;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +167,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        md5SumsIndex = new HashSumsIndex(new File(ioRoot, HASH_SUMS_INDEX_FILE));
     }
 
     @Override
@@ -177,6 +184,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        md5SumsIndex.store();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -210,6 +218,25 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         metadataCache.invalidateAll();
     }
 
+    /**
+     * Drops cached locks and properties of the item with specified path and of all its descendants.
+     * Caches are bounded by small size so it's cheaper to check their keys than to maintain separate index of paths.
+     */
+    private void invalidateCaches(Path path) {
+        invalidateSubtree(lockTokensCache, path);
+        invalidateSubtree(metadataCache, path);
+        md5SumsIndex.invalidate(path);
+    }
+
+    private static void invalidateSubtree(LoadingCache<Path, ?> cache, Path path) {
+        cache.asMap().keySet().removeIf(cachedPath -> cachedPath.equals(path) || cachedPath.isChild(path));
+    }
+
+    /** Index of md5 sums of files, entries of files modified outside of this file system are removed by file watcher. */
+    HashSumsIndex getMd5SumsIndex() {
+        return md5SumsIndex;
+    }
+
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
     PathLockFactory getPathLockFactory() {
         return pathLockFactory;
@@ -243,7 +270,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    /**
+     * Lists children of the folder without any locking. Names of children are taken from the snapshot
+     * of the directory made by the underlying file system, so listing of any folders may run concurrently
+     * with each other and with modifications of the file tree.
+     */
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
             final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
             Collections.sort(children);
@@ -382,6 +414,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             IoUtil.copy(from.toIoFile(), to.toIoFile(), VFS_LOCK_FILTER);
+            // copied properties of destination must be read again
+            invalidateCaches(to.getPath());
         } catch (IOException e) {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -571,7 +605,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ForbiddenException(String.format("Unable delete file '%s'. File is locked", virtualFile.getPath()));
         }
 
-        cleanUpCaches();
+        invalidateCaches(virtualFile.getPath());
 
         final File fileLockIoFile = getFileLockIoFile(virtualFile.getPath());
         if (fileLockIoFile.delete()) {
@@ -607,6 +641,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    void zip(LocalVirtualFile folder, OutputStream output) throws IOException, ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            archiverFactory.createArchiver(folder, "zip").compress(output, dotGitFilter());
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
 
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
@@ -633,6 +678,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    void tar(LocalVirtualFile folder, OutputStream output) throws IOException, ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            archiverFactory.createArchiver(folder, "tar").compress(output, dotGitFilter());
+        } else {
+            throw new ForbiddenException(String.format("Unable export to tar archive. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
     void untar(LocalVirtualFile parent, InputStream tarArchive, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -908,7 +964,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), md5SumsIndex).countHashSums();
     }
 
 
@@ -22,12 +22,18 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.zip.Deflater;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
     private final File             rootDirectory;
     private final SearcherProvider searcherProvider;
 
+    /** Compression level of exported zip archives from 0 to 9, lower levels are faster but make larger archives. */
+    @com.google.inject.Inject(optional = true)
+    @Named("vfs.zip.compression_level")
+    private int zipCompressionLevel = Deflater.DEFAULT_COMPRESSION;
+
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
                                           SearcherProvider searcherProvider) throws IOException {
@@ -38,6 +44,6 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(zipCompressionLevel), searcherProvider, closeCallback);
     }
 }
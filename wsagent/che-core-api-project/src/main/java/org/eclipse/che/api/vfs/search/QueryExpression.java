@@ -12,11 +12,13 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private String  pattern;
+    private boolean regex;
+    private int     skipCount;
+    private int     maxItems;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +50,30 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional pattern for searching in content of files. Unlike {@link #getText() text} pattern isn't split to the words,
+     * file matches if its content contains the pattern as is, case sensitive, or matches it if pattern is regular expression.
+     * Occurrences of pattern are returned in {@link SearchResultEntry#getOccurrences()}.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public QueryExpression setPattern(String pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    /** Whether {@link #getPattern() pattern} is {@link java.util.regex.Pattern regular expression}, by default pattern is literal. */
+    public boolean isRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(boolean regex) {
+        this.regex = regex;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -74,6 +100,8 @@ public class QueryExpression {
                "text='" + text + '\'' +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
+               ", pattern='" + pattern + '\'' +
+               ", regex=" + regex +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
                '}';
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Occurrence of the pattern of {@link QueryExpression} in the content of file.
+ */
+public class SearchOccurrence {
+    private final int    lineNumber;
+    private final String lineContent;
+    private final int    startOffset;
+    private final int    endOffset;
+
+    public SearchOccurrence(int lineNumber, String lineContent, int startOffset, int endOffset) {
+        this.lineNumber = lineNumber;
+        this.lineContent = lineContent;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    /** Number of line that contains start of the occurrence, starting from 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Content of line that contains start of the occurrence without line separator. */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    /** Offset of the first character of the occurrence from the beginning of file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset after the last character of the occurrence from the beginning of file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "lineNumber=" + lineNumber +
+               ", lineContent='" + lineContent + '\'' +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               '}';
+    }
+}
@@ -29,15 +29,18 @@ public class SearchResult {
     private final Optional<QueryExpression> nextPageQueryExpression;
     private final int                       totalHits;
     private final long                      elapsedTimeMillis;
+    private final boolean                   truncated;
 
     private SearchResult(List<SearchResultEntry> results,
                          Optional<QueryExpression> nextPageQueryExpression,
                          int totalHits,
-                         long elapsedTimeMillis) {
+                         long elapsedTimeMillis,
+                         boolean truncated) {
         this.results = results;
         this.nextPageQueryExpression = nextPageQueryExpression;
         this.totalHits = totalHits;
         this.elapsedTimeMillis = elapsedTimeMillis;
+        this.truncated = truncated;
     }
 
     /** Paths of files that match the search criteria. This method is shortcut for:
@@ -75,11 +78,20 @@ public class SearchResult {
         return nextPageQueryExpression;
     }
 
+    /**
+     * Returns {@code true} if not all files were checked because there are too many candidates,
+     * so there may be more files that match the search criteria than {@link #getTotalHits()}.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
     public static class SearchResultBuilder {
         private QueryExpression         nextPageQueryExpression;
         private List<SearchResultEntry> results;
         private int                     totalHits;
         private long                    elapsedTimeMillis;
+        private boolean                 truncated;
 
         private SearchResultBuilder() {
         }
@@ -104,6 +116,11 @@ public class SearchResult {
             return this;
         }
 
+        public SearchResultBuilder withTruncated(boolean truncated) {
+            this.truncated = truncated;
+            return this;
+        }
+
         public SearchResult build() {
             Optional<QueryExpression> optionalPageNexQueryExpression;
             if (nextPageQueryExpression == null) {
@@ -114,7 +131,7 @@ public class SearchResult {
             if (results == null) {
                 results = emptyList();
             }
-            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis, truncated);
         }
     }
 }
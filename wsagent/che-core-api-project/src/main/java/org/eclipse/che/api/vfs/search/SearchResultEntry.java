@@ -10,18 +10,35 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Single item in {@code SearchResult}.
  */
 public class SearchResultEntry {
-    private final String filePath;
+    private final String                 filePath;
+    private final List<SearchOccurrence> occurrences;
 
     public SearchResultEntry(String filePath) {
+        this(filePath, Collections.emptyList());
+    }
+
+    public SearchResultEntry(String filePath, List<SearchOccurrence> occurrences) {
         this.filePath = filePath;
+        this.occurrences = occurrences;
     }
 
     /** Path of file that matches the search criteria. */
     public String getFilePath() {
         return filePath;
     }
+
+    /**
+     * Occurrences of {@link QueryExpression#getPattern() pattern} in the file.
+     * Empty list if query has no pattern.
+     */
+    public List<SearchOccurrence> getOccurrences() {
+        return occurrences;
+    }
 }
@@ -11,8 +11,10 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -21,6 +23,7 @@ import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -34,6 +37,19 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
 
+    /** Interval of writing of file changes to the index, zero or negative value means changes are written immediately. */
+    @Inject(optional = true)
+    @Named("vfs.index.refresh_interval_ms")
+    private long refreshIntervalMillis = LuceneSearcher.DEFAULT_REFRESH_INTERVAL_MS;
+
+    /** Max number of threads used for initial indexing of files, limits load on the machine while index is created. */
+    @Inject(optional = true)
+    @Named("vfs.index.init_threads")
+    private int indexingThreads = LuceneSearcher.DEFAULT_INDEXING_THREADS;
+
+    @Inject(optional = true)
+    private EventService eventService;
+
     /**
      * @param fileIndexFilters
      *         set filter for files that should not be indexed
@@ -63,6 +79,9 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            searcher.setRefreshIntervalMillis(refreshIntervalMillis);
+            searcher.setIndexingThreads(indexingThreads);
+            searcher.setEventService(eventService);
             if (searcherReference.compareAndSet(null, searcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
             }
@@ -10,15 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
@@ -27,26 +32,33 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.shared.dto.event.IndexingProgressEvent;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,15 +66,40 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
 
 /**
  * Lucene based searcher.
+ * <p>
+ * By default changes passed to {@link #add(VirtualFile)}, {@link #update(VirtualFile)} and {@link #delete(String, boolean)}
+ * aren't written to the index immediately. They are collected per path, so only the last change of each file is
+ * applied, and written to the index in bulk every {@link #setRefreshIntervalMillis(long) refresh interval} together
+ * with reopening of the near-real-time reader. {@link #search(QueryExpression)} applies pending changes before searching,
+ * so results always include all changes made before the search.
  *
  * @author andrew00x
  */
@@ -71,11 +108,56 @@ public abstract class LuceneSearcher implements Searcher {
 
     private static final int RESULT_LIMIT = 1000;
 
+    /** Field with lower-cased trigrams of content, used for narrowing set of files to check when searching with pattern. */
+    private static final String TRIGRAMS_FIELD          = "trigrams";
+    /** Max number of files which content is checked against pattern. */
+    private static final int    PATTERN_CANDIDATE_LIMIT = 10000;
+    private static final int    MAX_OCCURRENCES         = 100;
+    /**
+     * Content of files which aren't larger than this is read once and analyzed for both text and trigrams fields,
+     * content of larger files is streamed for each field, so such files are never loaded in memory.
+     */
+    private static final long   MAX_BUFFERED_CONTENT    = 1024 * 1024;
+
+    /** Trigrams are used only for finding candidate files, so neither frequencies, nor positions nor norms are indexed. */
+    private static final FieldType TRIGRAMS_FIELD_TYPE = new FieldType();
+
+    static {
+        TRIGRAMS_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        TRIGRAMS_FIELD_TYPE.setTokenized(true);
+        TRIGRAMS_FIELD_TYPE.setOmitNorms(true);
+        TRIGRAMS_FIELD_TYPE.freeze();
+    }
+
+    public static final long DEFAULT_REFRESH_INTERVAL_MS = 1000;
+    /** By default initial indexing uses half of available processors, so other services in the machine aren't starved. */
+    public static final int  DEFAULT_INDEXING_THREADS    = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Number of files indexed by one fork/join task. */
+    private static final int  INDEXING_BATCH_SIZE        = 32;
+    private static final long PROGRESS_EVENT_INTERVAL_MS = 2000;
+
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
-
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    /** Changes which aren't written to the index yet, keyed by path of file. Guarded by itself. */
+    private final Map<String, PendingChange>                   pendingChanges;
+    /** Makes sure only one thread writes pending changes to the index, so changes are applied in the right order. */
+    private final Object                                       applyLock;
+
+    private final AtomicLong appliedChanges   = new AtomicLong();
+    private final AtomicLong coalescedChanges = new AtomicLong();
+    private final AtomicLong maxIndexingLag   = new AtomicLong();
+
+    private IndexWriter              luceneIndexWriter;
+    private SearcherManager          searcherManager;
+    private ScheduledExecutorService refresher;
+
+    private volatile long         refreshIntervalMillis = DEFAULT_REFRESH_INTERVAL_MS;
+    private volatile long         lastIndexingLag;
+    private volatile int          indexingThreads       = DEFAULT_INDEXING_THREADS;
+    private volatile EventService eventService;
+    /** File system indexed by this searcher, used for reading content of files when searching with pattern. */
+    private volatile VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
 
@@ -96,6 +178,35 @@ public abstract class LuceneSearcher implements Searcher {
         this.closeCallback = closeCallback;
         indexFilters = new CopyOnWriteArrayList<>();
         indexFilters.add(indexFilter);
+        pendingChanges = new LinkedHashMap<>();
+        applyLock = new Object();
+    }
+
+    /**
+     * Sets interval of writing of collected changes to the index and refreshing of the index reader. Should be set before
+     * initialization of this searcher. Zero or negative value disables batching, then each change is written to the index
+     * immediately by the thread that reports about it.
+     */
+    public void setRefreshIntervalMillis(long refreshIntervalMillis) {
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    /** Sets number of threads which read and index files while initializing of index with {@link #initAsynchronously}. */
+    public void setIndexingThreads(int indexingThreads) {
+        this.indexingThreads = Math.max(1, indexingThreads);
+    }
+
+    public int getIndexingThreads() {
+        return indexingThreads;
+    }
+
+    /** Sets service to publish {@link IndexingProgressEvent}s to, may be {@code null} then progress isn't published. */
+    public void setEventService(EventService eventService) {
+        this.eventService = eventService;
     }
 
     @Override
@@ -112,6 +223,10 @@ public abstract class LuceneSearcher implements Searcher {
         return new Analyzer() {
             @Override
             protected TokenStreamComponents createComponents(String fieldName) {
+                if (TRIGRAMS_FIELD.equals(fieldName)) {
+                    Tokenizer tokenizer = new NGramTokenizer(Trigrams.GRAM_SIZE, Trigrams.GRAM_SIZE);
+                    return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+                }
                 Tokenizer tokenizer = new WhitespaceTokenizer();
                 TokenStream filter = new LowerCaseFilter(tokenizer);
                 return new TokenStreamComponents(tokenizer, filter);
@@ -130,16 +245,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         addTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.addTreeInParallel(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -147,6 +264,36 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Adds files of the tree to the index. Folders are walked and files are read and tokenized by {@link #getIndexingThreads()}
+     * threads which write documents to the same {@link IndexWriter}. Progress of indexing is published
+     * with {@link IndexingProgressEvent}s if event service is set.
+     */
+    protected void addTreeInParallel(VirtualFile tree) throws ServerException {
+        final IndexingProgress progress = new IndexingProgress(tree.getPath().toString());
+        final ForkJoinPool pool = new ForkJoinPool(indexingThreads, forkJoinPool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("LuceneSearcherIndexingThread-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            pool.submit(new IndexFolderTask(tree, progress)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        progress.done();
+        LOG.debug("Indexed {} files from {} in {} threads, time: {} ms",
+                  progress.indexed.get(), tree.getPath(), indexingThreads, progress.elapsedTime());
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
@@ -155,17 +302,36 @@ public abstract class LuceneSearcher implements Searcher {
         } catch (IOException e) {
             throw new ServerException(e);
         }
+        if (refreshIntervalMillis > 0) {
+            refresher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                                                                                             .setNameFormat("LuceneSearcherRefresher")
+                                                                                             .build());
+            refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
-    public final synchronized void close() {
-        if (!closed) {
-            try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
-                afterClose();
-            } catch (IOException e) {
-                LOG.error(e.getMessage(), e);
+    public final void close() {
+        // lock order is the same as while applying of pending changes: applyLock first, then this
+        synchronized (applyLock) {
+            synchronized (this) {
+                if (!closed) {
+                    if (refresher != null) {
+                        // don't interrupt refresher, interrupted thread makes lucene close files of index
+                        refresher.shutdown();
+                        refresher = null;
+                    }
+                    synchronized (pendingChanges) {
+                        pendingChanges.clear();
+                    }
+                    try {
+                        IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                        afterClose();
+                    } catch (IOException e) {
+                        LOG.error(e.getMessage(), e);
+                    }
+                    closed = true;
+                }
             }
-            closed = true;
         }
     }
 
@@ -189,10 +355,14 @@ public abstract class LuceneSearcher implements Searcher {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
+            applyPendingChanges();
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
             Query luceneQuery = createLuceneQuery(query);
+            if (query.getPattern() != null) {
+                return searchByPattern(luceneSearcher, luceneQuery, query, startTime);
+            }
 
             ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
@@ -241,6 +411,17 @@ public abstract class LuceneSearcher implements Searcher {
         final String name = query.getName();
         final String path = query.getPath();
         final String text = query.getText();
+        final String pattern = query.getPattern();
+        if (pattern != null) {
+            final Set<String> trigrams = query.isRegex() ? Trigrams.ofRegex(pattern) : Trigrams.ofLiteral(pattern);
+            for (String trigram : trigrams) {
+                luceneQuery.add(new TermQuery(new Term(TRIGRAMS_FIELD, trigram)), BooleanClause.Occur.MUST);
+            }
+            if (trigrams.isEmpty() && path == null && name == null && text == null) {
+                // pattern is too short or too complex, content of all files should be checked
+                luceneQuery.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+            }
+        }
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
         }
@@ -258,6 +439,98 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneQuery;
     }
 
+    /**
+     * Files found by trigrams of pattern may not contain the pattern itself, e.g. trigrams may be in different places of file,
+     * so content of each found file is checked, only files which really contain pattern are included in result.
+     */
+    private SearchResult searchByPattern(IndexSearcher luceneSearcher,
+                                         Query luceneQuery,
+                                         QueryExpression query,
+                                         long startTime) throws IOException, ServerException {
+        final Pattern pattern;
+        try {
+            pattern = query.isRegex() ? Pattern.compile(query.getPattern()) : Pattern.compile(query.getPattern(), Pattern.LITERAL);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(e.getMessage());
+        }
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (fileSystem == null) {
+            throw new ServerException("Searcher isn't initialized");
+        }
+
+        final TopDocs candidates = luceneSearcher.search(luceneQuery, PATTERN_CANDIDATE_LIMIT);
+        final boolean truncated = candidates.totalHits > PATTERN_CANDIDATE_LIMIT;
+        if (truncated) {
+            LOG.debug("Too many files to check for pattern '{}', only first {} of {} are checked",
+                      query.getPattern(), PATTERN_CANDIDATE_LIMIT, candidates.totalHits);
+        }
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+        final List<SearchResultEntry> results = newArrayList();
+        int totalHitsNum = 0;
+        for (ScoreDoc scoreDoc : candidates.scoreDocs) {
+            final String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+            final VirtualFile file = fileSystem.getRoot().getChild(Path.of(filePath));
+            if (file == null || !file.isFile()) {
+                continue;
+            }
+            final List<SearchOccurrence> occurrences;
+            try {
+                occurrences = findOccurrences(pattern, file.getContentAsString());
+            } catch (ForbiddenException e) {
+                continue;
+            }
+            if (!occurrences.isEmpty()) {
+                if (totalHitsNum >= numSkipDocs && results.size() < numDocs) {
+                    results.add(new SearchResultEntry(filePath, occurrences));
+                }
+                totalHitsNum++;
+            }
+        }
+
+        final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
+
+        QueryExpression nextPageQueryExpression = null;
+        if (numSkipDocs + results.size() < totalHitsNum) {
+            nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + results.size());
+        }
+
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(totalHitsNum)
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(elapsedTimeMillis)
+                           .withTruncated(truncated)
+                           .build();
+    }
+
+    private List<SearchOccurrence> findOccurrences(Pattern pattern, String content) {
+        final List<SearchOccurrence> occurrences = newArrayList();
+        final Matcher matcher = pattern.matcher(content);
+        int lineNumber = 1;
+        int lineStart = 0;
+        int scanned = 0;
+        while (occurrences.size() < MAX_OCCURRENCES && matcher.find()) {
+            final int start = matcher.start();
+            for (; scanned < start; scanned++) {
+                if (content.charAt(scanned) == '\n') {
+                    lineNumber++;
+                    lineStart = scanned + 1;
+                }
+            }
+            int lineEnd = content.indexOf('\n', start);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            final String line = content.substring(lineStart, Math.max(lineStart, lineEnd));
+            occurrences.add(new SearchOccurrence(lineNumber, line, start, matcher.end()));
+        }
+        return occurrences;
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -283,13 +556,19 @@ public abstract class LuceneSearcher implements Searcher {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
+                                    .setPattern(originalQuery.getPattern())
+                                    .setRegex(originalQuery.isRegex())
                                     .setSkipCount(newSkipCount)
                                     .setMaxItems(originalQuery.getMaxItems());
     }
 
     @Override
     public final void add(VirtualFile virtualFile) throws ServerException {
-        doAdd(virtualFile);
+        if (refreshIntervalMillis > 0) {
+            enqueueIndexing(virtualFile, true);
+        } else {
+            doAdd(virtualFile);
+        }
     }
 
     protected void doAdd(VirtualFile virtualFile) throws ServerException {
@@ -324,11 +603,8 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
+            try {
+                updateDocument(new Term("path", virtualFile.getPath().toString()), virtualFile);
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
@@ -342,6 +618,14 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        if (refreshIntervalMillis > 0) {
+            enqueueDeletion(path, isFile);
+        } else {
+            doDelete(path, isFile);
+        }
+    }
+
+    protected void doDelete(String path, boolean isFile) throws ServerException {
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -360,14 +644,16 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
-        doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        if (refreshIntervalMillis > 0) {
+            enqueueIndexing(virtualFile, false);
+        } else {
+            doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
+        }
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        try {
+            updateDocument(deleteTerm, virtualFile);
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -378,6 +664,25 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    private void updateDocument(Term deleteTerm, VirtualFile virtualFile) throws ServerException, ForbiddenException, IOException {
+        if (!shouldIndexContent(virtualFile)) {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, (String)null));
+        } else if (virtualFile.getLength() <= MAX_BUFFERED_CONTENT) {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, virtualFile.getContentAsString()));
+        } else {
+            try (Reader textReader = openContentReader(virtualFile);
+                 Reader trigramsReader = openContentReader(virtualFile)) {
+                final Document doc = createDocument(virtualFile, textReader);
+                doc.add(new Field(TRIGRAMS_FIELD, trigramsReader, TRIGRAMS_FIELD_TYPE));
+                getIndexWriter().updateDocument(deleteTerm, doc);
+            }
+        }
+    }
+
+    private Reader openContentReader(VirtualFile virtualFile) throws ServerException, ForbiddenException {
+        return new BufferedReader(new InputStreamReader(virtualFile.getContent()));
+    }
+
     protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
@@ -388,6 +693,172 @@ public abstract class LuceneSearcher implements Searcher {
         return doc;
     }
 
+    /**
+     * @param content
+     *         content of file or {@code null} if content isn't indexed, content is read from file once and is analyzed
+     *         for both text and trigrams fields
+     */
+    protected Document createDocument(VirtualFile virtualFile, String content) throws ServerException {
+        final Document doc = createDocument(virtualFile, content == null ? null : new StringReader(content));
+        if (content != null) {
+            doc.add(new Field(TRIGRAMS_FIELD, content, TRIGRAMS_FIELD_TYPE));
+        }
+        return doc;
+    }
+
+    /** Returns number of changes which aren't written to the index yet. */
+    public int getPendingChangesCount() {
+        synchronized (pendingChanges) {
+            return pendingChanges.size();
+        }
+    }
+
+    /** Returns time in milliseconds the oldest pending change waits for writing to the index, or {@code 0} if there are no such changes. */
+    public long getIndexingLagMillis() {
+        long oldest = Long.MAX_VALUE;
+        synchronized (pendingChanges) {
+            for (PendingChange change : pendingChanges.values()) {
+                oldest = Math.min(oldest, change.reportedAt);
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    /** Returns time in milliseconds the oldest change of the last applied batch waited for writing to the index. */
+    public long getLastIndexingLagMillis() {
+        return lastIndexingLag;
+    }
+
+    /** Returns max time in milliseconds a change waited for writing to the index. */
+    public long getMaxIndexingLagMillis() {
+        return maxIndexingLag.get();
+    }
+
+    /** Returns number of changes written to the index in batches. */
+    public long getAppliedChangesCount() {
+        return appliedChanges.get();
+    }
+
+    /** Returns number of changes which were merged with later changes of the same file and weren't written to the index separately. */
+    public long getCoalescedChangesCount() {
+        return coalescedChanges.get();
+    }
+
+    private void enqueueIndexing(VirtualFile virtualFile, boolean add) {
+        final String path = virtualFile.getPath().toString();
+        synchronized (pendingChanges) {
+            final PendingChange previous = pendingChanges.remove(path);
+            final PendingChange change;
+            if (previous == null) {
+                change = new PendingChange(System.currentTimeMillis());
+            } else {
+                coalescedChanges.incrementAndGet();
+                change = new PendingChange(previous.reportedAt);
+                change.deleteFirst = previous.deleteFirst;
+                change.deleteFile = previous.deleteFile;
+                // adding covers update, e.g. add of folder indexes whole tree
+                add |= previous.add;
+            }
+            change.file = virtualFile;
+            change.add = add;
+            // re-inserted change goes to the end to keep order relatively to changes of other paths
+            pendingChanges.put(path, change);
+        }
+    }
+
+    private void enqueueDeletion(String path, boolean isFile) {
+        synchronized (pendingChanges) {
+            final PendingChange previous = pendingChanges.remove(path);
+            long reportedAt = previous == null ? System.currentTimeMillis() : previous.reportedAt;
+            if (previous != null) {
+                coalescedChanges.incrementAndGet();
+            }
+            if (!isFile) {
+                // deletion of folder covers all changes of its descendants
+                final String prefix = path + '/';
+                for (Iterator<Map.Entry<String, PendingChange>> i = pendingChanges.entrySet().iterator(); i.hasNext(); ) {
+                    final Map.Entry<String, PendingChange> entry = i.next();
+                    if (entry.getKey().startsWith(prefix)) {
+                        reportedAt = Math.min(reportedAt, entry.getValue().reportedAt);
+                        coalescedChanges.incrementAndGet();
+                        i.remove();
+                    }
+                }
+            }
+            final PendingChange change = new PendingChange(reportedAt);
+            change.deleteFirst = true;
+            change.deleteFile = isFile;
+            pendingChanges.put(path, change);
+        }
+    }
+
+    /** Writes pending changes to the index. Changes are visible for search after next refresh of {@link SearcherManager}. */
+    protected void applyPendingChanges() {
+        synchronized (applyLock) {
+            final List<Map.Entry<String, PendingChange>> batch;
+            synchronized (pendingChanges) {
+                if (pendingChanges.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pendingChanges.entrySet());
+                pendingChanges.clear();
+            }
+            if (isClosed()) {
+                return;
+            }
+            final long start = System.currentTimeMillis();
+            long oldest = start;
+            for (Map.Entry<String, PendingChange> entry : batch) {
+                final PendingChange change = entry.getValue();
+                oldest = Math.min(oldest, change.reportedAt);
+                try {
+                    if (change.deleteFirst) {
+                        doDelete(entry.getKey(), change.deleteFile);
+                    }
+                    if (change.file != null && change.file.exists()) {
+                        if (change.add) {
+                            doAdd(change.file);
+                        } else {
+                            doUpdate(new Term("path", entry.getKey()), change.file);
+                        }
+                    }
+                } catch (ServerException e) {
+                    LOG.warn("Unable update index for {}: {}", entry.getKey(), e.getMessage());
+                }
+                if (isClosed()) {
+                    // closed because of OutOfMemoryError
+                    return;
+                }
+            }
+            final long end = System.currentTimeMillis();
+            appliedChanges.addAndGet(batch.size());
+            lastIndexingLag = end - oldest;
+            long max;
+            while (lastIndexingLag > (max = maxIndexingLag.get())) {
+                if (maxIndexingLag.compareAndSet(max, lastIndexingLag)) {
+                    break;
+                }
+            }
+            LOG.debug("Applied {} changes to index, time: {} ms, lag: {} ms", batch.size(), (end - start), lastIndexingLag);
+        }
+    }
+
+    private void refresh() {
+        try {
+            applyPendingChanges();
+            final SearcherManager manager;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                manager = searcherManager;
+            }
+            manager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable refresh index: {}", e.getMessage());
+        }
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : indexFilters) {
             if (!indexFilter.accept(virtualFile)) {
@@ -396,4 +867,150 @@ public abstract class LuceneSearcher implements Searcher {
         }
         return true;
     }
+
+    /** Lists children of folder, forks tasks for sub-folders and batches of files. */
+    private class IndexFolderTask extends RecursiveAction {
+        private final VirtualFile      folder;
+        private final IndexingProgress progress;
+
+        IndexFolderTask(VirtualFile folder, IndexingProgress progress) {
+            this.folder = folder;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (isClosed() || !folder.exists()) {
+                return;
+            }
+            final List<VirtualFile> children;
+            try {
+                children = folder.getChildren();
+            } catch (ServerException e) {
+                LOG.warn("Unable index folder {}: {}", folder.getPath(), e.getMessage());
+                return;
+            }
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            List<VirtualFile> files = new ArrayList<>(INDEXING_BATCH_SIZE);
+            for (VirtualFile child : children) {
+                if (child.isFolder()) {
+                    tasks.add(new IndexFolderTask(child, progress));
+                } else {
+                    files.add(child);
+                    if (files.size() == INDEXING_BATCH_SIZE) {
+                        tasks.add(new IndexFilesTask(files, progress));
+                        files = new ArrayList<>(INDEXING_BATCH_SIZE);
+                    }
+                }
+            }
+            if (!files.isEmpty()) {
+                tasks.add(new IndexFilesTask(files, progress));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    private class IndexFilesTask extends RecursiveAction {
+        private final List<VirtualFile> files;
+        private final IndexingProgress  progress;
+
+        IndexFilesTask(List<VirtualFile> files, IndexingProgress progress) {
+            this.files = files;
+            this.progress = progress;
+            progress.discovered(files.size());
+        }
+
+        @Override
+        protected void compute() {
+            for (VirtualFile file : files) {
+                if (isClosed()) {
+                    return;
+                }
+                try {
+                    addFile(file);
+                } catch (ServerException e) {
+                    LOG.warn("Unable index file {}: {}", file.getPath(), e.getMessage());
+                }
+                progress.indexed();
+            }
+        }
+    }
+
+    private class IndexingProgress {
+        final String        path;
+        final long          startTime;
+        final AtomicInteger discovered;
+        final AtomicInteger indexed;
+        final AtomicLong    lastPublished;
+
+        IndexingProgress(String path) {
+            this.path = path;
+            this.startTime = System.currentTimeMillis();
+            this.discovered = new AtomicInteger();
+            this.indexed = new AtomicInteger();
+            this.lastPublished = new AtomicLong(startTime);
+        }
+
+        void discovered(int files) {
+            discovered.addAndGet(files);
+        }
+
+        void indexed() {
+            indexed.incrementAndGet();
+            final long now = System.currentTimeMillis();
+            final long last = lastPublished.get();
+            // only one of indexing threads publishes event
+            if (now - last >= PROGRESS_EVENT_INTERVAL_MS && lastPublished.compareAndSet(last, now)) {
+                publish(false);
+            }
+        }
+
+        void done() {
+            publish(true);
+        }
+
+        long elapsedTime() {
+            return System.currentTimeMillis() - startTime;
+        }
+
+        private void publish(boolean done) {
+            final EventService events = eventService;
+            if (events == null) {
+                return;
+            }
+            final int indexedFiles = indexed.get();
+            final int discoveredFiles = discovered.get();
+            final long elapsedTime = elapsedTime();
+            final long estimatedTime;
+            if (done) {
+                estimatedTime = 0;
+            } else if (indexedFiles == 0) {
+                estimatedTime = -1;
+            } else {
+                // files are discovered much faster than indexed, so number of discovered files is close to the total one
+                estimatedTime = elapsedTime * (discoveredFiles - indexedFiles) / indexedFiles;
+            }
+            events.publish(DtoFactory.newDto(IndexingProgressEvent.class)
+                                     .withPath(path)
+                                     .withIndexedFiles(indexedFiles)
+                                     .withDiscoveredFiles(discoveredFiles)
+                                     .withElapsedTimeMillis(elapsedTime)
+                                     .withEstimatedTimeMillis(estimatedTime)
+                                     .withDone(done));
+        }
+    }
+
+    private static class PendingChange {
+        /** Time when the first of merged changes was reported. */
+        final long reportedAt;
+
+        boolean     deleteFirst;
+        boolean     deleteFile;
+        VirtualFile file;
+        boolean     add;
+
+        PendingChange(long reportedAt) {
+            this.reportedAt = reportedAt;
+        }
+    }
 }
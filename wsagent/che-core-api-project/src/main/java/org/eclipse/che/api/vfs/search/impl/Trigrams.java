@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extracts trigrams which must be present in content of file that contains literal or matches regular expression.
+ * Trigrams are sequences of three lower-cased code points, the same as produced by analyzer of trigrams field of {@link LuceneSearcher}.
+ */
+final class Trigrams {
+    static final int GRAM_SIZE = 3;
+
+    /** Returns all trigrams of the literal, empty set if literal is shorter than three characters. */
+    static Set<String> ofLiteral(CharSequence literal) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams(literal, trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Returns trigrams that must be present in any text matched by the regular expression.
+     * Analysis is conservative: only literal runs outside of groups, character classes and alternations are taken into account,
+     * so empty set is returned when required trigrams can't be found, e.g. for top-level alternation.
+     */
+    static Set<String> ofRegex(String regex) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (String literal : requiredLiterals(regex)) {
+            addTrigrams(literal, trigrams);
+        }
+        return trigrams;
+    }
+
+    static List<String> requiredLiterals(String regex) {
+        final List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        final int length = regex.length();
+        while (i < length) {
+            final char c = regex.charAt(i);
+            int literalEnd = -1;
+            String literal = null;
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= length) {
+                        return literals;
+                    }
+                    final char escaped = regex.charAt(i + 1);
+                    if (escaped == 'Q') {
+                        final int end = regex.indexOf("\\E", i + 2);
+                        literal = end < 0 ? regex.substring(i + 2) : regex.substring(i + 2, end);
+                        literalEnd = end < 0 ? length : end + 2;
+                    } else if (!Character.isLetterOrDigit(escaped)) {
+                        // escaped metacharacter, e.g. \. or \(
+                        literal = String.valueOf(escaped);
+                        literalEnd = i + 2;
+                    } else {
+                        // character class (\d, \w), back reference, anchor (\b) or escaped control character
+                        run = flush(run, literals);
+                        i = skipEscape(regex, i);
+                        continue;
+                    }
+                    break;
+                case '|':
+                    // alternation on top level, nothing is required
+                    return new ArrayList<>();
+                case '(':
+                    if (regex.startsWith("(?", i) && isCommentsFlag(regex, i + 2)) {
+                        // whitespaces are ignored in pattern, literal runs can't be found easily
+                        return new ArrayList<>();
+                    }
+                    run = flush(run, literals);
+                    i = skipGroup(regex, i);
+                    if (i < 0) {
+                        return literals;
+                    }
+                    i = skipQuantifier(regex, i);
+                    continue;
+                case '[':
+                    run = flush(run, literals);
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return literals;
+                    }
+                    i = skipQuantifier(regex, i);
+                    continue;
+                case '.':
+                case '^':
+                case '$':
+                    run = flush(run, literals);
+                    i = skipQuantifier(regex, i + 1);
+                    continue;
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    // quantifier without operand, let Pattern report it
+                    run = flush(run, literals);
+                    i = skipQuantifier(regex, i);
+                    continue;
+                default:
+                    final int codePoint = regex.codePointAt(i);
+                    literal = new String(Character.toChars(codePoint));
+                    literalEnd = i + Character.charCount(codePoint);
+            }
+            // literal is followed by quantifier?
+            if (literalEnd < length) {
+                final char next = regex.charAt(literalEnd);
+                if (next == '?' || next == '*' || (next == '{' && isOptionalRepetition(regex, literalEnd))) {
+                    // quantifier applies to the last character only and it may be absent, e.g. abc? - only 'ab' is required
+                    run.append(literal, 0, literal.offsetByCodePoints(literal.length(), -1));
+                    run = flush(run, literals);
+                    i = skipQuantifier(regex, literalEnd);
+                    continue;
+                } else if (next == '+' || next == '{') {
+                    // literal is present at least once but run is broken after it, e.g. ab+c
+                    run.append(literal);
+                    run = flush(run, literals);
+                    i = skipQuantifier(regex, literalEnd);
+                    continue;
+                }
+            }
+            run.append(literal);
+            i = literalEnd;
+        }
+        flush(run, literals);
+        return literals;
+    }
+
+    /** Checks whether embedded flags, e.g. (?ix) or (?x:...), starting at position {@code i} enable comments mode. */
+    private static boolean isCommentsFlag(String regex, int i) {
+        for (int j = i; j < regex.length(); j++) {
+            final char c = regex.charAt(j);
+            if (c == 'x') {
+                return true;
+            }
+            if (c == '-') {
+                return false;
+            }
+            if (!Character.isLetter(c)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /** Checks whether repetition like {0,3} starting at position {@code i} allows zero occurrences. */
+    private static boolean isOptionalRepetition(String regex, int i) {
+        int j = i + 1;
+        while (j < regex.length() && Character.isWhitespace(regex.charAt(j))) {
+            j++;
+        }
+        return regex.startsWith("0", j) && (j + 1 >= regex.length() || !Character.isDigit(regex.charAt(j + 1)));
+    }
+
+    private static StringBuilder flush(StringBuilder run, List<String> literals) {
+        if (run.length() >= GRAM_SIZE) {
+            literals.add(run.toString());
+        }
+        return new StringBuilder();
+    }
+
+    /**
+     * Returns position after the escape sequence which starts at position {@code i} and its quantifier (if any).
+     * Hex, unicode, octal and control character escapes are skipped together with their digits or control letter,
+     * so that those aren't taken as literal text.
+     */
+    private static int skipEscape(String regex, int i) {
+        final int length = regex.length();
+        final char escaped = regex.charAt(i + 1);
+        int j = i + 2;
+        if ((escaped == 'p' || escaped == 'P' || escaped == 'x' || escaped == 'k') && j < length && regex.charAt(j) == '{'
+            || escaped == 'k' && j < length && regex.charAt(j) == '<') {
+            final int end = regex.indexOf(regex.charAt(j) == '{' ? '}' : '>', j);
+            j = end < 0 ? length : end + 1;
+        } else if (escaped == 'x') {
+            j = Math.min(j + 2, length);
+        } else if (escaped == 'u') {
+            j = Math.min(j + 4, length);
+        } else if (escaped == 'c') {
+            j = Math.min(j + 1, length);
+        } else if (escaped == '0') {
+            // at most three octal digits, the first of three must not be greater than 3
+            final int maxDigits = j < length && regex.charAt(j) >= '0' && regex.charAt(j) <= '3' ? 3 : 2;
+            final int end = j + maxDigits;
+            while (j < end && j < length && regex.charAt(j) >= '0' && regex.charAt(j) <= '7') {
+                j++;
+            }
+        }
+        return skipQuantifier(regex, j);
+    }
+
+    /** Returns position after the group which starts at position {@code i} or {@code -1} if group isn't closed. */
+    private static int skipGroup(String regex, int i) {
+        int depth = 0;
+        for (int j = i; j < regex.length(); j++) {
+            final char c = regex.charAt(j);
+            if (c == '\\') {
+                j++;
+            } else if (c == '[') {
+                j = skipCharacterClass(regex, j);
+                if (j < 0) {
+                    return -1;
+                }
+                j--;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return j + 1;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns position after the character class which starts at position {@code i} or {@code -1} if class isn't closed. */
+    private static int skipCharacterClass(String regex, int i) {
+        int depth = 0;
+        for (int j = i; j < regex.length(); j++) {
+            final char c = regex.charAt(j);
+            if (c == '\\') {
+                j++;
+            } else if (c == '[') {
+                depth++;
+                // ']' right after '[' or '[^' is literal
+                if (j + 1 < regex.length() && regex.charAt(j + 1) == '^') {
+                    j++;
+                }
+                if (j + 1 < regex.length() && regex.charAt(j + 1) == ']') {
+                    j++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return j + 1;
+            }
+        }
+        return -1;
+    }
+
+    /** Skips quantifier (if any) at position {@code i} together with lazy or possessive modifier. */
+    private static int skipQuantifier(String regex, int i) {
+        if (i >= regex.length()) {
+            return i;
+        }
+        final char c = regex.charAt(i);
+        int j = i;
+        if (c == '?' || c == '*' || c == '+') {
+            j++;
+        } else if (c == '{') {
+            final int end = regex.indexOf('}', i);
+            j = end < 0 ? regex.length() : end + 1;
+        } else {
+            return i;
+        }
+        if (j < regex.length() && (regex.charAt(j) == '?' || regex.charAt(j) == '+')) {
+            j++;
+        }
+        return j;
+    }
+
+    private static void addTrigrams(CharSequence text, Set<String> trigrams) {
+        final int[] codePoints = text.codePoints().map(Character::toLowerCase).toArray();
+        for (int i = 0; i + GRAM_SIZE <= codePoints.length; i++) {
+            trigrams.add(new String(codePoints, i, GRAM_SIZE));
+        }
+    }
+
+    private Trigrams() {
+    }
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.eclipse.che.WorkspaceIdProvider;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -38,6 +40,8 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.dao.UserDao;
@@ -104,6 +108,7 @@ import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import static java.util.Collections.singletonList;
@@ -1437,11 +1442,42 @@ public class ProjectServiceTest {
     public void testExportZip() throws Exception {
         RegisteredProject myProject = pm.getProject("my_project");
         myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/export/my_project",
-                                                      "http://localhost:8080/api", null, null, null);
+                                                      "http://localhost:8080/api", null, null, writer, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         assertEquals(response.getContentType().toString(), ExtMediaType.APPLICATION_ZIP);
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(writer.getBody()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), entry.isDirectory() ? null : new Scanner(zip).useDelimiter("\\A").next());
+            }
+        }
+        assertEquals(entries.get("a/b/test.txt"), "hello");
+        assertTrue(entries.containsKey("a/b/"));
+    }
+
+    @Test
+    public void testExportTar() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/export/tar/my_project",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        assertEquals(response.getContentType().toString(), ExtMediaType.APPLICATION_X_TAR);
+        Map<String, String> entries = new HashMap<>();
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(new ByteArrayInputStream(writer.getBody()))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                entries.put(entry.getName(), entry.isDirectory() ? null : new Scanner(tar).useDelimiter("\\A").next());
+            }
+        }
+        assertEquals(entries.get("a/b/test.txt"), "hello");
+        assertTrue(entries.containsKey("a/b/"));
     }
 
     @Test
@@ -1683,6 +1719,25 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/__test.txt"));
     }
 
+    @Test
+    public void testSearchByPattern() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt", "first line\nsearch hit 2016".getBytes());
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/pattern-search/my_project?pattern=hit%20%5Cd%2B&regex=true",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        SearchResultDto result = (SearchResultDto)response.getEntity();
+        assertEquals(result.getTotalHits(), 1);
+        Assert.assertFalse(result.isTruncated());
+        assertEquals(result.getEntries().get(0).getPath(), "/my_project/x/y/__test.txt");
+        SearchOccurrenceDto occurrence = result.getEntries().get(0).getOccurrences().get(0);
+        assertEquals(occurrence.getLineNumber(), 2);
+        assertEquals(occurrence.getLineContent(), "search hit 2016");
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchParticularSequenceWords() throws Exception {
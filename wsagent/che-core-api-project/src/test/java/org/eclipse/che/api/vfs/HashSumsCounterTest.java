@@ -27,6 +27,8 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashSumsCounterTest {
@@ -45,6 +47,38 @@ public class HashSumsCounterTest {
         assertEquals(expected, hashSums);
     }
 
+    @Test
+    public void takesHashSumsOfNotModifiedFilesFromIndex() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile fileBA = mockFile("/a/b/file", "file2".getBytes());
+        VirtualFile folderB = mockFolder("/a/b", fileBA);
+        VirtualFile folderA = mockFolder("/a", folderB, fileAB);
+        Set<Pair<String, String>> expected = newHashSet(Pair.of(countMd5Sum("file1".getBytes()), "file"),
+                                                        Pair.of(countMd5Sum("file2".getBytes()), "b/file"));
+        HashSumsIndex index = new HashSumsIndex(null);
+
+        new HashSumsCounter(folderA, Hashing.md5(), index).countHashSums();
+        Set<Pair<String, String>> hashSums = newHashSet(new HashSumsCounter(folderA, Hashing.md5(), index).countHashSums());
+
+        assertEquals(expected, hashSums);
+        verify(fileAB, times(1)).getContent();
+        verify(fileBA, times(1)).getContent();
+    }
+
+    @Test
+    public void countsHashSumAgainWhenFileIsModified() throws Exception {
+        VirtualFile file = mockFile("/a/file", "file1".getBytes());
+        VirtualFile folder = mockFolder("/a", file);
+        HashSumsIndex index = new HashSumsIndex(null);
+        new HashSumsCounter(folder, Hashing.md5(), index).countHashSums();
+
+        when(file.getLastModificationDate()).thenReturn(1000L);
+        when(file.getContent()).thenReturn(new ByteArrayInputStream("file2".getBytes()));
+
+        assertEquals(newArrayList(Pair.of(countMd5Sum("file2".getBytes()), "file")),
+                     new HashSumsCounter(folder, Hashing.md5(), index).countHashSums());
+    }
+
     private String countMd5Sum(byte[] bytes) throws Exception {
         return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
     }
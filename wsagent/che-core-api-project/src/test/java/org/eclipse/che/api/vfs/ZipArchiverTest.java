@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -41,7 +42,9 @@ import java.util.zip.ZipOutputStream;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -105,6 +108,43 @@ public class ZipArchiverTest {
         assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
     }
 
+    @Test
+    public void compressesLargeFileByChunks() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        byte[] content = createLargeContent(ZipWriter.PARALLEL_THRESHOLD + ZipWriter.CHUNK_SIZE / 2);
+        folder.createFile("large.txt", content);
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder).compress(compressedFolder);
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(compressedFolder.toByteArray()))) {
+            ZipEntry zipEntry = zip.getNextEntry();
+            assertEquals("large.txt", zipEntry.getName());
+            assertArrayEquals(content, ByteStreams.toByteArray(zip));
+            assertNull(zip.getNextEntry());
+        }
+        assertTrue(compressedFolder.size() < content.length / 2);
+    }
+
+    @Test
+    public void compressesFolderToArchiveWithSpecifiedCompressionLevel() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        byte[] content = createLargeContent(64 * 1024);
+        folder.createFile("file.txt", content);
+        ByteArrayOutputStream storedFolder = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder, Deflater.NO_COMPRESSION).compress(storedFolder);
+        new ZipArchiver(folder, Deflater.BEST_COMPRESSION).compress(compressedFolder);
+
+        assertTrue(storedFolder.size() > content.length);
+        assertTrue(compressedFolder.size() < content.length / 2);
+        Map<String, String> entries = newHashMap();
+        entries.put("file.txt", new String(content));
+        assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(storedFolder.toByteArray()), entries);
+        assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+    }
+
     @Test
     public void extractsArchiveToFolder() throws Exception {
         byte[] archive = createTestZipArchive();
@@ -226,6 +266,14 @@ public class ZipArchiverTest {
         return arc;
     }
 
+    private byte[] createLargeContent(long length) {
+        StringBuilder content = new StringBuilder();
+        for (int line = 0; content.length() < length; line++) {
+            content.append("line ").append(line).append(' ').append(Integer.toHexString(line * 31)).append('\n');
+        }
+        return content.substring(0, (int)length).getBytes();
+    }
+
     private byte[] createTestZipArchive() throws IOException {
         ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
         ZipOutputStream zipOut = new ZipOutputStream(byteOut);
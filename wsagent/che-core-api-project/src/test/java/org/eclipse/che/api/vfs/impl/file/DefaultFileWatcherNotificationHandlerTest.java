@@ -22,9 +22,11 @@ import java.io.File;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -91,4 +93,41 @@ public class DefaultFileWatcherNotificationHandlerTest {
         verify(notificationListener).shouldBeNotifiedFor(virtualFile);
         verify(notificationListener).onFileWatcherEvent(virtualFile, MODIFIED);
     }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenersWhenWatcherIsStarted() throws Exception {
+        notificationHandler.started(testDirectory);
+
+        verify(notificationListener).onWatcherStarted(testDirectory);
+    }
+
+    @Test
+    public void notifiesListenerAddedAfterStartOfWatcher() throws Exception {
+        FileWatcherNotificationListener lateListener = mock(FileWatcherNotificationListener.class);
+        notificationHandler.started(testDirectory);
+
+        notificationHandler.addNotificationListener(lateListener);
+
+        verify(lateListener).onWatcherStarted(testDirectory);
+    }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenersWhenWatcherFails() throws Exception {
+        Exception error = new Exception("error");
+        notificationHandler.started(testDirectory);
+
+        notificationHandler.errorOccurred(testDirectory, error);
+        FileWatcherNotificationListener lateListener = mock(FileWatcherNotificationListener.class);
+        notificationHandler.addNotificationListener(lateListener);
+
+        verify(notificationListener).onWatcherError(testDirectory, error);
+        verify(lateListener, never()).onWatcherStarted(any(File.class));
+    }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenersWhenEventsAreLost() throws Exception {
+        notificationHandler.eventsLost(testDirectory);
+
+        verify(notificationListener).onWatcherEventsLost(testDirectory);
+    }
 }
@@ -27,14 +27,17 @@ import static com.google.common.collect.Sets.newHashSet;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.api.vfs.impl.file.FileWatcherTestHelper.WAIT_TIMEOUT;
+import static org.eclipse.che.api.vfs.impl.file.FileWatcherTestHelper.aNotificationHandler;
+import static org.eclipse.che.api.vfs.impl.file.FileWatcherTestHelper.awaitStarted;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -61,14 +64,15 @@ public class FileTreeWatcherMassiveIoOperationTest {
 
     @Test
     public void watchesTreeCreation() throws Exception {
-        FileWatcherNotificationHandler notificationListener = aNotificationListener();
+        FileWatcherNotificationHandler notificationListener = aNotificationHandler();
         fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener);
         fileTreeWatcher.startup();
-        Thread.sleep(500);
+        awaitStarted(notificationListener, testDirectory);
 
         List<String> allFilesAndDirs = fileWatcherTestTree.createTree("", 7, 5);
 
-        Thread.sleep(5000);
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(allFilesAndDirs.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationListener, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
@@ -82,16 +86,16 @@ public class FileTreeWatcherMassiveIoOperationTest {
     @Test
     public void watchesTreeDeletion() throws Exception {
         List<String> allFilesAndDirs = fileWatcherTestTree.createTree("", 7, 5);
-        Thread.sleep(100);
 
-        FileWatcherNotificationHandler notificationListener = aNotificationListener();
+        FileWatcherNotificationHandler notificationListener = aNotificationHandler();
         fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener);
         fileTreeWatcher.startup();
-        Thread.sleep(5000);
+        awaitStarted(notificationListener, testDirectory);
 
         assertTrue(fileWatcherTestTree.delete(""));
 
-        Thread.sleep(5000);
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(allFilesAndDirs.size()))
+                .handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationListener, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
@@ -105,12 +109,11 @@ public class FileTreeWatcherMassiveIoOperationTest {
     @Test
     public void watchesUpdatesAllFilesInTree() throws Exception {
         fileWatcherTestTree.createTree("", 7, 5);
-        Thread.sleep(100);
 
-        FileWatcherNotificationHandler notificationListener = aNotificationListener();
+        FileWatcherNotificationHandler notificationListener = aNotificationHandler();
         fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener);
         fileTreeWatcher.startup();
-        Thread.sleep(5000);
+        awaitStarted(notificationListener, testDirectory);
 
         List<String> updated = fileWatcherTestTree.findAllFilesInTree("");
 
@@ -118,7 +121,8 @@ public class FileTreeWatcherMassiveIoOperationTest {
             fileWatcherTestTree.updateFile(file);
         }
 
-        Thread.sleep(5000);
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(updated.size()))
+                .handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationListener, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
@@ -133,12 +137,11 @@ public class FileTreeWatcherMassiveIoOperationTest {
     @Test
     public void watchesUpdatesFilesInTree() throws Exception {
         fileWatcherTestTree.createTree("", 7, 5);
-        Thread.sleep(100);
 
-        FileWatcherNotificationHandler notificationListener = aNotificationListener();
+        FileWatcherNotificationHandler notificationListener = aNotificationHandler();
         fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener);
         fileTreeWatcher.startup();
-        Thread.sleep(5000);
+        awaitStarted(notificationListener, testDirectory);
 
         List<String> updated = fileWatcherTestTree.findAllFilesInTree("").stream()
                                                   .filter(path -> path.hashCode() % 2 == 0).collect(Collectors.toList());
@@ -147,7 +150,8 @@ public class FileTreeWatcherMassiveIoOperationTest {
             fileWatcherTestTree.updateFile(file);
         }
 
-        Thread.sleep(5000);
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(updated.size()))
+                .handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationListener, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
@@ -161,12 +165,11 @@ public class FileTreeWatcherMassiveIoOperationTest {
     @Test
     public void watchesMixedActionsInTree() throws Exception {
         fileWatcherTestTree.createTree("", 7, 5);
-        Thread.sleep(100);
 
-        FileWatcherNotificationHandler notificationListener = aNotificationListener();
+        FileWatcherNotificationHandler notificationListener = aNotificationHandler();
         fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener);
         fileTreeWatcher.startup();
-        Thread.sleep(5000);
+        awaitStarted(notificationListener, testDirectory);
 
         List<String> allFiles = fileWatcherTestTree.findAllFilesInTree("");
         List<String> updated = newArrayList(allFiles.subList(0, allFiles.size() / 2));
@@ -182,14 +185,18 @@ public class FileTreeWatcherMassiveIoOperationTest {
             fileWatcherTestTree.delete(file);
         }
 
-        Thread.sleep(5000);
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(deleted.size()))
+                .handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         updated.addAll(created.subList(0, created.size() / 2));
         for (String file : updated) {
             fileWatcherTestTree.updateFile(file);
         }
 
-        Thread.sleep(5000);
+        verify(notificationListener, timeout(WAIT_TIMEOUT).times(updated.size()))
+                .handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
 
@@ -206,10 +213,6 @@ public class FileTreeWatcherMassiveIoOperationTest {
         assertThatCollectionsContainsSameItemsOrFailWithDiff(eventsCaptor.getAllValues(), created);
     }
 
-    private FileWatcherNotificationHandler aNotificationListener() {
-        return mock(FileWatcherNotificationHandler.class);
-    }
-
     private void assertThatCollectionsContainsSameItemsOrFailWithDiff(Collection<String> actual, Collection<String> expected) {
         List<String> missed = newArrayList(expected);
         List<String> extra = newArrayList(actual);
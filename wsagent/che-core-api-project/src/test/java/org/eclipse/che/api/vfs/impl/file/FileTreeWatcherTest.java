@@ -20,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import java.io.File;
 import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -27,14 +28,17 @@ import static com.google.common.collect.Sets.newHashSet;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.api.vfs.impl.file.FileWatcherTestHelper.WAIT_TIMEOUT;
+import static org.eclipse.che.api.vfs.impl.file.FileWatcherTestHelper.aNotificationHandler;
+import static org.eclipse.che.api.vfs.impl.file.FileWatcherTestHelper.awaitStarted;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -68,15 +72,15 @@ public class FileTreeWatcherTest {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
 
         Set<String> created = newHashSet(fileWatcherTestTree.createDirectory(""),
                                          fileWatcherTestTree.createFile(""),
                                          fileWatcherTestTree.createDirectory("watched"),
                                          fileWatcherTestTree.createFile("watched"));
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(4))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
@@ -92,12 +96,12 @@ public class FileTreeWatcherTest {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
 
         List<String> created = fileWatcherTestTree.createTree("", 2, 2);
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
@@ -113,16 +117,16 @@ public class FileTreeWatcherTest {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
 
         String directory = fileWatcherTestTree.createDirectory("");
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(directory), eq(true));
 
         String file = fileWatcherTestTree.createFile(directory);
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(2))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
@@ -143,13 +147,13 @@ public class FileTreeWatcherTest {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(1000);
+        awaitStarted(notificationHandler, testDirectory);
 
         fileWatcherTestTree.updateFile(notifiedFile1);
         fileWatcherTestTree.updateFile(notifiedFile2);
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(2))
+                .handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
@@ -170,12 +174,12 @@ public class FileTreeWatcherTest {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
 
         fileWatcherTestTree.delete("watched");
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(3))
+                .handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
@@ -194,8 +198,7 @@ public class FileTreeWatcherTest {
         PathMatcher excludeMatcher =  FileSystems.getDefault().getPathMatcher("glob:excluded");
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(excludeMatcher), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
 
         String directory = fileWatcherTestTree.createDirectory("");
         String file = fileWatcherTestTree.createFile("");
@@ -204,7 +207,8 @@ public class FileTreeWatcherTest {
 
         Set<String> created = newHashSet(directory, file);
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
@@ -221,8 +225,7 @@ public class FileTreeWatcherTest {
         PathMatcher excludeMatcher =  FileSystems.getDefault().getPathMatcher("glob:*.{foo,bar}");
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(excludeMatcher), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
 
         String file = fileWatcherTestTree.createFile("");
         fileWatcherTestTree.createFile("", "xxx.bar");
@@ -230,7 +233,8 @@ public class FileTreeWatcherTest {
 
         Set<String> created = newHashSet(file);
 
-        Thread.sleep(5000);
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
 
         verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
         verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
@@ -247,11 +251,53 @@ public class FileTreeWatcherTest {
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
 
-        Thread.sleep(500);
-
         verify(notificationHandler, timeout(10000)).started(eq(testDirectory));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void passesChangesInBatches() throws Exception {
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.startup();
+        awaitStarted(notificationHandler, testDirectory);
+
+        List<String> created = fileWatcherTestTree.createTree("", 2, 2);
+
+        verify(notificationHandler, timeout(WAIT_TIMEOUT).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+
+        // children of new directories may be found in later rounds, so changes may come in several batches
+        ArgumentCaptor<List> batches = ArgumentCaptor.forClass(List.class);
+        verify(notificationHandler, atLeastOnce()).handleFileWatcherEvents(eq(testDirectory), batches.capture());
+        List<String> batchedPaths = new ArrayList<>();
+        for (List<FileWatcherEvent> batch : (List<List<FileWatcherEvent>>)(List)batches.getAllValues()) {
+            for (FileWatcherEvent event : batch) {
+                assertEquals(CREATED, event.getType());
+                batchedPaths.add(event.getSubPath());
+            }
+        }
+        assertEquals(created.size(), batchedPaths.size());
+        assertEquals(newHashSet(created), newHashSet(batchedPaths));
+    }
+
+    @Test
+    public void rescansDirectoriesWhichAreNotRegisteredInWatchService() throws Exception {
+        String directory = fileWatcherTestTree.createDirectory("");
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.maxWatchedDirectories = 1;
+        fileWatcher.rescanIntervalMillis = 1000;
+        fileWatcher.startup();
+
+        assertEquals(1, fileWatcher.getRegisteredDirectoriesCount());
+
+        String file = fileWatcherTestTree.createFile(directory);
+
+        verify(notificationHandler, timeout(WAIT_TIMEOUT)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(file), eq(false));
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+    }
+
     @Test
     public void notifiesNotificationListenerWhenErrorOccurs() throws Exception {
         RuntimeException error = new RuntimeException();
@@ -260,15 +306,9 @@ public class FileTreeWatcherTest {
 
         fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
         fileWatcher.startup();
-
-        Thread.sleep(500);
+        awaitStarted(notificationHandler, testDirectory);
         fileWatcherTestTree.createFile("");
-        Thread.sleep(5000);
 
         verify(notificationHandler, timeout(10000)).errorOccurred(eq(testDirectory), eq(error));
     }
-
-    private FileWatcherNotificationHandler aNotificationHandler() {
-        return mock(FileWatcherNotificationHandler.class);
-    }
 }
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.io.File;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class FileWatcherTestHelper {
+    /** Max time in milliseconds to wait for notifications of watcher. */
+    public static final int WAIT_TIMEOUT = 30000;
+
+    /**
+     * Creates mock of {@link FileWatcherNotificationHandler} which forwards events of each batch passed to
+     * {@link FileWatcherNotificationHandler#handleFileWatcherEvents(File, List)} to
+     * {@link FileWatcherNotificationHandler#handleFileWatcherEvent}, so each event may be verified separately.
+     */
+    @SuppressWarnings("unchecked")
+    public static FileWatcherNotificationHandler aNotificationHandler() {
+        FileWatcherNotificationHandler notificationHandler = mock(FileWatcherNotificationHandler.class);
+        doAnswer(invocation -> {
+            File watchRoot = (File)invocation.getArguments()[0];
+            for (FileWatcherEvent event : (List<FileWatcherEvent>)invocation.getArguments()[1]) {
+                notificationHandler.handleFileWatcherEvent(event.getType(), watchRoot, event.getSubPath(), event.isDir());
+            }
+            return null;
+        }).when(notificationHandler).handleFileWatcherEvents(any(File.class), anyListOf(FileWatcherEvent.class));
+        return notificationHandler;
+    }
+
+    /** Waits until watcher notifies the handler that it is started. */
+    public static void awaitStarted(FileWatcherNotificationHandler notificationHandler, File watchRoot) {
+        verify(notificationHandler, timeout(WAIT_TIMEOUT)).started(eq(watchRoot));
+    }
+
+    private FileWatcherTestHelper() {
+    }
+}
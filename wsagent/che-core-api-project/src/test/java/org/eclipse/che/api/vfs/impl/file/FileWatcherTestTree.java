@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -104,7 +105,14 @@ public class FileWatcherTestTree {
     }
 
     public void updateFile(String file) throws IOException {
+        java.nio.file.Path path = root.resolve(file);
+        FileTime lastModified = Files.getLastModifiedTime(path);
         String content = Long.toString(System.currentTimeMillis());
-        Files.write(root.resolve(file), newArrayList(content), StandardOpenOption.APPEND);
+        Files.write(path, newArrayList(content), StandardOpenOption.APPEND);
+        // file system may keep modification time with one second resolution, change it explicitly
+        // so watcher sees modification without waiting
+        if (lastModified.equals(Files.getLastModifiedTime(path))) {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 1000));
+        }
     }
 }
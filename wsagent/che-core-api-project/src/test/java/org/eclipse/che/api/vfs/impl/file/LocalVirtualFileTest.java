@@ -50,9 +50,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -356,6 +360,30 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, children);
     }
 
+    @Test
+    public void getsChildrenOfFolderFromManyThreadsConcurrently() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        List<VirtualFile> expectedResult = newArrayList();
+        for (int i = 0; i < 20; i++) {
+            expectedResult.add(folder.createFile(generateFileName(), DEFAULT_CONTENT));
+        }
+        Collections.sort(expectedResult);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<List<VirtualFile>>> results = newArrayList();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> folder.getChildren()));
+            }
+            for (Future<List<VirtualFile>> result : results) {
+                assertEquals(expectedResult, result.get(10, SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void getsChild() throws Exception {
         VirtualFile root = getRoot();
@@ -1366,6 +1394,21 @@ public class LocalVirtualFileTest {
         assertionHelper.assertThatMetadataIoFileDoesNotExist(filePath);
     }
 
+    @Test
+    public void doesNotReturnCachedPropertiesOfDeletedFolderChildren() throws Exception {
+        String folderName = generateFolderName();
+        String fileName = generateFileName();
+        VirtualFile folder = getRoot().createFolder(folderName);
+        VirtualFile file = folder.createFile(fileName, DEFAULT_CONTENT);
+        file.setProperty("property1", "value1");
+        assertEquals("value1", file.getProperty("property1"));
+
+        folder.delete();
+        VirtualFile newFile = getRoot().createFolder(folderName).createFile(fileName, DEFAULT_CONTENT);
+
+        assertTrue(newFile.getProperties().isEmpty());
+    }
+
     @Test
     public void failsDeleteFolderWhenItContainsLockedFile() throws Exception {
         VirtualFile folder = getRoot().createFolder(generateFolderName());
@@ -12,20 +12,27 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.shared.dto.event.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
@@ -33,6 +40,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -284,10 +292,138 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void coalescesChangesOfSameFileBeforeWritingToIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.setRefreshIntervalMillis(60_000);
+        searcher.init(virtualFileSystem);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[2]);
+
+        searcher.add(file);
+        file.updateContent(TEST_CONTENT[0]);
+        searcher.update(file);
+        file.updateContent(TEST_CONTENT[1]);
+        searcher.update(file);
+
+        assertEquals(1, searcher.getPendingChangesCount());
+        assertEquals(2, searcher.getCoalescedChangesCount());
+
+        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newArrayList(file.getPath().toString()), paths);
+        assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+        assertEquals(0, searcher.getPendingChangesCount());
+        assertEquals(1, searcher.getAppliedChangesCount());
+    }
+
+    @Test
+    public void dropsPendingChangesOfFilesInDeletedFolder() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile file = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.setRefreshIntervalMillis(60_000);
+        searcher.init(virtualFileSystem);
+
+        searcher.update(file);
+        searcher.add(folder.createFile("zzz.txt", TEST_CONTENT[1]));
+        searcher.delete(folder.getPath().toString(), false);
+
+        assertEquals(1, searcher.getPendingChangesCount());
+        assertTrue(searcher.search(new QueryExpression().setText("be")).getFilePaths().isEmpty());
+        assertTrue(searcher.search(new QueryExpression().setText("should")).getFilePaths().isEmpty());
+    }
+
+    @Test
+    public void writesChangesToIndexImmediatelyWhenRefreshIntervalIsNotSet() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.setRefreshIntervalMillis(0);
+        searcher.init(virtualFileSystem);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
+
+        searcher.add(file);
+
+        assertEquals(0, searcher.getPendingChangesCount());
+        assertEquals(1, searcher.getIndexWriter().numDocs());
+    }
+
+    @Test
+    public void initializesIndexForExistedFilesInParallel() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i);
+            for (int j = 0; j < 50; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        EventService eventService = mock(EventService.class);
+        searcher.setIndexingThreads(4);
+        searcher.setEventService(eventService);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        searcher.initAsynchronously(executor, virtualFileSystem);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(130, searcher.search(new QueryExpression().setText("think")).getTotalHits());
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventService, atLeastOnce()).publish(events.capture());
+        IndexingProgressEvent lastEvent = (IndexingProgressEvent)events.getValue();
+        assertTrue(lastEvent.isDone());
+        assertEquals(500, lastEvent.getIndexedFiles());
+        assertEquals(500, lastEvent.getDiscoveredFiles());
+    }
+
+    @Test
+    public void searchesBySubstringOfContent() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", "Apollo\nset several\nhuman spaceflight milestones, human spaceflight");
+        folder.createFile("zzz.txt", "flight space");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setPattern("n spacefl"));
+
+        assertEquals(newArrayList("/folder/xxx.txt", "/folder/yyy.txt"), sorted(result.getFilePaths()));
+        assertEquals(2, result.getTotalHits());
+        List<SearchOccurrence> occurrences = result.getResults().stream()
+                                                   .filter(entry -> entry.getFilePath().equals("/folder/yyy.txt"))
+                                                   .findFirst().get()
+                                                   .getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(3, occurrences.get(0).getLineNumber());
+        assertEquals("human spaceflight milestones, human spaceflight", occurrences.get(0).getLineContent());
+        assertEquals(23, occurrences.get(0).getStartOffset());
+        assertEquals(32, occurrences.get(0).getEndOffset());
+        assertEquals(53, occurrences.get(1).getStartOffset());
+    }
+
+    @Test
+    public void searchesByRegularExpression() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[3]);
+        folder.createFile("yyy.txt", "In 1961 direct ascent");
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setPattern("\\d{4}, direct").setRegex(true));
+
+        assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+        SearchOccurrence occurrence = result.getResults().get(0).getOccurrences().get(0);
+        assertEquals(1, occurrence.getLineNumber());
+        assertEquals(9, occurrence.getStartOffset());
+        assertEquals(21, occurrence.getEndOffset());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
 
+    private static List<String> sorted(List<String> list) {
+        Collections.sort(list);
+        return list;
+    }
+
     private static VirtualFile withName(String name) {
         return argThat(new ArgumentMatcher<VirtualFile>() {
             @Override
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.junit.Test;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrigramsTest {
+    @Test
+    public void extractsLowerCasedTrigramsOfLiteral() {
+        assertEquals(newLinkedHashSet(newArrayList("hel", "ell", "llo", "lo ")), Trigrams.ofLiteral("Hello "));
+    }
+
+    @Test
+    public void returnsNoTrigramsForShortLiteral() {
+        assertTrue(Trigrams.ofLiteral("ab").isEmpty());
+    }
+
+    @Test
+    public void extractsLiteralRunsOfRegularExpression() {
+        assertEquals(newArrayList("class", "Foo", "xyz"), Trigrams.requiredLiterals("class\\s+Foo[A-Z]xyz"));
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo.*bar"));
+        assertEquals(newArrayList("a.b.cde"), Trigrams.requiredLiterals("a\\.b\\.cde"));
+    }
+
+    @Test
+    public void skipsOptionalCharactersOfRegularExpression() {
+        assertEquals(newArrayList("abc", "def"), Trigrams.requiredLiterals("abcx?def"));
+        assertEquals(newArrayList("yzw"), Trigrams.requiredLiterals("x{0,3}yzw"));
+        assertEquals(newArrayList("def"), Trigrams.requiredLiterals("(abc)def"));
+    }
+
+    @Test
+    public void skipsDigitsOfNumericAndControlEscapes() {
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo\\x41bar"));
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo\\x{1F600}bar"));
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo\\u0041bar"));
+        assertEquals(newArrayList("xyz"), Trigrams.requiredLiterals("x\\0101xyz"));
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo\\0377bar"));
+        assertEquals(newArrayList("foo", "7bar"), Trigrams.requiredLiterals("foo\\0477bar"));
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo\\cAbar"));
+        assertTrue(Trigrams.ofRegex("ab\\x41cd").isEmpty());
+    }
+
+    @Test
+    public void requiresNothingForTopLevelAlternation() {
+        assertTrue(Trigrams.ofRegex("foo|bar").isEmpty());
+    }
+}
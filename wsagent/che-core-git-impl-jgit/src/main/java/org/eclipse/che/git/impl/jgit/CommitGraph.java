@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.LogCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.util.RawParseUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cache of the commit graph of the repository, i.e. parents and commit time of each commit,
+ * so pages of the history may be found without re-parsing all the commits from the start revision.
+ * Commits are immutable, so cached data never becomes stale, commits are added to the graph when they are walked
+ * first time. Commit id identifies its content, so the commits are cached once for graphs of all the repositories
+ * and at most {@link #MAX_COMMITS} recently used commits are kept.
+ *
+ * <p>Histories filtered by paths can't be found from the graph, they are cached as lists of matched commits
+ * keyed by the start revisions and paths. Such history is extended with read-ahead when the requested page
+ * is beyond the cached commits, so consecutive pages don't re-walk the history from the start revision.
+ *
+ * <p>The graph is thread-safe.
+ */
+class CommitGraph {
+
+    /** Maximum number of commits cached for all the repositories, which is about 150 bytes per commit. */
+    static final int MAX_COMMITS = 500_000;
+
+    private static final int        MAX_FILTERED_HISTORIES = 32;
+    private static final int        MIN_READ_AHEAD         = 100;
+    private static final byte[]     PARENT                 = Constants.encodeASCII("parent ");
+    private static final ObjectId[] NO_PARENTS             = new ObjectId[0];
+
+    private static final Cache<ObjectId, Node> NODES = CacheBuilder.newBuilder().maximumSize(MAX_COMMITS).build();
+
+    private final Cache<HistoryKey, FilteredHistory> filteredHistories;
+
+    CommitGraph() {
+        this.filteredHistories = CacheBuilder.newBuilder().maximumSize(MAX_FILTERED_HISTORIES).build();
+    }
+
+    /**
+     * Returns commits reachable from the start commits which aren't reachable from the excluded ones,
+     * in the same order as 'git log' returns them, i.e. newer commits first.
+     *
+     * @param repository
+     *         repository of the commits
+     * @param starts
+     *         commits to start from
+     * @param excluded
+     *         commits which are excluded from the history together with their ancestors
+     * @param skip
+     *         number of commits to skip
+     * @param maxCount
+     *         maximum number of returned commits, all the commits are returned if it isn't positive
+     * @return ids of commits
+     * @throws IOException
+     *         when any error occurs while commits are read
+     */
+    List<ObjectId> log(Repository repository, List<ObjectId> starts, List<ObjectId> excluded, int skip, int maxCount)
+            throws IOException {
+        try (ObjectReader reader = repository.newObjectReader()) {
+            final Walk walk = new Walk(reader);
+            for (ObjectId commit : excluded) {
+                walk.markUninteresting(commit);
+            }
+            for (ObjectId start : starts) {
+                walk.add(start, getNode(reader, start));
+            }
+            final List<ObjectId> commits = new ArrayList<>();
+            int skipped = 0;
+            ObjectId commit;
+            while ((maxCount <= 0 || commits.size() < maxCount) && (commit = walk.next()) != null) {
+                if (skipped < skip) {
+                    skipped++;
+                } else {
+                    commits.add(commit);
+                }
+            }
+            return commits;
+        }
+    }
+
+    /**
+     * Returns commits which modify any of the given paths, the same as {@link #log(Repository, List, List, int, int)}
+     * but history is found by {@link LogCommand} and cached.
+     *
+     * @param paths
+     *         paths of files or directories relative to the working tree
+     * @see #log(Repository, List, List, int, int)
+     */
+    List<ObjectId> log(Repository repository,
+                       List<ObjectId> starts,
+                       List<ObjectId> excluded,
+                       List<String> paths,
+                       int skip,
+                       int maxCount) throws IOException, GitAPIException {
+        final FilteredHistory history;
+        try {
+            history = filteredHistories.get(new HistoryKey(starts, excluded, paths), FilteredHistory::new);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        final int required = maxCount <= 0 ? Integer.MAX_VALUE : (int)Math.min(Integer.MAX_VALUE, (long)skip + maxCount);
+        synchronized (history) {
+            if (!history.complete && history.commits.size() < required) {
+                // read ahead so the following pages don't re-walk the history
+                final int limit = required == Integer.MAX_VALUE ? 0 : (int)Math.min(Integer.MAX_VALUE - 1,
+                                                                                   Math.max(2L * required, MIN_READ_AHEAD));
+                final LogCommand logCommand = new Git(repository).log();
+                for (ObjectId start : starts) {
+                    logCommand.add(start);
+                }
+                for (ObjectId commit : excluded) {
+                    logCommand.not(commit);
+                }
+                paths.forEach(logCommand::addPath);
+                if (limit > 0) {
+                    logCommand.setMaxCount(limit);
+                }
+                final List<ObjectId> commits = new ArrayList<>();
+                for (RevCommit commit : logCommand.call()) {
+                    commits.add(commit.copy());
+                }
+                history.commits = commits;
+                history.complete = limit == 0 || commits.size() < limit;
+            }
+            final int from = Math.min(skip, history.commits.size());
+            final int to = (int)Math.min(history.commits.size(), (long)from + (maxCount <= 0 ? Integer.MAX_VALUE : maxCount));
+            return new ArrayList<>(history.commits.subList(from, to));
+        }
+    }
+
+    /** Returns the number of commits cached for all the repositories. */
+    static long size() {
+        return NODES.size();
+    }
+
+    /** Returns node of the commit or {@code null} if the commit is missing, e.g. in shallow repository. */
+    private Node findNode(ObjectReader reader, ObjectId id) throws IOException {
+        try {
+            return getNode(reader, id);
+        } catch (MissingObjectException e) {
+            return null;
+        }
+    }
+
+    private Node getNode(ObjectReader reader, ObjectId id) throws IOException {
+        Node node = NODES.getIfPresent(id);
+        if (node == null) {
+            node = parse(reader.open(id, Constants.OBJ_COMMIT).getCachedBytes());
+            NODES.put(id.copy(), node);
+        }
+        return node;
+    }
+
+    /** Parses parents and commit time of the commit, the same way as {@link RevCommit} does. */
+    private static Node parse(byte[] raw) {
+        // skip "tree <id>\n"
+        int ptr = 46;
+        final List<ObjectId> parents = new ArrayList<>(1);
+        while (RawParseUtils.match(raw, ptr, PARENT) >= 0) {
+            parents.add(ObjectId.fromString(raw, ptr + PARENT.length));
+            ptr += PARENT.length + Constants.OBJECT_ID_STRING_LENGTH + 1;
+        }
+        int commitTime = 0;
+        ptr = RawParseUtils.committer(raw, ptr);
+        if (ptr > 0) {
+            ptr = RawParseUtils.nextLF(raw, ptr, '>');
+            commitTime = RawParseUtils.parseBase10(raw, ptr, null);
+        }
+        return new Node(commitTime, parents.isEmpty() ? NO_PARENTS : parents.toArray(new ObjectId[parents.size()]));
+    }
+
+    /**
+     * Walks commits in the order of 'git log'. Excluded commits are walked in the same queue and carry
+     * the uninteresting mark to their parents, the same as {@link org.eclipse.jgit.revwalk.RevWalk} does,
+     * so only the part of the excluded history which is newer than the remaining commits is walked.
+     * The walk stops when the queue contains uninteresting commits only.
+     */
+    private class Walk {
+        final ObjectReader         reader;
+        final PriorityQueue<Entry> queue;
+        final Set<ObjectId>        seen;
+        final Set<ObjectId>        queued;
+        final Set<ObjectId>        uninteresting;
+        /** Number of queued commits which aren't marked uninteresting. */
+        int  interesting;
+        long sequence;
+
+        Walk(ObjectReader reader) {
+            this.reader = reader;
+            this.queue = new PriorityQueue<>();
+            this.seen = new HashSet<>();
+            this.queued = new HashSet<>();
+            this.uninteresting = new HashSet<>();
+        }
+
+        /** Adds the commit to the walk unless it is already added. */
+        void add(ObjectId id, Node node) {
+            if (seen.add(id)) {
+                enqueue(id, node);
+                interesting++;
+            }
+        }
+
+        /** Marks the commit uninteresting, its parents are marked when the commit is taken from the queue. */
+        void markUninteresting(ObjectId id) throws IOException {
+            if (!uninteresting.add(id)) {
+                return;
+            }
+            if (queued.contains(id)) {
+                interesting--;
+            } else {
+                // commit which is walked already still has to carry the mark to its parents
+                seen.add(id);
+                final Node node = findNode(reader, id);
+                if (node != null) {
+                    enqueue(id, node);
+                }
+            }
+        }
+
+        /** Returns the next commit of the history or {@code null} if there are no more commits. */
+        ObjectId next() throws IOException {
+            while (interesting > 0) {
+                final Entry entry = queue.poll();
+                queued.remove(entry.id);
+                if (uninteresting.contains(entry.id)) {
+                    for (ObjectId parent : entry.node.parents) {
+                        markUninteresting(parent);
+                    }
+                } else {
+                    interesting--;
+                    for (ObjectId parent : entry.node.parents) {
+                        if (!seen.contains(parent)) {
+                            final Node parentNode = findNode(reader, parent);
+                            if (parentNode != null) {
+                                add(parent, parentNode);
+                            }
+                        }
+                    }
+                    return entry.id;
+                }
+            }
+            return null;
+        }
+
+        private void enqueue(ObjectId id, Node node) {
+            queue.add(new Entry(id, node, sequence++));
+            queued.add(id);
+        }
+    }
+
+    private static class Node {
+        final int        commitTime;
+        final ObjectId[] parents;
+
+        Node(int commitTime, ObjectId[] parents) {
+            this.commitTime = commitTime;
+            this.parents = parents;
+        }
+    }
+
+    /** Entry of the queue ordered as RevWalk orders commits, by commit time and then in order of adding. */
+    private static class Entry implements Comparable<Entry> {
+        final ObjectId id;
+        final Node     node;
+        final long     sequence;
+
+        Entry(ObjectId id, Node node, long sequence) {
+            this.id = id;
+            this.node = node;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (node.commitTime != other.node.commitTime) {
+                return Integer.compare(other.node.commitTime, node.commitTime);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static class HistoryKey {
+        final List<ObjectId> starts;
+        final List<ObjectId> excluded;
+        final List<String>   paths;
+
+        HistoryKey(List<ObjectId> starts, List<ObjectId> excluded, List<String> paths) {
+            this.starts = new ArrayList<>(starts);
+            this.excluded = new ArrayList<>(excluded);
+            this.paths = new ArrayList<>(paths);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof HistoryKey)) {
+                return false;
+            }
+            final HistoryKey other = (HistoryKey)obj;
+            return starts.equals(other.starts) && excluded.equals(other.excluded) && paths.equals(other.paths);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(starts, excluded, paths);
+        }
+    }
+
+    private static class FilteredHistory {
+        List<ObjectId> commits = Collections.emptyList();
+        boolean        complete;
+    }
+}
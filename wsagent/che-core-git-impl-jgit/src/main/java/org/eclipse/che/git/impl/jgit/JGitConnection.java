@@ -152,7 +152,6 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -229,11 +228,15 @@ class JGitConnection implements GitConnection {
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
     private final Repository        repository;
+    private final CommitGraph       commitGraph;
+    private final StatusCache       statusCache;
 
     @Inject
-    JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
-                   GitUserResolver userResolver) {
+    JGitConnection(Repository repository, CommitGraph commitGraph, StatusCache statusCache, CredentialsLoader credentialsLoader,
+                   SshKeyProvider sshKeyProvider, GitUserResolver userResolver) {
         this.repository = repository;
+        this.commitGraph = commitGraph;
+        this.statusCache = statusCache;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
@@ -651,27 +654,42 @@ class JGitConnection implements GitConnection {
 
     @Override
     public LogPage log(LogRequest request) throws GitException {
-        LogCommand logCommand = getGit().log();
         try {
-            setRevisionRange(logCommand, request);
-
-            request.getFileFilter().forEach(logCommand::addPath);
+            List<ObjectId> starts = new ArrayList<>(1);
+            List<ObjectId> excluded = new ArrayList<>(1);
+            setRevisionRange(starts, excluded, request);
+            if (starts.isEmpty()) {
+                ObjectId head = repository.resolve(Constants.HEAD);
+                if (head == null) {
+                    throw new GitException(ERROR_NO_HEAD_EXISTS, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
+                }
+                starts.add(head);
+            }
 
-            Iterator<RevCommit> revIterator = logCommand.call().iterator();
-            List<Revision> commits = new ArrayList<>();
+            // only the requested page of commits is parsed, ancestry is taken from the cached commit graph
+            List<ObjectId> commitIds;
+            if (request.getFileFilter().isEmpty()) {
+                commitIds = commitGraph.log(repository, starts, excluded, request.getSkip(), request.getMaxCount());
+            } else {
+                commitIds = commitGraph.log(repository, starts, excluded, request.getFileFilter(), request.getSkip(),
+                                            request.getMaxCount());
+            }
 
-            while (revIterator.hasNext()) {
-                RevCommit commit = revIterator.next();
-                PersonIdent committerIdentity = commit.getCommitterIdent();
+            List<Revision> commits = new ArrayList<>(commitIds.size());
+            try (RevWalk revWalk = new RevWalk(repository)) {
+                for (ObjectId commitId : commitIds) {
+                    RevCommit commit = revWalk.parseCommit(commitId);
+                    PersonIdent committerIdentity = commit.getCommitterIdent();
 
-                GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
-                                                       .withEmail(committerIdentity.getEmailAddress());
+                    GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
+                                                           .withEmail(committerIdentity.getEmailAddress());
 
-                Revision revision = newDto(Revision.class).withId(commit.getId().getName())
-                                                          .withMessage(commit.getFullMessage())
-                                                          .withCommitTime(MILLISECONDS.convert(commit.getCommitTime(), SECONDS))
-                                                          .withCommitter(gitUser);
-                commits.add(revision);
+                    Revision revision = newDto(Revision.class).withId(commit.getId().getName())
+                                                              .withMessage(commit.getFullMessage())
+                                                              .withCommitTime(MILLISECONDS.convert(commit.getCommitTime(), SECONDS))
+                                                              .withCommitter(gitUser);
+                    commits.add(revision);
+                }
             }
             return new LogPage(commits);
         } catch (GitAPIException | IOException exception) {
@@ -683,18 +701,26 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private void setRevisionRange(LogCommand logCommand, LogRequest request) throws IOException {
+    private void setRevisionRange(List<ObjectId> starts, List<ObjectId> excluded, LogRequest request) throws IOException,
+                                                                                                            GitException {
         if (request != null) {
             String revisionRangeSince = request.getRevisionRangeSince();
             String revisionRangeUntil = request.getRevisionRangeUntil();
             if (revisionRangeSince != null && revisionRangeUntil != null) {
-                ObjectId since = repository.resolve(revisionRangeSince);
-                ObjectId until = repository.resolve(revisionRangeUntil);
-                logCommand.addRange(since, until);
+                excluded.add(resolveCommit(revisionRangeSince));
+                starts.add(resolveCommit(revisionRangeUntil));
             }
         }
     }
 
+    private ObjectId resolveCommit(String revision) throws IOException, GitException {
+        ObjectId commitId = repository.resolve(revision + "^{commit}");
+        if (commitId == null) {
+            throw new GitException(String.format("Revision '%s' not found", revision));
+        }
+        return commitId;
+    }
+
     @Override
     public List<GitUser> getCommiters() throws GitException {
         List<GitUser> gitUsers = new ArrayList<>();
@@ -1324,7 +1350,7 @@ class JGitConnection implements GitConnection {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
-        return new JGitStatusImpl(branchName, getGit().status(), format);
+        return new JGitStatusImpl(branchName, statusCache, repository, format);
     }
 
     @Override
@@ -16,12 +16,19 @@ import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -33,20 +40,36 @@ import java.security.NoSuchAlgorithmException;
 
 /**
  * JGit implementation for GitConnectionFactory
- * 
+ *
+ * <p>Connections share repositories opened by previous connections to the same working directory,
+ * see {@link JGitRepositoryCache}. The number of cached repositories may be configured with
+ * 'git.jgit.repository_cache_size' property and JGit's pack file cache with 'git.jgit.packed_git_limit'
+ * and 'git.jgit.packed_git_mmap' properties.
+ *
+ * <p>Status of cached repositories inside of the tree watched by {@link FileWatcherNotificationHandler}
+ * is updated incrementally, see {@link StatusCache}.
+ *
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
 
+    /** Default number of cached repositories. */
+    static final int DEFAULT_REPOSITORY_CACHE_SIZE = 32;
+
     private final CredentialsLoader credentialsLoader;
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
 
+    private volatile JGitRepositoryCache repositoryCache;
+    private volatile File                watchRoot;
+
     @Inject
     public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = new JGitRepositoryCache(DEFAULT_REPOSITORY_CACHE_SIZE);
 
         // Install the all-trusting trust manager
         try {
@@ -75,19 +98,89 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
         Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        JGitConnection conn = new JGitConnection(gitRepo,
+                                                 repositoryCache.getCommitGraph(gitRepo),
+                                                 repositoryCache.getStatusCache(gitRepo),
+                                                 credentialsLoader,
+                                                 sshKeyProvider,
+                                                 userResolver);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    private Repository createRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryCache.open(workDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
     }
 
+    /** Sets the maximum number of repositories which are kept open between connections. */
+    @com.google.inject.Inject(optional = true)
+    public void setRepositoryCacheSize(@Named("git.jgit.repository_cache_size") int repositoryCacheSize) {
+        final JGitRepositoryCache previous = repositoryCache;
+        final JGitRepositoryCache newCache = new JGitRepositoryCache(repositoryCacheSize);
+        newCache.setWatchRoot(watchRoot);
+        repositoryCache = newCache;
+        previous.clear();
+    }
+
+    /**
+     * Subscribes to changes of the watched tree, so the status of cached repositories is found by re-checking
+     * of changed files instead of scanning of the whole working tree.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setFileWatcherNotificationHandler(FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(VirtualFileFilter.ACCEPT_ALL) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                repositoryCache.fileChanged(virtualFile.toIoFile());
+            }
+
+            @Override
+            public void onWatcherStarted(File root) {
+                watchRoot = root;
+                repositoryCache.setWatchRoot(root);
+            }
+
+            @Override
+            public void onWatcherError(File root, Throwable cause) {
+                watchRoot = null;
+                repositoryCache.setWatchRoot(null);
+            }
+
+            @Override
+            public void onWatcherEventsLost(File root) {
+                repositoryCache.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Configures JGit's cache of pack files which is shared by all the repositories,
+     * cached repositories keep their pack files open, so cached pack data is reused between connections.
+     *
+     * @param packedGitLimit
+     *         maximum number of bytes of pack files kept in memory
+     * @param packedGitMMAP
+     *         whether to use memory mapping for reading pack files
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setWindowCacheConfig(@Named("git.jgit.packed_git_limit") long packedGitLimit,
+                                     @Named("git.jgit.packed_git_mmap") boolean packedGitMMAP) {
+        final WindowCacheConfig config = new WindowCacheConfig();
+        config.setPackedGitLimit(packedGitLimit);
+        config.setPackedGitMMAP(packedGitMMAP);
+        config.install();
+    }
+
+    /** Closes repositories which are kept open between connections. */
+    @PreDestroy
+    public void closeRepositories() {
+        repositoryCache.clear();
+    }
+
     @Override
     public CredentialsLoader getCredentialsLoader() {
         return credentialsLoader;
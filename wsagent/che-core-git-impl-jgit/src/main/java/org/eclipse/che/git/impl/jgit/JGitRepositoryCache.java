@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded cache of open repositories keyed by working directory, so consecutive git operations on
+ * the same project don't re-read the configuration and re-open pack files of the repository,
+ * and pack data cached by JGit's {@link org.eclipse.jgit.storage.file.WindowCache} stays valid.
+ *
+ * <p>Cached repositories are reference-counted with {@link Repository#incrementOpen()} and {@link Repository#close()},
+ * the cache holds one reference and each caller of {@link #open(File)} holds another one until it closes the repository.
+ * Repository is really closed when it is evicted from the cache and all its callers closed it.
+ *
+ * <p>Repository is evicted when the least recently used repositories exceed the size of the cache or when its
+ * {@code .git} directory doesn't exist anymore or is re-created, e.g. when the project is removed or re-cloned.
+ * Changes made inside of {@code .git} directory by other processes, e.g. native git, are picked up
+ * by {@link FileRepository} itself, which re-reads modified configuration, refs and packs.
+ *
+ * <p>Each cached repository has its own {@link CommitGraph} and {@link StatusCache} which live as long as the repository
+ * is cached. Changes of working trees are passed to status caches with {@link #fileChanged(File)}, status caches of
+ * repositories outside of the watched tree, see {@link #setWatchRoot(File)}, scan the whole working tree every time.
+ */
+class JGitRepositoryCache {
+
+    private final int                                   maxSize;
+    private final LinkedHashMap<File, CachedRepository> repositories;
+
+    /** Canonical root of the tree which changes are reported with {@link #fileChanged(File)}. */
+    private File watchRoot;
+
+    JGitRepositoryCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.repositories = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns open repository of the given working directory, the caller must close it when it isn't needed anymore.
+     * Repositories which don't exist yet, e.g. which are going to be initialized or cloned, aren't cached.
+     */
+    Repository open(File workDir) throws IOException {
+        final File gitDir = new File(workDir, Constants.DOT_GIT).getAbsoluteFile();
+        final Object identity = getIdentity(gitDir);
+        if (identity == null) {
+            invalidate(gitDir);
+            return new FileRepository(gitDir);
+        }
+        synchronized (this) {
+            final CachedRepository cached = repositories.get(gitDir);
+            if (cached != null && cached.identity.equals(identity)) {
+                cached.repository.incrementOpen();
+                return cached.repository;
+            }
+        }
+        // open repository outside of the lock, it reads configuration of the repository
+        final Repository repository = new FileRepository(gitDir);
+        final File canonicalWorkDir = workDir.getCanonicalFile();
+        final List<Repository> evicted = new ArrayList<>();
+        final Repository result;
+        synchronized (this) {
+            final CachedRepository cached = repositories.get(gitDir);
+            if (cached != null && cached.identity.equals(identity)) {
+                // the same repository is opened concurrently
+                evicted.add(repository);
+                result = cached.repository;
+            } else {
+                if (cached != null) {
+                    evicted.add(cached.repository);
+                }
+                final CachedRepository newCached = new CachedRepository(repository, identity, gitDir.getParentFile(), canonicalWorkDir);
+                newCached.statusCache.setWatched(isWatched(newCached));
+                repositories.put(gitDir, newCached);
+                for (Iterator<CachedRepository> it = repositories.values().iterator(); repositories.size() > maxSize; ) {
+                    evicted.add(it.next().repository);
+                    it.remove();
+                }
+                result = repository;
+            }
+            result.incrementOpen();
+        }
+        evicted.forEach(Repository::close);
+        return result;
+    }
+
+    /**
+     * Returns commit graph of the repository returned by {@link #open(File)},
+     * or new graph if the repository isn't cached.
+     */
+    synchronized CommitGraph getCommitGraph(Repository repository) {
+        final CachedRepository cached = repositories.get(repository.getDirectory().getAbsoluteFile());
+        if (cached != null && cached.repository == repository) {
+            return cached.commitGraph;
+        }
+        return new CommitGraph();
+    }
+
+    /**
+     * Returns status cache of the repository returned by {@link #open(File)},
+     * or new cache which scans the whole working tree if the repository isn't cached.
+     */
+    synchronized StatusCache getStatusCache(Repository repository) {
+        final CachedRepository cached = repositories.get(repository.getDirectory().getAbsoluteFile());
+        if (cached != null && cached.repository == repository) {
+            return cached.statusCache;
+        }
+        return new StatusCache();
+    }
+
+    /**
+     * Sets root of the tree which changes are reported with {@link #fileChanged(File)}.
+     *
+     * @param watchRoot
+     *         canonical root of the watched tree or {@code null} if changes aren't reported anymore
+     */
+    synchronized void setWatchRoot(File watchRoot) {
+        this.watchRoot = watchRoot;
+        for (CachedRepository cached : repositories.values()) {
+            cached.statusCache.setWatched(isWatched(cached));
+        }
+    }
+
+    /** Marks the file or directory as changed in status cache of the repository which contains it. */
+    synchronized void fileChanged(File file) {
+        final String path = file.getAbsolutePath();
+        for (CachedRepository cached : repositories.values()) {
+            final String workDir = cached.workDir.getPath();
+            if (path.startsWith(workDir)) {
+                if (path.length() == workDir.length()) {
+                    cached.statusCache.invalidateAll();
+                } else if (path.charAt(workDir.length()) == File.separatorChar) {
+                    cached.statusCache.pathChanged(path.substring(workDir.length() + 1).replace(File.separatorChar, '/'));
+                }
+            }
+        }
+    }
+
+    /** Marks working trees of all the cached repositories as changed, e.g. when events of the watcher are lost. */
+    synchronized void invalidateAll() {
+        for (CachedRepository cached : repositories.values()) {
+            cached.statusCache.invalidateAll();
+        }
+    }
+
+    private boolean isWatched(CachedRepository cached) {
+        return watchRoot != null && cached.canonicalWorkDir.toPath().startsWith(watchRoot.toPath());
+    }
+
+    /** Evicts repository of the given {@code .git} directory from the cache. */
+    private void invalidate(File gitDir) {
+        final CachedRepository cached;
+        synchronized (this) {
+            cached = repositories.remove(gitDir);
+        }
+        if (cached != null) {
+            cached.repository.close();
+        }
+    }
+
+    /** Returns the number of cached repositories. */
+    synchronized int size() {
+        return repositories.size();
+    }
+
+    /** Evicts all the repositories from the cache. */
+    void clear() {
+        final List<CachedRepository> evicted;
+        synchronized (this) {
+            evicted = new ArrayList<>(repositories.values());
+            repositories.clear();
+        }
+        evicted.forEach(cached -> cached.repository.close());
+    }
+
+    /**
+     * Returns identity of the {@code .git} directory which is changed when it is re-created,
+     * or {@code null} if the directory doesn't exist.
+     */
+    private static Object getIdentity(File gitDir) throws IOException {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return null;
+            }
+            return Arrays.asList(attributes.fileKey(), attributes.creationTime());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static class CachedRepository {
+        final Repository  repository;
+        final Object      identity;
+        final File        workDir;
+        final File        canonicalWorkDir;
+        final CommitGraph commitGraph;
+        final StatusCache statusCache;
+
+        CachedRepository(Repository repository, Object identity, File workDir, File canonicalWorkDir) {
+            this.repository = repository;
+            this.identity = identity;
+            this.workDir = workDir;
+            this.canonicalWorkDir = canonicalWorkDir;
+            this.commitGraph = new CommitGraph();
+            this.statusCache = new StatusCache();
+        }
+    }
+}
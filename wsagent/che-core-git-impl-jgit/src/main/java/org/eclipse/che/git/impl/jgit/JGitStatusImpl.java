@@ -17,6 +17,7 @@ import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.jgit.api.StatusCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Repository;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -77,6 +78,29 @@ public class JGitStatusImpl implements Status, InfoPage {
         conflicting = new ArrayList<>(gitStatus.getConflicting());
     }
 
+    /**
+     * @param branchName
+     *         current repository branch name
+     * @param statusCache
+     *         cached status of the repository
+     * @param repository
+     *         repository which status is cached
+     * @param format
+     *         the output format for the status
+     * @throws GitException
+     *         when any error occurs
+     */
+    JGitStatusImpl(String branchName, StatusCache statusCache, Repository repository, StatusFormat format) throws GitException {
+        this.branchName = branchName;
+        this.format = format;
+
+        try {
+            statusCache.update(repository, this);
+        } catch (IOException exception) {
+            throw new GitException(exception.getMessage(), exception);
+        }
+    }
+
     @Override
     public void writeTo(OutputStream out) throws IOException {
         StringBuilder status = new StringBuilder();
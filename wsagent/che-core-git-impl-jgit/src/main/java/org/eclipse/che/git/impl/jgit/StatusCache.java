@@ -0,0 +1,474 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.IndexDiff;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.ADDED;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.CHANGED;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.CONFLICTING;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.MISSING;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.MODIFIED;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.REMOVED;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.UNTRACKED;
+import static org.eclipse.che.git.impl.jgit.StatusCache.Category.UNTRACKED_FOLDER;
+
+/**
+ * Status of the working tree of the repository which is kept between requests, so the status may be found
+ * without scanning of the whole working tree. Only changed paths are re-checked by the next request and all
+ * the other paths keep their cached status. Each request finds changed paths the way native git refreshes
+ * the index, i.e. by comparing modification time and size of files without reading them:
+ * <ul>
+ * <li>tracked files are compared with their index entries, racily clean entries are always re-checked</li>
+ * <li>files which have cached status, e.g. modified or untracked, are compared with their state at the previous request</li>
+ * <li>directories which contain tracked files or files with cached status are compared with their state at the
+ * previous request, so files created in them are found</li>
+ * </ul>
+ * So requests don't depend on delivery of file watcher events, which are delayed and don't cover excluded paths.
+ * Paths reported by the file watcher with {@link #pathChanged(String)} are re-checked as well.
+ *
+ * <p>The whole working tree is scanned when:
+ * <ul>
+ * <li>the working tree isn't watched, watching was interrupted or watcher lost events, see {@link #setWatched(boolean)}
+ * and {@link #invalidateAll()}</li>
+ * <li>more than {@link #MAX_DIRTY_PATHS} paths are changed since the previous request, the root of the working tree
+ * is changed or ignore rules are changed</li>
+ * <li>index, HEAD or configuration of the repository are changed, e.g. by commit, checkout or 'git add'</li>
+ * </ul>
+ * Re-checked paths are compared with the index by {@link IndexDiff} the same way as during full scan.
+ *
+ * <p>The cache is thread-safe.
+ */
+class StatusCache {
+
+    /** Maximum number of changed paths which are re-checked separately, whole working tree is scanned when exceeded. */
+    static final int MAX_DIRTY_PATHS = 1000;
+
+    /**
+     * Modification times which differ less than this are considered equal by the file systems with coarse
+     * timestamps, files modified within it before the previous request are re-checked by each request.
+     */
+    private static final long TIMESTAMP_RESOLUTION_MS = 2000;
+
+    enum Category {
+        ADDED, CHANGED, REMOVED, MISSING, MODIFIED, UNTRACKED, UNTRACKED_FOLDER, CONFLICTING
+    }
+
+    private final Object                             lock;
+    private final TreeMap<String, EnumSet<Category>> entries;
+
+    // guarded by lock
+    private Set<String> dirtyPaths;
+    private boolean     watched;
+    private boolean     valid;
+
+    /** State of the repository which cached entries correspond to. */
+    private List<Object> repositoryState;
+    /** Tracked files of the index read by the last full scan. */
+    private IndexEntry[] indexEntries;
+    /** Modification time of the index read by the last full scan. */
+    private long         indexModified;
+    /** States of files with cached status and of directories at the previous request, keyed by path. */
+    private Map<String, FileState> fileStates;
+    /** Time when the previous request started to check the working tree. */
+    private long         lastCheckTime;
+
+    StatusCache() {
+        this.lock = new Object();
+        this.entries = new TreeMap<>();
+        this.dirtyPaths = new HashSet<>();
+        this.indexEntries = new IndexEntry[0];
+        this.fileStates = new HashMap<>();
+    }
+
+    /**
+     * Sets whether changes of the working tree are reported with {@link #pathChanged(String)},
+     * the whole working tree is scanned by the next request anyway.
+     */
+    void setWatched(boolean watched) {
+        synchronized (lock) {
+            this.watched = watched;
+            invalidate();
+        }
+    }
+
+    /**
+     * Marks the path as changed, status of the path is re-checked by the next request.
+     *
+     * @param path
+     *         path of changed file or directory relative to the working tree, with '/' separators
+     */
+    void pathChanged(String path) {
+        if (path.equals(Constants.DOT_GIT) || path.startsWith(Constants.DOT_GIT + '/')) {
+            // changes of the repository itself are found by comparing of the repository state
+            return;
+        }
+        synchronized (lock) {
+            if (!valid) {
+                return;
+            }
+            if (path.isEmpty()
+                || path.equals(Constants.DOT_GIT_IGNORE)
+                || path.endsWith('/' + Constants.DOT_GIT_IGNORE)
+                || dirtyPaths.size() >= MAX_DIRTY_PATHS) {
+                invalidate();
+            } else {
+                dirtyPaths.add(path);
+            }
+        }
+    }
+
+    /** Marks the whole working tree as changed. */
+    void invalidateAll() {
+        synchronized (lock) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Updates the cached status of the working tree and copies it to the given status.
+     *
+     * @param repository
+     *         repository of the working tree
+     * @param status
+     *         status to fill in
+     * @throws IOException
+     *         when any error occurs while the working tree or the index are read
+     */
+    synchronized void update(Repository repository, Status status) throws IOException {
+        final long checkTime = System.currentTimeMillis();
+        final List<Object> currentState = getRepositoryState(repository);
+        boolean fullScan;
+        final Set<String> changedPaths;
+        synchronized (lock) {
+            fullScan = !valid || !currentState.equals(repositoryState);
+            changedPaths = dirtyPaths;
+            dirtyPaths = new HashSet<>();
+            // changes reported from now on are re-checked by the next request
+            valid = watched;
+        }
+        try {
+            final File workTree = repository.getWorkTree();
+            if (!fullScan) {
+                fullScan = !findChangedPaths(workTree, changedPaths);
+            }
+            if (fullScan) {
+                entries.clear();
+                readIndex(repository);
+                diff(repository, null);
+            } else if (!changedPaths.isEmpty()) {
+                diff(repository, removeEntries(changedPaths));
+            }
+            fileStates = readFileStates(workTree);
+        } catch (IOException | RuntimeException e) {
+            invalidateAll();
+            throw e;
+        }
+        repositoryState = currentState;
+        lastCheckTime = checkTime;
+
+        final Map<Category, List<String>> paths = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            paths.put(category, new ArrayList<>());
+        }
+        for (Map.Entry<String, EnumSet<Category>> entry : entries.entrySet()) {
+            for (Category category : entry.getValue()) {
+                // folder is untracked while it contains untracked files, even if it wasn't re-checked itself
+                if (category != UNTRACKED_FOLDER || containsUntracked(entry.getKey())) {
+                    paths.get(category).add(entry.getKey());
+                }
+            }
+        }
+        status.setAdded(paths.get(ADDED));
+        status.setChanged(paths.get(CHANGED));
+        status.setRemoved(paths.get(REMOVED));
+        status.setMissing(paths.get(MISSING));
+        status.setModified(paths.get(MODIFIED));
+        status.setUntracked(paths.get(UNTRACKED));
+        status.setUntrackedFolders(paths.get(UNTRACKED_FOLDER));
+        status.setConflicting(paths.get(CONFLICTING));
+        status.setClean(paths.entrySet()
+                             .stream()
+                             .allMatch(entry -> entry.getKey() == UNTRACKED_FOLDER || entry.getValue().isEmpty()));
+    }
+
+    private void invalidate() {
+        valid = false;
+        dirtyPaths.clear();
+    }
+
+    /**
+     * Adds paths which are changed since the previous request to the given paths.
+     *
+     * @return {@code false} if the whole working tree should be scanned
+     */
+    private boolean findChangedPaths(File workTree, Set<String> changedPaths) {
+        for (IndexEntry entry : indexEntries) {
+            final FileState state = FileState.of(new File(workTree, entry.path));
+            boolean changed = state == null || !sameTime(state.lastModified, entry.lastModified) || state.length != entry.length;
+            if (!changed && isRacilyClean(entry)) {
+                // file may be modified in the same time slot the index was written,
+                // so it is re-checked until it is found unchanged since the previous request
+                changed = isChanged(state, fileStates.get(entry.path));
+            }
+            if (changed) {
+                changedPaths.add(entry.path);
+            }
+            if (changedPaths.size() > MAX_DIRTY_PATHS) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, FileState> recorded : fileStates.entrySet()) {
+            final String path = recorded.getKey();
+            final FileState previous = recorded.getValue();
+            final FileState state = FileState.of(path.isEmpty() ? workTree : new File(workTree, path));
+            if (isChanged(state, previous)) {
+                if (path.isEmpty()) {
+                    // files are created or removed in the root of the working tree
+                    return false;
+                }
+                changedPaths.add(path);
+            }
+            if (changedPaths.size() > MAX_DIRTY_PATHS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isRacilyClean(IndexEntry entry) {
+        return entry.lastModified >= indexModified - TIMESTAMP_RESOLUTION_MS;
+    }
+
+    /**
+     * Returns {@code true} if the current state of the file differs from its state at the previous request,
+     * or if the file was modified so close to the previous request that its modification might be not visible.
+     */
+    private boolean isChanged(FileState state, FileState previous) {
+        return state == null
+               || previous == null
+               || !sameTime(state.lastModified, previous.lastModified)
+               || (!state.directory && state.length != previous.length)
+               || previous.lastModified >= lastCheckTime - TIMESTAMP_RESOLUTION_MS;
+    }
+
+    /** Remembers tracked files of the index. */
+    private void readIndex(Repository repository) throws IOException {
+        final DirCache dirCache = repository.readDirCache();
+        final List<IndexEntry> tracked = new ArrayList<>(dirCache.getEntryCount());
+        for (int i = 0; i < dirCache.getEntryCount(); i++) {
+            final DirCacheEntry entry = dirCache.getEntry(i);
+            // conflicting entries have cached status, submodules aren't compared by size
+            if (entry.getStage() == DirCacheEntry.STAGE_0 && entry.getFileMode() != FileMode.GITLINK) {
+                tracked.add(new IndexEntry(entry.getPathString(), entry.getLastModified(), entry.getLength()));
+            }
+        }
+        indexEntries = tracked.toArray(new IndexEntry[tracked.size()]);
+        indexModified = repository.getIndexFile().lastModified();
+    }
+
+    /**
+     * Returns states of the files with cached status, of the racily clean tracked files
+     * and of the directories which contain them or tracked files.
+     */
+    private Map<String, FileState> readFileStates(File workTree) {
+        final Set<String> directories = new HashSet<>();
+        directories.add("");
+        for (String path : entries.keySet()) {
+            addParents(path, directories);
+        }
+        final Set<String> paths = new HashSet<>(entries.keySet());
+        for (IndexEntry entry : indexEntries) {
+            if (isRacilyClean(entry)) {
+                paths.add(entry.path);
+            }
+            addParents(entry.path, directories);
+        }
+        paths.addAll(directories);
+        final Map<String, FileState> states = new HashMap<>();
+        for (String path : paths) {
+            final FileState state = FileState.of(path.isEmpty() ? workTree : new File(workTree, path));
+            if (state != null) {
+                states.put(path, state);
+            }
+        }
+        return states;
+    }
+
+    private static void addParents(String path, Set<String> directories) {
+        int i = path.lastIndexOf('/');
+        // parents of already added directory are added as well
+        while (i > 0 && directories.add(path.substring(0, i))) {
+            i = path.lastIndexOf('/', i - 1);
+        }
+    }
+
+    /**
+     * Compares modification times, times with whole seconds are compared with seconds precision,
+     * because some file systems and tools, e.g. JGit on some platforms, truncate times to seconds.
+     */
+    private static boolean sameTime(long time1, long time2) {
+        return time1 == time2 || ((time1 % 1000 == 0 || time2 % 1000 == 0) && time1 / 1000 == time2 / 1000);
+    }
+
+    /**
+     * Removes cached entries of the given paths and their sub-trees, returns paths which should be re-checked.
+     * Untracked folders are re-checked together with their changed content, because they are reported
+     * only while they contain untracked files.
+     */
+    private Set<String> removeEntries(Set<String> changedPaths) {
+        final Set<String> paths = new HashSet<>(changedPaths);
+        for (String path : changedPaths) {
+            for (int i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+                final String parent = path.substring(0, i);
+                final EnumSet<Category> categories = entries.get(parent);
+                if (categories != null && categories.contains(UNTRACKED_FOLDER)) {
+                    paths.add(parent);
+                }
+            }
+        }
+        for (String path : paths) {
+            entries.remove(path);
+            entries.subMap(path + '/', path + (char)('/' + 1)).clear();
+        }
+        return paths;
+    }
+
+    /** Compares the working tree with the index and HEAD, only the given paths are compared if they aren't {@code null}. */
+    private void diff(Repository repository, Set<String> paths) throws IOException {
+        final IndexDiff diff = new IndexDiff(repository, Constants.HEAD, new FileTreeIterator(repository));
+        if (paths != null) {
+            diff.setFilter(PathFilterGroup.createFromStrings(paths));
+        }
+        diff.diff();
+        add(diff.getAdded(), ADDED);
+        add(diff.getChanged(), CHANGED);
+        add(diff.getRemoved(), REMOVED);
+        add(diff.getMissing(), MISSING);
+        add(diff.getModified(), MODIFIED);
+        add(diff.getUntracked(), UNTRACKED);
+        add(diff.getConflicting(), CONFLICTING);
+        for (String folder : diff.getUntrackedFolders()) {
+            // index entries outside of the filter aren't visible to the diff, so it may report ancestor of
+            // re-checked path as untracked folder, folders inside of re-checked paths are reported correctly
+            if (paths == null || isInside(folder, paths)) {
+                entries.computeIfAbsent(folder, key -> EnumSet.noneOf(Category.class)).add(UNTRACKED_FOLDER);
+            }
+        }
+    }
+
+    private boolean containsUntracked(String folder) {
+        return entries.subMap(folder + '/', folder + (char)('/' + 1))
+                      .values()
+                      .stream()
+                      .anyMatch(categories -> categories.contains(UNTRACKED));
+    }
+
+    /** Returns {@code true} if the path is equal to any of the given paths or it is inside of any of them. */
+    private static boolean isInside(String path, Set<String> paths) {
+        for (int i = path.length(); i > 0; i = path.lastIndexOf('/', i - 1)) {
+            if (paths.contains(path.substring(0, i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(Collection<String> paths, Category category) {
+        for (String path : paths) {
+            entries.computeIfAbsent(path, key -> EnumSet.noneOf(Category.class)).add(category);
+        }
+    }
+
+    /** Returns state of the repository which affects the status of any path of the working tree. */
+    private static List<Object> getRepositoryState(Repository repository) throws IOException {
+        final File gitDir = repository.getDirectory();
+        return Arrays.asList(repository.getFullBranch(),
+                             repository.resolve(Constants.HEAD),
+                             getFileState(repository.getIndexFile()),
+                             getFileState(new File(gitDir, Constants.CONFIG)),
+                             getFileState(new File(gitDir, Constants.INFO_EXCLUDE)));
+    }
+
+    /** Tracked file of the index. */
+    private static class IndexEntry {
+        final String path;
+        final long   lastModified;
+        final long   length;
+
+        IndexEntry(String path, long lastModified, long length) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+
+    /** Modification time and size of the file or directory. */
+    private static class FileState {
+        final long    lastModified;
+        final long    length;
+        final boolean directory;
+
+        FileState(long lastModified, long length, boolean directory) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.directory = directory;
+        }
+
+        /** Returns state of the file or {@code null} if the file doesn't exist. */
+        static FileState of(File file) {
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(file.toPath(),
+                                                                            BasicFileAttributes.class,
+                                                                            LinkOption.NOFOLLOW_LINKS);
+                return new FileState(attributes.lastModifiedTime().toMillis(), attributes.size(), attributes.isDirectory());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    /** Returns state of the file which is changed when the file is modified or replaced. */
+    private static Object getFileState(File file) throws IOException {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
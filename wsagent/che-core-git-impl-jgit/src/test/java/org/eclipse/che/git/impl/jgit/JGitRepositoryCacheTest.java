@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link JGitRepositoryCache}.
+ */
+public class JGitRepositoryCacheTest {
+
+    private File                root;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("repository-cache").toFile();
+        cache = new JGitRepositoryCache(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cache.clear();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldReturnTheSameRepositoryForTheSameWorkingDirectory() throws Exception {
+        final File workDir = createRepository("project");
+
+        final Repository first = cache.open(workDir);
+        first.close();
+        final Repository second = cache.open(workDir);
+        second.close();
+
+        assertSame(second, first);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoryWhichDoesNotExist() throws Exception {
+        final File workDir = new File(root, "project");
+
+        final Repository repository = cache.open(workDir);
+        repository.create();
+        repository.close();
+
+        assertEquals(cache.size(), 0);
+        final Repository cached = cache.open(workDir);
+        cached.close();
+        assertNotSame(cached, repository);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldEvictRepositoryWhenItsGitDirectoryIsRemoved() throws Exception {
+        final File workDir = createRepository("project");
+        cache.open(workDir).close();
+
+        IoUtil.deleteRecursive(new File(workDir, ".git"));
+        final Repository repository = cache.open(workDir);
+        repository.close();
+
+        assertFalse(repository.getObjectDatabase().exists());
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedRepositories() throws Exception {
+        final Repository first = cache.open(createRepository("first"));
+        final Repository second = cache.open(createRepository("second"));
+        final Repository third = cache.open(createRepository("third"));
+
+        assertEquals(cache.size(), 2);
+        // evicted repository stays usable until it is closed by the caller
+        assertTrue(first.getObjectDatabase().exists());
+        final Repository reopened = cache.open(first.getWorkTree());
+        assertNotSame(reopened, first);
+
+        reopened.close();
+        first.close();
+        second.close();
+        third.close();
+    }
+
+    private File createRepository(String name) throws Exception {
+        final File workDir = new File(root, name);
+        final Repository repository = new FileRepository(new File(workDir, ".git"));
+        repository.create();
+        repository.close();
+        return workDir;
+    }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link StatusCache}.
+ */
+public class StatusCacheTest {
+
+    private File        workDir;
+    private Git         git;
+    private StatusCache statusCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("status-cache").toFile();
+        git = Git.init().setDirectory(workDir).call();
+        write("README", "readme");
+        write("src/Main.java", "class Main {}");
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("Initial commit").call();
+        statusCache = new StatusCache();
+        statusCache.setWatched(true);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        git.close();
+        IoUtil.deleteRecursive(workDir);
+    }
+
+    @Test
+    public void shouldFindChangesWhichAreNotReportedByWatcher() throws Exception {
+        assertTrue(status().isClean());
+
+        write("README", "changed readme");
+        write("src/Main.java", "class Main { int field; }");
+        statusCache.pathChanged("README");
+        Status status = status();
+
+        assertEquals(status.getModified(), asList("README", "src/Main.java"));
+        assertFalse(status.isClean());
+
+        write("src/Other.java", "class Other {}");
+        status = status();
+
+        assertEquals(status.getUntracked(), singletonList("src/Other.java"));
+    }
+
+    @Test
+    public void shouldFindUntrackedAndMissingFiles() throws Exception {
+        status();
+
+        write("src/pkg/New.java", "class New {}");
+        new File(workDir, "README").delete();
+        statusCache.pathChanged("src/pkg");
+        statusCache.pathChanged("src/pkg/New.java");
+        statusCache.pathChanged("README");
+        Status status = status();
+
+        assertEquals(status.getUntracked(), singletonList("src/pkg/New.java"));
+        assertEquals(status.getUntrackedFolders(), singletonList("src/pkg"));
+        assertEquals(status.getMissing(), singletonList("README"));
+
+        IoUtil.deleteRecursive(new File(workDir, "src/pkg"));
+        statusCache.pathChanged("src/pkg");
+        status = status();
+
+        assertTrue(status.getUntracked().isEmpty());
+        assertTrue(status.getUntrackedFolders().isEmpty());
+    }
+
+    @Test
+    public void shouldScanWholeWorkingTreeWhenIndexIsChanged() throws Exception {
+        status();
+
+        write("src/Main.java", "class Main { }");
+        git.add().addFilepattern("src/Main.java").call();
+        final Status status = status();
+
+        assertEquals(status.getChanged(), singletonList("src/Main.java"));
+        assertTrue(status.getModified().isEmpty());
+    }
+
+    @Test
+    public void shouldScanWholeWorkingTreeWhenTooManyPathsAreChanged() throws Exception {
+        status();
+
+        write("README", "changed readme");
+        for (int i = 0; i <= StatusCache.MAX_DIRTY_PATHS; i++) {
+            statusCache.pathChanged("file" + i);
+        }
+        statusCache.pathChanged("src/Main.java");
+
+        assertEquals(status().getModified(), singletonList("README"));
+    }
+
+    @Test
+    public void shouldScanWholeWorkingTreeWhenItIsNotWatched() throws Exception {
+        statusCache.setWatched(false);
+        status();
+
+        write("README", "changed readme");
+
+        assertEquals(status().getModified(), singletonList("README"));
+    }
+
+    private Status status() throws Exception {
+        final Repository repository = git.getRepository();
+        return new JGitStatusImpl("master", statusCache, repository, StatusFormat.SHORT);
+    }
+
+    private void write(String path, String content) throws Exception {
+        final File file = new File(workDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes());
+    }
+}
@@ -411,7 +411,11 @@ public class NativeGitConnection implements GitConnection {
     @Override
     public LogPage log(LogRequest request) throws GitException {
         try {
-            return new LogPage(nativeGit.createLogCommand().setFileFilter(request.getFileFilter()).execute());
+            return new LogPage(nativeGit.createLogCommand()
+                                        .setFileFilter(request.getFileFilter())
+                                        .setSkip(request.getSkip())
+                                        .setCount(request.getMaxCount())
+                                        .execute());
         } catch (ServerException exception) {
             if (noInitCommitWhenLogErrorPattern.matcher(exception.getMessage()).find()) {
                 throw new GitException(exception.getMessage(), ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.HttpMethod;
+import java.io.IOException;
+
+/**
+ * Notifies the Che server that the ws agent is started, so the server doesn't wait for the next ping of the agent.
+ * The notification is sent in background and its failure doesn't affect the agent,
+ * as the server keeps pinging agents which don't notify about their start.
+ */
+@Singleton
+public class WsAgentStartNotifier {
+    private static final Logger LOG = LoggerFactory.getLogger(WsAgentStartNotifier.class);
+
+    private final String                 notificationUrl;
+    private final HttpJsonRequestFactory httpJsonRequestFactory;
+
+    @Inject
+    public WsAgentStartNotifier(@Named("api.endpoint") String apiEndpoint, HttpJsonRequestFactory httpJsonRequestFactory) {
+        this.notificationUrl = (apiEndpoint.endsWith("/") ? apiEndpoint : apiEndpoint + "/")
+                               + "ws-agent/" + WorkspaceIdProvider.getWorkspaceId() + "/started";
+        this.httpJsonRequestFactory = httpJsonRequestFactory;
+    }
+
+    @PostConstruct
+    public void start() {
+        final Thread notifier = new Thread(this::notifyStarted, "WsAgentStartNotifier");
+        notifier.setDaemon(true);
+        notifier.start();
+    }
+
+    private void notifyStarted() {
+        try {
+            httpJsonRequestFactory.fromUrl(notificationUrl)
+                                  .setMethod(HttpMethod.POST)
+                                  .setTimeout(2000)
+                                  .request();
+        } catch (ApiException | IOException e) {
+            LOG.warn("Unable to notify the Che server about the start of the ws agent. {}", e.getLocalizedMessage());
+        }
+    }
+}
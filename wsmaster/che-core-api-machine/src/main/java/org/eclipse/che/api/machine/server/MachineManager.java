@@ -25,7 +25,6 @@ import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
@@ -33,6 +32,8 @@ import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.exception.UnsupportedRecipeException;
+import org.eclipse.che.api.machine.server.logs.MachineLog;
+import org.eclipse.che.api.machine.server.logs.MachineLogStore;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -45,7 +46,6 @@ import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
-import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -57,11 +57,10 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.io.File;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -89,7 +88,7 @@ public class MachineManager {
     private static final Pattern MACHINE_DISPLAY_NAME_PATTERN = Pattern.compile("^/?[a-zA-Z0-9_-]+$");
 
     private final SnapshotDao              snapshotDao;
-    private final File                     machineLogsDir;
+    private final MachineLogStore          logStore;
     private final MachineInstanceProviders machineInstanceProviders;
     private final ExecutorService          executor;
     private final MachineRegistry          machineRegistry;
@@ -97,20 +96,23 @@ public class MachineManager {
     private final int                      defaultMachineMemorySizeMB;
     private final MachineCleaner           machineCleaner;
     private final WsAgentLauncher          wsAgentLauncher;
+    private final MachineStartMetrics      startMetrics;
 
     @Inject
     public MachineManager(SnapshotDao snapshotDao,
                           MachineRegistry machineRegistry,
                           MachineInstanceProviders machineInstanceProviders,
-                          @Named("machine.logs.location") String machineLogsDir,
+                          MachineLogStore logStore,
                           EventService eventService,
                           @Named("machine.default_mem_size_mb") int defaultMachineMemorySizeMB,
-                          WsAgentLauncher wsAgentLauncher) {
+                          WsAgentLauncher wsAgentLauncher,
+                          MachineStartMetrics startMetrics) {
         this.snapshotDao = snapshotDao;
         this.machineInstanceProviders = machineInstanceProviders;
         this.eventService = eventService;
         this.wsAgentLauncher = wsAgentLauncher;
-        this.machineLogsDir = new File(machineLogsDir);
+        this.startMetrics = startMetrics;
+        this.logStore = logStore;
         this.machineRegistry = machineRegistry;
         this.defaultMachineMemorySizeMB = defaultMachineMemorySizeMB;
 
@@ -319,7 +321,6 @@ public class MachineManager {
                                                     MachineStatus.CREATING,
                                                     null);
 
-        createMachineLogsDir(machineId);
         final LineConsumer machineLogger = getMachineLogger(machineId, getMachineChannels(machine.getConfig().getName(),
                                                                                           machine.getWorkspaceId(),
                                                                                           machine.getEnvName())
@@ -348,7 +349,12 @@ public class MachineManager {
                                            .withWorkspaceId(machine.getWorkspaceId())
                                            .withMachineName(machine.getConfig().getName()));
 
+            final long instanceCreationStart = System.currentTimeMillis();
             instance = instanceProvider.createInstance(machine, machineLogger);
+            final long instanceCreationTime = System.currentTimeMillis() - instanceCreationStart;
+            startMetrics.record(MachineStartMetrics.Phase.INSTANCE_CREATE, instanceCreationTime);
+            LOG.info("Instance of machine '{}' of workspace '{}' is created in {} ms",
+                     machine.getId(), machine.getWorkspaceId(), instanceCreationTime);
 
             instance.setStatus(MachineStatus.RUNNING);
 
@@ -647,6 +653,11 @@ public class MachineManager {
                     processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
                 } catch (IOException ignored) {
                 }
+            } finally {
+                try {
+                    processLogger.close();
+                } catch (IOException ignored) {
+                }
             }
         }));
         return instanceProcess;
@@ -744,15 +755,29 @@ public class MachineManager {
      *         if other error occur
      */
     public Reader getMachineLogReader(String machineId) throws NotFoundException, MachineException {
-        final File machineLogsFile = getMachineLogsFile(machineId);
-        if (machineLogsFile.isFile()) {
-            try {
-                return Files.newBufferedReader(machineLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(String.format("Unable read log file for machine '%s'. %s", machineId, e.getMessage()));
-            }
+        final MachineLog log = getMachineLog(machineId);
+        try {
+            return new BufferedReader(new InputStreamReader(log.openContent(), log.getCharset()));
+        } catch (IOException e) {
+            throw new MachineException(String.format("Unable read log file for machine '%s'. %s", machineId, e.getMessage()));
         }
-        throw new NotFoundException(String.format("Logs for machine '%s' are not available", machineId));
+    }
+
+    /**
+     * Gets log of machine by specified id, it may be read by ranges of lines or bytes.
+     *
+     * @param machineId
+     *         machine id whose log will be returned
+     * @return log of specified machine
+     * @throws NotFoundException
+     *         if logs for machine with specified id not found
+     */
+    public MachineLog getMachineLog(String machineId) throws NotFoundException {
+        final MachineLog log = logStore.getMachineLog(machineId);
+        if (log == null) {
+            throw new NotFoundException(String.format("Logs for machine '%s' are not available", machineId));
+        }
+        return log;
     }
 
     /**
@@ -769,16 +794,32 @@ public class MachineManager {
      *         if other error occur
      */
     public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException, MachineException {
-        final File processLogsFile = getProcessLogsFile(machineId, pid);
-        if (processLogsFile.isFile()) {
-            try {
-                return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(
-                        String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
-            }
+        final MachineLog log = getProcessLog(machineId, pid);
+        try {
+            return new BufferedReader(new InputStreamReader(log.openContent(), log.getCharset()));
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Gets log of process from machine by specified id, it may be read by ranges of lines or bytes.
+     *
+     * @param machineId
+     *         machine id whose process log will be returned
+     * @param pid
+     *         process id
+     * @return log of specified process
+     * @throws NotFoundException
+     *         if logs for process with specified id not found
+     */
+    public MachineLog getProcessLog(String machineId, int pid) throws NotFoundException {
+        final MachineLog log = logStore.getProcessLog(machineId, pid);
+        if (log == null) {
+            throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
         }
-        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+        return log;
     }
 
     private SnapshotImpl doSaveMachine(SnapshotImpl snapshot, Instance machine) throws SnapshotException, MachineException {
@@ -851,6 +892,7 @@ public class MachineManager {
                 LOG.error(e.getLocalizedMessage(), e);
             }
         }
+        logStore.closeLogs(machine.getId());
 
         eventService.publish(newDto(MachineStatusEvent.class)
                                      .withEventType(MachineStatusEvent.EventType.DESTROYED)
@@ -860,32 +902,17 @@ public class MachineManager {
                                      .withMachineName(machine.getConfig().getName()));
     }
 
-    private void createMachineLogsDir(String machineId) throws MachineException {
-        File dir = new File(machineLogsDir, machineId);
-        if (!dir.exists() && !dir.mkdirs()) {
-            throw new MachineException("Can't create folder for the logs of machine");
-        }
-    }
-
-    private FileLineConsumer getMachineFileLogger(String machineId) throws MachineException {
+    private LineConsumer getMachineFileLogger(String machineId) throws MachineException {
         try {
-            return new FileLineConsumer(getMachineLogsFile(machineId));
+            return logStore.createMachineLog(machineId);
         } catch (IOException e) {
             throw new MachineException(String.format("Unable create log file for machine '%s'. %s", machineId, e.getMessage()));
         }
     }
 
-    private File getMachineLogsFile(String machineId) {
-        return new File(new File(machineLogsDir, machineId), "machineId.logs");
-    }
-
-    private File getProcessLogsFile(String machineId, int pid) {
-        return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
-    }
-
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private LineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return logStore.createProcessLog(machineId, pid);
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -974,12 +1001,8 @@ public class MachineManager {
 
     @SuppressWarnings("unused")
     @PostConstruct
-    private void createLogsDir() {
+    private void subscribe() {
         eventService.subscribe(machineCleaner);
-
-        if (!(machineLogsDir.exists() || machineLogsDir.mkdirs())) {
-            throw new IllegalStateException(String.format("Unable create directory %s", machineLogsDir.getAbsolutePath()));
-        }
     }
 
     @PreDestroy
@@ -1033,14 +1056,7 @@ public class MachineManager {
             executor.shutdownNow();
         }
 
-        final java.io.File[] files = machineLogsDir.listFiles();
-        if (files != null && files.length > 0) {
-            for (java.io.File f : files) {
-                if (!IoUtil.deleteRecursive(f)) {
-                    LOG.warn("Failed delete {}", f);
-                }
-            }
-        }
+        logStore.close();
         if (interrupted) {
             Thread.currentThread().interrupt();
         }
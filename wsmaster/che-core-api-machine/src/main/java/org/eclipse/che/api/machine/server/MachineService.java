@@ -16,7 +16,7 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
-import com.google.common.io.CharStreams;
+import com.google.common.io.ByteStreams;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -25,6 +25,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.logs.LogRange;
+import org.eclipse.che.api.machine.server.logs.MachineLog;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
@@ -47,9 +49,12 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
-import java.io.Reader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -284,13 +289,30 @@ public class MachineService extends Service {
     @Path("/{machineId}/logs")
     @Produces(MediaType.TEXT_PLAIN)
     @RolesAllowed("user")
-    @ApiOperation(value = "Get logs of machine")
+    @ApiOperation(value = "Get logs of machine",
+                  notes = "Whole log is returned if neither tail, nor lines or bytes range is specified")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 400, message = "Range of logs is invalid"),
                    @ApiResponse(code = 404, message = "Machine with specified ID does not exist"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void getMachineLogs(@ApiParam(value = "Machine ID")
                                @PathParam("machineId")
                                String machineId,
+                               @ApiParam(value = "Number of last lines")
+                               @QueryParam("tail")
+                               Integer tail,
+                               @ApiParam(value = "From line, starting from 1")
+                               @QueryParam("startFrom")
+                               Long startFrom,
+                               @ApiParam(value = "Number of lines")
+                               @QueryParam("limit")
+                               Integer limit,
+                               @ApiParam(value = "From byte, starting from 0")
+                               @QueryParam("offset")
+                               Long offset,
+                               @ApiParam(value = "Number of bytes")
+                               @QueryParam("length")
+                               Long length,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
@@ -298,15 +320,17 @@ public class MachineService extends Service {
                    ServerException,
                    IOException {
 
-        addLogsToResponse(machineManager.getMachineLogReader(machineId), httpServletResponse);
+        addLogsToResponse(machineManager.getMachineLog(machineId), tail, startFrom, limit, offset, length, httpServletResponse);
     }
 
     @GET
     @Path("/{machineId}/process/{pid}/logs")
     @Produces(MediaType.TEXT_PLAIN)
     @RolesAllowed("user")
-    @ApiOperation(value = "Get logs of machine process")
+    @ApiOperation(value = "Get logs of machine process",
+                  notes = "Whole log is returned if neither tail, nor lines or bytes range is specified")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 400, message = "Range of logs is invalid"),
                    @ApiResponse(code = 404, message = "Machine or process with specified ID does not exist"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void getProcessLogs(@ApiParam(value = "Machine ID")
@@ -315,6 +339,21 @@ public class MachineService extends Service {
                                @ApiParam(value = "Process ID")
                                @PathParam("pid")
                                int pid,
+                               @ApiParam(value = "Number of last lines")
+                               @QueryParam("tail")
+                               Integer tail,
+                               @ApiParam(value = "From line, starting from 1")
+                               @QueryParam("startFrom")
+                               Long startFrom,
+                               @ApiParam(value = "Number of lines")
+                               @QueryParam("limit")
+                               Integer limit,
+                               @ApiParam(value = "From byte, starting from 0")
+                               @QueryParam("offset")
+                               Long offset,
+                               @ApiParam(value = "Number of bytes")
+                               @QueryParam("length")
+                               Long length,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
@@ -322,7 +361,7 @@ public class MachineService extends Service {
                    ServerException,
                    IOException {
 
-        addLogsToResponse(machineManager.getProcessLogReader(machineId, pid), httpServletResponse);
+        addLogsToResponse(machineManager.getProcessLog(machineId, pid), tail, startFrom, limit, offset, length, httpServletResponse);
     }
 
     /**
@@ -427,11 +466,48 @@ public class MachineService extends Service {
         targetMachine.copy(sourceMachine, sourcePath, targetPath, overwrite);
     }
 
-    private void addLogsToResponse(Reader logsReader, HttpServletResponse httpServletResponse) throws IOException {
+    private void addLogsToResponse(MachineLog log,
+                                   Integer tail,
+                                   Long startFrom,
+                                   Integer limit,
+                                   Long offset,
+                                   Long length,
+                                   HttpServletResponse httpServletResponse) throws IOException, BadRequestException {
+        requiredNotNegative(tail, "Tail");
+        requiredNotNegative(limit, "Limit");
+        requiredNotNegative(offset, "Offset");
+        requiredNotNegative(length, "Length");
+        if (startFrom != null && startFrom < 1) {
+            throw new BadRequestException("Start line must be greater than 0");
+        }
         // Response is written directly to the servlet request stream
-        httpServletResponse.setContentType("text/plain");
-        CharStreams.copy(logsReader, httpServletResponse.getWriter());
-        httpServletResponse.getWriter().flush();
+        httpServletResponse.setContentType("text/plain;charset=" + log.getCharset().name());
+        final OutputStream output = httpServletResponse.getOutputStream();
+        final LogRange range;
+        if (tail != null) {
+            range = log.tail(tail);
+        } else if (startFrom != null) {
+            range = log.lines(startFrom, limit == null ? Integer.MAX_VALUE : limit);
+        } else if (offset != null || length != null) {
+            range = log.bytes(offset == null ? 0 : offset, length == null ? Long.MAX_VALUE : length);
+        } else {
+            try (InputStream content = log.openContent()) {
+                ByteStreams.copy(content, output);
+            }
+            output.flush();
+            return;
+        }
+        try (LogRange logRange = range) {
+            httpServletResponse.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(logRange.getLength()));
+            logRange.transferTo(Channels.newChannel(output));
+        }
+        output.flush();
+    }
+
+    private void requiredNotNegative(Number number, String subject) throws BadRequestException {
+        if (number != null && number.longValue() < 0) {
+            throw new BadRequestException(subject + " must not be negative");
+        }
     }
 
     /**
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server;
+
+import javax.inject.Singleton;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Durations of the phases of machines start, so the phases which take the most time of workspaces start can be found.
+ */
+@Singleton
+public class MachineStartMetrics {
+
+    /** Phases of the machine start in the order they happen. */
+    public enum Phase {
+        /** Creation of the machine instance, e.g. build or pull of the image and start of the container. */
+        INSTANCE_CREATE,
+        /** From the launch of the ws agent process till the agent notifies that it is started or answers the ping. */
+        AGENT_BOOT,
+        /** From the notification of the agent till the first successful ping of the agent. */
+        AGENT_FIRST_PING
+    }
+
+    private final Map<Phase, Statistics> statistics;
+
+    public MachineStartMetrics() {
+        this.statistics = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            statistics.put(phase, new Statistics());
+        }
+    }
+
+    /** Records duration of the phase. */
+    public void record(Phase phase, long durationMs) {
+        final Statistics phaseStatistics = statistics.get(phase);
+        synchronized (phaseStatistics) {
+            phaseStatistics.count++;
+            phaseStatistics.total += durationMs;
+            phaseStatistics.max = Math.max(phaseStatistics.max, durationMs);
+        }
+    }
+
+    /** Returns the number of recorded durations of the phase. */
+    public long getCount(Phase phase) {
+        final Statistics phaseStatistics = statistics.get(phase);
+        synchronized (phaseStatistics) {
+            return phaseStatistics.count;
+        }
+    }
+
+    /** Returns the average duration of the phase or 0 if the phase wasn't recorded. */
+    public long getAverageMs(Phase phase) {
+        final Statistics phaseStatistics = statistics.get(phase);
+        synchronized (phaseStatistics) {
+            return phaseStatistics.count == 0 ? 0 : phaseStatistics.total / phaseStatistics.count;
+        }
+    }
+
+    /** Returns the max duration of the phase or 0 if the phase wasn't recorded. */
+    public long getMaxMs(Phase phase) {
+        final Statistics phaseStatistics = statistics.get(phase);
+        synchronized (phaseStatistics) {
+            return phaseStatistics.max;
+        }
+    }
+
+    private static class Statistics {
+        long count;
+        long total;
+        long max;
+    }
+}
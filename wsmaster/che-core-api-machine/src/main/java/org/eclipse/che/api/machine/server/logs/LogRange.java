@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.logs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Range of bytes of the log file which is opened for reading. The range stays readable even if the log
+ * is written or rotated after the range is opened.
+ */
+public class LogRange implements Closeable {
+    private final FileChannel channel;
+    private final long        position;
+    private final long        length;
+
+    LogRange(FileChannel channel, long position, long length) {
+        this.channel = channel;
+        this.position = position;
+        this.length = length;
+    }
+
+    /** Returns the number of bytes in the range. */
+    public long getLength() {
+        return length;
+    }
+
+    /** Transfers content of the range to the target channel with {@link FileChannel#transferTo(long, long, WritableByteChannel)}. */
+    public void transferTo(WritableByteChannel target) throws IOException {
+        long transferred = 0;
+        while (transferred < length) {
+            final long count = channel.transferTo(position + transferred, length - transferred, target);
+            if (count <= 0) {
+                throw new IOException("Unexpected end of log");
+            }
+            transferred += count;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,387 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.logs;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log of machine or process, which is written line by line and read either whole or by ranges of lines or bytes.
+ *
+ * <p>Lines are collected in memory buffer and written to the file by single write when the buffer is full,
+ * when {@link #flush()} is called by {@link MachineLogStore} periodically, or before the log is read,
+ * so readers always see all the written lines.
+ *
+ * <p>When the log file exceeds the max size it is rotated: the file is renamed and compressed in background,
+ * only a limited number of rotated files is kept. Lines and bytes are numbered from the start of the log
+ * including rotated files, but ranges can be read only from the current file, see {@link #lines(long, int)}
+ * and {@link #bytes(long, long)}, while {@link #openContent()} includes kept rotated files.
+ *
+ * <p>Offsets of every {@link #INDEX_INTERVAL}th line of the current file are kept in memory,
+ * so any line is found by reading at most {@link #INDEX_INTERVAL} lines of the file.
+ */
+public class MachineLog implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(MachineLog.class);
+
+    static final int INDEX_INTERVAL = 16;
+
+    private final File                  file;
+    private final Charset               charset;
+    private final int                   bufferSize;
+    private final long                  maxFileSize;
+    private final int                   maxRotatedFiles;
+    private final Executor              compressor;
+    private final List<Segment>         rotated;
+
+    /** Buffered lines, released when the log is closed. */
+    private ByteArrayOutputStream buffer;
+    private OutputStream          output;
+    private boolean               closed;
+    private int          rotations;
+    /** Length of the current file including buffered lines. */
+    private long         length;
+    /** Number of lines in the current file including buffered lines. */
+    private int          lines;
+    /** Offsets of lines 0, INDEX_INTERVAL, 2 * INDEX_INTERVAL... of the current file. */
+    private long[]       index;
+    private long         rotatedBytes;
+    private long         rotatedLines;
+
+    /**
+     * Creates new empty log, the file is truncated if it exists.
+     *
+     * @param file
+     *         log file
+     * @param bufferSize
+     *         size of buffered lines which are written to the file at once
+     * @param maxFileSize
+     *         size of the file when it is rotated
+     * @param maxRotatedFiles
+     *         number of kept rotated files
+     * @param compressor
+     *         executor which compresses rotated files
+     */
+    MachineLog(File file, int bufferSize, long maxFileSize, int maxRotatedFiles, Executor compressor) throws IOException {
+        this.file = file;
+        this.charset = Charset.defaultCharset();
+        this.bufferSize = bufferSize;
+        this.maxFileSize = maxFileSize;
+        this.maxRotatedFiles = maxRotatedFiles;
+        this.compressor = compressor;
+        this.buffer = new ByteArrayOutputStream(bufferSize);
+        this.rotated = new ArrayList<>();
+        this.index = new long[16];
+        this.output = new FileOutputStream(file);
+    }
+
+    /** Returns charset of the log content. */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        final byte[] bytes = ((line == null ? "" : line) + '\n').getBytes(charset);
+        synchronized (this) {
+            if (closed) {
+                throw new IOException(String.format("Log %s is closed", file));
+            }
+            if (lines % INDEX_INTERVAL == 0) {
+                final int position = lines / INDEX_INTERVAL;
+                if (position == index.length) {
+                    index = Arrays.copyOf(index, index.length * 2);
+                }
+                index[position] = length;
+            }
+            buffer.write(bytes);
+            length += bytes.length;
+            lines++;
+            if (buffer.size() >= bufferSize) {
+                writeBuffer();
+            }
+        }
+    }
+
+    /** Writes buffered lines to the file. */
+    public synchronized void flush() throws IOException {
+        if (!closed && buffer.size() > 0) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * Writes buffered lines and closes the file, the log can't be written anymore but can still be read.
+     * Memory buffer of the log is released.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            buffer = null;
+            output.close();
+        }
+    }
+
+    /** Returns {@code true} if the log is closed and can't be written anymore. */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Returns the number of lines written to the log, including lines of rotated files. */
+    public synchronized long getLineCount() {
+        return rotatedLines + lines;
+    }
+
+    /** Returns the number of bytes written to the log, including bytes of rotated files. */
+    public synchronized long getLength() {
+        return rotatedBytes + length;
+    }
+
+    /**
+     * Returns range with the last lines of the current file.
+     *
+     * @param count
+     *         max number of lines
+     */
+    public LogRange tail(int count) throws IOException {
+        synchronized (this) {
+            flush();
+            return open(Math.max(0, lines - Math.max(count, 0)), lines);
+        }
+    }
+
+    /**
+     * Returns range of lines of the current file. Lines of rotated files aren't available,
+     * so the range starts from the first line of the current file if {@code startFrom} is in rotated files.
+     *
+     * @param startFrom
+     *         number of the first line starting from 1
+     * @param limit
+     *         max number of lines
+     */
+    public LogRange lines(long startFrom, int limit) throws IOException {
+        synchronized (this) {
+            flush();
+            final int from = (int)Math.max(0, Math.min(lines, startFrom - 1 - rotatedLines));
+            final int to = (int)Math.min(lines, (long)from + Math.max(limit, 0));
+            return open(from, to);
+        }
+    }
+
+    /**
+     * Returns range of bytes of the current file. Bytes of rotated files aren't available,
+     * so the range starts from the start of the current file if {@code offset} is in rotated files.
+     *
+     * @param offset
+     *         offset of the first byte from the start of the log
+     * @param count
+     *         max number of bytes
+     */
+    public LogRange bytes(long offset, long count) throws IOException {
+        synchronized (this) {
+            flush();
+            final long from = Math.max(0, Math.min(length, offset - rotatedBytes));
+            final long to = from + Math.max(0, Math.min(length - from, count));
+            return new LogRange(FileChannel.open(file.toPath(), StandardOpenOption.READ), from, to - from);
+        }
+    }
+
+    /** Opens stream of the whole log, rotated files which are still kept are included. */
+    public InputStream openContent() throws IOException {
+        synchronized (this) {
+            flush();
+            final List<InputStream> streams = new ArrayList<>(rotated.size() + 1);
+            try {
+                for (Segment segment : rotated) {
+                    final InputStream content = new FileInputStream(segment.file);
+                    streams.add(content);
+                    if (segment.compressed) {
+                        streams.set(streams.size() - 1, new GZIPInputStream(content));
+                    }
+                }
+                streams.add(ByteStreams.limit(new FileInputStream(file), length));
+            } catch (IOException e) {
+                for (InputStream stream : streams) {
+                    closeQuietly(stream);
+                }
+                throw e;
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+    }
+
+    /** Closes the log and removes its files. */
+    synchronized void delete() {
+        try {
+            close();
+        } catch (IOException e) {
+            LOG.warn("Unable close log {}. {}", file, e.getMessage());
+        }
+        for (Segment segment : rotated) {
+            segment.delete();
+        }
+        rotated.clear();
+        if (!file.delete() && file.exists()) {
+            LOG.warn("Unable delete log {}", file);
+        }
+    }
+
+    /** Opens range between the given lines of the current file, must be called with the lock held. */
+    private LogRange open(int fromLine, int toLine) throws IOException {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            final long from = getOffset(channel, fromLine);
+            final long to = toLine == fromLine ? from : getOffset(channel, toLine);
+            return new LogRange(channel, from, to - from);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Finds offset of the line of the current file from the nearest indexed line. */
+    private long getOffset(FileChannel channel, int line) throws IOException {
+        if (line >= lines) {
+            return length;
+        }
+        long offset = index[line / INDEX_INTERVAL];
+        int skip = line % INDEX_INTERVAL;
+        final ByteBuffer bytes = ByteBuffer.allocate(8192);
+        while (skip > 0) {
+            bytes.clear();
+            final int read = channel.read(bytes, offset);
+            if (read <= 0) {
+                throw new IOException(String.format("Unexpected end of log %s", file));
+            }
+            int i = 0;
+            while (i < read && skip > 0) {
+                if (bytes.get(i++) == '\n') {
+                    skip--;
+                }
+            }
+            offset += i;
+        }
+        return offset;
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.writeTo(output);
+        buffer.reset();
+        if (length >= maxFileSize) {
+            rotate();
+        }
+    }
+
+    /** Renames the current file and starts new one, renamed file is compressed in background. */
+    private void rotate() throws IOException {
+        output.close();
+        final File rotatedFile = new File(file.getPath() + '.' + ++rotations);
+        Files.move(file.toPath(), rotatedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        output = new FileOutputStream(file);
+        final Segment segment = new Segment(rotatedFile);
+        rotated.add(segment);
+        rotatedBytes += length;
+        rotatedLines += lines;
+        length = 0;
+        lines = 0;
+        while (rotated.size() > maxRotatedFiles) {
+            rotated.remove(0).delete();
+        }
+        try {
+            compressor.execute(() -> compress(segment));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Rotated log {} isn't compressed", rotatedFile);
+        }
+    }
+
+    private void compress(Segment segment) {
+        final File source;
+        synchronized (this) {
+            if (segment.deleted) {
+                return;
+            }
+            source = segment.file;
+        }
+        final File compressed = new File(source.getPath() + ".gz");
+        try (InputStream in = new FileInputStream(source);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(compressed), 64 * 1024)) {
+            ByteStreams.copy(in, out);
+        } catch (IOException e) {
+            LOG.warn("Unable compress log {}. {}", source, e.getMessage());
+            compressed.delete();
+            return;
+        }
+        synchronized (this) {
+            if (segment.deleted) {
+                compressed.delete();
+                return;
+            }
+            // readers which already opened the source keep reading it
+            segment.file = compressed;
+            segment.compressed = true;
+        }
+        source.delete();
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Rotated file, guarded by the lock of the log. */
+    private static class Segment {
+        File    file;
+        boolean compressed;
+        boolean deleted;
+
+        Segment(File file) {
+            this.file = file;
+        }
+
+        void delete() {
+            deleted = true;
+            file.delete();
+        }
+    }
+}
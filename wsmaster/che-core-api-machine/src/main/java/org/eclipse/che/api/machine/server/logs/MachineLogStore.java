@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.logs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores logs of machines and processes in files of the logs directory, see {@link MachineLog}.
+ *
+ * <p>Lines of all the open logs are written to the files periodically, so chatty processes
+ * don't write to the disk on every line, and rotated log files are compressed by the same background thread.
+ * Closed logs, e.g. logs of finished processes, stay readable but aren't flushed anymore.
+ * Logs of the machine are closed with {@link #closeLogs(String)} when the machine is destroyed, their files are kept
+ * until the store is closed, so logs of stopped machines, e.g. machines which failed to start, can still be read.
+ */
+@Singleton
+public class MachineLogStore {
+    private static final Logger LOG = LoggerFactory.getLogger(MachineLogStore.class);
+
+    /** Interval of writing of buffered lines to log files. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.logs.flush_interval_ms")
+    long flushIntervalMillis = 1000;
+
+    /** Buffered lines are written to the log file when they exceed this size. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.logs.buffer_size_kb")
+    int bufferSizeKb = 64;
+
+    /** Log file is rotated when it exceeds this size. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.logs.max_file_size_mb")
+    int maxFileSizeMb = 10;
+
+    /** Number of compressed rotated files which are kept for each log. */
+    @com.google.inject.Inject(optional = true)
+    @Named("machine.logs.max_rotated_files")
+    int maxRotatedFiles = 5;
+
+    private final File                            logsDir;
+    private final ConcurrentMap<File, MachineLog> logs;
+    /** Logs which aren't closed yet and are flushed periodically. */
+    private final Set<MachineLog>                 openLogs;
+    private final ScheduledExecutorService        executor;
+    private       boolean                         flushStarted;
+
+    @Inject
+    public MachineLogStore(@Named("machine.logs.location") String logsDir) {
+        this.logsDir = new File(logsDir);
+        this.logs = new ConcurrentHashMap<>();
+        this.openLogs = ConcurrentHashMap.newKeySet();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("MachineLogStore-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        if (!(this.logsDir.exists() || this.logsDir.mkdirs())) {
+            throw new IllegalStateException(String.format("Unable create directory %s", this.logsDir.getAbsolutePath()));
+        }
+    }
+
+    /** Creates new log of the machine, the previous log of the machine is removed. */
+    public MachineLog createMachineLog(String machineId) throws IOException {
+        return createLog(getMachineLogFile(machineId));
+    }
+
+    /** Creates new log of the process, the previous log of the process is removed. */
+    public MachineLog createProcessLog(String machineId, int pid) throws IOException {
+        return createLog(getProcessLogFile(machineId, pid));
+    }
+
+    /** Returns log of the machine or {@code null} if it doesn't exist. */
+    public MachineLog getMachineLog(String machineId) {
+        return logs.get(getMachineLogFile(machineId));
+    }
+
+    /** Returns log of the process or {@code null} if it doesn't exist. */
+    public MachineLog getProcessLog(String machineId, int pid) {
+        return logs.get(getProcessLogFile(machineId, pid));
+    }
+
+    /** Closes the log of the machine and logs of its processes, memory buffers are released but logs stay readable. */
+    public void closeLogs(String machineId) {
+        final File machineLogsDir = new File(logsDir, machineId);
+        for (Map.Entry<File, MachineLog> entry : logs.entrySet()) {
+            if (machineLogsDir.equals(entry.getKey().getParentFile())) {
+                final MachineLog log = entry.getValue();
+                openLogs.remove(log);
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    LOG.warn("Unable close log {}. {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Closes all the logs and removes content of the logs directory. */
+    public void close() {
+        executor.shutdownNow();
+        for (MachineLog log : logs.values()) {
+            log.delete();
+        }
+        logs.clear();
+        openLogs.clear();
+        final File[] files = logsDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!IoUtil.deleteRecursive(file)) {
+                    LOG.warn("Failed delete {}", file);
+                }
+            }
+        }
+    }
+
+    private synchronized MachineLog createLog(File file) throws IOException {
+        if (!flushStarted) {
+            executor.scheduleWithFixedDelay(this::flushLogs, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            flushStarted = true;
+        }
+        final MachineLog previous = logs.remove(file);
+        if (previous != null) {
+            openLogs.remove(previous);
+            previous.delete();
+        }
+        Files.createDirectories(file.getParentFile().toPath());
+        final MachineLog log = new MachineLog(file,
+                                              bufferSizeKb * 1024,
+                                              maxFileSizeMb * 1024L * 1024L,
+                                              maxRotatedFiles,
+                                              executor);
+        logs.put(file, log);
+        openLogs.add(log);
+        return log;
+    }
+
+    private void flushLogs() {
+        for (Iterator<MachineLog> it = openLogs.iterator(); it.hasNext(); ) {
+            final MachineLog log = it.next();
+            if (log.isClosed()) {
+                it.remove();
+                continue;
+            }
+            try {
+                log.flush();
+            } catch (IOException e) {
+                LOG.warn(e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /** Returns the number of logs which are flushed periodically. */
+    int getOpenLogCount() {
+        return openLogs.size();
+    }
+
+    private File getMachineLogFile(String machineId) {
+        return new File(new File(logsDir, machineId), "machineId.logs");
+    }
+
+    private File getProcessLogFile(String machineId, int pid) {
+        return new File(new File(logsDir, machineId), Integer.toString(pid));
+    }
+}
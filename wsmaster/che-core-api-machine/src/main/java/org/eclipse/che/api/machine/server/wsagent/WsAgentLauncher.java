@@ -20,4 +20,13 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
  */
 public interface WsAgentLauncher {
     void startWsAgent(String workspaceId) throws NotFoundException, MachineException, InterruptedException;
+
+    /**
+     * Handles notification of the ws agent that it is started, so the launcher doesn't wait for the next ping.
+     * Notification of the agent which isn't being started is ignored.
+     *
+     * @param workspaceId
+     *         id of the workspace which agent is started
+     */
+    void onWsAgentStarted(String workspaceId);
 }
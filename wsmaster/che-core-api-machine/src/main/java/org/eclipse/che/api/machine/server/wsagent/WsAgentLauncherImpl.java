@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.machine.server.MachineManager;
+import org.eclipse.che.api.machine.server.MachineStartMetrics;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.shared.Constants;
@@ -31,9 +32,21 @@ import javax.inject.Singleton;
 import javax.ws.rs.HttpMethod;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.api.machine.server.MachineStartMetrics.Phase.AGENT_BOOT;
+import static org.eclipse.che.api.machine.server.MachineStartMetrics.Phase.AGENT_FIRST_PING;
 
 /**
- * Starts ws agent in the machine and waits until ws agent sends notification about its start
+ * Starts ws agent in the machine and waits until ws agent sends notification about its start.
+ *
+ * <p>The agent is pinged after the launch and then after each ping delay. When the agent notifies that it is started,
+ * see {@link #onWsAgentStarted(String)}, the launcher stops waiting for the ping delay and pings the agent
+ * with short delays until its connector accepts the ping. So pinging is a fallback for agents which can't notify
+ * about the start. Durations of the agent boot and the first ping are recorded to {@link MachineStartMetrics}.
  *
  * @author Alexander Garagatyi
  */
@@ -45,6 +58,8 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     protected static final Logger LOG = LoggerFactory.getLogger(WsAgentLauncherImpl.class);
 
     private static final String WS_AGENT_PROCESS_OUTPUT_CHANNEL = "workspace:%s:ext-server:output";
+    /** Delay between pings of the agent which notified about its start. */
+    private static final long   NOTIFIED_WS_AGENT_PING_DELAY_MS = 100;
 
     private final Provider<MachineManager> machineManagerProvider;
     private final HttpJsonRequestFactory   httpJsonRequestFactory;
@@ -53,6 +68,9 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     private final long                     wsAgentPingDelayMs;
     private final int                      wsAgentPingConnectionTimeoutMs;
     private final String                   pingTimedOutErrorMessage;
+    private final MachineStartMetrics      startMetrics;
+
+    private final ConcurrentMap<String, StartNotification> startNotifications;
 
     @Inject
     public WsAgentLauncherImpl(Provider<MachineManager> machineManagerProvider,
@@ -61,7 +79,8 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
                                @Named("machine.ws_agent.max_start_time_ms") long wsAgentMaxStartTimeMs,
                                @Named("machine.ws_agent.ping_delay_ms") long wsAgentPingDelayMs,
                                @Named("machine.ws_agent.ping_conn_timeout_ms") int wsAgentPingConnectionTimeoutMs,
-                               @Named("machine.ws_agent.ping_timed_out_error_msg") String pingTimedOutErrorMessage) {
+                               @Named("machine.ws_agent.ping_timed_out_error_msg") String pingTimedOutErrorMessage,
+                               MachineStartMetrics startMetrics) {
         this.machineManagerProvider = machineManagerProvider;
         this.httpJsonRequestFactory = httpJsonRequestFactory;
         this.wsAgentStartCommandLine = wsAgentStartCommandLine;
@@ -69,6 +88,8 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
         this.wsAgentPingDelayMs = wsAgentPingDelayMs;
         this.wsAgentPingConnectionTimeoutMs = wsAgentPingConnectionTimeoutMs;
         this.pingTimedOutErrorMessage = pingTimedOutErrorMessage;
+        this.startMetrics = startMetrics;
+        this.startNotifications = new ConcurrentHashMap<>();
     }
 
     public static String getWsAgentProcessOutputChannel(String workspaceId) {
@@ -80,7 +101,11 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
         final Machine devMachine = getMachineManager().getDevMachine(workspaceId);
         final HttpJsonRequest wsAgentPingRequest = createPingRequest(devMachine);
         final String wsAgentPingUrl = wsAgentPingRequest.getUrl();
+        // registered before the launch, so notification of the agent which starts fast isn't missed
+        final StartNotification startNotification = new StartNotification();
+        startNotifications.put(workspaceId, startNotification);
         try {
+            final long launchTimestamp = System.currentTimeMillis();
             getMachineManager().exec(devMachine.getId(),
                                      new CommandImpl(WS_AGENT_PROCESS_NAME, wsAgentStartCommandLine, "Arbitrary"),
                                      getWsAgentProcessOutputChannel(workspaceId));
@@ -92,18 +117,34 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
 
             while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
                 if (pingWsAgent(wsAgentPingRequest)) {
+                    recordStartTimeline(workspaceId, launchTimestamp, startNotification.timestamp, System.currentTimeMillis());
                     return;
+                } else if (startNotification.timestamp == 0) {
+                    // wakes up on the notification of the agent instead of waiting for the whole delay
+                    startNotification.latch.await(wsAgentPingDelayMs, TimeUnit.MILLISECONDS);
                 } else {
-                    Thread.sleep(wsAgentPingDelayMs);
+                    Thread.sleep(Math.min(wsAgentPingDelayMs, NOTIFIED_WS_AGENT_PING_DELAY_MS));
                 }
             }
         } catch (BadRequestException wsAgentLaunchingExc) {
             throw new MachineException(wsAgentLaunchingExc.getLocalizedMessage(), wsAgentLaunchingExc);
+        } finally {
+            startNotifications.remove(workspaceId, startNotification);
         }
         LOG.error("Fail pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}", workspaceId, wsAgentPingUrl);
         throw new MachineException(pingTimedOutErrorMessage);
     }
 
+    @Override
+    public void onWsAgentStarted(String workspaceId) {
+        final StartNotification startNotification = startNotifications.get(workspaceId);
+        if (startNotification == null) {
+            LOG.debug("Ignored start notification of ws agent of workspace '{}' which isn't being started", workspaceId);
+            return;
+        }
+        startNotification.notifyStarted();
+    }
+
     // forms the ping request based on information about the machine.
     protected HttpJsonRequest createPingRequest(Machine machine) {
         String wsAgentPingUrl = machine.getRuntime()
@@ -134,4 +175,33 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     private MachineManager getMachineManager() {
         return machineManagerProvider.get();
     }
+
+    private void recordStartTimeline(String workspaceId, long launchTimestamp, long notificationTimestamp, long pingTimestamp) {
+        if (notificationTimestamp == 0) {
+            startMetrics.record(AGENT_BOOT, pingTimestamp - launchTimestamp);
+            LOG.info("Ws agent of workspace '{}' is started in {} ms, the agent didn't notify about its start",
+                     workspaceId, pingTimestamp - launchTimestamp);
+        } else {
+            startMetrics.record(AGENT_BOOT, notificationTimestamp - launchTimestamp);
+            startMetrics.record(AGENT_FIRST_PING, pingTimestamp - notificationTimestamp);
+            LOG.info("Ws agent of workspace '{}' is started in {} ms: boot {} ms, first ping after notification {} ms",
+                     workspaceId,
+                     pingTimestamp - launchTimestamp,
+                     notificationTimestamp - launchTimestamp,
+                     pingTimestamp - notificationTimestamp);
+        }
+    }
+
+    private static class StartNotification {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        volatile long timestamp;
+
+        synchronized void notifyStarted() {
+            if (timestamp == 0) {
+                timestamp = System.currentTimeMillis();
+                latch.countDown();
+            }
+        }
+    }
 }
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.wsagent;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import org.eclipse.che.api.core.rest.Service;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * Receives notifications of ws agents about their start, see {@link WsAgentLauncher#onWsAgentStarted(String)}.
+ */
+@Api(value = "/ws-agent", description = "Workspace agent REST API")
+@Path("/ws-agent")
+public class WsAgentService extends Service {
+    private final WsAgentLauncher wsAgentLauncher;
+
+    @Inject
+    public WsAgentService(WsAgentLauncher wsAgentLauncher) {
+        this.wsAgentLauncher = wsAgentLauncher;
+    }
+
+    @POST
+    @Path("/{workspaceId}/started")
+    @RolesAllowed("user")
+    @ApiOperation(value = "Notify that ws agent of the workspace is started")
+    @ApiResponses(@ApiResponse(code = 204, message = "Notification is accepted"))
+    public void notifyStarted(@ApiParam("Workspace ID") @PathParam("workspaceId") String workspaceId) {
+        wsAgentLauncher.onWsAgentStarted(workspaceId);
+    }
+}
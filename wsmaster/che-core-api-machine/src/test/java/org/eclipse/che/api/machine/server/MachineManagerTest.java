@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.logs.MachineLogStore;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -96,10 +97,11 @@ public class MachineManagerTest {
         manager = spy(new MachineManager(snapshotDao,
                                          machineRegistry,
                                          machineInstanceProviders,
-                                         machineLogsDir,
+                                         new MachineLogStore(machineLogsDir),
                                          eventService,
                                          DEFAULT_MACHINE_MEMORY_SIZE_MB,
-                                         wsAgentLauncher));
+                                         wsAgentLauncher,
+                                         new MachineStartMetrics()));
 
         EnvironmentContext envCont = new EnvironmentContext();
         envCont.setSubject(new SubjectImpl(null, USER_ID, null, null, false));
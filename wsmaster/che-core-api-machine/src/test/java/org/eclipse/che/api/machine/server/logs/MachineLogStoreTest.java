@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.logs;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link MachineLogStore}.
+ */
+public class MachineLogStoreTest {
+
+    private File            logsDir;
+    private MachineLogStore logStore;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        logsDir = Files.createTempDirectory("machine-logs").toFile();
+        logStore = new MachineLogStore(logsDir.getPath());
+        logStore.flushIntervalMillis = 10;
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        logStore.close();
+        IoUtil.deleteRecursive(logsDir);
+    }
+
+    @Test
+    public void shouldStopFlushingClosedLogButKeepItReadable() throws Exception {
+        final MachineLog machineLog = logStore.createMachineLog("machine1");
+        final MachineLog processLog = logStore.createProcessLog("machine1", 1);
+        processLog.writeLine("done");
+
+        processLog.close();
+
+        waitOpenLogCount(1);
+        assertTrue(processLog.isClosed());
+        assertFalse(machineLog.isClosed());
+        assertEquals(logStore.getProcessLog("machine1", 1).getLineCount(), 1);
+    }
+
+    @Test
+    public void shouldCloseLogsOfMachineButKeepThemReadable() throws Exception {
+        final MachineLog machineLog = logStore.createMachineLog("machine1");
+        final MachineLog processLog = logStore.createProcessLog("machine1", 1);
+        machineLog.writeLine("failed to start");
+        logStore.createMachineLog("machine2");
+
+        logStore.closeLogs("machine1");
+
+        assertTrue(machineLog.isClosed());
+        assertTrue(processLog.isClosed());
+        assertEquals(logStore.getMachineLog("machine1").getLineCount(), 1);
+        assertNotNull(logStore.getProcessLog("machine1", 1));
+        assertTrue(new File(logsDir, "machine1").exists());
+        assertFalse(logStore.getMachineLog("machine2").isClosed());
+        assertEquals(logStore.getOpenLogCount(), 1);
+    }
+
+    private void waitOpenLogCount(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (logStore.getOpenLogCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(logStore.getOpenLogCount(), count);
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.logs;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link MachineLog}.
+ */
+public class MachineLogTest {
+
+    private File       logsDir;
+    private File       file;
+    private MachineLog log;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        logsDir = Files.createTempDirectory("machine-logs").toFile();
+        file = new File(logsDir, "log");
+        log = new MachineLog(file, 1024, 1024 * 1024, 2, Runnable::run);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        log.close();
+        IoUtil.deleteRecursive(logsDir);
+    }
+
+    @Test
+    public void shouldWriteBufferedLinesOnFlush() throws Exception {
+        log.writeLine("first");
+        log.writeLine("second");
+
+        assertEquals(file.length(), 0);
+        log.flush();
+
+        assertEquals(new String(Files.readAllBytes(file.toPath())), "first\nsecond\n");
+    }
+
+    @Test
+    public void shouldReturnLastLines() throws Exception {
+        writeLines(1, 100);
+
+        assertEquals(read(log.tail(3)), "line 98\nline 99\nline 100\n");
+        assertEquals(read(log.tail(0)), "");
+        assertEquals(read(log.tail(1000)), content(1, 100));
+    }
+
+    @Test
+    public void shouldReturnRangeOfLines() throws Exception {
+        writeLines(1, 100);
+
+        assertEquals(read(log.lines(20, 3)), "line 20\nline 21\nline 22\n");
+        assertEquals(read(log.lines(1, 1)), "line 1\n");
+        assertEquals(read(log.lines(99, 10)), "line 99\nline 100\n");
+        assertEquals(read(log.lines(200, 10)), "");
+    }
+
+    @Test
+    public void shouldReturnRangeOfBytes() throws Exception {
+        writeLines(1, 3);
+
+        assertEquals(read(log.bytes(7, 6)), "line 2");
+        assertEquals(read(log.bytes(14, 100)), "line 3\n");
+        assertEquals(log.getLength(), 21);
+    }
+
+    @Test
+    public void shouldRotateAndCompressLogWhenItExceedsMaxSize() throws Exception {
+        log.close();
+        log = new MachineLog(file, 1, 80, 2, Runnable::run);
+        // 10 lines of 8 bytes per file
+        writeLines(10, 55);
+
+        assertTrue(new File(logsDir, "log.3.gz").exists());
+        assertTrue(new File(logsDir, "log.4.gz").exists());
+        assertFalse(new File(logsDir, "log.2.gz").exists());
+        assertFalse(new File(logsDir, "log.4").exists());
+        assertEquals(log.getLineCount(), 46);
+        // the first two rotated files are removed
+        try (InputStream content = log.openContent()) {
+            assertEquals(new String(ByteStreams.toByteArray(content)), content(30, 55));
+        }
+        assertEquals(read(log.lines(43, 3)), "line 52\nline 53\nline 54\n");
+        assertEquals(read(log.lines(1, 3)), "line 50\nline 51\nline 52\n");
+        assertEquals(read(log.tail(2)), "line 54\nline 55\n");
+    }
+
+    private void writeLines(int from, int to) throws Exception {
+        for (int i = from; i <= to; i++) {
+            log.writeLine("line " + i);
+        }
+    }
+
+    private static String content(int from, int to) {
+        final StringBuilder content = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        return content.toString();
+    }
+
+    private static String read(LogRange range) throws Exception {
+        try (LogRange logRange = range) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            logRange.transferTo(Channels.newChannel(content));
+            assertEquals(content.size(), logRange.getLength());
+            return content.toString();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.machine.server.MachineManager;
+import org.eclipse.che.api.machine.server.MachineStartMetrics;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -41,11 +42,14 @@ import java.util.Collections;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.eclipse.che.api.machine.server.MachineStartMetrics.Phase.AGENT_BOOT;
+import static org.eclipse.che.api.machine.server.MachineStartMetrics.Phase.AGENT_FIRST_PING;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 @Listeners(MockitoTestNGListener.class)
 public class WsAgentLauncherImplTest {
@@ -77,17 +81,20 @@ public class WsAgentLauncherImplTest {
     private MachineRuntimeInfoImpl machineRuntime;
 
     private HttpJsonRequest     pingRequest;
+    private MachineStartMetrics startMetrics;
     private WsAgentLauncherImpl wsAgentLauncher;
 
     @BeforeMethod
     public void setUp() throws Exception {
+        startMetrics = new MachineStartMetrics();
         wsAgentLauncher = new WsAgentLauncherImpl(() -> machineManager,
                                                   requestFactory,
                                                   WS_AGENT_START_CMD_LINE,
                                                   WS_AGENT_MAX_START_TIME_MS,
                                                   WS_AGENT_PING_DELAY_MS,
                                                   WS_AGENT_PING_CONN_TIMEOUT_MS,
-                                                  WS_AGENT_TIMED_OUT_MESSAGE);
+                                                  WS_AGENT_TIMED_OUT_MESSAGE,
+                                                  startMetrics);
         pingRequest = mock(HttpJsonRequest.class, new SelfReturningAnswer());
         when(machineManager.getDevMachine(WS_ID)).thenReturn(machine);
         when(machine.getId()).thenReturn(MACHINE_ID);
@@ -165,6 +172,47 @@ public class WsAgentLauncherImplTest {
         verify(pingResponse).getResponseCode();
     }
 
+    @Test(timeOut = 10_000)
+    public void shouldPingWsAgentWithoutWaitingForPingDelayAfterNotificationAboutStart() throws Exception {
+        wsAgentLauncher = new WsAgentLauncherImpl(() -> machineManager,
+                                                  requestFactory,
+                                                  WS_AGENT_START_CMD_LINE,
+                                                  60_000,
+                                                  60_000,
+                                                  WS_AGENT_PING_CONN_TIMEOUT_MS,
+                                                  WS_AGENT_TIMED_OUT_MESSAGE,
+                                                  startMetrics);
+        when(pingRequest.request()).thenAnswer(invocation -> {
+            wsAgentLauncher.onWsAgentStarted(WS_ID);
+            throw new ServerException("");
+        }).thenReturn(pingResponse);
+
+        wsAgentLauncher.startWsAgent(WS_ID);
+
+        verify(pingRequest, times(2)).request();
+        assertEquals(startMetrics.getCount(AGENT_BOOT), 1);
+        assertEquals(startMetrics.getCount(AGENT_FIRST_PING), 1);
+    }
+
+    @Test
+    public void shouldRecordOnlyBootTimeIfWsAgentDidNotNotifyAboutStart() throws Exception {
+        wsAgentLauncher.startWsAgent(WS_ID);
+
+        assertEquals(startMetrics.getCount(AGENT_BOOT), 1);
+        assertEquals(startMetrics.getCount(AGENT_FIRST_PING), 0);
+    }
+
+    @Test
+    public void shouldIgnoreNotificationAboutStartOfWsAgentWhichIsNotBeingStarted() throws Exception {
+        wsAgentLauncher.onWsAgentStarted(WS_ID);
+        when(pingRequest.request()).thenThrow(new ServerException(""))
+                                   .thenReturn(pingResponse);
+
+        wsAgentLauncher.startWsAgent(WS_ID);
+
+        assertEquals(startMetrics.getCount(AGENT_FIRST_PING), 0);
+    }
+
     @Test(expectedExceptions = NotFoundException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowNotFoundExceptionIfMachineManagerGetDevMachineForWsThrowsNotFoundException() throws Exception {
         final String notExistingWsId = "notExistingWsId";
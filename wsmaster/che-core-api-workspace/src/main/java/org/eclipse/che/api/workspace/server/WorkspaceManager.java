@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.Boolean.parseBoolean;
@@ -91,6 +92,9 @@ public class WorkspaceManager {
     private final UserManager       userManager;
     private final boolean           defaultAutoSnapshot;
     private final boolean           defaultAutoRestore;
+    private final long              startTime;
+    /** Number of modifications of workspaces performed by this manager, see {@link #getWorkspacesVersion()}. */
+    private final AtomicLong        modifications;
 
     private WorkspaceHooks hooks = new NoopWorkspaceHooks();
 
@@ -109,6 +113,8 @@ public class WorkspaceManager {
         this.userManager = userManager;
         this.defaultAutoSnapshot = defaultAutoSnapshot;
         this.defaultAutoRestore = defaultAutoRestore;
+        this.startTime = currentTimeMillis();
+        this.modifications = new AtomicLong();
 
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WorkspaceManager-%d")
                                                                            .setDaemon(true)
@@ -266,6 +272,19 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Returns version of workspaces which is changed each time when any workspace
+     * is created, updated or removed by this manager or when any workspace runtime is changed.
+     * The version is cheap to compute, so it may be used as ETag of responses containing
+     * workspaces, without fetching and serializing them.
+     *
+     * <p>Note that modifications performed directly with {@link WorkspaceDao}
+     * don't change the version.
+     */
+    public String getWorkspacesVersion() {
+        return Long.toHexString(startTime) + '-' + modifications.get() + '-' + runtimes.getVersion();
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -293,7 +312,9 @@ public class WorkspaceManager {
         workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
         update.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
         workspace.setAttributes(update.getAttributes());
-        return normalizeState(workspaceDao.update(workspace));
+        final WorkspaceImpl updated = workspaceDao.update(workspace);
+        modifications.incrementAndGet();
+        return normalizeState(updated);
     }
 
     /**
@@ -319,6 +340,7 @@ public class WorkspaceManager {
             throw new ConflictException("The workspace '" + workspaceId + "' is currently running and cannot be removed.");
         }
         workspaceDao.remove(workspaceId);
+        modifications.incrementAndGet();
         hooks.afterRemove(workspaceId);
         eventService.publish(new WorkspaceRemovedEvent(workspaceId));
         LOG.info("Workspace '{}' removed by user '{}'", workspaceId, sessionUserNameOr("undefined"));
@@ -525,6 +547,7 @@ public class WorkspaceManager {
 
         workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
         workspaceDao.update(workspace);
+        modifications.incrementAndGet();
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -582,6 +605,7 @@ public class WorkspaceManager {
                     workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
                     workspaceDao.update(workspace);
                 }
+                modifications.incrementAndGet();
                 LOG.info("Workspace '{}:{}' with id '{}' stopped by user '{}'",
                          workspace.getNamespace(),
                          workspace.getConfig().getName(),
@@ -682,6 +706,7 @@ public class WorkspaceManager {
         workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
         hooks.beforeCreate(workspace, accountId);
         workspaceDao.create(workspace);
+        modifications.incrementAndGet();
         hooks.afterCreate(workspace, accountId);
         LOG.info("Workspace '{}:{}' with id '{}' created by user '{}'",
                  namespace,
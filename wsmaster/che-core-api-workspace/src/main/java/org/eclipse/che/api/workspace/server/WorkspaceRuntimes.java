@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -34,20 +35,31 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayDeque;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 
@@ -61,11 +73,20 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
  *
  * <p>All the operations performed by this component are synchronous.
  *
- * <p>The implementation is thread-safe and guarded by
- * eagerly initialized readwrite locks produced by {@link WorkspaceRuntimes#STRIPED}.
+ * <p>The implementation is thread-safe, modifications are guarded by
+ * eagerly initialized readwrite locks produced by {@link WorkspaceRuntimes#striped}.
  * The component doesn't expose any api for client-side locking.
  * All the instances produced by this component are copies of the real data.
  *
+ * <p>The dev machine is started first, as the workspace is running only when its dev machine is running
+ * and other machines can be added only to the running workspace. The rest of machines don't depend
+ * on each other, so they are started concurrently by the pool of threads shared by all the workspaces,
+ * and the workspace start takes the time of the dev machine start plus the time of the slowest machine start.
+ *
+ * <p>Each modification of the runtime publishes an immutable snapshot of its descriptor,
+ * {@link #get(String)} and {@link #hasRuntime(String)} read the snapshots and never block,
+ * so frequent polling of runtimes status doesn't contend with starts and stops of workspaces.
+ *
  * <p>The component doesn't check if the incoming objects are in application-valid state.
  * Which means that it is expected that if {@link #start(WorkspaceImpl, String)} method is called
  * then {@code WorkspaceImpl} argument is a application-valid object which contains
@@ -77,15 +98,29 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Singleton
 public class WorkspaceRuntimes {
 
-    private static final Logger                 LOG     = LoggerFactory.getLogger(WorkspaceRuntimes.class);
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    private static final Striped<ReadWriteLock> STRIPED = Striped.readWriteLock(16);
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceRuntimes.class);
+
+    /** Default number of lock stripes, may be overridden with 'workspace.runtimes.lock_stripes' property. */
+    static final int DEFAULT_LOCK_STRIPES = 64;
+
+    /** Default number of threads starting non-dev machines, may be overridden with 'workspace.runtimes.machine_start_threads'. */
+    static final int DEFAULT_MACHINE_START_THREADS = 20;
 
     @VisibleForTesting
     final Map<String, RuntimeDescriptor>        descriptors;
     @VisibleForTesting
     final Map<String, Queue<MachineConfigImpl>> startQueues;
 
+    /** Immutable copies of descriptors, published on each modification of the corresponding descriptor. */
+    private final Map<String, RuntimeDescriptor> snapshots;
+    /** Incremented after each publication of snapshot, see {@link #getVersion()}. */
+    private final AtomicLong                     version;
+    /** Starts of non-dev machines, cancelled when workspace is stopped. Guarded by the lock of the workspace. */
+    private final Map<String, List<MachineStart>> machineStarts;
+
+    private volatile Striped<ReadWriteLock> striped;
+    private volatile ThreadPoolExecutor     machineStartExecutor;
+
     private final MachineManager                      machineManager;
     private final EventService                        eventService;
     private final EventSubscriber<MachineStatusEvent> addMachineEventSubscriber;
@@ -97,12 +132,47 @@ public class WorkspaceRuntimes {
     public WorkspaceRuntimes(MachineManager machineManager, EventService eventService) {
         this.machineManager = machineManager;
         this.eventService = eventService;
-        this.descriptors = new HashMap<>();
-        this.startQueues = new HashMap<>();
+        this.descriptors = new ConcurrentHashMap<>();
+        this.startQueues = new ConcurrentHashMap<>();
+        this.snapshots = new ConcurrentHashMap<>();
+        this.version = new AtomicLong();
+        this.machineStarts = new ConcurrentHashMap<>();
+        this.striped = Striped.readWriteLock(DEFAULT_LOCK_STRIPES);
+        this.machineStartExecutor = createMachineStartExecutor(DEFAULT_MACHINE_START_THREADS);
         this.addMachineEventSubscriber = new AddMachineEventSubscriber();
         this.removeMachineEventSubscriber = new RemoveMachineEventSubscriber();
     }
 
+    /**
+     * Sets the number of stripes of the locks which guard modifications of runtimes,
+     * the more stripes the less chances that starts and stops of different workspaces contend.
+     * Must be called before the component is used, it is done by the container when property is configured.
+     */
+    @com.google.inject.Inject(optional = true)
+    void setLockStripes(@Named("workspace.runtimes.lock_stripes") int lockStripes) {
+        if (lockStripes > 0) {
+            this.striped = Striped.readWriteLock(lockStripes);
+        }
+    }
+
+    /** Returns the number of stripes of the locks which guard modifications of runtimes. */
+    int getLockStripes() {
+        return striped.size();
+    }
+
+    /**
+     * Sets the max number of non-dev machines which are started concurrently, machines of all the workspaces
+     * wait for a free thread when it is exceeded. Must be called before the component is used,
+     * it is done by the container when property is configured.
+     */
+    @com.google.inject.Inject(optional = true)
+    void setMachineStartThreads(@Named("workspace.runtimes.machine_start_threads") int machineStartThreads) {
+        if (machineStartThreads > 0) {
+            machineStartExecutor.shutdown();
+            machineStartExecutor = createMachineStartExecutor(machineStartThreads);
+        }
+    }
+
     /**
      * Returns the runtime descriptor describing currently starting/running/stopping
      * workspace runtime.
@@ -113,6 +183,8 @@ public class WorkspaceRuntimes {
      * real object and also it means that copy won't be affected with modifications applied
      * to the real runtime workspace object state.
      *
+     * <p>This method doesn't block, it returns the state published by the latest completed modification.
+     *
      * @param workspaceId
      *         the id of the workspace to get its runtime
      * @return descriptor which describes current state of the workspace runtime
@@ -120,23 +192,20 @@ public class WorkspaceRuntimes {
      *         when workspace with given {@code workspaceId} is not running
      */
     public RuntimeDescriptor get(String workspaceId) throws NotFoundException {
-        acquireReadLock(workspaceId);
-        try {
-            final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
-            if (descriptor == null) {
-                throw new NotFoundException("Workspace with id '" + workspaceId + "' is not running.");
-            }
-            return new RuntimeDescriptor(descriptor);
-        } finally {
-            releaseReadLock(workspaceId);
+        final RuntimeDescriptor snapshot = snapshots.get(workspaceId);
+        if (snapshot == null) {
+            throw new NotFoundException("Workspace with id '" + workspaceId + "' is not running.");
         }
+        // snapshot is never modified, but copy is still required as the caller may modify the result
+        return new RuntimeDescriptor(snapshot);
     }
 
     /**
      * Starts all machines from specified workspace environment,
      * creates workspace runtime instance based on that environment.
      *
-     * <p>Dev-machine always starts before the other machines.
+     * <p>Dev-machine always starts before the other machines,
+     * the other machines are started concurrently after the dev-machine is started.
      * If dev-machine start failed then method will throw appropriate
      * {@link ServerException}. During the start of the workspace its
      * runtime is visible with {@link WorkspaceStatus#STARTING} status.
@@ -203,6 +272,7 @@ public class WorkspaceRuntimes {
             final RuntimeDescriptor descriptor = new RuntimeDescriptor(new WorkspaceRuntimeImpl(envName));
             descriptor.setRuntimeStatus(WorkspaceStatus.STARTING);
             descriptors.put(workspace.getId(), descriptor);
+            publishSnapshot(workspace.getId());
 
             // Create a new start queue with a dev machine in the queue head
             final List<MachineConfigImpl> startConfigs = environmentCopy.getMachineConfigs();
@@ -277,13 +347,15 @@ public class WorkspaceRuntimes {
             // According to the WorkspaceStatus specification workspace runtime
             // must visible with STOPPING status until dev-machine is not stopped
             descriptor.setRuntimeStatus(WorkspaceStatus.STOPPING);
+            publishSnapshot(workspaceId);
 
             // At this point of time starting queue must be removed
             // to prevent start of another machines which are not started yet.
             // In this case workspace start will be interrupted and
-            // interruption will be reported, machine which is currently starting(if such exists)
-            // will be destroyed by workspace starting thread.
+            // interruption will be reported, machines which are currently starting(if such exist)
+            // will be destroyed by threads which start them.
             startQueues.remove(workspaceId);
+            cancelMachineStarts(workspaceId);
 
             // Create deep  copy of the currently running workspace to prevent
             // out of the lock instance modifications and stale data effects
@@ -321,12 +393,17 @@ public class WorkspaceRuntimes {
      * @return true if workspace is running, otherwise false
      */
     public boolean hasRuntime(String workspaceId) {
-        acquireReadLock(workspaceId);
-        try {
-            return descriptors.containsKey(workspaceId);
-        } finally {
-            releaseReadLock(workspaceId);
-        }
+        return snapshots.containsKey(workspaceId);
+    }
+
+    /**
+     * Returns the number which is changed each time when any of runtimes is modified,
+     * e.g. when machine is added to the runtime or runtime status is changed.
+     * The value is cheap to get, so it may be used for computing versions of responses
+     * containing runtimes without building them.
+     */
+    public long getVersion() {
+        return version.get();
     }
 
     @PostConstruct
@@ -349,17 +426,24 @@ public class WorkspaceRuntimes {
         eventService.unsubscribe(removeMachineEventSubscriber);
 
         // Acquire all the locks
-        for (int i = 0; i < STRIPED.size(); i++) {
-            STRIPED.getAt(i).writeLock().lock();
+        final Striped<ReadWriteLock> striped = this.striped;
+        for (int i = 0; i < striped.size(); i++) {
+            striped.getAt(i).writeLock().lock();
         }
 
         // clean up
         descriptors.clear();
         startQueues.clear();
+        for (String workspaceId : machineStarts.keySet()) {
+            cancelMachineStarts(workspaceId);
+        }
+        machineStartExecutor.shutdown();
+        snapshots.clear();
+        version.incrementAndGet();
 
         // Release all the locks
-        for (int i = 0; i < STRIPED.size(); i++) {
-            STRIPED.getAt(i).writeLock().unlock();
+        for (int i = 0; i < striped.size(); i++) {
+            striped.getAt(i).writeLock().unlock();
         }
     }
 
@@ -377,6 +461,7 @@ public class WorkspaceRuntimes {
         try {
             descriptors.remove(workspaceId);
             startQueues.remove(workspaceId);
+            publishSnapshot(workspaceId);
         } finally {
             releaseWriteLock(workspaceId);
         }
@@ -386,6 +471,7 @@ public class WorkspaceRuntimes {
         acquireWriteLock(workspaceId);
         try {
             descriptors.remove(workspaceId);
+            publishSnapshot(workspaceId);
         } finally {
             releaseWriteLock(workspaceId);
         }
@@ -442,77 +528,46 @@ public class WorkspaceRuntimes {
                                                     ConflictException {
         publishEvent(EventType.STARTING, workspaceId, null);
 
-        // Starting all the machines one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
-        MachineConfigImpl config = queuePeekOrFail(workspaceId);
-        while (config != null) {
-
-            // According to WorkspaceStatus specification the workspace start
-            // is failed when dev-machine start is failed, so if any error
-            // occurs during machine creation and the machine is dev-machine
-            // then start fail is reported and start resources such as queue
-            // and descriptor must be cleaned up
-            MachineImpl machine = null;
-            try {
-                machine = startMachine(config, workspaceId, envName, recover);
-            } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
-                if (config.isDev()) {
-                    publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
-                    cleanupStartResources(workspaceId);
-                    throw x;
+        // Dev machine is the head of the queue, it is started first
+        // as other machines can't be added to the workspace until it is running
+        startQueuedMachine(queuePeekOrFail(workspaceId), workspaceId, envName, recover);
+
+        // Other machines don't depend on each other, so they are started concurrently
+        // and this thread waits until all of them are either started, failed or cancelled
+        final List<MachineStart> starts = submitMachineStarts(workspaceId, envName, recover);
+        Throwable startError = null;
+        try {
+            for (MachineStart start : starts) {
+                try {
+                    start.result.get();
+                } catch (ExecutionException x) {
+                    if (startError == null) {
+                        startError = x.getCause();
+                    }
                 }
-                LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
-                                 config.getName(),
-                                 workspaceId,
-                                 envName),
-                          x);
             }
-
-            // Machine destroying is an expensive operation which must be
-            // performed outside of the lock, this section checks if
-            // the workspace wasn't stopped while it is starting and sets
-            // polled flag to true if the workspace wasn't stopped plus
-            // polls the proceeded machine configuration from the queue
-            boolean queuePolled = false;
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            starts.forEach(MachineStart::cancel);
+            throw new ServerException(format("Interrupted while starting machines of workspace '%s'", workspaceId));
+        } finally {
             acquireWriteLock(workspaceId);
             try {
-                ensurePreDestroyIsNotExecuted();
-                final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
-                if (queue != null) {
-                    queue.poll();
-                    queuePolled = true;
-                    if (machine != null) {
-                        final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
-                        if (config.isDev()) {
-                            descriptor.getRuntime().setDevMachine(machine);
-                            descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
-                        }
-                        descriptor.getRuntime().getMachines().add(machine);
-                    }
-                }
+                machineStarts.remove(workspaceId, starts);
             } finally {
                 releaseWriteLock(workspaceId);
             }
-
-            // Event publication should be performed outside of the lock
-            // as it may take some time to notify subscribers
-            if (machine != null && config.isDev()) {
-                publishEvent(EventType.RUNNING, workspaceId, null);
-            }
-
-            // If machine config is not polled from the queue
-            // then workspace was stopped and newly created machine
-            // must be destroyed(if such exists)
-            if (!queuePolled) {
-                if (machine != null) {
-                    machineManager.destroy(machine.getId(), false);
-                }
-                throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
-                                                   workspaceId));
-            }
-
-            config = queuePeekOrFail(workspaceId);
+        }
+        if (startError instanceof ServerException) {
+            throw (ServerException)startError;
+        } else if (startError instanceof ConflictException) {
+            throw (ConflictException)startError;
+        } else if (startError instanceof NotFoundException) {
+            throw (NotFoundException)startError;
+        } else if (startError instanceof RuntimeException) {
+            throw (RuntimeException)startError;
+        } else if (startError instanceof Error) {
+            throw (Error)startError;
         }
 
         // All the machines tried to start which means that queue
@@ -534,6 +589,124 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Submits starts of all the machines left in the queue of the workspace.
+     * Submission is guarded by the lock, so {@link #stop(String)} either cancels all the starts
+     * or interrupts the workspace start before the starts are submitted.
+     */
+    private List<MachineStart> submitMachineStarts(String workspaceId,
+                                                   String envName,
+                                                   boolean recover) throws ConflictException, ServerException {
+        acquireWriteLock(workspaceId);
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            if (queue == null) {
+                throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
+                                                   workspaceId));
+            }
+            final List<MachineStart> starts = new ArrayList<>(queue.size());
+            for (MachineConfigImpl config : queue) {
+                starts.add(new MachineStart(config, workspaceId, envName, recover));
+            }
+            machineStarts.put(workspaceId, starts);
+            for (MachineStart start : starts) {
+                try {
+                    machineStartExecutor.execute(ThreadLocalPropagateContext.wrap(start));
+                } catch (RejectedExecutionException x) {
+                    start.cancel();
+                }
+            }
+            return starts;
+        } finally {
+            releaseWriteLock(workspaceId);
+        }
+    }
+
+    /** Cancels starts of the workspace machines which are not running yet, must be called under the write lock. */
+    private void cancelMachineStarts(String workspaceId) {
+        final List<MachineStart> starts = machineStarts.remove(workspaceId);
+        if (starts != null) {
+            starts.forEach(MachineStart::cancel);
+        }
+    }
+
+    /**
+     * Starts the machine from the queue and adds it to the workspace runtime,
+     * or destroys the machine if the workspace was stopped while the machine was starting.
+     */
+    private void startQueuedMachine(MachineConfigImpl config,
+                                    String workspaceId,
+                                    String envName,
+                                    boolean recover) throws ServerException,
+                                                            NotFoundException,
+                                                            ConflictException {
+        // According to WorkspaceStatus specification the workspace start
+        // is failed when dev-machine start is failed, so if any error
+        // occurs during machine creation and the machine is dev-machine
+        // then start fail is reported and start resources such as queue
+        // and descriptor must be cleaned up
+        MachineImpl machine = null;
+        try {
+            machine = startMachine(config, workspaceId, envName, recover);
+        } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
+            if (config.isDev()) {
+                publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
+                cleanupStartResources(workspaceId);
+                throw x;
+            }
+            LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
+                             config.getName(),
+                             workspaceId,
+                             envName),
+                      x);
+        }
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the workspace wasn't stopped while it is starting and sets
+        // removed flag to true if the workspace wasn't stopped plus
+        // removes the proceeded machine configuration from the queue
+        boolean queueRemoved = false;
+        acquireWriteLock(workspaceId);
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            if (queue != null) {
+                queue.remove(config);
+                queueRemoved = true;
+                if (machine != null) {
+                    final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
+                    if (config.isDev()) {
+                        descriptor.getRuntime().setDevMachine(machine);
+                        descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
+                    }
+                    descriptor.getRuntime().getMachines().add(machine);
+                    publishSnapshot(workspaceId);
+                }
+            }
+        } finally {
+            releaseWriteLock(workspaceId);
+        }
+
+        // Event publication should be performed outside of the lock
+        // as it may take some time to notify subscribers
+        if (machine != null && config.isDev()) {
+            publishEvent(EventType.RUNNING, workspaceId, null);
+        }
+
+        // If machine config is not removed from the queue
+        // then workspace was stopped and newly created machine
+        // must be destroyed(if such exists)
+        if (!queueRemoved) {
+            if (machine != null) {
+                machineManager.destroy(machine.getId(), false);
+            }
+            throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
+                                               workspaceId));
+        }
+    }
+
     /**
      * Gets head config from the queue associated with the given {@code workspaceId}.
      *
@@ -630,8 +803,8 @@ public class WorkspaceRuntimes {
         }
 
         private RuntimeDescriptor(RuntimeDescriptor descriptor) {
-            this(new WorkspaceRuntimeImpl(descriptor.runtime));
-            this.status = descriptor.status;
+            this(new WorkspaceRuntimeImpl(descriptor.getRuntime()));
+            this.status = descriptor.getRuntimeStatus();
         }
 
         /** Returns the instance of {@code WorkspaceRuntime} described by this descriptor. */
@@ -724,6 +897,7 @@ public class WorkspaceRuntimes {
             // which means that machine can be added to the workspace
             if (!startQueues.containsKey(workspaceId)) {
                 descriptor.getRuntime().getMachines().add(new MachineImpl(machine));
+                publishSnapshot(workspaceId);
                 return true;
             }
 
@@ -735,6 +909,7 @@ public class WorkspaceRuntimes {
             // otherwise it will be added later, after WorkspaceRuntimes starts it
             if (!machineConfigs.stream().anyMatch(m -> m.equals(machine.getConfig()))) {
                 descriptor.getRuntime().getMachines().add(new MachineImpl(machine));
+                publishSnapshot(workspaceId);
             }
 
             // All the cases are covered, in this case machine will be added
@@ -784,12 +959,27 @@ public class WorkspaceRuntimes {
                          machineId,
                          workspaceId,
                          machineName);
+            } else {
+                publishSnapshot(workspaceId);
             }
         } finally {
             releaseWriteLock(workspaceId);
         }
     }
 
+    private static ThreadPoolExecutor createMachineStartExecutor(int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads,
+                                                                   threads,
+                                                                   60,
+                                                                   TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<>(),
+                                                                   new ThreadFactoryBuilder().setNameFormat("WorkspaceRuntimes-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private static <T> T removeFirstMatching(List<? extends T> elements, Predicate<T> predicate) {
         T element = null;
         for (final Iterator<? extends T> it = elements.iterator(); it.hasNext() && element == null; ) {
@@ -808,23 +998,82 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Publishes the copy of the current descriptor of the given workspace for non-blocking readers,
+     * or removes the published copy if workspace doesn't have descriptor anymore.
+     * Must be called under the write lock after each modification of the descriptor.
+     */
+    private void publishSnapshot(String workspaceId) {
+        final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
+        if (descriptor == null) {
+            snapshots.remove(workspaceId);
+        } else {
+            snapshots.put(workspaceId, new RuntimeDescriptor(descriptor));
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Start of the non-dev machine, which completes its result when the machine is started and added to the runtime,
+     * or when the start is failed or cancelled. Machine which start is already running isn't affected by cancellation,
+     * it is destroyed after the start as the workspace doesn't have start queue anymore.
+     */
+    private class MachineStart implements Runnable {
+        final CompletableFuture<Void> result;
+
+        private final MachineConfigImpl config;
+        private final String            workspaceId;
+        private final String            envName;
+        private final boolean           recover;
+        private final AtomicBoolean     started;
+
+        MachineStart(MachineConfigImpl config, String workspaceId, String envName, boolean recover) {
+            this.config = config;
+            this.workspaceId = workspaceId;
+            this.envName = envName;
+            this.recover = recover;
+            this.result = new CompletableFuture<>();
+            this.started = new AtomicBoolean();
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                startQueuedMachine(config, workspaceId, envName, recover);
+                result.complete(null);
+            } catch (Throwable x) {
+                result.completeExceptionally(x);
+            }
+        }
+
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                result.completeExceptionally(new ConflictException(
+                        format("Workspace '%s' start interrupted. Workspace stopped before all its machines started", workspaceId)));
+            }
+        }
+    }
+
     /** Short alias for acquiring read lock for the given workspace. */
-    private static void acquireReadLock(String workspaceId) {
-        STRIPED.get(workspaceId).readLock().lock();
+    private void acquireReadLock(String workspaceId) {
+        striped.get(workspaceId).readLock().lock();
     }
 
     /** Short alias for releasing read lock for the given workspace. */
-    private static void releaseReadLock(String workspaceId) {
-        STRIPED.get(workspaceId).readLock().unlock();
+    private void releaseReadLock(String workspaceId) {
+        striped.get(workspaceId).readLock().unlock();
     }
 
     /** Short alias for acquiring write lock for the given workspace. */
-    private static void acquireWriteLock(String workspaceId) {
-        STRIPED.get(workspaceId).writeLock().lock();
+    private void acquireWriteLock(String workspaceId) {
+        striped.get(workspaceId).writeLock().lock();
     }
 
     /** Short alias for releasing write lock for the given workspace. */
-    private static void releaseWriteLock(String workspaceId) {
-        STRIPED.get(workspaceId).writeLock().unlock();
+    private void releaseWriteLock(String workspaceId) {
+        striped.get(workspaceId).writeLock().unlock();
     }
 }
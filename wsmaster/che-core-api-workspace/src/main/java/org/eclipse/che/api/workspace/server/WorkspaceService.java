@@ -41,6 +41,7 @@ import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.everrest.ETagResponseFilter;
 
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
@@ -194,8 +195,11 @@ public class WorkspaceService extends Service {
                                             @ApiParam("Workspace status")
                                             @QueryParam("status")
                                             String status) throws ServerException, BadRequestException {
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        // completes the request with 304 if client has the same version of workspaces
+        ETagResponseFilter.evaluateVersion(userId + ':' + status + ':' + workspaceManager.getWorkspacesVersion());
         //TODO add maxItems & skipCount to manager
-        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId())
+        return workspaceManager.getWorkspaces(userId)
                                .stream()
                                .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
                                .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
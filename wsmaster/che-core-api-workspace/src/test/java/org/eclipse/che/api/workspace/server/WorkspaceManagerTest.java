@@ -68,6 +68,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -143,6 +144,24 @@ public class WorkspaceManagerTest {
         verify(workspaceDao).create(workspace);
     }
 
+    @Test
+    public void workspacesVersionShouldBeChangedWhenWorkspaceIsCreated() throws Exception {
+        final String version = workspaceManager.getWorkspacesVersion();
+
+        workspaceManager.createWorkspace(createConfig(), "user123", "account");
+
+        assertNotEquals(workspaceManager.getWorkspacesVersion(), version);
+    }
+
+    @Test
+    public void workspacesVersionShouldBeChangedWhenRuntimesAreChanged() throws Exception {
+        final String version = workspaceManager.getWorkspacesVersion();
+
+        when(runtimes.getVersion()).thenReturn(1L);
+
+        assertNotEquals(workspaceManager.getWorkspacesVersion(), version);
+    }
+
 
     @Test
     public void shouldBeAbleToGetWorkspaceById() throws Exception {
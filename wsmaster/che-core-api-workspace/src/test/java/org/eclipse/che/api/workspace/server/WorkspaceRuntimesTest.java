@@ -43,6 +43,14 @@ import org.testng.annotations.Test;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -67,6 +75,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Yevhenii Voevodin
@@ -662,6 +671,152 @@ public class WorkspaceRuntimesTest {
         verify(machineManager).getMachines();
     }
 
+    @Test
+    public void shouldConfigureNumberOfLockStripes() throws Exception {
+        assertEquals(runtimes.getLockStripes(), WorkspaceRuntimes.DEFAULT_LOCK_STRIPES);
+
+        runtimes.setLockStripes(256);
+
+        assertEquals(runtimes.getLockStripes(), 256);
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldStartNonDevMachinesConcurrentlyAfterDevMachineIsStarted() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace("db", "cache", "queue");
+        final CountDownLatch allStarting = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            final MachineConfig machineCfg = (MachineConfig)invocation.getArguments()[0];
+            if (machineCfg.isDev()) {
+                assertEquals(allStarting.getCount(), 3, "Non-dev machines are started before dev machine");
+            } else {
+                allStarting.countDown();
+                assertTrue(allStarting.await(5, TimeUnit.SECONDS), "Non-dev machines are not started concurrently");
+            }
+            return createMachine(machineCfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString());
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getRuntimeStatus(), RUNNING);
+        assertEquals(descriptor.getRuntime().getMachines().size(), 4);
+        assertFalse(runtimes.startQueues.containsKey(workspace.getId()));
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldNotStartNonDevMachinesWhichAreWaitingForThreadIfWorkspaceWasStopped() throws Exception {
+        runtimes.setMachineStartThreads(1);
+        final WorkspaceImpl workspace = createWorkspace("db", "cache");
+        doAnswer(invocation -> {
+            final MachineConfig machineCfg = (MachineConfig)invocation.getArguments()[0];
+            if (!machineCfg.isDev()) {
+                runtimes.stop(workspace.getId());
+            }
+            return createMachine(machineCfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString());
+
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+            fail("Start must be interrupted");
+        } catch (ConflictException ex) {
+            assertEquals(ex.getMessage(), "Workspace '" + workspace.getId() + "' start interrupted. " +
+                                          "Workspace stopped before all its machines started");
+        }
+        verify(machineManager, times(2)).createMachineSync(any(), anyString(), anyString());
+        verify(machineManager, times(2)).destroy(any(), anyBoolean());
+    }
+
+    @Test(timeOut = 10_000)
+    public void runtimeStatusShouldBeReadableWhileRuntimeIsLockedForModification() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+        // replace real descriptor with the one which keeps write lock until it is released
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(descriptor.getRuntimeStatus()).thenAnswer(invocation -> {
+            locked.countDown();
+            release.await();
+            return STOPPING;
+        });
+        runtimes.descriptors.put(WORKSPACE_ID, descriptor);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> writer = executor.submit(() -> runtimes.removeMachine("machine123", "non-dev", WORKSPACE_ID));
+            assertTrue(locked.await(5, TimeUnit.SECONDS), "write lock is not acquired");
+
+            assertTrue(runtimes.hasRuntime(WORKSPACE_ID));
+            assertEquals(runtimes.get(WORKSPACE_ID).getRuntimeStatus(), RUNNING);
+
+            release.countDown();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeOut = 10_000)
+    public void shouldProvideConsistentRuntimesToReadersWhileWorkspacesAreStartedAndStopped() throws Exception {
+        final int writers = 2;
+        final int readers = 2;
+        final int rounds = 10;
+        final List<WorkspaceImpl> workspaces = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            workspaces.add(new WorkspaceImpl(WORKSPACE_ID + i, "user123", createWorkspace().getConfig()));
+        }
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        try {
+            final List<Future<?>> writerFutures = new ArrayList<>();
+            for (WorkspaceImpl workspace : workspaces) {
+                writerFutures.add(executor.submit(() -> {
+                    startLatch.await();
+                    for (int i = 0; i < rounds; i++) {
+                        runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+                        runtimes.stop(workspace.getId());
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < readers; i++) {
+                executor.submit(() -> {
+                    try {
+                        startLatch.await();
+                        while (writing.get()) {
+                            for (WorkspaceImpl workspace : workspaces) {
+                                try {
+                                    final RuntimeDescriptor descriptor = runtimes.get(workspace.getId());
+                                    if (descriptor.getRuntimeStatus() == RUNNING) {
+                                        assertNotNull(descriptor.getRuntime().getDevMachine());
+                                    } else if (descriptor.getRuntimeStatus() == null) {
+                                        fail("Runtime of workspace " + workspace.getId() + " doesn't have status");
+                                    }
+                                } catch (NotFoundException ignored) {
+                                    // workspace is stopped at the moment
+                                }
+                            }
+                        }
+                    } catch (Throwable x) {
+                        errors.add(x);
+                    }
+                });
+            }
+
+            startLatch.countDown();
+            for (Future<?> writer : writerFutures) {
+                writer.get();
+            }
+            writing.set(false);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertTrue(errors.isEmpty(), "Readers failed: " + errors);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @DataProvider(name = "workspaceStatusesExceptOfRunning")
     private Object[][] workspaceStatusesExceptOfRunning() {
         final EnumSet<WorkspaceStatus> events = EnumSet.allOf(WorkspaceStatus.class);
@@ -725,15 +880,23 @@ public class WorkspaceRuntimesTest {
     }
 
     private static WorkspaceImpl createWorkspace() {
+        return createWorkspace("non-dev");
+    }
+
+    private static WorkspaceImpl createWorkspace(String... nonDevMachineNames) {
         final MachineConfigImpl devCfg = createConfig(true);
-        final MachineConfigImpl nonDevCfg = MachineConfigImpl.builder()
-                                                             .fromConfig(devCfg)
-                                                             .setName("non-dev")
-                                                             .setDev(false)
-                                                             .build();
+        final List<MachineConfigImpl> machineConfigs = new ArrayList<>();
+        for (String name : nonDevMachineNames) {
+            machineConfigs.add(MachineConfigImpl.builder()
+                                                .fromConfig(devCfg)
+                                                .setName(name)
+                                                .setDev(false)
+                                                .build());
+        }
+        machineConfigs.add(devCfg);
         final EnvironmentImpl environment = new EnvironmentImpl(ENV_NAME,
                                                                 new RecipeImpl(),
-                                                                asList(nonDevCfg, devCfg));
+                                                                machineConfigs);
         final WorkspaceConfigImpl wsConfig = WorkspaceConfigImpl.builder()
                                                                 .setName("test workspace")
                                                                 .setEnvironments(singletonList(environment))
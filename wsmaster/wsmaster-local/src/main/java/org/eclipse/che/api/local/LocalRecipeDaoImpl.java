@@ -16,7 +16,7 @@ import com.google.inject.Inject;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.local.storage.LocalStorage;
+import org.eclipse.che.api.local.storage.JournaledStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.RecipeDao;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
@@ -25,7 +25,6 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -42,48 +41,59 @@ import static java.lang.String.format;
 @Singleton
 public class LocalRecipeDaoImpl implements RecipeDao {
 
-    private final Map<String, RecipeImpl> recipes;
-    private final ReadWriteLock           lock;
-    private final LocalStorage            recipeStorage;
+    private final JournaledStorage<RecipeImpl> recipes;
+    private final ReadWriteLock                lock;
 
     @Inject
     public LocalRecipeDaoImpl(LocalStorageFactory storageFactory) throws IOException {
-        this.recipeStorage = storageFactory.create("recipes.json");
-        this.recipes = new HashMap<>();
+        this.recipes = storageFactory.createJournaled("recipes.json", new TypeToken<Map<String, RecipeImpl>>() {});
         this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
     public void loadRecipes() {
-        recipes.putAll(recipeStorage.loadMap(new TypeToken<Map<String, RecipeImpl>>() {}));
+        lock.writeLock().lock();
+        try {
+            recipes.load();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
     public void saveRecipes() throws IOException {
-        recipeStorage.store(recipes);
+        lock.writeLock().lock();
+        try {
+            recipes.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
-    public void create(RecipeImpl recipe) throws ConflictException {
+    public void create(RecipeImpl recipe) throws ConflictException, ServerException {
         lock.writeLock().lock();
         try {
             if (recipes.containsKey(recipe.getId())) {
                 throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
             }
             recipes.put(recipe.getId(), recipe);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public RecipeImpl update(RecipeImpl update) throws NotFoundException {
+    public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
-            final RecipeImpl target = recipes.get(update.getId());
-            if (target == null) {
+            final RecipeImpl existing = recipes.get(update.getId());
+            if (existing == null) {
                 throw new NotFoundException(format("Recipe with id '%s' was not found", update.getId()));
             }
+            final RecipeImpl target = new RecipeImpl(existing);
             if (update.getType() != null) {
                 target.setType(update.getType());
             }
@@ -102,18 +112,22 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             if (update.getAcl() != null && !update.getAcl().isEmpty()) {
                 target.setAcl(update.getAcl());
             }
-
+            recipes.put(target.getId(), target);
             return new RecipeImpl(target);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void remove(String id) {
+    public void remove(String id) throws ServerException {
         lock.writeLock().lock();
         try {
             recipes.remove(id);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
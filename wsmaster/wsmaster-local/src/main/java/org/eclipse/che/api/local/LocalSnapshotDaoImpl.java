@@ -14,7 +14,7 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.MachineSource;
-import org.eclipse.che.api.local.storage.LocalStorage;
+import org.eclipse.che.api.local.storage.JournaledStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
@@ -26,92 +26,141 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static java.lang.String.format;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
-import static java.util.stream.Collectors.toList;
 
 /**
  * In-memory implementation of {@link SnapshotDao}.
  *
+ * <p>Snapshots are persisted by {@link JournaledStorage} and looked up by its indexes.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class LocalSnapshotDaoImpl implements SnapshotDao {
 
-    private final Map<String, SnapshotImpl> snapshots;
-    private final LocalStorage              snapshotStorage;
+    private static final String BY_MACHINE   = "machine";
+    private static final String BY_WORKSPACE = "workspace";
+
+    private final JournaledStorage<SnapshotImpl> snapshots;
+    private final ReadWriteLock                  lock;
 
     @Inject
     public LocalSnapshotDaoImpl(LocalStorageFactory storageFactory) throws IOException {
-        snapshots = new HashMap<>();
-        snapshotStorage = storageFactory.create("snapshots.json", singletonMap(MachineSource.class, new MachineSourceAdapter()));
+        snapshots = storageFactory.createJournaled("snapshots.json",
+                                                   new TypeToken<Map<String, SnapshotImpl>>() {},
+                                                   singletonMap(MachineSource.class, new MachineSourceAdapter()))
+                                  .addIndex(BY_MACHINE, snapshot -> singleton(machineKey(snapshot.getWorkspaceId(),
+                                                                                         snapshot.getEnvName(),
+                                                                                         snapshot.getMachineName())))
+                                  .addIndex(BY_WORKSPACE, snapshot -> singleton(workspaceKey(snapshot.getNamespace(),
+                                                                                             snapshot.getWorkspaceId())));
+        lock = new ReentrantReadWriteLock();
     }
 
     @Override
-    public synchronized SnapshotImpl getSnapshot(String workspaceId, String envName, String machineName) throws NotFoundException,
-                                                                                                                SnapshotException {
-        final Optional<SnapshotImpl> snapshotOpt = doGetSnapshot(workspaceId, envName, machineName);
-        if (!snapshotOpt.isPresent()) {
-            throw new NotFoundException(format("Snapshot with workspace id '%s', environment name '%s', machine name %s doesn't exist",
-                                               workspaceId, envName, machineName));
+    public SnapshotImpl getSnapshot(String workspaceId, String envName, String machineName) throws NotFoundException,
+                                                                                                   SnapshotException {
+        lock.readLock().lock();
+        try {
+            final SnapshotImpl snapshot = snapshots.getFirstByIndex(BY_MACHINE, machineKey(workspaceId, envName, machineName));
+            if (snapshot == null) {
+                throw new NotFoundException(format("Snapshot with workspace id '%s', environment name '%s', machine name %s doesn't exist",
+                                                   workspaceId, envName, machineName));
+            }
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
         }
-        return snapshotOpt.get();
     }
 
     @Override
-    public synchronized SnapshotImpl getSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
-        final SnapshotImpl snapshot = snapshots.get(snapshotId);
-        if (snapshot == null) {
-            throw new NotFoundException("Snapshot with id '" + snapshotId + "' doesn't exist");
+    public SnapshotImpl getSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
+        lock.readLock().lock();
+        try {
+            final SnapshotImpl snapshot = snapshots.get(snapshotId);
+            if (snapshot == null) {
+                throw new NotFoundException("Snapshot with id '" + snapshotId + "' doesn't exist");
+            }
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
         }
-        return snapshot;
     }
 
     @Override
-    public synchronized void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
+    public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         Objects.requireNonNull(snapshot, "Required non-null snapshot");
-        final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
-        if (opt.isPresent()) {
-            snapshots.remove(opt.get().getId());
+        lock.writeLock().lock();
+        try {
+            final SnapshotImpl existing = snapshots.getFirstByIndex(BY_MACHINE, machineKey(snapshot.getWorkspaceId(),
+                                                                                           snapshot.getEnvName(),
+                                                                                           snapshot.getMachineName()));
+            if (existing != null) {
+                snapshots.remove(existing.getId());
+            }
+            snapshots.put(snapshot.getId(), snapshot);
+        } catch (IOException e) {
+            throw new SnapshotException(e.getLocalizedMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
         }
-        snapshots.put(snapshot.getId(), snapshot);
     }
 
     @Override
-    public synchronized List<SnapshotImpl> findSnapshots(String namespace, String workspaceId) throws SnapshotException {
-        return snapshots.values()
-                        .stream()
-                        .filter(snapshot -> snapshot.getNamespace().equals(namespace) && snapshot.getWorkspaceId().equals(workspaceId))
-                        .collect(toList());
+    public List<SnapshotImpl> findSnapshots(String namespace, String workspaceId) throws SnapshotException {
+        lock.readLock().lock();
+        try {
+            return snapshots.getByIndex(BY_WORKSPACE, workspaceKey(namespace, workspaceId));
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
-    public synchronized void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
-        snapshots.remove(snapshotId);
+    public void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
+        lock.writeLock().lock();
+        try {
+            snapshots.remove(snapshotId);
+        } catch (IOException e) {
+            throw new SnapshotException(e.getLocalizedMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PostConstruct
-    public synchronized void loadSnapshots() {
-        snapshots.putAll(snapshotStorage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {}));
+    public void loadSnapshots() {
+        lock.writeLock().lock();
+        try {
+            snapshots.load();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
-    public synchronized void saveSnapshots() throws IOException {
-        snapshotStorage.store(snapshots);
+    public void saveSnapshots() throws IOException {
+        lock.writeLock().lock();
+        try {
+            snapshots.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String machineKey(String workspaceId, String envName, String machineName) {
+        return workspaceId + '/' + envName + '/' + machineName;
     }
 
-    private Optional<SnapshotImpl> doGetSnapshot(String workspaceId, String envName, String machineName) {
-        return snapshots.values()
-                        .stream()
-                        .filter(snapshot -> snapshot.getWorkspaceId().equals(workspaceId)
-                                            && snapshot.getEnvName().equals(envName)
-                                            && snapshot.getMachineName().equals(machineName))
-                        .findFirst();
+    private static String workspaceKey(String namespace, String workspaceId) {
+        return namespace + '/' + workspaceId;
     }
 }
@@ -15,6 +15,7 @@ import com.google.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.local.storage.JournaledStorage;
 import org.eclipse.che.api.local.storage.stack.StackLocalStorage;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
@@ -25,9 +26,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
@@ -44,29 +43,35 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class LocalStackDaoImpl implements StackDao {
 
-    private final StackLocalStorage      stackStorage;
-    private final Map<String, StackImpl> stacks;
-    private final ReadWriteLock          lock;
+    private final StackLocalStorage           stackStorage;
+    private final JournaledStorage<StackImpl> stacks;
+    private final ReadWriteLock               lock;
 
     @Inject
     public LocalStackDaoImpl(StackLocalStorage stackLocalStorage) throws IOException {
         this.stackStorage = stackLocalStorage;
-        this.stacks = new LinkedHashMap<>();
+        this.stacks = stackLocalStorage.getStacks();
         this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
     public void start() {
-        lock.readLock().lock();
-        stacks.putAll(stackStorage.loadMap());
-        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            stackStorage.load();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
     public void stop() throws IOException {
         lock.writeLock().lock();
-        stackStorage.store(stacks);
-        lock.writeLock().unlock();
+        try {
+            stackStorage.store();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -78,6 +83,8 @@ public class LocalStackDaoImpl implements StackDao {
                 throw new ConflictException(format("Stack with id %s is already exist", stack.getId()));
             }
             stacks.put(stack.getId(), stack);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
@@ -104,6 +111,8 @@ public class LocalStackDaoImpl implements StackDao {
         lock.writeLock().lock();
         try {
             stacks.remove(id);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
@@ -119,8 +128,10 @@ public class LocalStackDaoImpl implements StackDao {
             if (!stacks.containsKey(updateId)) {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
-            stacks.replace(updateId, update);
+            stacks.put(updateId, update);
             return new StackImpl(update);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
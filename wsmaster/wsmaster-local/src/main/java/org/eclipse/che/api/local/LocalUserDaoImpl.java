@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.local.storage.JournaledStorage;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.user.server.dao.User;
@@ -30,52 +31,71 @@ import javax.inject.Singleton;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
+ * Users are persisted by {@link JournaledStorage} and looked up by its indexes.
+ *
  * @author Anton Korneta
  */
 @Singleton
 public class LocalUserDaoImpl implements UserDao {
 
-    private final List<User>    users;
-    private final ReadWriteLock lock;
-    private final LocalStorage  userStorage;
+    private static final String BY_ALIAS = "alias";
+    private static final String BY_NAME  = "name";
+
+    private final JournaledStorage<User> users;
+    private final ReadWriteLock          lock;
+    /** Storage of users.json in the format of the previous versions, which kept users in the list. */
+    private final LocalStorage           legacyUserStorage;
 
     @Inject
     public LocalUserDaoImpl(LocalStorageFactory storageFactory) throws IOException {
-        this.users = new LinkedList<>();
+        this.users = storageFactory.createJournaled("users.json", new TypeToken<Map<String, User>>() {})
+                                   .addIndex(BY_ALIAS, user -> user.getAliases())
+                                   .addIndex(BY_NAME, user -> user.getName() == null ? Collections.emptySet()
+                                                                                     : Collections.singleton(user.getName()));
         lock = new ReentrantReadWriteLock();
-        userStorage = storageFactory.create("users.json");
+        legacyUserStorage = storageFactory.create("users.json");
     }
 
     @Inject
     @PostConstruct
-    public void start(@Named("codenvy.local.infrastructure.users") Set<User> defaultUsers) {
-        List<User> storedUsers = userStorage.loadList(new TypeToken<List<User>>() {});
-        users.addAll(storedUsers.isEmpty() ? defaultUsers : storedUsers);
+    public void start(@Named("codenvy.local.infrastructure.users") Set<User> defaultUsers) throws IOException {
+        lock.writeLock().lock();
+        try {
+            users.load();
+            if (users.size() == 0) {
+                final List<User> storedUsers = legacyUserStorage.loadList(new TypeToken<List<User>>() {});
+                for (User user : storedUsers.isEmpty() ? defaultUsers : storedUsers) {
+                    users.put(user.getId(), user);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
     public void stop() throws IOException {
-        userStorage.store(users);
+        lock.writeLock().lock();
+        try {
+            users.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
     public String authenticate(String alias, String password) throws UnauthorizedException, ServerException {
         lock.readLock().lock();
         try {
-            User myUser = null;
-            for (int i = 0, size = users.size(); i < size && myUser == null; i++) {
-                if (users.get(i).getAliases().contains(alias)) {
-                    myUser = users.get(i);
-                }
-            }
+            final User myUser = users.getFirstByIndex(BY_ALIAS, alias);
             if (myUser == null || !password.equals(myUser.getPassword())) {
                 throw new UnauthorizedException(String.format("Authentication failed for user %s", alias));
             }
@@ -86,65 +106,52 @@ public class LocalUserDaoImpl implements UserDao {
     }
 
     @Override
-    public void create(User user) throws ConflictException {
+    public void create(User user) throws ConflictException, ServerException {
         lock.writeLock().lock();
         try {
             final String userId = user.getId();
-            final Set<String> aliases = new HashSet<>(user.getAliases());
-            for (User u : users) {
-                if (u.getId().equals(userId)) {
+            if (users.containsKey(userId)) {
+                throw new ConflictException(
+                        String.format("Unable create new user '%s'. User id %s is already in use.", user.getEmail(), userId));
+            }
+            for (String alias : user.getAliases()) {
+                if (users.getFirstByIndex(BY_ALIAS, alias) != null) {
                     throw new ConflictException(
-                            String.format("Unable create new user '%s'. User id %s is already in use.", user.getEmail(), userId));
-                }
-                for (String alias : u.getAliases()) {
-                    if (aliases.contains(alias)) {
-                        throw new ConflictException(
-                                String.format("Unable create new user '%s'. User alias %s is already in use.", user.getEmail(), alias));
-                    }
+                            String.format("Unable create new user '%s'. User alias %s is already in use.", user.getEmail(), alias));
                 }
             }
-            users.add(doClone(user));
+            store(doClone(user));
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void update(User user) throws NotFoundException {
+    public void update(User user) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
-            User myUser = null;
-            for (int i = 0, size = users.size(); i < size && myUser == null; i++) {
-                if (users.get(i).getId().equals(user.getId())) {
-                    myUser = users.get(i);
-                }
-            }
+            final User myUser = users.get(user.getId());
             if (myUser == null) {
                 throw new NotFoundException(String.format("User not found %s", user.getId()));
             }
-            myUser.getAliases().clear();
-            myUser.getAliases().addAll(user.getAliases());
-            myUser.setEmail(user.getEmail());
-            myUser.setPassword(user.getPassword());
+            final User updated = doClone(myUser).withAliases(new ArrayList<>(user.getAliases()))
+                                                .withEmail(user.getEmail())
+                                                .withPassword(user.getPassword());
+            store(updated);
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void remove(String id) throws NotFoundException {
+    public void remove(String id) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
-            User myUser = null;
-            for (int i = 0, size = users.size(); i < size && myUser == null; i++) {
-                if (users.get(i).getId().equals(id)) {
-                    myUser = users.get(i);
-                }
-            }
-            if (myUser == null) {
+            if (users.remove(id) == null) {
                 throw new NotFoundException(String.format("User not found %s", id));
             }
-            users.remove(myUser);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
         } finally {
             lock.writeLock().unlock();
         }
@@ -154,12 +161,7 @@ public class LocalUserDaoImpl implements UserDao {
     public User getByAlias(String alias) throws NotFoundException {
         lock.readLock().lock();
         try {
-            User user = null;
-            for (int i = 0, size = users.size(); i < size && user == null; i++) {
-                if (users.get(i).getAliases().contains(alias)) {
-                    user = users.get(i);
-                }
-            }
+            final User user = users.getFirstByIndex(BY_ALIAS, alias);
             if (user == null) {
                 throw new NotFoundException(String.format("User not found %s", alias));
             }
@@ -173,12 +175,7 @@ public class LocalUserDaoImpl implements UserDao {
     public User getById(String id) throws NotFoundException {
         lock.readLock().lock();
         try {
-            User user = null;
-            for (int i = 0, size = users.size(); i < size && user == null; i++) {
-                if (users.get(i).getId().equals(id)) {
-                    user = users.get(i);
-                }
-            }
+            final User user = users.get(id);
             if (user == null) {
                 throw new NotFoundException(String.format("User not found %s", id));
             }
@@ -187,17 +184,12 @@ public class LocalUserDaoImpl implements UserDao {
             lock.readLock().unlock();
         }
     }
-    
+
     @Override
     public User getByName(String name) throws NotFoundException {
         lock.readLock().lock();
         try {
-            User user = null;
-            for (int i = 0, size = users.size(); i < size && user == null; i++) {
-                if (users.get(i).getName().equals(name)) {
-                    user = users.get(i);
-                }
-            }
+            final User user = users.getFirstByIndex(BY_NAME, name);
             if (user == null) {
                 throw new NotFoundException(String.format("User not found %s", name));
             }
@@ -207,6 +199,14 @@ public class LocalUserDaoImpl implements UserDao {
         }
     }
 
+    private void store(User user) throws ServerException {
+        try {
+            users.put(user.getId(), user);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
+    }
+
     private User doClone(User user) {
         return new User().withId(user.getId())
                          .withName(user.getName())
@@ -19,7 +19,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
-import org.eclipse.che.api.local.storage.LocalStorage;
+import org.eclipse.che.api.local.storage.JournaledStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.recipe.adapters.RecipeTypeAdapter;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
@@ -30,11 +30,11 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -43,9 +43,10 @@ import static java.util.stream.Collectors.toList;
  * In memory based implementation of {@link WorkspaceDao}.
  *
  * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * to/from filesystem, when component starts/stops. Modifications of workspaces are journaled
+ * to the filesystem immediately, see {@link JournaledStorage}.
  *
- * @implNote it is thread-safe, guarded by <i>this</i> instance
+ * @implNote it is thread-safe, guarded by the read-write lock
  *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
@@ -54,99 +55,162 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
-    private final Map<String, WorkspaceImpl> workspaces;
-    private final LocalStorage               localStorage;
+    private static final String BY_NAMESPACE      = "namespace";
+    private static final String BY_NAME_NAMESPACE = "name-namespace";
+
+    private final JournaledStorage<WorkspaceImpl> workspaces;
+    private final ReadWriteLock                   lock;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory) throws IOException {
         final Map<Class<?>, Object> adapters = ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
                                                                ProjectConfig.class, new ProjectConfigAdapter());
-        this.localStorage = factory.create("workspaces.json", adapters);
-        this.workspaces = new HashMap<>();
+        this.workspaces = factory.createJournaled("workspaces.json", new TypeToken<Map<String, WorkspaceImpl>>() {}, adapters)
+                                 .addIndex(BY_NAMESPACE, ws -> Collections.singleton(ws.getNamespace()))
+                                 .addIndex(BY_NAME_NAMESPACE,
+                                           ws -> Collections.singleton(nameKey(ws.getConfig().getName(), ws.getNamespace())));
+        this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
-    public synchronized void loadWorkspaces() {
-        workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
-        for (WorkspaceImpl workspace : workspaces.values()) {
-            workspace.setRuntime(null);
+    public void loadWorkspaces() {
+        lock.writeLock().lock();
+        try {
+            workspaces.load();
+            for (WorkspaceImpl workspace : workspaces.values()) {
+                workspace.setRuntime(null);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     @PreDestroy
-    public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+    public void saveWorkspaces() throws IOException {
+        lock.writeLock().lock();
+        try {
+            workspaces.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
-    public synchronized WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
-        if (workspaces.containsKey(workspace.getId())) {
-            throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
-        }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
-            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
-                                               workspace.getConfig().getName(),
-                                               workspace.getNamespace()));
+    public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
+        lock.writeLock().lock();
+        try {
+            if (workspaces.containsKey(workspace.getId())) {
+                throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
+            }
+            if (find(workspace.getConfig().getName(), workspace.getNamespace()) != null) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
+            workspace.setRuntime(null);
+            workspace.setStatus(WorkspaceStatus.STOPPED);
+            store(new WorkspaceImpl(workspace));
+            return workspace;
+        } finally {
+            lock.writeLock().unlock();
         }
-        workspace.setRuntime(null);
-        workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
-        return workspace;
     }
 
     @Override
-    public synchronized WorkspaceImpl update(WorkspaceImpl workspace)
-            throws NotFoundException, ConflictException, ServerException {
-        if (!workspaces.containsKey(workspace.getId())) {
-            throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
+    public WorkspaceImpl update(WorkspaceImpl workspace) throws NotFoundException, ConflictException, ServerException {
+        lock.writeLock().lock();
+        try {
+            if (!workspaces.containsKey(workspace.getId())) {
+                throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
+            }
+            workspace.setStatus(null);
+            workspace.setRuntime(null);
+            store(new WorkspaceImpl(workspace));
+            return workspace;
+        } finally {
+            lock.writeLock().unlock();
         }
-        workspace.setStatus(null);
-        workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
-        return workspace;
     }
 
     @Override
-    public synchronized void remove(String id) throws ConflictException, ServerException {
-        workspaces.remove(id);
+    public void remove(String id) throws ConflictException, ServerException {
+        lock.writeLock().lock();
+        try {
+            workspaces.remove(id);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String id) throws NotFoundException, ServerException {
-        final WorkspaceImpl workspace = workspaces.get(id);
-        if (workspace == null) {
-            throw new NotFoundException("Workspace with id " + id + " was not found");
+    public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+        lock.readLock().lock();
+        try {
+            final WorkspaceImpl workspace = workspaces.get(id);
+            if (workspace == null) {
+                throw new NotFoundException("Workspace with id " + id + " was not found");
+            }
+            return new WorkspaceImpl(workspace);
+        } finally {
+            lock.readLock().unlock();
         }
-        return new WorkspaceImpl(workspace);
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
-        final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
-        if (!wsOpt.isPresent()) {
-            throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
+    public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
+        lock.readLock().lock();
+        try {
+            final WorkspaceImpl workspace = find(name, namespace);
+            if (workspace == null) {
+                throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
+            }
+            return new WorkspaceImpl(workspace);
+        } finally {
+            lock.readLock().unlock();
         }
-        return new WorkspaceImpl(wsOpt.get());
     }
 
     @Override
-    public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getNamespace().equals(namespace))
-                         .map(WorkspaceImpl::new)
-                         .collect(toList());
+    public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+        lock.readLock().lock();
+        try {
+            return workspaces.getByIndex(BY_NAMESPACE, namespace)
+                             .stream()
+                             .map(WorkspaceImpl::new)
+                             .collect(toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
-        return new ArrayList<>(workspaces.values());
+        lock.readLock().lock();
+        try {
+            return workspaces.values()
+                             .stream()
+                             .map(WorkspaceImpl::new)
+                             .collect(toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private WorkspaceImpl find(String name, String owner) {
+        return workspaces.getFirstByIndex(BY_NAME_NAMESPACE, nameKey(name, owner));
+    }
+
+    private void store(WorkspaceImpl workspace) throws ServerException {
+        try {
+            workspaces.put(workspace.getId(), workspace);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
     }
 
-    private Optional<WorkspaceImpl> find(String name, String owner) {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getConfig().getName().equals(name) && ws.getNamespace().equals(owner))
-                         .findFirst();
+    private static String nameKey(String name, String namespace) {
+        return namespace + '/' + name;
     }
 }
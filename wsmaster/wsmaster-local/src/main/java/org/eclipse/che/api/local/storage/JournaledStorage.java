@@ -0,0 +1,471 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * Map of model objects which is persisted in the local storage by an append-only journal.
+ *
+ * <p>The content of the map is kept in the snapshot file of the {@link LocalStorage} in the same format
+ * as {@link LocalStorage#store(Object)} writes maps. Each modification of the map is appended to the journal
+ * file which is located next to the snapshot, so a modification doesn't rewrite the whole snapshot.
+ * Each record is synced to the disk before the modification method returns.
+ *
+ * <p>The journal is merged into the snapshot (compacted) on {@link #load()}, on {@link #close()} and when it
+ * contains {@code maxJournalRecords} records. In the last case the journal is moved aside and the copy of the map
+ * is written to the snapshot by the compaction executor, so the owner's write lock isn't held while the whole
+ * snapshot is written, new records go to the new journal meanwhile. Both journals are replayed on the next load
+ * if the compaction doesn't complete. Journal records are idempotent, so the journal which remains after the crash
+ * between writing the snapshot and deleting the journal is safely replayed as well.
+ *
+ * <p>Values may be looked up by secondary indexes, see {@link #addIndex(String, Function)}.
+ *
+ * <p>This class is not thread safe, its owner guards reads with the read lock and modifications with the write lock.
+ *
+ * @param <V>
+ *         type of the stored values
+ */
+public class JournaledStorage<V> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournaledStorage.class);
+
+    /** Default number of journal records after which the journal is compacted. */
+    public static final int DEFAULT_MAX_JOURNAL_RECORDS = 1000;
+
+    private static final String  JOURNAL_SUFFIX           = ".journal";
+    private static final String  COMPACTED_JOURNAL_SUFFIX = ".journal.compacted";
+    private static final Charset UTF_8                    = Charset.forName("UTF-8");
+
+    private static final Executor COMPACTION_EXECUTOR =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("JournaledStorageCompactor-%d")
+                                                                        .setDaemon(true)
+                                                                        .build());
+
+    private final LocalStorage              snapshotStorage;
+    private final TypeToken<Map<String, V>> mapToken;
+    private final Type                      valueType;
+    private final Gson                      gson;
+    private final File                      journalFile;
+    private final File                      compactedJournalFile;
+    private final int                       maxJournalRecords;
+    private final Executor                  compactionExecutor;
+    private final Map<String, V>            values;
+    private final Map<String, Index<V>>     indexes;
+
+    private FileOutputStream        journalOut;
+    private Writer                  journal;
+    private int                     journalRecords;
+    private CompletableFuture<Void> compaction;
+
+    /**
+     * @param snapshotStorage
+     *         storage of the snapshot file
+     * @param mapToken
+     *         type of the snapshot content
+     * @param maxJournalRecords
+     *         number of journal records after which the journal is compacted
+     */
+    public JournaledStorage(LocalStorage snapshotStorage, TypeToken<Map<String, V>> mapToken, int maxJournalRecords) {
+        this(snapshotStorage, mapToken, maxJournalRecords, COMPACTION_EXECUTOR);
+    }
+
+    /**
+     * @param snapshotStorage
+     *         storage of the snapshot file
+     * @param mapToken
+     *         type of the snapshot content
+     * @param maxJournalRecords
+     *         number of journal records after which the journal is compacted
+     * @param compactionExecutor
+     *         executor which writes the snapshot when the journal reaches {@code maxJournalRecords} records
+     */
+    public JournaledStorage(LocalStorage snapshotStorage,
+                            TypeToken<Map<String, V>> mapToken,
+                            int maxJournalRecords,
+                            Executor compactionExecutor) {
+        this.snapshotStorage = snapshotStorage;
+        this.mapToken = mapToken;
+        this.valueType = ((ParameterizedType)mapToken.getType()).getActualTypeArguments()[1];
+        this.gson = snapshotStorage.getCompactGson();
+        final File snapshotFile = snapshotStorage.getStoredFile();
+        this.journalFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + JOURNAL_SUFFIX);
+        this.compactedJournalFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + COMPACTED_JOURNAL_SUFFIX);
+        this.maxJournalRecords = maxJournalRecords;
+        this.compactionExecutor = compactionExecutor;
+        this.values = new LinkedHashMap<>();
+        this.indexes = new HashMap<>();
+    }
+
+    /**
+     * Adds index of the values by the keys which are computed by the given function.
+     * Index is updated on each modification of the map, so values must not be modified after they are put
+     * until they are put again.
+     *
+     * @param name
+     *         name of the index
+     * @param keysFunction
+     *         returns index keys of the value, e.g. single name or all aliases
+     * @return this storage
+     */
+    public JournaledStorage<V> addIndex(String name, Function<V, Collection<String>> keysFunction) {
+        final Index<V> index = new Index<>(keysFunction);
+        for (Map.Entry<String, V> entry : values.entrySet()) {
+            index.add(entry.getKey(), entry.getValue());
+        }
+        indexes.put(name, index);
+        return this;
+    }
+
+    /**
+     * Replaces the content of the map with the content of the snapshot and the journals,
+     * then compacts the journals if they aren't empty. Failure of the compaction is logged,
+     * the journal is kept and new records are appended to it.
+     */
+    public void load() {
+        try {
+            closeJournal();
+        } catch (IOException e) {
+            LOG.warn(format("Unable to close journal %s", journalFile.getName()), e);
+        }
+        awaitCompaction();
+        values.clear();
+        for (Index<V> index : indexes.values()) {
+            index.clear();
+        }
+        for (Map.Entry<String, V> entry : snapshotStorage.loadMap(mapToken).entrySet()) {
+            putValue(entry.getKey(), entry.getValue());
+        }
+        // records of the journal which is being compacted are older than records of the current journal
+        journalRecords = replayJournal(compactedJournalFile) + replayJournal(journalFile);
+        if (journalRecords > 0) {
+            try {
+                compact();
+            } catch (IOException e) {
+                LOG.warn(format("Unable to compact journal %s", journalFile.getName()), e);
+            }
+        }
+    }
+
+    /** Returns the value or {@code null} if there is no value with such key. */
+    public V get(String key) {
+        return values.get(key);
+    }
+
+    public boolean containsKey(String key) {
+        return values.containsKey(key);
+    }
+
+    /** Returns unmodifiable view of the values. */
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(values.values());
+    }
+
+    /** Returns unmodifiable view of the map. */
+    public Map<String, V> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns values which have the given index key.
+     *
+     * @throws IllegalArgumentException
+     *         when index with such name isn't added
+     */
+    public List<V> getByIndex(String indexName, String indexKey) {
+        final Set<String> keys = getIndex(indexName).keys(indexKey);
+        final List<V> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            result.add(values.get(key));
+        }
+        return result;
+    }
+
+    /**
+     * Returns any value which has the given index key or {@code null} if there is no such value.
+     *
+     * @throws IllegalArgumentException
+     *         when index with such name isn't added
+     */
+    public V getFirstByIndex(String indexName, String indexKey) {
+        final Set<String> keys = getIndex(indexName).keys(indexKey);
+        return keys.isEmpty() ? null : values.get(keys.iterator().next());
+    }
+
+    /**
+     * Puts the value into the map and appends the record to the journal.
+     * The value must not be modified after it is put, since the snapshot may be written in background.
+     *
+     * @throws IOException
+     *         when the record can't be written, the value is put into the map anyway
+     */
+    public void put(String key, V value) throws IOException {
+        putValue(key, value);
+        final JsonObject record = new JsonObject();
+        record.addProperty("key", key);
+        record.add("value", gson.toJsonTree(value, valueType));
+        append(record);
+    }
+
+    /**
+     * Removes the value from the map and appends the record to the journal.
+     *
+     * @return removed value or {@code null} if there was no value with such key
+     * @throws IOException
+     *         when the record can't be written, the value is removed from the map anyway
+     */
+    public V remove(String key) throws IOException {
+        final V removed = removeValue(key);
+        if (removed != null) {
+            final JsonObject record = new JsonObject();
+            record.addProperty("key", key);
+            record.addProperty("removed", true);
+            append(record);
+        }
+        return removed;
+    }
+
+    /**
+     * Waits for the background compaction, writes the content of the map to the snapshot and deletes the journals.
+     *
+     * @throws IOException
+     *         when the snapshot can't be written
+     */
+    public void compact() throws IOException {
+        closeJournal();
+        awaitCompaction();
+        snapshotStorage.store(values);
+        deleteJournal(compactedJournalFile);
+        deleteJournal(journalFile);
+        journalRecords = 0;
+    }
+
+    /** Compacts the journal and releases the journal file. */
+    public void close() throws IOException {
+        compact();
+    }
+
+    private void putValue(String key, V value) {
+        final V previous = values.put(key, value);
+        for (Index<V> index : indexes.values()) {
+            if (previous != null) {
+                index.remove(key);
+            }
+            index.add(key, value);
+        }
+    }
+
+    private V removeValue(String key) {
+        final V removed = values.remove(key);
+        if (removed != null) {
+            for (Index<V> index : indexes.values()) {
+                index.remove(key);
+            }
+        }
+        return removed;
+    }
+
+    private Index<V> getIndex(String indexName) {
+        final Index<V> index = indexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException(format("Index '%s' doesn't exist", indexName));
+        }
+        return index;
+    }
+
+    private void append(JsonObject record) throws IOException {
+        if (journal == null) {
+            journalOut = new FileOutputStream(journalFile, true);
+            journal = new OutputStreamWriter(journalOut, UTF_8);
+        }
+        journal.write(gson.toJson(record));
+        journal.write('\n');
+        journal.flush();
+        journalOut.getFD().sync();
+        if (++journalRecords >= maxJournalRecords) {
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Moves the journal aside and writes the copy of the map to the snapshot with the compaction executor.
+     * If the previous compaction is still running the journal keeps growing until the next record,
+     * if the previous compaction failed the journal is compacted synchronously.
+     */
+    private void compactInBackground() throws IOException {
+        if (compaction != null && !compaction.isDone()) {
+            return;
+        }
+        compaction = null;
+        if (compactedJournalFile.exists()) {
+            compact();
+            return;
+        }
+        closeJournal();
+        Files.move(journalFile.toPath(), compactedJournalFile.toPath(), ATOMIC_MOVE);
+        journalRecords = 0;
+        final Map<String, V> copy = new LinkedHashMap<>(values);
+        compaction = CompletableFuture.runAsync(() -> {
+            try {
+                snapshotStorage.store(copy);
+                deleteJournal(compactedJournalFile);
+            } catch (IOException e) {
+                LOG.error(format("Unable to compact journal %s, it will be compacted on the next load",
+                                 compactedJournalFile.getName()), e);
+            }
+        }, compactionExecutor);
+    }
+
+    private void awaitCompaction() {
+        if (compaction != null) {
+            compaction.join();
+            compaction = null;
+        }
+    }
+
+    private void deleteJournal(File file) throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException(format("Unable to delete journal '%s'", file));
+        }
+    }
+
+    /** Applies journal records to the map, returns the number of the applied records. */
+    private int replayJournal(File file) {
+        if (!file.exists()) {
+            return 0;
+        }
+        int applied = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+            final JsonParser parser = new JsonParser();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final JsonObject record = parser.parse(line).getAsJsonObject();
+                final String key = record.get("key").getAsString();
+                final JsonElement removed = record.get("removed");
+                if (removed != null && removed.getAsBoolean()) {
+                    removeValue(key);
+                } else {
+                    putValue(key, gson.fromJson(record.get("value"), valueType));
+                }
+                applied++;
+            }
+        } catch (JsonParseException | IllegalStateException | NullPointerException e) {
+            // the last record may be written partially when the server is killed
+            LOG.warn("Journal {} contains invalid record, records after it are skipped", file.getName());
+        } catch (IOException e) {
+            LOG.error(format("Unable to read journal %s", file.getName()), e);
+        }
+        return applied;
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            try {
+                journal.close();
+            } finally {
+                journal = null;
+                journalOut = null;
+            }
+        }
+    }
+
+    /** Maps index keys to the keys of the values. */
+    private static class Index<V> {
+        final Function<V, Collection<String>> keysFunction;
+        final Map<String, Set<String>>        keysByIndexKey;
+        final Map<String, Collection<String>> indexKeysByKey;
+
+        Index(Function<V, Collection<String>> keysFunction) {
+            this.keysFunction = keysFunction;
+            this.keysByIndexKey = new HashMap<>();
+            this.indexKeysByKey = new HashMap<>();
+        }
+
+        void add(String key, V value) {
+            final Collection<String> indexKeys = new ArrayList<>(keysFunction.apply(value));
+            for (String indexKey : indexKeys) {
+                keysByIndexKey.computeIfAbsent(indexKey, k -> new LinkedHashSet<>()).add(key);
+            }
+            indexKeysByKey.put(key, indexKeys);
+        }
+
+        void remove(String key) {
+            final Collection<String> indexKeys = indexKeysByKey.remove(key);
+            if (indexKeys == null) {
+                return;
+            }
+            for (String indexKey : indexKeys) {
+                final Set<String> keys = keysByIndexKey.get(indexKey);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        keysByIndexKey.remove(indexKey);
+                    }
+                }
+            }
+        }
+
+        Set<String> keys(String indexKey) {
+            final Set<String> keys = keysByIndexKey.get(indexKey);
+            return keys == null ? Collections.emptySet() : keys;
+        }
+
+        void clear() {
+            keysByIndexKey.clear();
+            indexKeysByKey.clear();
+        }
+    }
+}
@@ -21,14 +21,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 /**
  * Implementation of file system storage for model objects.
  *
@@ -43,6 +49,8 @@ public class LocalStorage {
      */
     private File storedFile;
     private Gson gson;
+    /** The same as {@link #gson} but without pretty printing, used for single line journal records. */
+    private Gson compactGson;
 
     public LocalStorage(String rootDirPath, String fileName) throws IOException {
         this(rootDirPath, fileName, Collections.emptyMap());
@@ -58,15 +66,37 @@ public class LocalStorage {
         for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
             builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
         }
+        compactGson = builder.create();
         gson = builder.setPrettyPrinting().create();
     }
 
+    /**
+     * Writes the object to the temporary file and then moves it to the stored file,
+     * so the stored file is never left half written.
+     */
     public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
+        final File tmpFile = new File(storedFile.getParentFile(), storedFile.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmpFile);
+             Writer writer = new OutputStreamWriter(out, Charset.forName("UTF-8"))) {
             gson.toJson(storedObj, writer);
+            writer.flush();
+            out.getFD().sync();
+        }
+        try {
+            java.nio.file.Files.move(tmpFile.toPath(), storedFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            java.nio.file.Files.move(tmpFile.toPath(), storedFile.toPath(), REPLACE_EXISTING);
         }
     }
 
+    File getStoredFile() {
+        return storedFile;
+    }
+
+    Gson getCompactGson() {
+        return compactGson;
+    }
+
     /**
      * @param <T>
      *         the type of the desired object.
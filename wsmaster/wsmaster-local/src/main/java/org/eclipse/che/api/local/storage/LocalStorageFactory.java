@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.local.storage;
 
+import com.google.common.reflect.TypeToken;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -25,6 +27,11 @@ import java.util.Map;
 @Singleton
 public class LocalStorageFactory {
 
+    /** Number of journal records after which the journal of {@link JournaledStorage} is compacted. */
+    @com.google.inject.Inject(optional = true)
+    @Named("che.conf.storage.journal.max_records")
+    int maxJournalRecords = JournaledStorage.DEFAULT_MAX_JOURNAL_RECORDS;
+
     /** Path to storage root folder. */
     private final String pathToStorage;
 
@@ -56,4 +63,34 @@ public class LocalStorageFactory {
     public LocalStorage create(String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
         return new LocalStorage(pathToStorage, fileName, typeAdapters);
     }
-}
\ No newline at end of file
+
+    /**
+     * @param fileName
+     *         name of the snapshot file in local storage.
+     * @param mapToken
+     *         type of the stored map.
+     * @param typeAdapters
+     *         types and object adapters when need a special deserialization.
+     * @return instance of JournaledStorage, it should be loaded before use.
+     * @throws IOException
+     *         occurs when cannot create root storage directory.
+     */
+    public <V> JournaledStorage<V> createJournaled(String fileName,
+                                                   TypeToken<Map<String, V>> mapToken,
+                                                   Map<Class<?>, Object> typeAdapters) throws IOException {
+        return new JournaledStorage<>(create(fileName, typeAdapters), mapToken, maxJournalRecords);
+    }
+
+    /**
+     * @param fileName
+     *         name of the snapshot file in local storage.
+     * @param mapToken
+     *         type of the stored map.
+     * @return instance of JournaledStorage, it should be loaded before use.
+     * @throws IOException
+     *         occurs when cannot create root storage directory.
+     */
+    public <V> JournaledStorage<V> createJournaled(String fileName, TypeToken<Map<String, V>> mapToken) throws IOException {
+        return createJournaled(fileName, mapToken, Collections.emptyMap());
+    }
+}
@@ -14,6 +14,7 @@ import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.local.storage.JournaledStorage;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
@@ -45,38 +46,44 @@ public class StackLocalStorage {
     private static final String STACK_STORAGE_FILE = "stacks.json";
     private static final String ICON_FOLDER_NAME   = "images";
 
-    private final LocalStorage localStorage;
-    private final Path         iconFolderPath;
+    private final JournaledStorage<StackImpl> stacks;
+    private final Path                        iconFolderPath;
 
     @Inject
     public StackLocalStorage(@Named("che.conf.storage") String pathToStorage) throws IOException {
-        this.localStorage = new LocalStorage(pathToStorage, STACK_STORAGE_FILE);
+        this.stacks = new JournaledStorage<>(new LocalStorage(pathToStorage, STACK_STORAGE_FILE),
+                                             new TypeToken<Map<String, StackImpl>>() {},
+                                             JournaledStorage.DEFAULT_MAX_JOURNAL_RECORDS);
         this.iconFolderPath = Paths.get(pathToStorage, ICON_FOLDER_NAME);
     }
 
     /**
-     * Store map {@code stacks} to the local stack storage
+     * Returns journaled map of stacks, where key is id of the {@link StackImpl} and value is {@link StackImpl}.
+     * Modifications of the map are journaled immediately, icons of the stacks are saved by {@link #store()}.
+     */
+    public JournaledStorage<StackImpl> getStacks() {
+        return stacks;
+    }
+
+    /**
+     * Compacts the journal of stacks to the local stack storage and saves stack icons.
      *
-     * @param stacks
-     *         map, where key is id of the {@link StackImpl} and value is {@link StackImpl})
      * @throws IOException
      */
-    public void store(Map<String, StackImpl> stacks) throws IOException {
-        localStorage.store(stacks);
+    public void store() throws IOException {
+        stacks.close();
         deleteDirectory(iconFolderPath.toFile());
         stacks.values().forEach(this::saveIcon);
     }
 
     /**
-     * Load map(where key is id of the {@link StackImpl} and value is {@link StackImpl}) from local stack storage.
+     * Loads stacks and their icons from local stack storage.
      */
-    public Map<String, StackImpl> loadMap() {
-        Map<String, StackImpl> stackMap = localStorage.loadMap(new TypeToken<Map<String, StackImpl>>() {
-        });
-        for (StackImpl stack : stackMap.values()) {
+    public void load() {
+        stacks.load();
+        for (StackImpl stack : stacks.values()) {
             setIconData(stack, iconFolderPath);
         }
-        return stackMap;
     }
 
     /**
@@ -99,10 +106,11 @@ public class StackLocalStorage {
         }
         try {
             Path stackIconPath = stackIconFolderPath.resolve(stack.getId()).resolve(stackIcon.getName());
+            // stacks restored from the journal keep icon data, as their icons aren't saved to files yet
             if (Files.exists(stackIconPath) && Files.isRegularFile(stackIconPath)) {
                 stackIcon = new StackIcon(stackIcon.getName(), stackIcon.getMediaType(), Files.readAllBytes(stackIconPath));
                 stack.setStackIcon(stackIcon);
-            } else {
+            } else if (stackIcon.getData() == null) {
                 throw new IOException("Stack icon is not a file or doesn't exist by path: " + stackIconPath);
             }
         } catch (IOException e) {
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import com.google.common.reflect.TypeToken;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.local.storage.JournaledStorage;
+import org.eclipse.che.api.local.storage.LocalStorage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link JournaledStorage}.
+ */
+public class JournaledStorageTest {
+
+    private static final TypeToken<Map<String, Item>> ITEMS_TOKEN = new TypeToken<Map<String, Item>>() {};
+
+    private Path storageRoot;
+    private Path journalPath;
+    private Path compactedJournalPath;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        storageRoot = Paths.get(url.toURI()).getParent().resolve("journaled");
+        journalPath = storageRoot.resolve("items.json.journal");
+        compactedJournalPath = storageRoot.resolve("items.json.journal.compacted");
+    }
+
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
+    @Test
+    public void shouldRestoreModificationsFromJournal() throws Exception {
+        final JournaledStorage<Item> storage = createStorage(100);
+        storage.put("id1", new Item("item1", "ns1"));
+        storage.put("id2", new Item("item2", "ns1"));
+        storage.remove("id1");
+        storage.put("id2", new Item("item2-updated", "ns1"));
+
+        final JournaledStorage<Item> restored = createStorage(100);
+        restored.load();
+
+        assertEquals(restored.size(), 1);
+        assertEquals(restored.get("id2").name, "item2-updated");
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test
+    public void shouldCompactJournalWhenItReachesMaxRecords() throws Exception {
+        final JournaledStorage<Item> storage = createStorage(3);
+        storage.put("id1", new Item("item1", "ns1"));
+        storage.put("id2", new Item("item2", "ns1"));
+        assertTrue(Files.exists(journalPath));
+
+        storage.put("id3", new Item("item3", "ns1"));
+
+        assertFalse(Files.exists(journalPath));
+        final Map<String, Item> snapshot = new LocalStorage(storageRoot.toString(), "items.json").loadMap(ITEMS_TOKEN);
+        assertEquals(snapshot.keySet(), storage.asMap().keySet());
+    }
+
+    @Test
+    public void shouldReplayJournalWhichIsNotCompactedYet() throws Exception {
+        // compaction executor which never runs the task, as if the server is killed while snapshot is written
+        final JournaledStorage<Item> storage = createStorage(2, task -> {});
+        storage.put("id1", new Item("item1", "ns1"));
+        storage.put("id2", new Item("item2", "ns1"));
+        storage.put("id1", new Item("item1-updated", "ns1"));
+        assertTrue(Files.exists(compactedJournalPath));
+        assertTrue(Files.exists(journalPath));
+
+        final JournaledStorage<Item> restored = createStorage(100);
+        restored.load();
+
+        assertEquals(restored.asMap().keySet(), newHashSet("id1", "id2"));
+        assertEquals(restored.get("id1").name, "item1-updated");
+        assertFalse(Files.exists(compactedJournalPath));
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test
+    public void shouldUpdateIndexesOnModifications() throws Exception {
+        final JournaledStorage<Item> storage = createStorage(100);
+        storage.put("id1", new Item("item1", "ns1"));
+        storage.put("id2", new Item("item2", "ns1"));
+        storage.put("id3", new Item("item3", "ns2"));
+
+        storage.put("id2", new Item("item2", "ns2"));
+        storage.remove("id3");
+
+        assertEquals(storage.getByIndex("namespace", "ns1").size(), 1);
+        assertEquals(storage.getByIndex("namespace", "ns2").get(0).name, "item2");
+        assertNull(storage.getFirstByIndex("namespace", "ns3"));
+    }
+
+    @Test
+    public void shouldSkipPartiallyWrittenJournalRecord() throws Exception {
+        final JournaledStorage<Item> storage = createStorage(100);
+        storage.put("id1", new Item("item1", "ns1"));
+        Files.write(journalPath, "{\"key\":\"id2\",\"val".getBytes(), StandardOpenOption.APPEND);
+
+        final JournaledStorage<Item> restored = createStorage(100);
+        restored.load();
+
+        assertEquals(restored.asMap().keySet(), Collections.singleton("id1"));
+        assertEquals(restored.getFirstByIndex("namespace", "ns1").name, "item1");
+    }
+
+    private JournaledStorage<Item> createStorage(int maxJournalRecords) throws IOException {
+        return createStorage(maxJournalRecords, Runnable::run);
+    }
+
+    private JournaledStorage<Item> createStorage(int maxJournalRecords, Executor compactionExecutor) throws IOException {
+        return new JournaledStorage<>(new LocalStorage(storageRoot.toString(), "items.json"),
+                                      ITEMS_TOKEN,
+                                      maxJournalRecords,
+                                      compactionExecutor)
+                .addIndex("namespace", item -> singletonList(item.namespace));
+    }
+
+    private static class Item {
+        String name;
+        String namespace;
+
+        Item(String name, String namespace) {
+            this.name = name;
+            this.namespace = namespace;
+        }
+    }
+}